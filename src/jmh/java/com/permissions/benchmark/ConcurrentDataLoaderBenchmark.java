@@ -0,0 +1,136 @@
+package com.permissions.benchmark;
+
+import com.permissions.evaluator.EvaluationFrame;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 멤버십이 계속 바뀌는 동안 InMemoryDataLoader 읽기 처리량이 읽기 스레드 수에 따라 늘어나는지 측정
+ *
+ * - readOnly: 쓰기 없이 loadFrame만 반복 (-t 1,2,4,8로 스레드 수를 바꿔 확장성 확인)
+ * - readWhileWriting 그룹: 읽기 스레드(read)와 멤버십 쓰기 스레드 하나(write)를 함께 실행
+ *   (-tg 1,1 / 2,1 / 4,1 / 8,1로 읽기 스레드 수를 바꿔 쓰기 중에도 읽기 처리량(read 보조 결과)이 늘어나는지 확인)
+ * 예: gradle jmh -Pjmh.includes=ConcurrentDataLoaderBenchmark.readWhileWriting -Pjmh.args="-tg 4,1"
+ *
+ * 데이터 배치는 DataLoaderBenchmark와 같고, 쓰기 스레드는 읽기와 같은 팀/프로젝트의 멤버십을 추가/삭제
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConcurrentDataLoaderBenchmark {
+
+    private static final Set<String> ALL_TABLES =
+        Set.of("user", "team", "project", "document", "teamMembership", "projectMembership");
+    private static final int SAMPLE_COUNT = 1 << 12;
+
+    @Param({"100000"})
+    public int memberships;
+
+    private InMemoryDataLoader dataLoader;
+    private int userCount;
+    private int teamCount;
+    private int projectCount;
+    private String[] sampleDocuments;
+    private User[] sampleUsers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataLoader = new InMemoryDataLoader();
+        userCount = memberships / 2;
+        teamCount = Math.max(1, memberships / 1000);
+        projectCount = teamCount * 10;
+        int documentCount = projectCount * 10;
+
+        for (int t = 0; t < teamCount; t++) {
+            dataLoader.addTeam(new Team("t" + t, "Team " + t, PlanType.values()[t % PlanType.values().length]));
+        }
+        for (int p = 0; p < projectCount; p++) {
+            dataLoader.addProject(new Project("p" + p, "Project " + p, "t" + (p / 10),
+                p % 3 == 0 ? VisibilityType.PUBLIC : VisibilityType.PRIVATE));
+        }
+        User[] users = new User[userCount];
+        for (int u = 0; u < userCount; u++) {
+            users[u] = new User("u" + u, "u" + u + "@example.com", "User " + u);
+            dataLoader.addUser(users[u])
+                .addTeamMembership(new TeamMembership("u" + u, "t" + (u % teamCount), RoleType.values()[u % 3]))
+                .addProjectMembership(new ProjectMembership("u" + u, "p" + (u % projectCount), RoleType.values()[(u / 3) % 3]));
+        }
+        for (int d = 0; d < documentCount; d++) {
+            dataLoader.addDocument(new Document("d" + d, "Document " + d, "p" + (d / 10),
+                "u" + (d % userCount), null, d % 10 == 0));
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        sampleDocuments = new String[SAMPLE_COUNT];
+        sampleUsers = new User[SAMPLE_COUNT];
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            sampleDocuments[i] = "d" + random.nextInt(documentCount);
+            sampleUsers[i] = users[random.nextInt(userCount)];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Reader {
+        private final EvaluationFrame frame = new EvaluationFrame();
+        private int next;
+
+        int advance() {
+            return next++ & (SAMPLE_COUNT - 1);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private final SplittableRandom random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    public EvaluationFrame readOnly(Reader reader) {
+        return read(reader);
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(4)
+    public EvaluationFrame read(Reader reader) {
+        int i = reader.advance();
+        EvaluationFrame frame = reader.frame.reset();
+        dataLoader.loadFrame(sampleDocuments[i], sampleUsers[i], ALL_TABLES, frame);
+        return frame;
+    }
+
+    /**
+     * 임의 사용자의 프로젝트/팀 멤버십을 추가했다가 제거 (데이터 크기는 일정하게 유지)
+     */
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(1)
+    public boolean write(Writer writer) {
+        String userId = "u" + writer.random.nextInt(userCount);
+        String projectId = "p" + writer.random.nextInt(projectCount);
+        String teamId = "t" + writer.random.nextInt(teamCount);
+        boolean addedProject = dataLoader.getProjectMembership(userId, projectId).isEmpty();
+        boolean addedTeam = dataLoader.getTeamMembership(userId, teamId).isEmpty();
+        if (addedProject) {
+            dataLoader.addProjectMembership(new ProjectMembership(userId, projectId, RoleType.EDITOR));
+        }
+        if (addedTeam) {
+            dataLoader.addTeamMembership(new TeamMembership(userId, teamId, RoleType.VIEWER));
+        }
+        boolean removed = true;
+        if (addedProject) {
+            removed &= dataLoader.removeProjectMembership(userId, projectId);
+        }
+        if (addedTeam) {
+            removed &= dataLoader.removeTeamMembership(userId, teamId);
+        }
+        return removed;
+    }
+}
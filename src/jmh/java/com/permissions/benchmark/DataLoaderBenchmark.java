@@ -0,0 +1,98 @@
+package com.permissions.benchmark;
+
+import com.permissions.evaluator.EvaluationFrame;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InMemoryDataLoader 로딩 벤치마크
+ * 멤버십 수(1k/100k/1M)에 따라 모든 테이블을 Map으로 로드(loadData)하거나 프레임에 기록(loadFrame)하는 비용 측정
+ *
+ * 데이터 배치: 사용자 = 멤버십/2, 팀 = 멤버십/1000, 팀당 프로젝트 10개, 프로젝트당 문서 10개
+ * 사용자마다 팀 멤버십 1개와 프로젝트 멤버십 1개
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataLoaderBenchmark {
+
+    private static final Set<String> ALL_TABLES =
+        Set.of("user", "team", "project", "document", "teamMembership", "projectMembership");
+    private static final int SAMPLE_COUNT = 1 << 12;
+
+    @Param({"1000", "100000", "1000000"})
+    public int memberships;
+
+    private InMemoryDataLoader dataLoader;
+    private String[] sampleDocuments;
+    private User[] sampleUsers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataLoader = new InMemoryDataLoader();
+        int userCount = memberships / 2;
+        int teamCount = Math.max(1, memberships / 1000);
+        int projectCount = teamCount * 10;
+        int documentCount = projectCount * 10;
+
+        for (int t = 0; t < teamCount; t++) {
+            dataLoader.addTeam(new Team("t" + t, "Team " + t, PlanType.values()[t % PlanType.values().length]));
+        }
+        for (int p = 0; p < projectCount; p++) {
+            dataLoader.addProject(new Project("p" + p, "Project " + p, "t" + (p / 10),
+                p % 3 == 0 ? VisibilityType.PUBLIC : VisibilityType.PRIVATE));
+        }
+        User[] users = new User[userCount];
+        for (int u = 0; u < userCount; u++) {
+            users[u] = new User("u" + u, "u" + u + "@example.com", "User " + u);
+            dataLoader.addUser(users[u])
+                .addTeamMembership(new TeamMembership("u" + u, "t" + (u % teamCount), RoleType.values()[u % 3]))
+                .addProjectMembership(new ProjectMembership("u" + u, "p" + (u % projectCount), RoleType.values()[(u / 3) % 3]));
+        }
+        for (int d = 0; d < documentCount; d++) {
+            dataLoader.addDocument(new Document("d" + d, "Document " + d, "p" + (d / 10),
+                "u" + (d % userCount), null, d % 10 == 0));
+        }
+
+        // 같은 프로젝트 문서/멤버 조합과 무관한 조합이 섞이도록 고정 시드로 샘플 선택
+        SplittableRandom random = new SplittableRandom(42);
+        sampleDocuments = new String[SAMPLE_COUNT];
+        sampleUsers = new User[SAMPLE_COUNT];
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            sampleDocuments[i] = "d" + random.nextInt(documentCount);
+            sampleUsers[i] = users[random.nextInt(userCount)];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private final EvaluationFrame frame = new EvaluationFrame();
+        private int next;
+
+        int advance() {
+            return next++ & (SAMPLE_COUNT - 1);
+        }
+    }
+
+    @Benchmark
+    public Map<String, Map<String, Object>> loadData(Cursor cursor) {
+        int i = cursor.advance();
+        return dataLoader.loadData(sampleDocuments[i], sampleUsers[i], ALL_TABLES);
+    }
+
+    @Benchmark
+    public EvaluationFrame loadFrame(Cursor cursor) {
+        int i = cursor.advance();
+        EvaluationFrame frame = cursor.frame.reset();
+        dataLoader.loadFrame(sampleDocuments[i], sampleUsers[i], ALL_TABLES, frame);
+        return frame;
+    }
+}
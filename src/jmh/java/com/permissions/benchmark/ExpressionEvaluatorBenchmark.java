@@ -0,0 +1,84 @@
+package com.permissions.benchmark;
+
+import com.permissions.dsl.ExpressionDef;
+import com.permissions.evaluator.CompiledExpression;
+import com.permissions.evaluator.EvaluationFrame;
+import com.permissions.evaluator.EvaluationResult;
+import com.permissions.evaluator.ExpressionCompiler;
+import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.loader.TestDataBuilder;
+import com.permissions.policy.Policy;
+import com.permissions.policy.StandardPolicies;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 표준 정책별 표현식 평가 벤치마크
+ * 미리 로드한 데이터로 인터프리터(ExpressionEvaluator)와 컴파일된 표현식을 비교
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExpressionEvaluatorBenchmark {
+
+    private static final Set<String> ALL_TABLES =
+        Set.of("user", "team", "project", "document", "teamMembership", "projectMembership");
+    private static final String[][] SAMPLES = {{"d1", "u1"}, {"d2", "u3"}, {"d3", "u2"}, {"d4", "u4"}};
+
+    @Param({"deleted_document_deny", "document_creator_allow", "project_editor_allow", "team_admin_allow",
+        "private_project_deny", "free_plan_share_deny", "public_link_allow"})
+    public String policyName;
+
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+    private ExpressionDef expression;
+    private CompiledExpression compiled;
+    private List<Map<String, Map<String, Object>>> data;
+    private EvaluationFrame[] frames;
+
+    @Setup
+    public void setUp() {
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+
+        Policy policy = StandardPolicies.getAllStandardPolicies().stream()
+            .filter(candidate -> candidate.name().equals(policyName))
+            .findFirst()
+            .orElseThrow();
+        expression = policy.applyFilter();
+        compiled = new ExpressionCompiler().compile(expression);
+
+        data = new ArrayList<>(SAMPLES.length);
+        frames = new EvaluationFrame[SAMPLES.length];
+        for (int i = 0; i < SAMPLES.length; i++) {
+            data.add(dataLoader.loadData(SAMPLES[i][0], SAMPLES[i][1], ALL_TABLES));
+            frames[i] = EvaluationFrame.of(data.get(i));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        int advance() {
+            return next++ & 3;
+        }
+    }
+
+    @Benchmark
+    public EvaluationResult interpreted(Cursor cursor) {
+        return evaluator.evaluate(expression, data.get(cursor.advance()));
+    }
+
+    @Benchmark
+    public EvaluationResult compiled(Cursor cursor) {
+        return compiled.evaluate(frames[cursor.advance()]);
+    }
+}
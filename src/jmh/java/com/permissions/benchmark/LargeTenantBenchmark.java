@@ -0,0 +1,70 @@
+package com.permissions.benchmark;
+
+import com.permissions.engine.PolicyEngine;
+import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.loader.SyntheticDataConfig;
+import com.permissions.loader.SyntheticDataGenerator;
+import com.permissions.loader.TestDataBuilder;
+import com.permissions.model.PermissionType;
+import com.permissions.policy.StandardPolicies;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 운영 환경 분포의 합성 테넌트에서 hasPermission 벤치마크
+ * scale 1.0이 사용자 5만, 팀 5천, 프로젝트 10만, 문서 1천만 규모
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LargeTenantBenchmark {
+
+    private static final int SAMPLE_COUNT = 1 << 12;
+
+    @Param({"0.01", "0.1"})
+    public double scale;
+
+    @Param({"CAN_VIEW", "CAN_EDIT"})
+    public PermissionType permission;
+
+    private PolicyEngine policyEngine;
+    private String[] sampleDocuments;
+    private String[] sampleUsers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var dataLoader = new InMemoryDataLoader();
+        var summary = new TestDataBuilder(dataLoader)
+            .setupSyntheticTenant(SyntheticDataConfig.productionShape(42).scaled(scale));
+        policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+
+        SplittableRandom random = new SplittableRandom(42);
+        sampleDocuments = new String[SAMPLE_COUNT];
+        sampleUsers = new String[SAMPLE_COUNT];
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            sampleDocuments[i] = "d" + random.nextLong(summary.documents());
+            sampleUsers[i] = SyntheticDataGenerator.userId(random.nextInt(summary.users()));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        int advance() {
+            return next++ & (SAMPLE_COUNT - 1);
+        }
+    }
+
+    @Benchmark
+    public boolean hasPermission(Cursor cursor) {
+        int i = cursor.advance();
+        return policyEngine.hasPermission(sampleDocuments[i], sampleUsers[i], permission);
+    }
+}
@@ -0,0 +1,63 @@
+package com.permissions.benchmark;
+
+import com.permissions.engine.PolicyEngine;
+import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.loader.TestDataBuilder;
+import com.permissions.model.PermissionType;
+import com.permissions.policy.StandardPolicies;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PolicyEngine 권한 확인 벤치마크
+ * 기본 시나리오 데이터와 표준 정책으로 권한 종류별 hasPermission / evaluateWithDetails 측정
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PolicyEngineBenchmark {
+
+    private static final String[] DOCUMENTS = {"d1", "d2", "d3", "d4"};
+    private static final String[] USERS = {"u1", "u2", "u3", "u4"};
+
+    @Param({"CAN_VIEW", "CAN_EDIT", "CAN_DELETE", "CAN_SHARE"})
+    public PermissionType permission;
+
+    private PolicyEngine policyEngine;
+
+    @Setup
+    public void setUp() {
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+    }
+
+    /**
+     * 문서 × 사용자 조합을 순환하여 특정 조합만 반복되지 않도록 함
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        int advance() {
+            return next++ & 15;
+        }
+    }
+
+    @Benchmark
+    public boolean hasPermission(Cursor cursor) {
+        int i = cursor.advance();
+        return policyEngine.hasPermission(DOCUMENTS[i >> 2], USERS[i & 3], permission);
+    }
+
+    @Benchmark
+    public PolicyEngine.PolicyEvaluationResult evaluateWithDetails(Cursor cursor) {
+        int i = cursor.advance();
+        return policyEngine.evaluateWithDetails(DOCUMENTS[i >> 2], USERS[i & 3], permission);
+    }
+}
@@ -0,0 +1,553 @@
+package com.permissions.audit;
+
+import com.permissions.model.Document;
+import com.permissions.model.PermissionType;
+import com.permissions.model.Project;
+import com.permissions.model.Team;
+import com.permissions.model.User;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 표본 추출 권한 결정 감사 로그
+ *
+ * 요청 스레드는 고정 크기(128바이트) 이진 레코드를 미리 할당한 off-heap 링 버퍼에 기록하고,
+ * 백그라운드 스레드가 링 버퍼를 메모리 맵 세그먼트 파일로 옮김
+ * - 기록은 슬롯 예약(CAS)과 버퍼 쓰기뿐이라 할당과 블로킹이 없음 (ID는 엔티티의 id()를 UTF-8로 직접 인코딩)
+ * - 링 버퍼가 가득 차면 기다리지 않고 레코드를 버리고 dropped로 집계
+ * - 슬롯의 첫 8바이트는 슬롯 상태 (기록 중 표시 후 마지막에 순번 + 1로 게시)이므로 소비자는 완성된 레코드만 읽음
+ * - 예약 후 게시하지 못하고 멈춘 생산자가 있으면 소비자는 제한 시간 뒤 그 순번을 건너뛰고 skipped로 집계
+ *   (늦게 끝난 생산자의 게시는 실패하고, 그 슬롯을 아직 쓰는 동안 같은 슬롯의 다음 순번도 건너뜀)
+ * - 파일 I/O 오류(디스크 부족 등)는 던지지 않고 failures로 집계하며, 백그라운드 스레드가 간격을 늘려 가며 재시도
+ *   (그동안 링 버퍼가 차면 레코드는 버려짐, 상태는 isHealthy/lastFailure로 확인)
+ *
+ * 레코드 형식 (리틀 엔디언)
+ * <pre>
+ *   0  long   순번 + 1
+ *   8  long   기록 시각 (epoch millis)
+ *  16  long   정책 세대
+ *  24  long   결과가 NULL로 확정된 정책 비트마스크 (i번째 비트 = i번째 정책)
+ *  32  short  결정 정책 위치 (기본 거부는 -1)
+ *  34  byte   권한 (PermissionType ordinal)
+ *  35  byte   플래그 (1: 허용, 2/4: 리소스/사용자 ID 잘림, 8/16: 리소스/사용자 ID의 짝 없는 서로게이트를 '?'로 대체)
+ *  36  byte   리소스 ID 바이트 수, 37~68 리소스 ID (UTF-8, 최대 32바이트, 문자 경계에서 자름)
+ *  69  byte   사용자 ID 바이트 수, 70~101 사용자 ID (UTF-8, 최대 32바이트, 문자 경계에서 자름)
+ * </pre>
+ * 세그먼트 파일(audit-000001.seg ...)은 16바이트 헤더(매직, 버전, 레코드 크기, 레코드 수) 뒤에 레코드가 이어지고,
+ * 정책 위치를 이름으로 바꾸기 위한 세대별 정책 이름 목록은 generation-N.policies 파일에 한 줄에 하나씩 기록
+ */
+public final class AuditLog implements AutoCloseable {
+
+    static final int RECORD_SIZE = 128;
+    static final int HEADER_SIZE = 16;
+    static final int MAGIC = 0x41554454; // "AUDT"
+    static final short VERSION = 2; // 1: ASCII ID (UTF-8의 부분집합이라 같은 방법으로 읽음)
+    static final int ID_BYTES = 32;
+
+    static final int SEQUENCE = 0;
+    static final int TIMESTAMP = 8;
+    static final int GENERATION = 16;
+    static final int NULL_POLICIES = 24;
+    static final int DECIDING_POLICY = 32;
+    static final int PERMISSION = 34;
+    static final int FLAGS = 35;
+    static final int RESOURCE_ID = 36;
+    static final int USER_ID = 69;
+
+    static final int ALLOWED = 1;
+    static final int RESOURCE_TRUNCATED = 2;
+    static final int USER_TRUNCATED = 4;
+    static final int RESOURCE_LOSSY = 8;
+    static final int USER_LOSSY = 16;
+
+    // 슬롯 상태 비트 (게시 전: (순번 + 1) | WRITING, 소비자가 건너뜀: (순번 + 1) | ABANDONED, 게시: 순번 + 1)
+    private static final long WRITING = 1L << 62;
+    private static final long ABANDONED = 1L << 61;
+    private static final long DEFAULT_STALL_TIMEOUT_NANOS = 1_000_000_000;
+
+    private static final VarHandle LONGS =
+        MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+    private static final long MAX_BACKOFF_NANOS = 1_000_000_000;
+
+    private final Path directory;
+    private final int capacity;
+    private final int sampleEvery;
+    private final int recordsPerSegment;
+    private final long stallTimeoutNanos;
+    private final ByteBuffer ring;
+
+    // 생산자가 예약한 다음 순번과 소비자가 옮긴 다음 순번
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    // 기록 실패 상태와 아직 파일로 쓰지 못한 세대별 정책 이름 목록
+    private final AtomicLong failures = new AtomicLong();
+    private volatile IOException lastFailure;
+    private final Map<Long, List<String>> pendingGenerations = new ConcurrentHashMap<>();
+
+    // 세그먼트 상태 (drainLock 보유 시에만 접근)
+    private final Object drainLock = new Object();
+    private int segmentNumber;
+    private FileChannel segmentChannel;
+    private MappedByteBuffer segment;
+    private int segmentRecords;
+    private long written;
+    // 게시를 기다리는 순번과 기다리기 시작한 시각
+    private long stalledSequence = -1;
+    private long stalledSince;
+
+    private final Thread drainer;
+    private volatile boolean closed;
+
+    private AuditLog(Path directory, int capacity, int sampleEvery, int recordsPerSegment, long stallTimeoutNanos) {
+        this.directory = directory;
+        this.capacity = capacity;
+        this.sampleEvery = sampleEvery;
+        this.recordsPerSegment = recordsPerSegment;
+        this.stallTimeoutNanos = stallTimeoutNanos;
+        this.ring = ByteBuffer.allocateDirect(capacity * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        this.drainer = Thread.ofPlatform().daemon().name("audit-log-drainer").unstarted(this::drainLoop);
+    }
+
+    /**
+     * 감사 로그 열기 (백그라운드 스레드 시작)
+     *
+     * @param directory 세그먼트 파일을 기록할 디렉터리 (없으면 생성)
+     * @param capacity 링 버퍼 레코드 수
+     * @param sampleEvery 평균 몇 번의 확인마다 하나를 기록할지 (1이면 모두 기록)
+     * @param recordsPerSegment 세그먼트 파일 하나의 레코드 수
+     */
+    public static AuditLog open(Path directory, int capacity, int sampleEvery, int recordsPerSegment)
+            throws IOException {
+        return open(directory, capacity, sampleEvery, recordsPerSegment, DEFAULT_STALL_TIMEOUT_NANOS);
+    }
+
+    /**
+     * @param stallTimeoutNanos 게시되지 않은 슬롯을 건너뛰기 전까지 기다리는 시간 (테스트용)
+     */
+    static AuditLog open(Path directory, int capacity, int sampleEvery, int recordsPerSegment,
+            long stallTimeoutNanos) throws IOException {
+        if (capacity <= 0 || sampleEvery <= 0 || recordsPerSegment <= 0) {
+            throw new IllegalArgumentException("capacity, sampleEvery and recordsPerSegment must be positive");
+        }
+        Files.createDirectories(directory);
+        AuditLog auditLog = new AuditLog(directory, capacity, sampleEvery, recordsPerSegment, stallTimeoutNanos);
+        auditLog.drainer.start();
+        return auditLog;
+    }
+
+    /**
+     * 정책 세대의 정책 이름 목록 기록 (정책 게시 시점에 호출, 요청 경로 아님)
+     * 파일을 쓰지 못해도 던지지 않고 실패로 집계하며, 백그라운드 스레드가 나중에 다시 기록
+     * (감사 로그 장애가 정책 게시를 막지 않도록)
+     *
+     * @param generation 정책 세대
+     * @param policyNames 정책 위치 순서의 정책 이름
+     */
+    public void registerGeneration(long generation, List<String> policyNames) {
+        try {
+            writeGeneration(generation, policyNames);
+        } catch (IOException e) {
+            pendingGenerations.put(generation, List.copyOf(policyNames));
+            fail(e);
+        }
+    }
+
+    /**
+     * 권한 결정 기록 (표본으로 뽑히지 않았거나 링 버퍼가 가득 차면 기록하지 않음)
+     *
+     * @param generation 정책 세대
+     * @param permission 확인한 권한
+     * @param resource 대상 리소스 (Document 또는 문서 ID)
+     * @param user 사용자 (User 또는 사용자 ID)
+     * @param allowed 허용 여부
+     * @param decidingPolicy 결정 정책 위치 (기본 거부는 -1)
+     * @param nullPolicies 결과가 NULL로 확정된 정책 비트마스크
+     */
+    public void record(long generation, PermissionType permission, Object resource, Object user,
+            boolean allowed, int decidingPolicy, long nullPolicies) {
+        if (closed || (sampleEvery > 1 && ThreadLocalRandom.current().nextInt(sampleEvery) != 0)) {
+            return;
+        }
+
+        long sequence = claim();
+        if (sequence < 0) {
+            dropped.incrementAndGet();
+            return;
+        }
+        if (!acquire(sequence)) {
+            return; // 이전 순번의 멈춘 생산자가 아직 슬롯을 쓰는 중 (소비자가 이 순번을 건너뛰고 skipped로 집계)
+        }
+
+        int offset = offset(sequence);
+        ring.putLong(offset + TIMESTAMP, System.currentTimeMillis());
+        ring.putLong(offset + GENERATION, generation);
+        ring.putLong(offset + NULL_POLICIES, nullPolicies);
+        ring.putShort(offset + DECIDING_POLICY, (short) decidingPolicy);
+        ring.put(offset + PERMISSION, (byte) permission.ordinal());
+        int flags = allowed ? ALLOWED : 0;
+        flags |= writeId(offset + RESOURCE_ID, resourceId(resource), RESOURCE_TRUNCATED, RESOURCE_LOSSY);
+        flags |= writeId(offset + USER_ID, userId(user), USER_TRUNCATED, USER_LOSSY);
+        ring.put(offset + FLAGS, (byte) flags);
+        publish(sequence);
+    }
+
+    /**
+     * 지금까지 기록된 레코드를 모두 세그먼트 파일로 옮기고 디스크에 반영
+     *
+     * @throws IOException 세그먼트 파일을 만들거나 반영하지 못한 경우 (남은 레코드는 백그라운드 스레드가 재시도)
+     */
+    public void flush() throws IOException {
+        synchronized (drainLock) {
+            drain();
+            if (segment != null) {
+                segment.force();
+            }
+        }
+    }
+
+    /**
+     * 세그먼트 파일로 옮긴 레코드 수
+     */
+    public long written() {
+        synchronized (drainLock) {
+            return written;
+        }
+    }
+
+    /**
+     * 링 버퍼가 가득 차서 버린 레코드 수
+     */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * 제한 시간 안에 게시되지 않아 건너뛴 순번 수
+     */
+    public long skipped() {
+        return skipped.get();
+    }
+
+    /**
+     * 세그먼트 또는 정책 이름 파일 기록에 실패한 횟수
+     */
+    public long failures() {
+        return failures.get();
+    }
+
+    /**
+     * @return 마지막 기록 시도가 성공했고 다시 기록할 정책 이름 목록이 없으면 true
+     */
+    public boolean isHealthy() {
+        return lastFailure == null && pendingGenerations.isEmpty();
+    }
+
+    /**
+     * @return 아직 회복되지 않은 마지막 기록 실패, 정상이면 빈 값
+     */
+    public Optional<IOException> lastFailure() {
+        return Optional.ofNullable(lastFailure);
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * 남은 레코드를 옮기고 백그라운드 스레드와 세그먼트 파일을 닫음
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(drainer); // FileChannel은 인터럽트되면 닫히므로 interrupt 대신 깨우기만 함
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (drainLock) {
+            drain();
+            closeSegment();
+        }
+    }
+
+    /**
+     * 슬롯 하나 예약 (가득 차면 -1, 테스트에서 멈춘 생산자를 흉내 낼 때도 사용)
+     */
+    long claim() {
+        while (true) {
+            long sequence = tail.get();
+            if (sequence - head.get() >= capacity) {
+                return -1;
+            }
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    /**
+     * 예약한 순번의 슬롯을 기록 중으로 표시
+     * 슬롯이 비어 있거나 이전 바퀴의 게시된 레코드일 때만 성공하며,
+     * 이전 바퀴의 생산자가 아직 쓰는 중이면 (소비자가 건너뛴 뒤에도) 실패
+     *
+     * @return 이 순번의 레코드를 기록해도 되면 true
+     */
+    boolean acquire(long sequence) {
+        int offset = offset(sequence);
+        long state = (long) LONGS.getVolatile(ring, offset + SEQUENCE);
+        return (state & (WRITING | ABANDONED)) == 0 && state <= sequence
+            && LONGS.compareAndSet(ring, offset + SEQUENCE, state, (sequence + 1) | WRITING);
+    }
+
+    /**
+     * 기록을 마친 레코드 게시
+     * 소비자가 제한 시간이 지나 이 순번을 건너뛰었으면 게시하지 않고 슬롯만 비움
+     *
+     * @return 게시했으면 true
+     */
+    boolean publish(long sequence) {
+        int offset = offset(sequence);
+        if (LONGS.compareAndSet(ring, offset + SEQUENCE, (sequence + 1) | WRITING, sequence + 1)) {
+            return true;
+        }
+        LONGS.setRelease(ring, offset + SEQUENCE, 0L);
+        return false;
+    }
+
+    private int offset(long sequence) {
+        return (int) (sequence % capacity) * RECORD_SIZE;
+    }
+
+    /**
+     * 닫힐 때까지 레코드를 옮김
+     * I/O 오류가 나면 실패로 집계하고 대기 시간을 두 배씩 늘려(최대 1초) 재시도하며, 성공하면 정상 상태로 되돌림
+     */
+    private void drainLoop() {
+        long backoff = IDLE_PARK_NANOS;
+        while (!closed) {
+            int drained;
+            try {
+                synchronized (drainLock) {
+                    writePendingGenerations();
+                    drained = drain();
+                }
+            } catch (IOException e) {
+                fail(e);
+                LockSupport.parkNanos(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+                continue;
+            }
+            lastFailure = null;
+            backoff = IDLE_PARK_NANOS;
+            if (drained == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void fail(IOException e) {
+        failures.incrementAndGet();
+        lastFailure = e;
+    }
+
+    private void writeGeneration(long generation, List<String> policyNames) throws IOException {
+        Files.write(directory.resolve("generation-" + generation + ".policies"), policyNames);
+    }
+
+    /**
+     * 기록하지 못했던 정책 이름 목록을 다시 기록 (drainLock 보유)
+     */
+    private void writePendingGenerations() throws IOException {
+        for (Map.Entry<Long, List<String>> entry : pendingGenerations.entrySet()) {
+            writeGeneration(entry.getKey(), entry.getValue());
+            pendingGenerations.remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * 게시가 끝난 레코드를 순서대로 세그먼트로 복사 (drainLock 보유)
+     * 제한 시간 넘게 게시되지 않은 순번은 건너뜀
+     *
+     * @return 옮기거나 건너뛴 순번 수
+     * @throws IOException 세그먼트 파일을 만들지 못한 경우 (그때까지 옮긴 레코드는 유지되고 나머지는 링 버퍼에 남음)
+     */
+    private int drain() throws IOException {
+        int drained = 0;
+        long sequence = head.get();
+        while (sequence < tail.get()) {
+            int offset = offset(sequence);
+            long state = (long) LONGS.getAcquire(ring, offset + SEQUENCE);
+            if (state == sequence + 1) {
+                ensureSegment();
+                segment.put(HEADER_SIZE + segmentRecords * RECORD_SIZE, ring, offset, RECORD_SIZE);
+                segmentRecords++;
+                segment.putLong(8, segmentRecords);
+                written++;
+            } else if (!skipStalled(sequence, offset, state)) {
+                break; // 아직 기록 중
+            }
+            sequence++;
+            head.set(sequence); // 슬롯 반환
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * 순번이 제한 시간 넘게 게시되지 않았으면 건너뛰도록 표시 (drainLock 보유)
+     * 기록 중인 생산자가 있으면 슬롯을 포기 상태로 바꾸어 늦은 게시가 실패하게 함
+     *
+     * @return 건너뛰면 true
+     */
+    private boolean skipStalled(long sequence, int offset, long state) {
+        long now = System.nanoTime();
+        if (stalledSequence != sequence) {
+            stalledSequence = sequence;
+            stalledSince = now;
+            return false;
+        }
+        if (now - stalledSince < stallTimeoutNanos) {
+            return false;
+        }
+        if (state == ((sequence + 1) | WRITING)
+                && !LONGS.compareAndSet(ring, offset + SEQUENCE, state, (sequence + 1) | ABANDONED)) {
+            return false; // 그 사이 게시됨 (다음 확인에서 옮김)
+        }
+        skipped.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * 현재 세그먼트가 없거나 가득 찼으면 다음 번호의 세그먼트를 만듦
+     * 실패해도 번호는 넘어가므로 이미 있는 파일과 겹치면 재시도 때 다음 번호를 사용
+     */
+    private void ensureSegment() throws IOException {
+        if (segment != null && segmentRecords < recordsPerSegment) {
+            return;
+        }
+        closeSegment();
+        segmentNumber++;
+        Path path = directory.resolve(String.format("audit-%06d.seg", segmentNumber));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                HEADER_SIZE + (long) recordsPerSegment * RECORD_SIZE);
+        } catch (IOException e) {
+            channel.close();
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        segmentChannel = channel;
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        segment.putInt(0, MAGIC);
+        segment.putShort(4, VERSION);
+        segment.putShort(6, (short) RECORD_SIZE);
+        segment.putLong(8, 0);
+        segmentRecords = 0;
+    }
+
+    private void closeSegment() throws IOException {
+        if (segment != null) {
+            segment.force();
+            segmentChannel.close();
+            segment = null;
+            segmentChannel = null;
+        }
+    }
+
+    /**
+     * ID를 UTF-8로 기록 (32바이트를 넘으면 문자 경계에서 자르고, 짝 없는 서로게이트는 '?')
+     *
+     * @return 잘렸으면 truncatedFlag, 대체한 문자가 있으면 lossyFlag를 더한 플래그
+     */
+    private int writeId(int offset, String id, int truncatedFlag, int lossyFlag) {
+        int flags = 0;
+        int length = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            int codePoint = c;
+            if (Character.isHighSurrogate(c) && i + 1 < id.length() && Character.isLowSurrogate(id.charAt(i + 1))) {
+                codePoint = Character.toCodePoint(c, id.charAt(i + 1));
+            } else if (Character.isSurrogate(c)) {
+                codePoint = '?';
+                flags |= lossyFlag;
+            }
+            int bytes = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (length + bytes > ID_BYTES) {
+                flags |= truncatedFlag;
+                break;
+            }
+            int position = offset + 1 + length;
+            switch (bytes) {
+                case 1 -> ring.put(position, (byte) codePoint);
+                case 2 -> {
+                    ring.put(position, (byte) (0xC0 | codePoint >> 6));
+                    ring.put(position + 1, (byte) (0x80 | codePoint & 0x3F));
+                }
+                case 3 -> {
+                    ring.put(position, (byte) (0xE0 | codePoint >> 12));
+                    ring.put(position + 1, (byte) (0x80 | codePoint >> 6 & 0x3F));
+                    ring.put(position + 2, (byte) (0x80 | codePoint & 0x3F));
+                }
+                default -> {
+                    ring.put(position, (byte) (0xF0 | codePoint >> 18));
+                    ring.put(position + 1, (byte) (0x80 | codePoint >> 12 & 0x3F));
+                    ring.put(position + 2, (byte) (0x80 | codePoint >> 6 & 0x3F));
+                    ring.put(position + 3, (byte) (0x80 | codePoint & 0x3F));
+                    i++; // 서로게이트 쌍의 두 번째 문자
+                }
+            }
+            length += bytes;
+        }
+        ring.put(offset, (byte) length);
+        return flags;
+    }
+
+    /**
+     * 리소스 ID (엔티티는 id(), 알 수 없는 타입은 할당 없이 클래스 이름)
+     */
+    private static String resourceId(Object resource) {
+        return switch (resource) {
+            case null -> "";
+            case String id -> id;
+            case Document document -> document.id();
+            case Project project -> project.id();
+            case Team team -> team.id();
+            default -> resource.getClass().getName();
+        };
+    }
+
+    /**
+     * 사용자 ID (User는 id(), 알 수 없는 타입은 할당 없이 클래스 이름)
+     */
+    private static String userId(Object user) {
+        return switch (user) {
+            case null -> "";
+            case String id -> id;
+            case User entity -> entity.id();
+            default -> user.getClass().getName();
+        };
+    }
+}
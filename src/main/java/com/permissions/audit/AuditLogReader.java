@@ -0,0 +1,155 @@
+package com.permissions.audit;
+
+import com.permissions.model.PermissionType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.permissions.audit.AuditLog.*;
+
+/**
+ * 감사 로그 세그먼트 파일 디코더
+ * 명령행에서 실행하면 디렉터리의 모든 레코드를 한 줄씩 출력
+ * (java com.permissions.audit.AuditLogReader &lt;디렉터리&gt;)
+ */
+public final class AuditLogReader {
+
+    private static final PermissionType[] PERMISSIONS = PermissionType.values();
+
+    private AuditLogReader() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: AuditLogReader <audit directory>");
+            System.exit(2);
+        }
+        for (AuditRecord record : readAll(Path.of(args[0]))) {
+            System.out.println(format(record));
+        }
+    }
+
+    /**
+     * 디렉터리의 모든 세그먼트를 번호 순서대로 읽음
+     * 헤더도 없는 파일(만들다 실패한 세그먼트)이나 일반 파일이 아닌 항목은 건너뜀
+     */
+    public static List<AuditRecord> readAll(Path directory) throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files.filter(path -> path.getFileName().toString().endsWith(".seg"))
+                .filter(AuditLogReader::isSegmentFile)
+                .sorted()
+                .toList();
+        }
+        Map<Long, List<String>> policyNames = new HashMap<>();
+        List<AuditRecord> records = new ArrayList<>();
+        for (Path segment : segments) {
+            records.addAll(read(segment, directory, policyNames));
+        }
+        return records;
+    }
+
+    private static boolean isSegmentFile(Path path) {
+        try {
+            return Files.isRegularFile(path) && Files.size(path) >= HEADER_SIZE;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 세그먼트 하나를 읽음
+     *
+     * @param policyNames 세대별 정책 이름 캐시 (없는 세대는 generation-N.policies에서 읽어 채움)
+     */
+    static List<AuditRecord> read(Path segment, Path directory, Map<Long, List<String>> policyNames)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                .order(ByteOrder.LITTLE_ENDIAN);
+            short version = buffer.getShort(4);
+            if (buffer.getInt(0) != MAGIC || version < 1 || version > VERSION || buffer.getShort(6) != RECORD_SIZE) {
+                throw new IOException("Not an audit segment: " + segment);
+            }
+
+            long count = buffer.getLong(8);
+            List<AuditRecord> records = new ArrayList<>((int) count);
+            for (int i = 0; i < count; i++) {
+                records.add(decode(buffer, HEADER_SIZE + i * RECORD_SIZE, directory, policyNames));
+            }
+            return records;
+        }
+    }
+
+    private static AuditRecord decode(ByteBuffer buffer, int offset, Path directory,
+            Map<Long, List<String>> policyNames) throws IOException {
+        long generation = buffer.getLong(offset + GENERATION);
+        int decidingPolicy = buffer.getShort(offset + DECIDING_POLICY);
+        int flags = buffer.get(offset + FLAGS);
+
+        String decidingPolicyName = null;
+        if (decidingPolicy >= 0) {
+            List<String> names = policyNames(generation, directory, policyNames);
+            decidingPolicyName = decidingPolicy < names.size() ? names.get(decidingPolicy) : null;
+        }
+
+        return new AuditRecord(
+            buffer.getLong(offset + SEQUENCE) - 1,
+            buffer.getLong(offset + TIMESTAMP),
+            generation,
+            PERMISSIONS[buffer.get(offset + PERMISSION)],
+            (flags & ALLOWED) != 0,
+            decidingPolicy,
+            decidingPolicyName,
+            buffer.getLong(offset + NULL_POLICIES),
+            readId(buffer, offset + RESOURCE_ID),
+            readId(buffer, offset + USER_ID),
+            (flags & (RESOURCE_TRUNCATED | USER_TRUNCATED)) != 0,
+            (flags & (RESOURCE_LOSSY | USER_LOSSY)) != 0
+        );
+    }
+
+    private static List<String> policyNames(long generation, Path directory, Map<Long, List<String>> policyNames)
+            throws IOException {
+        List<String> names = policyNames.get(generation);
+        if (names == null) {
+            Path path = directory.resolve("generation-" + generation + ".policies");
+            names = Files.isRegularFile(path) ? Files.readAllLines(path) : List.of();
+            policyNames.put(generation, names);
+        }
+        return names;
+    }
+
+    private static String readId(ByteBuffer buffer, int offset) {
+        int length = buffer.get(offset);
+        byte[] bytes = new byte[length];
+        buffer.get(offset + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 레코드 한 줄 표현
+     */
+    public static String format(AuditRecord record) {
+        return record.sequence() + " " + Instant.ofEpochMilli(record.timestampMillis())
+            + " gen=" + record.generation()
+            + " " + record.permission()
+            + " " + record.resourceId() + " " + record.userId()
+            + " " + (record.allowed() ? "ALLOW" : "DENY")
+            + " by=" + (record.decidingPolicy() < 0 ? "<default deny>" : record.decidingPolicyName())
+            + " null=0x" + Long.toHexString(record.nullPolicies())
+            + (record.truncated() ? " truncated" : "")
+            + (record.lossy() ? " lossy" : "");
+    }
+}
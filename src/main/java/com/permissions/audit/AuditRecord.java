@@ -0,0 +1,34 @@
+package com.permissions.audit;
+
+import com.permissions.model.PermissionType;
+
+/**
+ * 세그먼트 파일에서 읽은 권한 결정 레코드
+ *
+ * @param sequence 기록 순번
+ * @param timestampMillis 기록 시각 (epoch millis)
+ * @param generation 정책 세대
+ * @param permission 확인한 권한
+ * @param allowed 허용 여부
+ * @param decidingPolicy 결정 정책 위치 (기본 거부는 -1)
+ * @param decidingPolicyName 결정 정책 이름 (기본 거부이거나 세대의 정책 목록이 없으면 null)
+ * @param nullPolicies 결과가 NULL로 확정된 정책 비트마스크
+ * @param resourceId 리소스 ID (UTF-8 최대 32바이트)
+ * @param userId 사용자 ID (UTF-8 최대 32바이트)
+ * @param truncated 리소스 또는 사용자 ID가 잘렸는지 여부
+ * @param lossy 리소스 또는 사용자 ID의 짝 없는 서로게이트를 '?'로 대체했는지 여부
+ */
+public record AuditRecord(
+    long sequence,
+    long timestampMillis,
+    long generation,
+    PermissionType permission,
+    boolean allowed,
+    int decidingPolicy,
+    String decidingPolicyName,
+    long nullPolicies,
+    String resourceId,
+    String userId,
+    boolean truncated,
+    boolean lossy
+) {}
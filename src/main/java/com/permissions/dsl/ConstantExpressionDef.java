@@ -0,0 +1,14 @@
+package com.permissions.dsl;
+
+/**
+ * 상수 표현식 정의
+ * 부분 평가로 이미 결과가 확정된 조건을 표현
+ * 
+ * @param value true(TRUE), false(FALSE), null(NULL: 데이터 부족으로 평가 불가)
+ */
+public record ConstantExpressionDef(Boolean value) implements ExpressionDef {
+
+    public static final ConstantExpressionDef TRUE = new ConstantExpressionDef(Boolean.TRUE);
+    public static final ConstantExpressionDef FALSE = new ConstantExpressionDef(Boolean.FALSE);
+    public static final ConstantExpressionDef NULL = new ConstantExpressionDef(null);
+}
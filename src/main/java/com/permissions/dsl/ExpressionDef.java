@@ -5,5 +5,5 @@ package com.permissions.dsl;
  * Java 21의 sealed class 패턴을 활용하여 허용되는 표현식 타입을 제한
  */
 public sealed interface ExpressionDef 
-    permits BinaryExpressionDef, AndExpressionDef, OrExpressionDef, NotExpressionDef {
+    permits BinaryExpressionDef, AndExpressionDef, OrExpressionDef, NotExpressionDef, ConstantExpressionDef {
 }
\ No newline at end of file
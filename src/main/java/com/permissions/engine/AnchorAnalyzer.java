@@ -0,0 +1,192 @@
+package com.permissions.engine;
+
+import com.permissions.dsl.*;
+import com.permissions.model.RoleType;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 정책 조건 구조에서 ResourceAnchor를 찾는 분석기
+ *
+ * 3-value 논리에서 비교식은 참조하는 테이블이 로드되어야만 TRUE 또는 FALSE가 될 수 있고,
+ * 멤버십 테이블은 사용자가 리소스의 프로젝트/팀 멤버일 때만 로드되므로
+ * 멤버십 컬럼을 참조하는 비교식이 확정되려면 해당 멤버십이 있어야 함
+ *
+ * - AND가 TRUE이려면 모든 하위 조건이 TRUE → 좁힐 수 있는 하위 조건 하나의 기준을 사용
+ * - OR가 TRUE이려면 하위 조건 중 하나가 TRUE → 모든 하위 조건 기준의 합집합
+ * - NOT이 TRUE이려면 하위 조건이 FALSE → FALSE 기준으로 분석 (AND/OR 역할이 뒤바뀜)
+ *
+ * 멤버십 기준은 같은 규칙으로 조건이 TRUE가 될 수 있는 멤버십 역할도 분석하여 후보 멤버를 역할로 더 좁힘
+ * (예: team_admin_allow는 teamMembership.role == "ADMIN"이 AND 안에 있으므로 팀 admin만 후보)
+ */
+final class AnchorAnalyzer {
+
+    private AnchorAnalyzer() {}
+
+    /**
+     * 조건이 TRUE가 될 수 있는 문서를 가리키는 기준 집합
+     *
+     * @return 기준의 합집합, 좁힐 수 없으면 {ANY}
+     */
+    static Set<ResourceAnchor> analyze(ExpressionDef filter) {
+        Set<ResourceAnchor> anchors = anchors(filter, true);
+        return anchors != null ? Set.copyOf(anchors) : Set.of(ResourceAnchor.ANY);
+    }
+
+    /**
+     * @param outcome 찾는 결과 (true면 TRUE, false면 FALSE가 되는 조건)
+     * @return 기준 집합, 좁힐 수 없으면 null
+     */
+    private static EnumSet<ResourceAnchor> anchors(ExpressionDef expression, boolean outcome) {
+        return switch (expression) {
+            case BinaryExpressionDef binary -> leaf(binary, outcome);
+            case AndExpressionDef and -> outcome ? narrowest(and.expressions(), true) : union(and.expressions(), false);
+            case OrExpressionDef or -> outcome ? union(or.expressions(), true) : narrowest(or.expressions(), false);
+            case NotExpressionDef not -> anchors(not.expression(), !outcome);
+            // 찾는 결과가 될 수 있으면 좁힐 수 없고, 될 수 없으면 후보 없음
+            case ConstantExpressionDef constant -> Boolean.valueOf(outcome).equals(constant.value())
+                ? null : EnumSet.noneOf(ResourceAnchor.class);
+        };
+    }
+
+    /**
+     * 모든 하위 조건이 outcome이어야 하는 경우: 좁힐 수 있는 하위 조건 중 기준이 가장 적은 것
+     */
+    private static EnumSet<ResourceAnchor> narrowest(List<ExpressionDef> expressions, boolean outcome) {
+        EnumSet<ResourceAnchor> narrowest = null;
+        for (ExpressionDef expression : expressions) {
+            EnumSet<ResourceAnchor> anchors = anchors(expression, outcome);
+            if (anchors != null && (narrowest == null || cost(anchors) < cost(narrowest))) {
+                narrowest = anchors;
+            }
+        }
+        return narrowest;
+    }
+
+    /**
+     * 하위 조건 중 하나만 outcome이면 되는 경우: 모든 하위 조건 기준의 합집합
+     */
+    private static EnumSet<ResourceAnchor> union(List<ExpressionDef> expressions, boolean outcome) {
+        EnumSet<ResourceAnchor> union = EnumSet.noneOf(ResourceAnchor.class);
+        for (ExpressionDef expression : expressions) {
+            EnumSet<ResourceAnchor> anchors = anchors(expression, outcome);
+            if (anchors == null) {
+                return null;
+            }
+            union.addAll(anchors);
+        }
+        return union;
+    }
+
+    /**
+     * 비교식 분석
+     * 멤버십 테이블 참조는 결과와 무관하게 기준이 되고,
+     * 생성자/공개 링크 비교는 해당 값과 같을 때(EQUALS면 TRUE, NOT_EQUALS면 FALSE)만 기준이 됨
+     */
+    private static EnumSet<ResourceAnchor> leaf(BinaryExpressionDef binary, boolean outcome) {
+        String field = binary.fieldName();
+        String other = binary.value() instanceof FieldReference reference ? reference.fieldName() : null;
+
+        if (references(field, other, "projectMembership")) {
+            return EnumSet.of(ResourceAnchor.PROJECT_MEMBER);
+        }
+        if (references(field, other, "teamMembership")) {
+            return EnumSet.of(ResourceAnchor.TEAM_MEMBER);
+        }
+
+        boolean matches = binary.operator() == OperatorType.EQUALS ? outcome
+            : binary.operator() == OperatorType.NOT_EQUALS && !outcome;
+        if (!matches) {
+            return null;
+        }
+        if (("user.id".equals(field) && "document.creatorId".equals(other))
+                || ("document.creatorId".equals(field) && "user.id".equals(other))) {
+            return EnumSet.of(ResourceAnchor.CREATOR);
+        }
+        if ("document.publicLinkEnabled".equals(field) && Boolean.TRUE.equals(binary.value())) {
+            return EnumSet.of(ResourceAnchor.PUBLIC_LINK);
+        }
+        return null;
+    }
+
+    /**
+     * 조건이 TRUE가 될 수 있는 멤버십 역할 집합
+     * 역할 컬럼을 상수와 EQUALS/NOT_EQUALS로 비교하는 조건만 역할을 좁히고, 그 밖의 조건은 모든 역할을 허용
+     *
+     * @param membershipTable "teamMembership" 또는 "projectMembership"
+     */
+    static Set<RoleType> roles(ExpressionDef filter, String membershipTable) {
+        return Set.copyOf(roles(filter, membershipTable + ".role", true));
+    }
+
+    private static EnumSet<RoleType> roles(ExpressionDef expression, String roleField, boolean outcome) {
+        return switch (expression) {
+            case BinaryExpressionDef binary -> roleLeaf(binary, roleField, outcome);
+            case AndExpressionDef and -> outcome
+                ? intersectRoles(and.expressions(), roleField, true) : unionRoles(and.expressions(), roleField, false);
+            case OrExpressionDef or -> outcome
+                ? unionRoles(or.expressions(), roleField, true) : intersectRoles(or.expressions(), roleField, false);
+            case NotExpressionDef not -> roles(not.expression(), roleField, !outcome);
+            case ConstantExpressionDef constant -> Boolean.valueOf(outcome).equals(constant.value())
+                ? EnumSet.allOf(RoleType.class) : EnumSet.noneOf(RoleType.class);
+        };
+    }
+
+    private static EnumSet<RoleType> intersectRoles(List<ExpressionDef> expressions, String roleField, boolean outcome) {
+        EnumSet<RoleType> roles = EnumSet.allOf(RoleType.class);
+        for (ExpressionDef expression : expressions) {
+            roles.retainAll(roles(expression, roleField, outcome));
+        }
+        return roles;
+    }
+
+    private static EnumSet<RoleType> unionRoles(List<ExpressionDef> expressions, String roleField, boolean outcome) {
+        EnumSet<RoleType> roles = EnumSet.noneOf(RoleType.class);
+        for (ExpressionDef expression : expressions) {
+            roles.addAll(roles(expression, roleField, outcome));
+        }
+        return roles;
+    }
+
+    /**
+     * 역할 비교식: role == X는 TRUE면 {X}, FALSE면 X 외의 역할 (NOT_EQUALS는 반대)
+     * 역할 이름이 아닌 상수와의 EQUALS는 TRUE가 될 수 없음 (로드된 멤버십의 역할은 항상 역할 이름)
+     */
+    private static EnumSet<RoleType> roleLeaf(BinaryExpressionDef binary, String roleField, boolean outcome) {
+        OperatorType operator = binary.operator();
+        if (!roleField.equals(binary.fieldName()) || !(binary.value() instanceof String name)
+                || (operator != OperatorType.EQUALS && operator != OperatorType.NOT_EQUALS)) {
+            return EnumSet.allOf(RoleType.class);
+        }
+        EnumSet<RoleType> matching = EnumSet.noneOf(RoleType.class);
+        for (RoleType role : RoleType.values()) {
+            if (role.name().equals(name)) {
+                matching.add(role);
+            }
+        }
+        boolean equals = (operator == OperatorType.EQUALS) == outcome;
+        return equals ? matching : EnumSet.complementOf(matching);
+    }
+
+    private static boolean references(String field, String other, String table) {
+        return field.startsWith(table + ".") || (other != null && other.startsWith(table + "."));
+    }
+
+    /**
+     * 기준 집합의 대략적인 후보 규모 (작을수록 후보가 적음)
+     */
+    private static int cost(Set<ResourceAnchor> anchors) {
+        int cost = 0;
+        for (ResourceAnchor anchor : anchors) {
+            cost += switch (anchor) {
+                case CREATOR, PROJECT_MEMBER -> 1;
+                case TEAM_MEMBER -> 4;
+                case PUBLIC_LINK -> 16;
+                case ANY -> 1 << 10;
+            };
+        }
+        return cost;
+    }
+}
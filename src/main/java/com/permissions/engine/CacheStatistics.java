@@ -0,0 +1,21 @@
+package com.permissions.engine;
+
+/**
+ * 권한 결정 캐시 통계
+ * 
+ * @param hits 캐시된 결정을 그대로 사용한 횟수
+ * @param misses 엔진으로 다시 평가한 횟수 (무효화된 항목 포함)
+ * @param evictions 크기 제한으로 제거된 항목 수
+ * @param invalidations 엔티티/정책 변경으로 무효화된 항목 수
+ * @param size 현재 캐시 항목 수
+ */
+public record CacheStatistics(long hits, long misses, long evictions, long invalidations, int size) {
+    
+    /**
+     * 캐시 적중률 (조회가 없으면 0)
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,201 @@
+package com.permissions.engine;
+
+import com.permissions.loader.EntityVersionSource;
+import com.permissions.model.PermissionType;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 권한 결정 캐시를 적용한 PolicyEngine 래퍼
+ * (리소스, 사용자, 권한) 단위로 결정을 근사 LRU(CLOCK, second chance) 방식으로 캐시
+ *
+ * 캐시된 결정은 계산 당시의 엔티티 버전과 정책 세대를 함께 저장하며,
+ * 조회 시 관련 엔티티(사용자, 문서, 프로젝트, 팀, 멤버십)나 정책이 바뀌었으면 무효화 후 다시 평가
+ *
+ * 여러 스레드가 동시에 사용할 수 있으며 적중 경로에는 잠금이 없음
+ * - 항목은 ConcurrentHashMap에 저장하고, 적중 시 항목의 참조 비트만 켬 (LRU 목록 재배치 없음)
+ * - 항목은 삽입 순서대로 제거 큐에도 들어가며, 크기 제한을 넘으면 한 스레드만 큐 앞에서부터 확인하여
+ *   참조 비트가 켜진 항목은 비트를 끄고 큐 뒤로 보내고, 꺼진 항목은 제거 (항목당 O(1), 전체 복사/정렬 없음)
+ *   (한 번에 최대 크기의 1/16을 제거하여 제거 비용을 여러 삽입에 나눔, 진행 중에는 잠시 최대 크기를 넘을 수 있음)
+ * - 무효화되거나 교체된 항목의 큐 노드는 큐에서 꺼낼 때 버리며, 큐가 최대 크기의 두 배를 넘으면 정리
+ * - 통계는 LongAdder로 집계하므로 스레드 간 경합이 없음
+ */
+public class CachingPolicyEngine {
+    private final PolicyEngine policyEngine;
+    private final EntityVersionSource versionSource;
+    private final int maximumSize;
+    private final int evictionTarget;
+    private final Map<DecisionKey, CachedDecision> entries = new ConcurrentHashMap<>();
+    // 제거 순서 큐 (살아 있는 항목마다 노드 하나, 무효화/교체된 노드는 꺼낼 때 버림)
+    private final Queue<CachedDecision> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    
+    /**
+     * @param policyEngine 실제 평가를 수행할 엔진
+     * @param versionSource 엔티티 버전 제공자 (보통 엔진이 사용하는 데이터 로더)
+     * @param maximumSize 최대 캐시 항목 수
+     */
+    public CachingPolicyEngine(PolicyEngine policyEngine, EntityVersionSource versionSource, int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        this.policyEngine = policyEngine;
+        this.versionSource = versionSource;
+        this.maximumSize = maximumSize;
+        this.evictionTarget = maximumSize - maximumSize / 16;
+    }
+    
+    /**
+     * 캐시를 거쳐 권한 확인
+     *
+     * @param resource 대상 리소스 (예: Document 또는 문서 ID)
+     * @param user 사용자 (예: User 또는 사용자 ID)
+     * @param permission 확인할 권한
+     * @return 권한이 있으면 true, 없으면 false
+     */
+    public boolean hasPermission(Object resource, Object user, PermissionType permission) {
+        DecisionKey key = new DecisionKey(resource, user, permission);
+        // 평가 전에 버전을 읽어 두어, 평가 중 변경이 있으면 다음 조회에서 무효화되도록 함
+        long version = versionSource.currentVersion(resource, user);
+        long generation = policyEngine.getPolicyGeneration();
+    
+        CachedDecision cached = entries.get(key);
+        if (cached != null) {
+            if (cached.version == version && cached.generation == generation) {
+                if (!cached.referenced) {
+                    cached.referenced = true;
+                }
+                hits.increment();
+                return cached.allowed;
+            }
+            if (entries.remove(key, cached)) {
+                invalidations.increment();
+            }
+        }
+        misses.increment();
+    
+        boolean allowed = policyEngine.hasPermission(resource, user, permission);
+    
+        CachedDecision decision = new CachedDecision(key, allowed, version, generation);
+        entries.put(key, decision);
+        clock.offer(decision);
+        queued.incrementAndGet();
+        if (needsEviction()) {
+            evict();
+        }
+        return allowed;
+    }
+    
+    private boolean needsEviction() {
+        return entries.size() > maximumSize || queued.get() > 2L * maximumSize;
+    }
+    
+    /**
+     * 크기 제한을 넘었으면 크기를 evictionTarget 이하로 줄이고, 큐에 버릴 노드가 많으면 정리
+     * 다른 스레드가 제거 중이면 바로 반환하며, 제거하던 스레드가 잠금을 놓은 뒤 다시 확인하여 이어서 제거
+     */
+    private void evict() {
+        while (needsEviction() && evictionLock.tryLock()) {
+            try {
+                sweep();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+    
+    /**
+     * 큐를 최대 한 바퀴 돌며 버릴 노드를 버리고, 크기 제한을 넘었으면 참조 비트가 꺼진 항목을 제거
+     */
+    private void sweep() {
+        boolean overSize = entries.size() > maximumSize;
+        for (int budget = queued.get(); budget > 0; budget--) {
+            if (overSize ? entries.size() <= evictionTarget : queued.get() <= maximumSize) {
+                return;
+            }
+            CachedDecision node = clock.poll();
+            if (node == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            if (entries.get(node.key) != node) {
+                continue; // 무효화되었거나 다시 계산되어 교체된 항목
+            }
+            if (overSize && !node.referenced) {
+                if (entries.remove(node.key, node)) {
+                    evictions.increment();
+                }
+                continue;
+            }
+            if (overSize) {
+                node.referenced = false;
+            }
+            clock.offer(node);
+            queued.incrementAndGet();
+        }
+    }
+    
+    /**
+     * 모든 캐시 항목 제거
+     */
+    public void invalidateAll() {
+        for (DecisionKey key : entries.keySet()) {
+            if (entries.remove(key) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+    
+    /**
+     * 캐시 통계 조회 (각 값은 조회 시점의 근사치)
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), entries.size());
+    }
+    
+    /**
+     * 제거 큐의 노드 수 (테스트용)
+     */
+    int queuedNodes() {
+        return queued.get();
+    }
+    
+    public PolicyEngine getPolicyEngine() {
+        return policyEngine;
+    }
+    
+    /**
+     * 캐시 키
+     */
+    private record DecisionKey(Object resource, Object user, PermissionType permission) {}
+    
+    /**
+     * 캐시된 결정과 계산 당시의 엔티티 버전/정책 세대, 마지막 제거 확인 이후 적중 여부
+     */
+    private static final class CachedDecision {
+        final DecisionKey key;
+        final boolean allowed;
+        final long version;
+        final long generation;
+        volatile boolean referenced;
+    
+        CachedDecision(DecisionKey key, boolean allowed, long version, long generation) {
+            this.key = key;
+            this.allowed = allowed;
+            this.version = version;
+            this.generation = generation;
+        }
+    }
+}
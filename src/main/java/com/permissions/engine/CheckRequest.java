@@ -0,0 +1,12 @@
+package com.permissions.engine;
+
+import com.permissions.model.PermissionType;
+
+/**
+ * 배치 권한 확인의 개별 요청
+ * 
+ * @param resource 대상 리소스 (예: Document)
+ * @param user 사용자 (예: User)
+ * @param permission 확인할 권한
+ */
+public record CheckRequest(Object resource, Object user, PermissionType permission) {}
@@ -0,0 +1,20 @@
+package com.permissions.engine;
+
+import com.permissions.evaluator.CompiledExpression;
+import com.permissions.policy.Policy;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 컴파일된 정책을 담는 Record
+ * 정책 등록 시점에 applyFilter를 한 번 컴파일하여 권한 확인마다 재해석하지 않음
+ * 
+ * @param policy 원본 정책
+ * @param filter 컴파일된 정책 적용 조건
+ * @param loadOrder 단계적 로딩 시 테이블을 가져올 순서 (requiredData를 로딩 비용이 낮은 순으로 정렬)
+ * @param anchors 조건이 TRUE가 될 수 있는 문서를 좁히는 기준 (역방향 조회용)
+ * @param index 정책 스냅샷에서의 등록 순서 위치 (감사 로그의 결정 정책 번호)
+ */
+public record CompiledPolicy(Policy policy, CompiledExpression filter, List<String> loadOrder,
+        Set<ResourceAnchor> anchors, int index) {}
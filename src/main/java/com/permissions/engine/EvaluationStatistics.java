@@ -0,0 +1,12 @@
+package com.permissions.engine;
+
+/**
+ * 정책 조건 평가 누적 통계
+ * 
+ * @param evaluations 평가 프레임 단위로 수행한 평가 수 (권한 확인, 배치의 (리소스, 사용자) 조합 등)
+ * @param leafEvaluations 실제로 수행한 비교식 평가 수 합계
+ * @param savedLeafEvaluations 같은 비교식의 메모된 결과를 재사용하여 생략한 비교식 평가 수 합계
+ * @param savedSubexpressionEvaluations 메모된 결과를 재사용하여 생략한 AND/OR/NOT 하위 표현식 평가 수 합계
+ */
+public record EvaluationStatistics(long evaluations, long leafEvaluations,
+        long savedLeafEvaluations, long savedSubexpressionEvaluations) {}
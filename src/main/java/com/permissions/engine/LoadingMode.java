@@ -0,0 +1,17 @@
+package com.permissions.engine;
+
+/**
+ * 권한 확인 시 데이터 로딩 방식
+ */
+public enum LoadingMode {
+    /**
+     * 적용 정책들이 필요로 하는 모든 테이블을 한 번에 로드
+     */
+    EAGER,
+    
+    /**
+     * 비용이 낮은 테이블부터 로드하고, 정책 결과가 NULL일 때만 다음 테이블을 추가로 로드
+     * 결과가 확정되는 즉시 중단
+     */
+    STAGED
+}
@@ -0,0 +1,10 @@
+package com.permissions.engine;
+
+/**
+ * 단계적 로딩 누적 통계
+ * 
+ * @param checks 단계적 로딩으로 수행한 권한 확인 수
+ * @param tablesFetched 로드한 테이블 수 합계
+ * @param tablesAvoided 로드를 생략한 테이블 수 합계
+ */
+public record LoadingStatistics(long checks, long tablesFetched, long tablesAvoided) {}
@@ -1,55 +1,210 @@
 package com.permissions.engine;
 
+import com.permissions.audit.AuditLog;
 import com.permissions.policy.Policy;
 import com.permissions.policy.EffectType;
 import com.permissions.model.PermissionType;
+import com.permissions.loader.AsyncDataLoader;
 import com.permissions.loader.DataLoader;
+import com.permissions.loader.LoadRequest;
+import com.permissions.loader.ResourceIndex;
+import com.permissions.loader.RoleIndex;
+import com.permissions.loader.TableLoadListener;
+import com.permissions.metrics.PolicyMetrics;
+import com.permissions.model.Document;
+import com.permissions.model.RoleType;
+import com.permissions.model.User;
+import com.permissions.evaluator.CompiledExpression;
+import com.permissions.evaluator.EvaluationFrame;
+import com.permissions.evaluator.ExpressionCompiler;
 import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.evaluator.ExpressionOptimizer;
 import com.permissions.evaluator.EvaluationResult;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 정책 기반 권한 평가 엔진
  * DENY 우선, ALLOW 후순, 기본 거부 원칙을 따름
+ * 
+ * 정책 변경은 불변 PolicySnapshot을 새로 만들어 volatile 참조를 교체하는 방식(copy-on-write)이므로
+ * 권한 확인은 잠금 없이 여러 스레드에서 동시에 호출할 수 있음
  */
 public class PolicyEngine {
-    private final List<Policy> policies = new ArrayList<>();
+    
+    /**
+     * 단계적 로딩 시 테이블 로딩 비용 순서 (앞쪽일수록 저렴)
+     * 문서/사용자는 요청 객체에서 바로 얻을 수 있고, 멤버십은 조인이 필요한 가장 비싼 조회
+     */
+    private static final List<String> TABLE_LOAD_ORDER =
+        List.of("document", "user", "project", "team", "projectMembership", "teamMembership");
+    
     private final DataLoader dataLoader;
     private final ExpressionEvaluator evaluator;
     
+    // 계측 (NOOP이면 시간 측정도 생략)
+    private final PolicyMetrics metrics;
+    private final boolean instrumented;
+    private final TableLoadListener tableLoads;
+    private final ExpressionCompiler compiler = new ExpressionCompiler();
+    private final ExpressionOptimizer optimizer = new ExpressionOptimizer();
+    private volatile LoadingMode loadingMode = LoadingMode.EAGER;
+    
+    // hasPermissionAsync에서 사용하는 비동기 로더 (기본은 데이터 로더를 가상 스레드에서 호출)
+    private volatile AsyncDataLoader asyncDataLoader;
+    
+    // 권한 결정 감사 로그 (없으면 null)
+    private volatile AuditLog auditLog;
+    
+    // 스레드별로 재사용하는 평가 프레임 (확인 한 번 동안만 사용하고 다음 확인에서 reset)
+    private final ThreadLocal<EvaluationFrame> frames = ThreadLocal.withInitial(EvaluationFrame::new);
+    
+    // 현재 정책 세대, 변경 시 새 스냅샷으로 통째로 교체 (읽기 측은 잠금 없음)
+    private volatile PolicySnapshot snapshot = PolicySnapshot.of(0, List.of());
+    
+    // 단계적 로딩 누적 통계
+    private final LongAdder stagedChecks = new LongAdder();
+    private final LongAdder stagedTablesFetched = new LongAdder();
+    private final LongAdder stagedTablesAvoided = new LongAdder();
+    
+    // 조건 평가 누적 통계 (비교식 평가 수와 메모로 생략한 평가 수)
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder leafEvaluations = new LongAdder();
+    private final LongAdder savedLeafEvaluations = new LongAdder();
+    private final LongAdder savedSubexpressionEvaluations = new LongAdder();
+    
     public PolicyEngine(DataLoader dataLoader, ExpressionEvaluator evaluator) {
+        this(dataLoader, evaluator, PolicyMetrics.NOOP);
+    }
+    
+    /**
+     * @param metrics 권한별 지연, 결정 정책, 정책별 결과(NULL 포함), 테이블 로드 지연을 기록할 계측
+     */
+    public PolicyEngine(DataLoader dataLoader, ExpressionEvaluator evaluator, PolicyMetrics metrics) {
         this.dataLoader = dataLoader;
         this.evaluator = evaluator;
+        this.metrics = metrics;
+        this.instrumented = metrics != PolicyMetrics.NOOP;
+        this.tableLoads = instrumented ? metrics::recordTableLoad : null;
+        this.asyncDataLoader = dataLoader instanceof AsyncDataLoader async
+            ? async : AsyncDataLoader.onVirtualThreads(dataLoader);
     }
     
     /**
      * 정책을 엔진에 추가
+     * 정책 조건은 추가 시점에 최적화/컴파일되며, 정책 간 공통 하위 조건을 공유하도록 전체 정책을 다시 컴파일함
      */
     public void addPolicy(Policy policy) {
-        policies.add(policy);
+        addPolicies(List.of(policy));
     }
     
     /**
-     * 여러 정책을 한번에 추가
+     * 여러 정책을 한번에 추가 (하나의 새 세대로 게시)
      */
-    public void addPolicies(Collection<Policy> policies) {
-        this.policies.addAll(policies);
+    public synchronized void addPolicies(Collection<Policy> policies) {
+        List<Policy> next = new ArrayList<>(snapshot.sourcePolicies());
+        next.addAll(policies);
+        publish(next);
+    }
+    
+    /**
+     * 정책 집합 전체를 새 세대로 교체
+     * 컴파일과 평가 계획 생성을 모두 마친 뒤 한 번에 교체하므로,
+     * 권한 확인 중인 스레드는 이전 세대 또는 새 세대 중 하나만 보게 됨
+     */
+    public synchronized void replacePolicies(Collection<Policy> policies) {
+        publish(List.copyOf(policies));
     }
     
     /**
      * 모든 정책 조회
      */
     public List<Policy> getPolicies() {
-        return new ArrayList<>(policies);
+        return new ArrayList<>(snapshot.sourcePolicies());
     }
     
     /**
      * 정책 제거
      */
-    public boolean removePolicy(String policyName) {
-        return policies.removeIf(policy -> policy.name().equals(policyName));
+    public synchronized boolean removePolicy(String policyName) {
+        List<Policy> next = new ArrayList<>(snapshot.sourcePolicies());
+        boolean removed = next.removeIf(policy -> policy.name().equals(policyName));
+        if (removed) {
+            publish(next);
+        }
+        return removed;
+    }
+    
+    /**
+     * 현재 정책 스냅샷 조회
+     */
+    public PolicySnapshot getSnapshot() {
+        return snapshot;
+    }
+    
+    /**
+     * 데이터 로딩 방식 설정 (기본값 EAGER)
+     */
+    public void setLoadingMode(LoadingMode loadingMode) {
+        this.loadingMode = Objects.requireNonNull(loadingMode);
+    }
+    
+    public LoadingMode getLoadingMode() {
+        return loadingMode;
+    }
+    
+    /**
+     * hasPermissionAsync에서 사용할 비동기 로더 설정
+     * 예: AsyncDataLoader.of(dataLoader, executor)로 전용 스레드 풀 사용
+     */
+    public void setAsyncDataLoader(AsyncDataLoader asyncDataLoader) {
+        this.asyncDataLoader = asyncDataLoader;
+    }
+    
+    /**
+     * 권한 결정 감사 로그 설정 (null이면 기록하지 않음)
+     * hasPermission, hasPermissionAsync, hasPermissions, effectivePermissions, 역방향 조회(후보별), UserSession의
+     * 확인 결과를 결정 정책과 NULL 정책 위치와 함께 기록하고,
+     * 정책 위치를 이름으로 바꿀 수 있도록 현재와 이후 정책 세대의 정책 이름 목록을 로그에 등록
+     * (이름 목록을 쓰지 못해도 정책 게시는 계속되며 감사 로그가 나중에 다시 기록)
+     */
+    public synchronized void setAuditLog(AuditLog auditLog) {
+        this.auditLog = auditLog;
+        if (auditLog != null) {
+            auditLog.registerGeneration(snapshot.generation(), policyNames(snapshot));
+        }
+    }
+    
+    /**
+     * 단계적 로딩 누적 통계 조회
+     */
+    public LoadingStatistics getLoadingStatistics() {
+        return new LoadingStatistics(stagedChecks.sum(), stagedTablesFetched.sum(), stagedTablesAvoided.sum());
+    }
+    
+    /**
+     * 조건 평가 누적 통계 조회
+     */
+    public EvaluationStatistics getEvaluationStatistics() {
+        return new EvaluationStatistics(evaluations.sum(), leafEvaluations.sum(),
+            savedLeafEvaluations.sum(), savedSubexpressionEvaluations.sum());
+    }
+    
+    /**
+     * 정책 세대 조회
+     * 정책이 추가/제거되어 평가 계획이 다시 만들어질 때마다 증가
+     */
+    public long getPolicyGeneration() {
+        return snapshot.generation();
+    }
+    
+    /**
+     * 권한별 평가 계획 조회
+     */
+    public PolicyPlan getPlan(PermissionType permission) {
+        return snapshot.plan(permission);
     }
     
     /**
@@ -61,81 +216,778 @@ public class PolicyEngine {
      * @return 권한이 있으면 true, 없으면 false
      */
     public boolean hasPermission(Object resource, Object user, PermissionType permission) {
-        // 1. permission에 해당하는 모든 정책 필터링
-        var applicablePolicies = policies.stream()
-            .filter(p -> p.permissions().contains(permission))
-            .toList();
+        // 1. permission에 해당하는 평가 계획 조회
+        PolicySnapshot current = snapshot;
+        PolicyPlan plan = current.plan(permission);
         
-        if (applicablePolicies.isEmpty()) {
+        if (plan.isEmpty()) {
+            audit(current.generation(), permission, resource, user, false, null);
             return false; // 해당 권한에 대한 정책이 없으면 기본 거부
         }
+        
+        boolean allowed = check(plan, permission, resource, user);
+        audit(current.generation(), permission, resource, user, allowed);
+        return allowed;
+    }
+    
+    /**
+     * 비동기 권한 확인
+     * 평가 계획이 필요로 하는 테이블을 비동기 로더로 동시에 로드하고, 모두 도착하면 로드를 완료한 스레드에서 평가
+     * 호출 스레드는 블로킹되지 않으며, 로드 지연은 테이블 지연의 합이 아니라 가장 느린 테이블의 지연이 됨
+     * 
+     * 단계적 로딩(STAGED)은 로드 수를 줄이는 대신 테이블을 순서대로 기다리므로 적용하지 않고 항상 모든 테이블을 로드
+     * 완료 스레드가 매번 다를 수 있어 스레드별 프레임 대신 확인마다 새 프레임 사용
+     * 
+     * @param resource 대상 리소스 (예: Document)
+     * @param user 사용자 (예: User)
+     * @param permission 확인할 권한
+     * @return 허용 여부로 완료되는 future (로드 실패 시 예외로 완료)
+     */
+    public CompletableFuture<Boolean> hasPermissionAsync(Object resource, Object user, PermissionType permission) {
+        PolicySnapshot current = snapshot;
+        PolicyPlan plan = current.plan(permission);
+        if (plan.isEmpty()) {
+            audit(current.generation(), permission, resource, user, false, null);
+            return CompletableFuture.completedFuture(false); // 해당 권한에 대한 정책이 없으면 기본 거부
+        }
+        
+        long start = instrumented ? System.nanoTime() : 0;
+        return asyncDataLoader.loadDataAsync(resource, user, plan.requiredTables(), tableLoads).thenApply(data -> {
+            if (instrumented) {
+                metrics.recordLoad(plan.requiredTables(), System.nanoTime() - start);
+            }
+            EvaluationFrame frame = new EvaluationFrame();
+            frame.putAll(data);
+            boolean allowed = decide(plan, permission, frame);
+            recordEvaluation(frame);
+            if (instrumented) {
+                metrics.recordCheck(permission, allowed, System.nanoTime() - start);
+            }
+            audit(current.generation(), permission, resource, user, allowed, frame);
+            return allowed;
+        });
+    }
+    
+    /**
+     * 사용자 세션 열기
+     * 같은 사용자로 여러 리소스를 확인할 때 사용자에만 의존하는 정책 조건을 미리 평가해 둔 세션을 사용
+     * 
+     * @param user 사용자 (User 또는 사용자 ID)
+     * @return 세션 사용자의 권한 확인 세션
+     */
+    public UserSession openSession(Object user) {
+        return new UserSession(this, user);
+    }
+    
+    DataLoader getDataLoader() {
+        return dataLoader;
+    }
+    
+    /**
+     * 평가 계획으로 권한 확인 (로딩 방식에 따라 EAGER/STAGED)
+     */
+    boolean check(PolicyPlan plan, PermissionType permission, Object resource, Object user) {
+        if (loadingMode == LoadingMode.STAGED) {
+            return checkStaged(plan, permission, resource, user).allowed();
+        }
+        long start = instrumented ? System.nanoTime() : 0;
             
-        // 2. 필요한 데이터 파악 및 로드
-        var requiredData = collectRequiredData(applicablePolicies);
-        var loadedData = dataLoader.loadData(resource, user, requiredData);
+        // 2. 필요한 데이터를 평가 프레임에 로드
+        EvaluationFrame frame = frames.get().reset();
+        load(resource, user, plan.requiredTables(), frame);
         
-        // 3. DENY 정책 평가 (하나라도 true면 거부)
-        var denyPolicies = applicablePolicies.stream()
-            .filter(p -> p.effect() == EffectType.DENY)
-            .toList();
+        // 3~5. DENY → ALLOW → 기본 거부 순으로 평가
+        boolean allowed = decide(plan, permission, frame);
+        recordEvaluation(frame);
+        if (instrumented) {
+            metrics.recordCheck(permission, allowed, System.nanoTime() - start);
+        }
+        return allowed;
+    }
+    
+    /**
+     * 단계적 로딩으로 권한 확인
+     * 비용이 낮은 테이블부터 로드하여 평가하고, 결과가 NULL인 정책에 대해서만 다음 테이블을 추가 로드
+     * 3-value 논리에서 TRUE/FALSE로 확정된 결과는 테이블이 추가되어도 바뀌지 않으므로
+     * 최종 결과는 EAGER 로딩과 동일
+     * 
+     * @param resource 대상 리소스 (예: Document)
+     * @param user 사용자 (예: User)
+     * @param permission 확인할 권한
+     * @return 허용 여부와 로드/생략한 테이블 수
+     */
+    public StagedCheckResult checkStaged(Object resource, Object user, PermissionType permission) {
+        PolicyPlan plan = snapshot.plan(permission);
+        if (plan.isEmpty()) {
+            return new StagedCheckResult(false, 0, 0);
+        }
+        return checkStaged(plan, permission, resource, user);
+    }
+    
+    private StagedCheckResult checkStaged(PolicyPlan plan, PermissionType permission, Object resource, Object user) {
+        long start = instrumented ? System.nanoTime() : 0;
+        EvaluationFrame frame = frames.get().reset();
+        Set<String> fetched = new HashSet<>();
+        boolean allowed = decideStaged(plan, permission, resource, user, frame, fetched);
+        recordEvaluation(frame);
+        if (instrumented) {
+            metrics.recordCheck(permission, allowed, System.nanoTime() - start);
+        }
+        
+        int avoided = plan.requiredTables().size() - fetched.size();
+        stagedChecks.increment();
+        stagedTablesFetched.add(fetched.size());
+        stagedTablesAvoided.add(avoided);
+        return new StagedCheckResult(allowed, fetched.size(), avoided);
+    }
+    
+    /**
+     * 단계적 로딩으로 평가 계획 실행 (DENY 우선, ALLOW 후순, 기본 거부)
+     * 
+     * 단계마다 아직 결과가 NULL인 정책을 현재 로드된 데이터로 평가하고,
+     * 확정되지 않은 정책이 필요로 하는 테이블 중 가장 저렴한 테이블 하나를 추가로 로드
+     * DENY 정책이 모두 확정(FALSE 또는 필요한 테이블을 모두 로드한 NULL)되기 전에는 허용하지 않음
+     */
+    private boolean decideStaged(PolicyPlan plan, PermissionType permission, Object resource, Object user,
+            EvaluationFrame frame, Set<String> fetched) {
+        List<CompiledPolicy> denyPolicies = plan.denyPolicies();
+        List<CompiledPolicy> allowPolicies = plan.allowPolicies();
+        boolean[] denyDone = new boolean[denyPolicies.size()];
+        boolean[] allowDone = new boolean[allowPolicies.size()];
+        
+        while (true) {
+            List<CompiledPolicy> pending = denyPolicies;
+            boolean[] done = denyDone;
             
-        for (var policy : denyPolicies) {
-            EvaluationResult result = evaluator.evaluate(policy.applyFilter(), loadedData);
+            // DENY 정책 평가 (하나라도 true면 거부)
+            int matched = evaluateStage(denyPolicies, denyDone, frame, fetched);
+            if (matched >= 0) {
+                recordDecision(permission, denyPolicies.get(matched), frame);
+                return false;
+            }
+            
+            // DENY가 모두 확정되면 ALLOW 정책 평가 (하나라도 true면 허용)
+            if (allDone(denyDone)) {
+                matched = evaluateStage(allowPolicies, allowDone, frame, fetched);
+                if (matched >= 0) {
+                    recordDecision(permission, allowPolicies.get(matched), frame);
+                    return true;
+                }
+                if (allDone(allowDone)) {
+                    recordDecision(permission, null, frame);
+                    return false; // 기본 거부
+                }
+                pending = allowPolicies;
+                done = allowDone;
+            }
+            
+            // 확정되지 않은 정책을 위해 가장 저렴한 테이블 하나를 추가 로드
+            String table = nextTable(pending, done, fetched);
+            fetched.add(table);
+            load(resource, user, Set.of(table), frame);
+        }
+    }
+    
+    /**
+     * 필요한 테이블을 평가 프레임에 로드
+     * 계측 중이면 로드 호출 전체 시간과, 데이터 로더가 알려 주는 테이블별 조회 시간을 함께 기록
+     */
+    private void load(Object resource, Object user, Set<String> tables, EvaluationFrame frame) {
+        if (!instrumented) {
+            dataLoader.loadFrame(resource, user, tables, frame);
+            return;
+        }
+        long start = System.nanoTime();
+        dataLoader.loadFrame(resource, user, tables, frame, tableLoads);
+        metrics.recordLoad(tables, System.nanoTime() - start);
+    }
+    
+    /**
+     * 확정되지 않은 정책들을 현재 데이터로 평가
+     * FALSE이거나 필요한 테이블을 모두 로드했는데도 NULL이면 확정으로 표시
+     * 
+     * @return TRUE인 정책의 위치, 없으면 -1
+     */
+    private int evaluateStage(List<CompiledPolicy> policies, boolean[] done,
+            EvaluationFrame frame, Set<String> fetched) {
+        for (int i = 0; i < policies.size(); i++) {
+            if (done[i]) {
+                continue;
+            }
+            EvaluationResult result = evaluate(policies.get(i), frame);
             if (result == EvaluationResult.TRUE) {
-                return false; // DENY 정책이 매치되면 즉시 거부
+                return i;
+            }
+            if (result == EvaluationResult.FALSE) {
+                done[i] = true;
+            } else if (fetched.containsAll(policies.get(i).loadOrder())) {
+                done[i] = true;
+                frame.markNullPolicy(policies.get(i).index()); // 필요한 테이블을 모두 로드해도 NULL
+            }
+        }
+        return -1;
+    }
+    
+    private static boolean allDone(boolean[] done) {
+        for (boolean value : done) {
+            if (!value) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 확정되지 않은 정책들이 필요로 하는 테이블 중 아직 로드하지 않은 가장 저렴한 테이블
+     */
+    private static String nextTable(List<CompiledPolicy> policies, boolean[] done, Set<String> fetched) {
+        String next = null;
+        int nextCost = Integer.MAX_VALUE;
+        for (int i = 0; i < policies.size(); i++) {
+            if (done[i]) {
+                continue;
+            }
+            for (String table : policies.get(i).loadOrder()) {
+                if (!fetched.contains(table)) {
+                    int cost = tableCost(table);
+                    if (cost < nextCost) {
+                        next = table;
+                        nextCost = cost;
+                    }
+                    break; // loadOrder는 비용 순이므로 첫 번째 미로드 테이블이 정책 내 최저 비용
+                }
+            }
+        }
+        return next;
+    }
+    
+    private static int tableCost(String table) {
+        int cost = TABLE_LOAD_ORDER.indexOf(table);
+        return cost < 0 ? TABLE_LOAD_ORDER.size() : cost;
+    }
+    
+    /**
+     * 여러 권한 확인을 한 번에 수행
+     * 같은 (리소스, 사용자) 조합은 필요한 테이블을 합쳐 한 번만 로드하고,
+     * 데이터 로더의 배치 로딩(loadFrames)으로 요청 간 공유되는 엔티티(같은 사용자, 프로젝트, 팀 등)의 조회를 재사용
+     * 단계적 로딩(STAGED)이면 요청마다 결과가 확정될 때까지만 테이블을 로드하므로 배치 로딩 없이 요청별로 확인
+     * 감사 로그가 있으면 요청마다 hasPermission과 같은 결정 레코드를 기록
+     * 
+     * @param requests 권한 확인 요청 목록
+     * @return i번째 비트가 i번째 요청의 허용 여부인 BitSet
+     */
+    public BitSet hasPermissions(List<CheckRequest> requests) {
+        BitSet allowed = new BitSet(requests.size());
+        PolicySnapshot current = snapshot;
+        
+        if (loadingMode == LoadingMode.STAGED) {
+            for (int i = 0; i < requests.size(); i++) {
+                CheckRequest request = requests.get(i);
+                PolicyPlan plan = current.plan(request.permission());
+                if (plan.isEmpty()) {
+                    audit(current.generation(), request.permission(), request.resource(), request.user(), false, null);
+                    continue;
+                }
+                boolean granted = check(plan, request.permission(), request.resource(), request.user());
+                if (granted) {
+                    allowed.set(i);
+                }
+                audit(current.generation(), request.permission(), request.resource(), request.user(), granted);
             }
-            // NULL인 경우는 데이터 부족이므로 계속 진행
+            return allowed;
         }
         
-        // 4. ALLOW 정책 평가 (하나라도 true면 허용)
-        var allowPolicies = applicablePolicies.stream()
-            .filter(p -> p.effect() == EffectType.ALLOW)
-            .toList();
+        // 1. (리소스, 사용자) 조합별로 필요한 테이블 합집합 계산
+        Map<LoadKey, Integer> loadIndexes = new HashMap<>();
+        List<LoadRequest> loadRequests = new ArrayList<>();
+        int[] loadIndexPerRequest = new int[requests.size()];
+        
+        for (int i = 0; i < requests.size(); i++) {
+            CheckRequest request = requests.get(i);
+            PolicyPlan plan = current.plan(request.permission());
+            if (plan.isEmpty()) {
+                loadIndexPerRequest[i] = -1; // 해당 권한에 대한 정책이 없으면 기본 거부
+                continue;
+            }
             
-        for (var policy : allowPolicies) {
-            EvaluationResult result = evaluator.evaluate(policy.applyFilter(), loadedData);
+            int loadIndex = loadIndexes.computeIfAbsent(new LoadKey(request.resource(), request.user()), key -> {
+                loadRequests.add(new LoadRequest(key.resource(), key.user(), new HashSet<>()));
+                return loadRequests.size() - 1;
+            });
+            loadRequests.get(loadIndex).requiredTables().addAll(plan.requiredTables());
+            loadIndexPerRequest[i] = loadIndex;
+        }
+        
+        // 2. 배치 로드 (조합마다 프레임 하나)
+        List<EvaluationFrame> loadedFrames = new ArrayList<>(loadRequests.size());
+        for (int i = 0; i < loadRequests.size(); i++) {
+            loadedFrames.add(new EvaluationFrame());
+        }
+        if (!loadRequests.isEmpty()) {
+            dataLoader.loadFrames(loadRequests, loadedFrames);
+        }
+        
+        // 3. 요청별 평가 (같은 조합의 요청은 프레임을 공유하므로 요청마다 결정 기록을 초기화)
+        for (int i = 0; i < requests.size(); i++) {
+            CheckRequest request = requests.get(i);
+            if (loadIndexPerRequest[i] < 0) {
+                audit(current.generation(), request.permission(), request.resource(), request.user(), false, null);
+                continue;
+            }
+            EvaluationFrame frame = loadedFrames.get(loadIndexPerRequest[i]).clearDecision();
+            boolean granted = decide(current.plan(request.permission()), request.permission(), frame);
+            if (granted) {
+                allowed.set(i);
+            }
+            audit(current.generation(), request.permission(), request.resource(), request.user(), granted, frame);
+        }
+        loadedFrames.forEach(this::recordEvaluation);
+        
+        return allowed;
+    }
+    
+    /**
+     * 리소스에 대해 사용자가 가진 모든 권한을 한 번에 계산
+     * 모든 권한에 필요한 테이블 합집합을 한 번만 로드하고,
+     * 여러 권한에 걸친 정책(예: private_project_deny, document_creator_allow)은 한 번만 평가
+     * 감사 로그가 있으면 권한마다 hasPermission과 같은 결정 레코드를 기록
+     * 
+     * @param resource 대상 리소스 (예: Document)
+     * @param user 사용자 (예: User)
+     * @return 허용된 권한 집합
+     */
+    public EnumSet<PermissionType> effectivePermissions(Object resource, Object user) {
+        EnumSet<PermissionType> granted = EnumSet.noneOf(PermissionType.class);
+        PolicySnapshot current = snapshot;
+        if (current.policies().isEmpty()) {
+            for (PermissionType permission : PermissionType.values()) {
+                audit(current.generation(), permission, resource, user, false, null);
+            }
+            return granted;
+        }
+        
+        EvaluationFrame frame = frames.get().reset();
+        load(resource, user, current.allRequiredTables(), frame);
+        Map<CompiledPolicy, EvaluationResult> results = new IdentityHashMap<>();
+        
+        for (PermissionType permission : PermissionType.values()) {
+            PolicyPlan plan = current.plan(permission);
+            if (plan.isEmpty()) {
+                audit(current.generation(), permission, resource, user, false, null);
+                continue;
+            }
+            boolean allowed = decide(plan, permission, frame.clearDecision(), results);
+            if (allowed) {
+                granted.add(permission);
+            }
+            audit(current.generation(), permission, resource, user, allowed, frame);
+        }
+        recordEvaluation(frame);
+        
+        return granted;
+    }
+    
+    /**
+     * 사용자가 권한을 가진 모든 문서 조회 (역방향 조회)
+     * 
+     * 모든 문서를 확인하지 않고, ALLOW 정책 조건 구조에서 찾은 기준(생성자, 프로젝트/팀 멤버십, 공개 링크)으로
+     * 후보 문서를 모은 뒤 후보마다 hasPermission과 같은 평가로 확인
+     * 허용은 ALLOW 정책이 TRUE일 때만 가능하므로 후보 밖의 문서는 허용될 수 없어 결과는 문서별 hasPermission과 동일
+     * 기준으로 좁힐 수 없는 ALLOW 정책이 있으면 모든 문서를 확인
+     * 데이터 로더가 RoleIndex도 구현하면 멤버십 기준의 팀/프로젝트 중 정책이 요구하는 역할이 없는 곳은 비트 확인으로 제외
+     * 감사 로그가 있으면 평가한 후보 문서마다 결정 레코드를 기록 (후보 밖의 문서는 평가하지 않으므로 기록하지 않음)
+     * 
+     * @param user 사용자 (User 또는 사용자 ID)
+     * @param permission 확인할 권한
+     * @return 권한이 있는 문서 ID 집합
+     * @throws UnsupportedOperationException 데이터 로더가 ResourceIndex를 구현하지 않는 경우
+     */
+    public Set<String> accessibleResources(Object user, PermissionType permission) {
+        if (!(dataLoader instanceof ResourceIndex index)) {
+            throw new UnsupportedOperationException(
+                "Reverse lookup requires a DataLoader implementing ResourceIndex: " + dataLoader.getClass().getName());
+        }
+        
+        Set<String> accessible = new HashSet<>();
+        PolicySnapshot current = snapshot;
+        PolicyPlan plan = current.plan(permission);
+        String userId = user instanceof User userEntity ? userEntity.id() : user instanceof String id ? id : null;
+        if (plan.isEmpty() || userId == null) {
+            return accessible;
+        }
+        
+        // 1. ALLOW 정책 기준의 합집합
+        EnumSet<ResourceAnchor> anchors = EnumSet.noneOf(ResourceAnchor.class);
+        for (CompiledPolicy policy : plan.allowPolicies()) {
+            anchors.addAll(policy.anchors());
+        }
+        
+        // 2. 기준별 후보 문서 수집 후 3. 후보마다 평가
+        MemberRoles memberRoles = MemberRoles.of(dataLoader, plan);
+        for (String documentId : candidates(index, memberRoles, userId, anchors)) {
+            boolean allowed = check(plan, permission, documentId, user);
+            if (allowed) {
+                accessible.add(documentId);
+            }
+            audit(current.generation(), permission, documentId, user, allowed);
+        }
+        
+        return accessible;
+    }
+    
+    /**
+     * 문서에 대해 권한을 가진 모든 사용자 조회 (역방향 조회)
+     * 
+     * 모든 사용자를 확인하지 않고, ALLOW 정책 기준에 따라 문서 생성자, 문서 프로젝트의 멤버, 프로젝트 팀의 멤버를
+     * 후보로 모은 뒤 후보마다 hasPermission과 같은 평가로 확인
+     * 역할 조건(EDITOR/ADMIN 등)과 DENY 정책(private_project_deny, deleted_document_deny 등)은 후보 평가에서 적용되므로
+     * 비용은 사용자 전체가 아니라 문서 관련 멤버 수에 비례
+     * 공개 링크 문서의 열람처럼 모든 사용자가 후보가 되는 경우와 기준으로 좁힐 수 없는 ALLOW 정책이 있는 경우에는 모든 사용자를 확인
+     * 데이터 로더가 RoleIndex도 구현하면 멤버 후보는 정책이 요구하는 최소 역할 이상인 멤버의 비트맵에서 가져옴
+     * (예: CAN_SHARE의 팀 멤버 후보는 팀 admin만)
+     * 감사 로그가 있으면 평가한 후보 사용자마다 결정 레코드를 기록 (후보 밖의 사용자는 평가하지 않으므로 기록하지 않음)
+     * 
+     * @param document 대상 문서 (Document 또는 문서 ID)
+     * @param permission 확인할 권한
+     * @return 권한이 있는 사용자 ID 집합
+     * @throws UnsupportedOperationException 데이터 로더가 ResourceIndex를 구현하지 않는 경우
+     */
+    public Set<String> authorizedSubjects(Object document, PermissionType permission) {
+        if (!(dataLoader instanceof ResourceIndex index)) {
+            throw new UnsupportedOperationException(
+                "Reverse lookup requires a DataLoader implementing ResourceIndex: " + dataLoader.getClass().getName());
+        }
+        
+        Set<String> authorized = new HashSet<>();
+        PolicySnapshot current = snapshot;
+        PolicyPlan plan = current.plan(permission);
+        if (plan.isEmpty()) {
+            return authorized;
+        }
+        
+        EnumSet<ResourceAnchor> anchors = EnumSet.noneOf(ResourceAnchor.class);
+        for (CompiledPolicy policy : plan.allowPolicies()) {
+            anchors.addAll(policy.anchors());
+        }
+        
+        Document documentEntity = document instanceof Document entity ? entity
+            : document instanceof String documentId ? index.getDocument(documentId).orElse(null) : null;
+        
+        MemberRoles memberRoles = MemberRoles.of(dataLoader, plan);
+        for (String userId : subjectCandidates(index, memberRoles, documentEntity, anchors)) {
+            Optional<User> user = index.getUser(userId);
+            if (user.isEmpty()) {
+                continue;
+            }
+            boolean allowed = check(plan, permission, document, user.get());
+            if (allowed) {
+                authorized.add(userId);
+            }
+            audit(current.generation(), permission, document, user.get(), allowed);
+        }
+        
+        return authorized;
+    }
+    
+    /**
+     * 기준이 가리키는 후보 사용자 ID 수집
+     * 문서가 없으면 문서에 의존하는 기준(생성자, 멤버십, 공개 링크)은 TRUE가 될 수 없으므로 후보가 없음
+     */
+    private static Set<String> subjectCandidates(ResourceIndex index, MemberRoles memberRoles, Document document,
+            Set<ResourceAnchor> anchors) {
+        if (anchors.contains(ResourceAnchor.ANY)
+                || (anchors.contains(ResourceAnchor.PUBLIC_LINK) && document != null && document.publicLinkEnabled())) {
+            return new HashSet<>(index.getAllUserIds());
+        }
+        
+        Set<String> candidates = new HashSet<>();
+        if (document == null) {
+            return candidates;
+        }
+        for (ResourceAnchor anchor : anchors) {
+            switch (anchor) {
+                case CREATOR -> {
+                    if (document.creatorId() != null) {
+                        candidates.add(document.creatorId());
+                    }
+                }
+                case PROJECT_MEMBER -> candidates.addAll(memberRoles.projectMembers(index, document.projectId()));
+                case TEAM_MEMBER -> index.getProject(document.projectId())
+                    .ifPresent(project -> candidates.addAll(memberRoles.teamMembers(index, project.teamId())));
+                case PUBLIC_LINK, ANY -> {} // 위에서 모든 사용자로 처리
+            }
+        }
+        return candidates;
+    }
+    
+    /**
+     * 기준이 가리키는 후보 문서 ID 수집
+     */
+    private static Set<String> candidates(ResourceIndex index, MemberRoles memberRoles, String userId,
+            Set<ResourceAnchor> anchors) {
+        if (anchors.contains(ResourceAnchor.ANY)) {
+            return new HashSet<>(index.getAllDocumentIds());
+        }
+        
+        Set<String> candidates = new HashSet<>();
+        for (ResourceAnchor anchor : anchors) {
+            switch (anchor) {
+                case CREATOR -> candidates.addAll(index.getDocumentIdsCreatedBy(userId));
+                case PUBLIC_LINK -> candidates.addAll(index.getPublicLinkDocumentIds());
+                case PROJECT_MEMBER -> {
+                    for (String projectId : index.getProjectIdsForMember(userId)) {
+                        if (memberRoles.isProjectCandidate(userId, projectId)) {
+                            candidates.addAll(index.getDocumentIdsForProject(projectId));
+                        }
+                    }
+                }
+                case TEAM_MEMBER -> {
+                    for (String teamId : index.getTeamIdsForMember(userId)) {
+                        if (!memberRoles.isTeamCandidate(userId, teamId)) {
+                            continue;
+                        }
+                        for (String projectId : index.getProjectIdsForTeam(teamId)) {
+                            candidates.addAll(index.getDocumentIdsForProject(projectId));
+                        }
+                    }
+                }
+                case ANY -> {} // 위에서 모든 문서로 처리
+            }
+        }
+        return candidates;
+    }
+    
+    /**
+     * 멤버십 기준의 후보를 역할로 좁히는 정보
+     * 최소 역할은 해당 기준을 가진 ALLOW 정책들의 조건이 TRUE가 될 수 있는 역할 중 가장 낮은 역할이며,
+     * 그보다 낮은 역할의 멤버는 그 정책들을 TRUE로 만들 수 없으므로 후보에서 빼도 결과가 같음
+     *
+     * @param roleIndex 역할 행렬 (데이터 로더가 RoleIndex를 구현하지 않으면 null이고 역할로 좁히지 않음)
+     * @param teamRole 팀 멤버 후보의 최소 역할 (null이면 TRUE가 될 수 있는 역할이 없어 후보 없음)
+     * @param projectRole 프로젝트 멤버 후보의 최소 역할 (null이면 후보 없음)
+     */
+    private record MemberRoles(RoleIndex roleIndex, RoleType teamRole, RoleType projectRole) {
+        
+        static MemberRoles of(DataLoader dataLoader, PolicyPlan plan) {
+            if (!(dataLoader instanceof RoleIndex roleIndex)) {
+                return new MemberRoles(null, null, null);
+            }
+            return new MemberRoles(roleIndex, minimumRole(plan, ResourceAnchor.TEAM_MEMBER, "teamMembership"),
+                minimumRole(plan, ResourceAnchor.PROJECT_MEMBER, "projectMembership"));
+        }
+        
+        private static RoleType minimumRole(PolicyPlan plan, ResourceAnchor anchor, String membershipTable) {
+            RoleType minimum = null;
+            for (CompiledPolicy policy : plan.allowPolicies()) {
+                if (!policy.anchors().contains(anchor)) {
+                    continue;
+                }
+                for (RoleType role : AnchorAnalyzer.roles(policy.policy().applyFilter(), membershipTable)) {
+                    if (minimum == null || role.compareTo(minimum) < 0) {
+                        minimum = role;
+                    }
+                }
+            }
+            return minimum;
+        }
+        
+        Collection<String> teamMembers(ResourceIndex index, String teamId) {
+            if (roleIndex == null) {
+                return index.getMemberIdsForTeam(teamId);
+            }
+            return teamRole == null ? List.of() : roleIndex.userIds(roleIndex.teamMembers(teamId, teamRole));
+        }
+        
+        Collection<String> projectMembers(ResourceIndex index, String projectId) {
+            if (roleIndex == null) {
+                return index.getMemberIdsForProject(projectId);
+            }
+            return projectRole == null ? List.of() : roleIndex.userIds(roleIndex.projectMembers(projectId, projectRole));
+        }
+        
+        boolean isTeamCandidate(String userId, String teamId) {
+            return roleIndex == null || (teamRole != null && roleIndex.hasTeamRole(userId, teamId, teamRole));
+        }
+        
+        boolean isProjectCandidate(String userId, String projectId) {
+            return roleIndex == null || (projectRole != null && roleIndex.hasProjectRole(userId, projectId, projectRole));
+        }
+    }
+    
+    /**
+     * 현재 스레드의 마지막 확인(check) 결과를 감사 로그에 기록
+     */
+    void audit(long generation, PermissionType permission, Object resource, Object user, boolean allowed) {
+        if (auditLog != null) {
+            audit(generation, permission, resource, user, allowed, frames.get());
+        }
+    }
+    
+    /**
+     * @param frame 결정 기록이 담긴 프레임 (평가 없이 기본 거부했으면 null)
+     */
+    void audit(long generation, PermissionType permission, Object resource, Object user, boolean allowed,
+            EvaluationFrame frame) {
+        AuditLog log = auditLog;
+        if (log != null) {
+            log.record(generation, permission, resource, user, allowed,
+                frame != null ? frame.decidingPolicy() : -1, frame != null ? frame.nullPolicies() : 0);
+        }
+    }
+    
+    private static List<String> policyNames(PolicySnapshot snapshot) {
+        return snapshot.policies().stream().map(policy -> policy.policy().name()).toList();
+    }
+    
+    /**
+     * 평가를 마친 프레임의 비교식 평가 횟수를 누적 통계에 반영
+     */
+    private void recordEvaluation(EvaluationFrame frame) {
+        evaluations.increment();
+        leafEvaluations.add(frame.leafEvaluations());
+        savedLeafEvaluations.add(frame.savedLeafEvaluations());
+        savedSubexpressionEvaluations.add(frame.savedSubexpressionEvaluations());
+    }
+    
+    /**
+     * 로드된 데이터로 평가 계획을 실행
+     * DENY 우선, ALLOW 후순, 기본 거부
+     */
+    private boolean decide(PolicyPlan plan, PermissionType permission, EvaluationFrame frame) {
+        return decide(plan, permission, frame, null);
+    }
+    
+    /**
+     * 로드된 데이터로 평가 계획을 실행
+     * 
+     * @param results 정책별 평가 결과 캐시 (여러 권한을 함께 평가할 때 사용, 없으면 null)
+     */
+    private boolean decide(PolicyPlan plan, PermissionType permission, EvaluationFrame frame,
+            Map<CompiledPolicy, EvaluationResult> results) {
+        // DENY 정책 평가 (하나라도 true면 거부)
+        for (CompiledPolicy policy : plan.denyPolicies()) {
+            EvaluationResult result = evaluate(policy, frame, results);
+            if (result == EvaluationResult.TRUE) {
+                recordDecision(permission, policy, frame);
+                return false; // DENY 정책이 매치되면 즉시 거부
+            }
+            if (result == EvaluationResult.NULL) {
+                frame.markNullPolicy(policy.index()); // 데이터 부족이므로 계속 진행
+            }
+        }
+        
+        // ALLOW 정책 평가 (하나라도 true면 허용)
+        for (CompiledPolicy policy : plan.allowPolicies()) {
+            EvaluationResult result = evaluate(policy, frame, results);
             if (result == EvaluationResult.TRUE) {
+                recordDecision(permission, policy, frame);
                 return true; // ALLOW 정책이 매치되면 허용
             }
-            // NULL인 경우는 데이터 부족이므로 계속 진행
+            if (result == EvaluationResult.NULL) {
+                frame.markNullPolicy(policy.index()); // 데이터 부족이므로 계속 진행
+            }
         }
         
-        // 5. 기본값은 거부
+        // 기본값은 거부
+        recordDecision(permission, null, frame);
         return false;
     }
     
     /**
-     * 적용 가능한 정책들에서 필요한 데이터 테이블 목록을 수집
+     * 결정한 정책을 프레임(감사 로그용)과 계측에 기록 (기본 거부는 null)
+     */
+    private void recordDecision(PermissionType permission, CompiledPolicy policy, EvaluationFrame frame) {
+        frame.decidedBy(policy != null ? policy.index() : -1);
+        if (instrumented) {
+            metrics.recordDecision(permission, policy != null ? policy.policy().name() : null);
+        }
+    }
+    
+    /**
+     * 정책 하나를 평가 (결과 캐시가 있으면 정책당 한 번만 평가)
+     */
+    private EvaluationResult evaluate(CompiledPolicy policy, EvaluationFrame frame,
+            Map<CompiledPolicy, EvaluationResult> results) {
+        if (results == null) {
+            return evaluate(policy, frame);
+        }
+        EvaluationResult result = results.get(policy);
+        if (result == null) {
+            result = evaluate(policy, frame);
+            results.put(policy, result);
+        }
+        return result;
+    }
+    
+    /**
+     * 정책 조건 평가 (계측이 있으면 정책별 지연과 결과 기록)
+     */
+    private EvaluationResult evaluate(CompiledPolicy policy, EvaluationFrame frame) {
+        if (!instrumented) {
+            return policy.filter().evaluate(frame);
+        }
+        long start = System.nanoTime();
+        EvaluationResult result = policy.filter().evaluate(frame);
+        metrics.recordPolicy(policy.policy().name(), result, System.nanoTime() - start);
+        return result;
+    }
+    
+    /**
+     * 정책 집합 컴파일
+     * 조건을 최적화(평탄화, 상수 접기, 중복 제거, 비용 기반 재배치)한 뒤 한 번에 컴파일하여
+     * 여러 정책에 나오는 같은 하위 조건은 확인 한 번에 한 번만 평가되도록 공유
+     */
+    private List<CompiledPolicy> compile(List<Policy> policies) {
+        List<CompiledExpression> filters = compiler.compileAll(policies.stream()
+            .map(policy -> optimizer.optimize(policy.applyFilter()))
+            .toList());
+        
+        List<CompiledPolicy> compiled = new ArrayList<>(policies.size());
+        for (int i = 0; i < policies.size(); i++) {
+            Policy policy = policies.get(i);
+            compiled.add(new CompiledPolicy(policy, filters.get(i), loadOrder(policy),
+                AnchorAnalyzer.analyze(policy.applyFilter()), i));
+        }
+        return compiled;
+    }
+    
+    /**
+     * 새 정책 세대 게시 (호출자는 this에 대한 잠금을 보유)
      */
-    private Set<String> collectRequiredData(List<Policy> applicablePolicies) {
-        return applicablePolicies.stream()
-            .flatMap(policy -> policy.requiredData().stream())
-            .collect(Collectors.toSet());
+    private void publish(List<Policy> policies) {
+        PolicySnapshot next = PolicySnapshot.of(snapshot.generation() + 1, compile(policies));
+        if (auditLog != null) {
+            auditLog.registerGeneration(next.generation(), policyNames(next)); // 세대가 보이기 전에 이름 등록
+        }
+        snapshot = next;
+    }
+    
+    /**
+     * 정책이 필요로 하는 테이블을 로딩 비용이 낮은 순으로 정렬 (비용을 모르는 테이블은 마지막)
+     */
+    private static List<String> loadOrder(Policy policy) {
+        return policy.requiredData().stream()
+            .sorted(Comparator.comparingInt(PolicyEngine::tableCost))
+            .toList();
     }
     
     /**
      * 디버깅을 위한 정책 평가 상세 결과
      */
     public PolicyEvaluationResult evaluateWithDetails(Object resource, Object user, PermissionType permission) {
-        var applicablePolicies = policies.stream()
-            .filter(p -> p.permissions().contains(permission))
-            .toList();
+        PolicyPlan plan = snapshot.plan(permission);
         
-        if (applicablePolicies.isEmpty()) {
+        if (plan.isEmpty()) {
             return new PolicyEvaluationResult(false, "No applicable policies found", Collections.emptyList());
         }
         
-        var requiredData = collectRequiredData(applicablePolicies);
-        var loadedData = dataLoader.loadData(resource, user, requiredData);
+        var loadedData = dataLoader.loadData(resource, user, plan.requiredTables());
         
         List<PolicyResult> results = new ArrayList<>();
         
         // DENY 정책 평가
-        var denyPolicies = applicablePolicies.stream()
-            .filter(p -> p.effect() == EffectType.DENY)
-            .toList();
-            
-        for (var policy : denyPolicies) {
+        for (CompiledPolicy compiled : plan.denyPolicies()) {
+            Policy policy = compiled.policy();
             EvaluationResult result = evaluator.evaluate(policy.applyFilter(), loadedData);
             results.add(new PolicyResult(policy.name(), policy.effect(), result));
             
@@ -145,11 +997,8 @@ public class PolicyEngine {
         }
         
         // ALLOW 정책 평가
-        var allowPolicies = applicablePolicies.stream()
-            .filter(p -> p.effect() == EffectType.ALLOW)
-            .toList();
-            
-        for (var policy : allowPolicies) {
+        for (CompiledPolicy compiled : plan.allowPolicies()) {
+            Policy policy = compiled.policy();
             EvaluationResult result = evaluator.evaluate(policy.applyFilter(), loadedData);
             results.add(new PolicyResult(policy.name(), policy.effect(), result));
             
@@ -161,6 +1010,11 @@ public class PolicyEngine {
         return new PolicyEvaluationResult(false, "No policies matched - default deny", results);
     }
     
+    /**
+     * 배치 로딩 시 (리소스, 사용자) 조합을 구분하는 키
+     */
+    private record LoadKey(Object resource, Object user) {}
+    
     /**
      * 정책 평가 결과를 담는 Record
      */
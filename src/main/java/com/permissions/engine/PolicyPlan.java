@@ -0,0 +1,35 @@
+package com.permissions.engine;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 권한별로 미리 계산된 정책 평가 계획
+ * 정책이 추가/제거될 때만 다시 만들어지며, 권한 확인 시에는 그대로 재사용
+ * 공개된 스냅샷의 일부이므로 모든 구성 요소를 불변 복사본으로 보관
+ * 
+ * @param denyPolicies 등록 순서대로 정렬된 DENY 정책들 (불변)
+ * @param allowPolicies 등록 순서대로 정렬된 ALLOW 정책들 (불변)
+ * @param requiredTables 모든 적용 정책이 필요로 하는 테이블 합집합 (불변)
+ */
+public record PolicyPlan(
+    List<CompiledPolicy> denyPolicies,
+    List<CompiledPolicy> allowPolicies,
+    Set<String> requiredTables
+) {
+    
+    /**
+     * 적용할 정책이 하나도 없는 계획
+     */
+    public static final PolicyPlan EMPTY = new PolicyPlan(List.of(), List.of(), Set.of());
+    
+    public PolicyPlan {
+        denyPolicies = List.copyOf(denyPolicies);
+        allowPolicies = List.copyOf(allowPolicies);
+        requiredTables = Set.copyOf(requiredTables);
+    }
+    
+    public boolean isEmpty() {
+        return denyPolicies.isEmpty() && allowPolicies.isEmpty();
+    }
+}
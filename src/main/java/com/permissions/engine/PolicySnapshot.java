@@ -0,0 +1,80 @@
+package com.permissions.engine;
+
+import com.permissions.model.PermissionType;
+import com.permissions.policy.EffectType;
+import com.permissions.policy.Policy;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 한 세대의 정책 집합과 권한별 평가 계획을 담는 불변 스냅샷
+ * PolicyEngine은 정책이 바뀔 때마다 새 스냅샷을 만들어 참조를 통째로 교체하므로,
+ * 권한 확인 중인 스레드는 잠금 없이도 항상 한 세대의 일관된 정책만 보게 됨
+ * 
+ * @param generation 정책 세대 (스냅샷이 교체될 때마다 증가)
+ * @param policies 등록 순서대로 정렬된 컴파일된 정책들
+ * @param plans 권한별 평가 계획
+ * @param allRequiredTables 모든 정책이 필요로 하는 테이블 합집합
+ */
+public record PolicySnapshot(
+    long generation,
+    List<CompiledPolicy> policies,
+    Map<PermissionType, PolicyPlan> plans,
+    Set<String> allRequiredTables
+) {
+    
+    /**
+     * 컴파일된 정책들로 스냅샷 생성
+     * DENY/ALLOW 분류와 필요한 테이블 수집을 이 시점에 한 번만 수행
+     */
+    public static PolicySnapshot of(long generation, List<CompiledPolicy> policies) {
+        Map<PermissionType, PolicyPlan> plans = new EnumMap<>(PermissionType.class);
+        
+        for (PermissionType permission : PermissionType.values()) {
+            var applicablePolicies = policies.stream()
+                .filter(p -> p.policy().permissions().contains(permission))
+                .toList();
+            
+            if (applicablePolicies.isEmpty()) {
+                plans.put(permission, PolicyPlan.EMPTY);
+                continue;
+            }
+            
+            var denyPolicies = applicablePolicies.stream()
+                .filter(p -> p.policy().effect() == EffectType.DENY)
+                .toList();
+            var allowPolicies = applicablePolicies.stream()
+                .filter(p -> p.policy().effect() == EffectType.ALLOW)
+                .toList();
+            
+            plans.put(permission, new PolicyPlan(denyPolicies, allowPolicies, collectRequiredData(applicablePolicies)));
+        }
+        
+        return new PolicySnapshot(generation, List.copyOf(policies), Collections.unmodifiableMap(plans),
+            collectRequiredData(policies));
+    }
+    
+    /**
+     * 권한별 평가 계획 조회
+     */
+    public PolicyPlan plan(PermissionType permission) {
+        return plans.get(permission);
+    }
+    
+    /**
+     * 등록된 원본 정책 목록
+     */
+    public List<Policy> sourcePolicies() {
+        return policies.stream().map(CompiledPolicy::policy).toList();
+    }
+    
+    /**
+     * 정책들에서 필요한 데이터 테이블 목록을 수집
+     */
+    private static Set<String> collectRequiredData(List<CompiledPolicy> policies) {
+        return policies.stream()
+            .flatMap(policy -> policy.policy().requiredData().stream())
+            .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,32 @@
+package com.permissions.engine;
+
+/**
+ * 역방향 조회 시 정책이 TRUE가 될 수 있는 문서를 좁히는 기준
+ * 정책 조건 구조에서 분석하며, 조건이 TRUE인 문서는 반드시 기준 중 하나가 가리키는 문서 집합에 속함
+ */
+public enum ResourceAnchor {
+    /**
+     * 사용자가 생성한 문서 (document.creatorId == user.id)
+     */
+    CREATOR,
+    
+    /**
+     * 사용자가 프로젝트 멤버인 프로젝트의 문서 (projectMembership 행이 필요한 조건)
+     */
+    PROJECT_MEMBER,
+    
+    /**
+     * 사용자가 팀 멤버인 팀의 프로젝트 문서 (teamMembership 행이 필요한 조건)
+     */
+    TEAM_MEMBER,
+    
+    /**
+     * 공개 링크가 활성화된 문서 (document.publicLinkEnabled == true)
+     */
+    PUBLIC_LINK,
+    
+    /**
+     * 후보를 좁힐 수 없음 (모든 문서)
+     */
+    ANY
+}
@@ -0,0 +1,10 @@
+package com.permissions.engine;
+
+/**
+ * 단계적 로딩 권한 확인 결과
+ * 
+ * @param allowed 권한 허용 여부
+ * @param tablesFetched 실제로 로드한 테이블 수
+ * @param tablesAvoided 적용 정책이 필요로 했지만 로드하지 않은 테이블 수
+ */
+public record StagedCheckResult(boolean allowed, int tablesFetched, int tablesAvoided) {}
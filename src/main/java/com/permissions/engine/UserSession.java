@@ -0,0 +1,152 @@
+package com.permissions.engine;
+
+import com.permissions.dsl.ConstantExpressionDef;
+import com.permissions.dsl.ExpressionDef;
+import com.permissions.evaluator.CompiledExpression;
+import com.permissions.evaluator.ExpressionCompiler;
+import com.permissions.evaluator.ExpressionOptimizer;
+import com.permissions.evaluator.PartialEvaluator;
+import com.permissions.model.PermissionType;
+import com.permissions.policy.EffectType;
+import com.permissions.policy.Policy;
+
+import java.util.*;
+
+/**
+ * 한 사용자에 대해 정책 집합을 미리 특수화한 권한 확인 세션
+ * 같은 사용자로 여러 문서를 확인할 때(목록 화면, 검색 결과 필터링 등) 사용
+ *
+ * 세션을 열 때 사용자 테이블을 한 번 로드하고, 권한별 평가 계획의 정책 조건을 PartialEvaluator로 부분 평가하여
+ * 사용자에만 의존하는 부분은 상수로 접고 문서 쪽 테이블에 의존하는 잔여 조건만 최적화/컴파일해 둠
+ * - 잔여 조건이 TRUE가 될 수 없는 정책(FALSE/NULL 상수, NULL 상수를 포함한 AND 등)은 계획에서 제외
+ * - 잔여 조건이 TRUE 상수인 DENY 정책이 있으면 로드 없이 거부
+ * - 잔여 조건이 참조하지 않는 테이블은 로드하지 않음 (예: user.id 비교는 값으로 바뀌어 user 테이블 로드가 없어짐)
+ *
+ * 멤버십 테이블은 문서의 프로젝트/팀에 따라 행이 달라지므로 사용자 테이블만 확정 테이블로 사용
+ * 결과는 PolicyEngine.hasPermission(resource, user, permission)과 동일하며 (로딩 방식도 엔진 설정을 따름),
+ * 정책이 바뀌면 다음 확인에서 새 세대로 다시 특수화함 (사용자 엔티티 자체의 변경은 세션을 새로 열어야 반영)
+ */
+public final class UserSession {
+
+    private static final Set<String> KNOWN_TABLES = Set.of("user");
+
+    private final PolicyEngine engine;
+    private final Object user;
+    private final Map<String, Map<String, Object>> userData;
+    private final PartialEvaluator partialEvaluator = new PartialEvaluator();
+    private final ExpressionOptimizer optimizer = new ExpressionOptimizer();
+    private final ExpressionCompiler compiler = new ExpressionCompiler();
+
+    // 특수화한 정책 세대와 권한별 잔여 계획
+    private volatile Specialization specialization;
+
+    UserSession(PolicyEngine engine, Object user) {
+        this.engine = engine;
+        this.user = user;
+        this.userData = engine.getDataLoader().loadData(null, user, KNOWN_TABLES);
+        this.specialization = specialize(engine.getSnapshot());
+    }
+
+    /**
+     * 세션 사용자의 권한 확인
+     *
+     * @param resource 대상 리소스 (예: Document 또는 문서 ID)
+     * @param permission 확인할 권한
+     * @return 권한이 있으면 true, 없으면 false
+     */
+    public boolean hasPermission(Object resource, PermissionType permission) {
+        Specialization current = currentSpecialization();
+        PolicyPlan plan = current.plans().get(permission);
+        if (plan.isEmpty()) {
+            engine.audit(current.generation(), permission, resource, user, false, null);
+            return false;
+        }
+        boolean allowed = engine.check(plan, permission, resource, user);
+        engine.audit(current.generation(), permission, resource, user, allowed);
+        return allowed;
+    }
+
+    /**
+     * 권한별 잔여 평가 계획 조회
+     */
+    public PolicyPlan getPlan(PermissionType permission) {
+        return currentSpecialization().plans().get(permission);
+    }
+
+    private Specialization currentSpecialization() {
+        PolicySnapshot snapshot = engine.getSnapshot();
+        Specialization current = specialization;
+        if (current.generation() != snapshot.generation()) {
+            current = specialize(snapshot);
+            specialization = current;
+        }
+        return current;
+    }
+
+    /**
+     * 스냅샷의 권한별 계획을 세션 사용자로 특수화
+     */
+    private Specialization specialize(PolicySnapshot snapshot) {
+        Map<PermissionType, PolicyPlan> plans = new EnumMap<>(PermissionType.class);
+        for (PermissionType permission : PermissionType.values()) {
+            plans.put(permission, specialize(snapshot.plan(permission)));
+        }
+        return new Specialization(snapshot.generation(), plans);
+    }
+
+    /**
+     * 평가 계획 하나를 특수화
+     * 원래 계획이 로드하지 않는 테이블은 확정 테이블이어도 로드되지 않은 것으로 보고,
+     * 잔여 계획은 원래 계획이 로드하는 테이블 중 잔여 조건이 참조하는 테이블만 로드
+     */
+    private PolicyPlan specialize(PolicyPlan plan) {
+        if (plan.isEmpty()) {
+            return plan;
+        }
+        Map<String, Map<String, Object>> known = plan.requiredTables().containsAll(KNOWN_TABLES) ? userData : Map.of();
+
+        // 1. 정책별 잔여 조건 계산 (TRUE가 될 수 없는 정책은 제외)
+        List<CompiledPolicy> sources = new ArrayList<>();
+        List<ExpressionDef> residuals = new ArrayList<>();
+        for (List<CompiledPolicy> policies : List.of(plan.denyPolicies(), plan.allowPolicies())) {
+            for (CompiledPolicy compiled : policies) {
+                ExpressionDef residual = optimizer.optimize(
+                    partialEvaluator.residual(compiled.policy().applyFilter(), KNOWN_TABLES, known));
+                if (!PartialEvaluator.canBeTrue(residual)) {
+                    continue;
+                }
+                if (compiled.policy().effect() == EffectType.DENY && ConstantExpressionDef.TRUE.equals(residual)) {
+                    return PolicyPlan.EMPTY; // 항상 거부
+                }
+                sources.add(compiled);
+                residuals.add(residual);
+            }
+        }
+
+        // 2. 잔여 조건을 함께 컴파일 (공통 하위 조건 공유)
+        List<CompiledExpression> filters = compiler.compileAll(residuals);
+        List<CompiledPolicy> denies = new ArrayList<>();
+        List<CompiledPolicy> allows = new ArrayList<>();
+        Set<String> referenced = new HashSet<>();
+        for (int i = 0; i < sources.size(); i++) {
+            CompiledPolicy compiled = sources.get(i);
+            Policy policy = compiled.policy();
+            Set<String> tables = PartialEvaluator.referencedTables(residuals.get(i));
+            tables.retainAll(plan.requiredTables());
+            referenced.addAll(tables);
+
+            Policy specialized = new Policy(policy.name(), policy.description(), policy.effect(),
+                policy.permissions(), residuals.get(i), Set.copyOf(tables));
+            (policy.effect() == EffectType.DENY ? denies : allows).add(new CompiledPolicy(specialized, filters.get(i),
+                compiled.loadOrder().stream().filter(tables::contains).toList(), compiled.anchors(),
+                compiled.index()));
+        }
+
+        if (allows.isEmpty()) {
+            return PolicyPlan.EMPTY; // 허용될 수 없으면 기본 거부
+        }
+        return new PolicyPlan(denies, allows, referenced);
+    }
+
+    private record Specialization(long generation, Map<PermissionType, PolicyPlan> plans) {}
+}
@@ -0,0 +1,30 @@
+package com.permissions.evaluator;
+
+import java.util.Map;
+
+/**
+ * 미리 컴파일된 표현식
+ * ExpressionCompiler가 ExpressionDef 트리를 한 번 분석해 생성하며,
+ * 평가 시에는 필드 경로 파싱이나 노드 타입 분기 없이 바로 결과를 계산
+ */
+public interface CompiledExpression {
+
+    /**
+     * 컴파일된 표현식을 평가
+     * 필드는 컴파일 시점에 정해진 슬롯 번호로 프레임에서 바로 조회
+     * 
+     * @param frame 로드된 테이블 데이터가 기록된 평가 프레임
+     * @return 평가 결과 (TRUE/FALSE/NULL)
+     */
+    EvaluationResult evaluate(EvaluationFrame frame);
+
+    /**
+     * 테이블 데이터 맵으로 평가 (맵을 프레임으로 변환한 뒤 평가)
+     * 
+     * @param data 엔티티별 데이터 맵 ("user" -> {"id": "u1", "name": "User1"})
+     * @return 평가 결과 (TRUE/FALSE/NULL)
+     */
+    default EvaluationResult evaluate(Map<String, Map<String, Object>> data) {
+        return evaluate(EvaluationFrame.of(data));
+    }
+}
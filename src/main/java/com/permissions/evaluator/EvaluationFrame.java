@@ -0,0 +1,331 @@
+package com.permissions.evaluator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 슬롯 기반 평가 데이터 프레임
+ * 모델의 6개 테이블 컬럼을 고정된 슬롯 번호로 배치한 평탄한 Object[]로,
+ * 테이블별 로드 여부는 비트마스크로 관리
+ *
+ * - 컴파일된 표현식은 "table.column"을 컴파일 시점에 슬롯 번호로 변환하여 배열 인덱스로 바로 조회
+ * - 데이터 로더는 엔티티 필드를 슬롯에 직접 기록하므로 확인마다 Map을 만들 필요가 없음
+ * - reset() 후 재사용 가능 (스레드 간 공유는 불가)
+ *
+ * 로드되지 않은 테이블의 컬럼은 NULL(데이터 부족)로, 로드되었지만 행이 없거나 값이 없는 컬럼은 null로 평가됨
+ *
+ * 여러 정책이 공유하는 하위 표현식의 결과를 확인 한 번 동안 기억하는 메모 영역도 함께 가짐
+ * 테이블이 새로 로드되면(단계적 로딩) 결과가 바뀔 수 있으므로 메모를 비움
+ * 비교식 평가 횟수와 메모로 생략한 평가 횟수는 reset() 전까지 누적됨
+ * 감사 로그용으로 확인 결과를 결정한 정책 위치와 결과가 NULL로 확정된 정책 위치도 기록
+ *
+ * ID 컬럼은 값과 함께 로더의 사전이 부여한 정수 ID를 기록할 수 있음 (없으면 0)
+ * (InMemoryDataLoader는 IdDictionary의 ID, MappedSnapshotDataLoader는 스냅샷 문자열 사전 번호 + 1)
+ * 한 프레임의 정수 ID는 모두 같은 사전에서 온 것이어야 하며, 컴파일된 필드 간 동등 비교는 양쪽 ID가 있으면 정수로 비교
+ */
+public final class EvaluationFrame {
+
+    // 테이블 번호
+    public static final int USER = 0;
+    public static final int TEAM = 1;
+    public static final int PROJECT = 2;
+    public static final int DOCUMENT = 3;
+    public static final int TEAM_MEMBERSHIP = 4;
+    public static final int PROJECT_MEMBERSHIP = 5;
+
+    // 슬롯 번호 (TABLES/COLUMNS 배치와 일치해야 함)
+    public static final int USER_ID = 0;
+    public static final int USER_EMAIL = 1;
+    public static final int USER_NAME = 2;
+    public static final int TEAM_ID = 3;
+    public static final int TEAM_NAME = 4;
+    public static final int TEAM_PLAN = 5;
+    public static final int PROJECT_ID = 6;
+    public static final int PROJECT_NAME = 7;
+    public static final int PROJECT_TEAM_ID = 8;
+    public static final int PROJECT_VISIBILITY = 9;
+    public static final int DOCUMENT_ID = 10;
+    public static final int DOCUMENT_TITLE = 11;
+    public static final int DOCUMENT_PROJECT_ID = 12;
+    public static final int DOCUMENT_CREATOR_ID = 13;
+    public static final int DOCUMENT_DELETED_AT = 14;
+    public static final int DOCUMENT_PUBLIC_LINK_ENABLED = 15;
+    public static final int TEAM_MEMBERSHIP_USER_ID = 16;
+    public static final int TEAM_MEMBERSHIP_TEAM_ID = 17;
+    public static final int TEAM_MEMBERSHIP_ROLE = 18;
+    public static final int PROJECT_MEMBERSHIP_USER_ID = 19;
+    public static final int PROJECT_MEMBERSHIP_PROJECT_ID = 20;
+    public static final int PROJECT_MEMBERSHIP_ROLE = 21;
+
+    public static final int SLOT_COUNT = 22;
+
+    private static final String[] TABLES =
+        {"user", "team", "project", "document", "teamMembership", "projectMembership"};
+
+    private static final String[][] COLUMNS = {
+        {"id", "email", "name"},
+        {"id", "name", "plan"},
+        {"id", "name", "teamId", "visibility"},
+        {"id", "title", "projectId", "creatorId", "deletedAt", "publicLinkEnabled"},
+        {"userId", "teamId", "role"},
+        {"userId", "projectId", "role"},
+    };
+
+    private static final int[] TABLE_OFFSETS = {USER_ID, TEAM_ID, PROJECT_ID, DOCUMENT_ID,
+        TEAM_MEMBERSHIP_USER_ID, PROJECT_MEMBERSHIP_USER_ID};
+
+    private final Object[] values = new Object[SLOT_COUNT];
+    private final int[] ids = new int[SLOT_COUNT];
+    private int loadedTables;
+    private EvaluationResult[] memo = new EvaluationResult[0];
+    private int leafEvaluations;
+    private int savedLeafEvaluations;
+    private int savedSubexpressionEvaluations;
+    private int decidingPolicy = -1;
+    private long nullPolicies;
+
+    /**
+     * 테이블명 → 테이블 번호
+     *
+     * @return 스키마에 없는 테이블이면 -1
+     */
+    public static int tableIndex(String table) {
+        for (int i = 0; i < TABLES.length; i++) {
+            if (TABLES[i].equals(table)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * "table.column" → 슬롯 번호
+     *
+     * @return 스키마에 없는 테이블 또는 컬럼이면 -1
+     */
+    public static int slot(String table, String column) {
+        int tableIndex = tableIndex(table);
+        if (tableIndex < 0) {
+            return -1;
+        }
+        String[] columns = COLUMNS[tableIndex];
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].equals(column)) {
+                return TABLE_OFFSETS[tableIndex] + i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 테이블 번호 → 테이블명
+     */
+    public static String tableName(int table) {
+        return TABLES[table];
+    }
+
+    /**
+     * 테이블을 로드된 상태로 표시하고 해당 테이블의 슬롯을 모두 null로 초기화
+     * 행이 없는 테이블(예: 값이 null인 행)을 표현할 때도 사용
+     */
+    public EvaluationFrame markLoaded(int table) {
+        loadedTables |= 1 << table;
+        int offset = TABLE_OFFSETS[table];
+        Arrays.fill(values, offset, offset + COLUMNS[table].length, null);
+        Arrays.fill(ids, offset, offset + COLUMNS[table].length, 0);
+        Arrays.fill(memo, null);
+        return this;
+    }
+
+    public boolean isLoaded(int table) {
+        return (loadedTables & (1 << table)) != 0;
+    }
+
+    public Object get(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * 슬롯 값 기록 (테이블을 markLoaded한 뒤 사용, 평가 도중 값을 바꾸면 메모된 결과와 어긋남)
+     */
+    public EvaluationFrame set(int slot, Object value) {
+        values[slot] = value;
+        ids[slot] = 0;
+        return this;
+    }
+
+    /**
+     * ID 슬롯에 값과 정수 ID를 함께 기록
+     *
+     * @param id 값의 정수 ID (사전에 없으면 0)
+     */
+    public EvaluationFrame set(int slot, Object value, int id) {
+        values[slot] = value;
+        ids[slot] = id;
+        return this;
+    }
+
+    /**
+     * @return 슬롯 값의 정수 ID, 기록되지 않았으면 0
+     */
+    public int id(int slot) {
+        return ids[slot];
+    }
+
+    /**
+     * 메모된 공유 하위 표현식 결과 조회
+     *
+     * @return 이번 확인에서 아직 평가하지 않았으면 null
+     */
+    public EvaluationResult memoized(int index) {
+        return index < memo.length ? memo[index] : null;
+    }
+
+    /**
+     * 공유 하위 표현식 결과 기억
+     */
+    public void memoize(int index, EvaluationResult result) {
+        if (index >= memo.length) {
+            memo = Arrays.copyOf(memo, Math.max(index + 1, memo.length * 2));
+        }
+        memo[index] = result;
+    }
+
+    /**
+     * 비교식 평가 한 번 기록
+     */
+    public void countLeafEvaluation() {
+        leafEvaluations++;
+    }
+
+    /**
+     * 메모된 결과 재사용 한 번 기록
+     *
+     * @param leaf 비교식이면 true, AND/OR/NOT 하위 표현식이면 false
+     */
+    public void countMemoHit(boolean leaf) {
+        if (leaf) {
+            savedLeafEvaluations++;
+        } else {
+            savedSubexpressionEvaluations++;
+        }
+    }
+
+    public int leafEvaluations() {
+        return leafEvaluations;
+    }
+
+    public int savedLeafEvaluations() {
+        return savedLeafEvaluations;
+    }
+
+    public int savedSubexpressionEvaluations() {
+        return savedSubexpressionEvaluations;
+    }
+
+    /**
+     * 확인 결과를 결정한 정책 위치 기록 (정책 스냅샷에서의 등록 순서)
+     */
+    public void decidedBy(int policyIndex) {
+        decidingPolicy = policyIndex;
+    }
+
+    /**
+     * 결과가 NULL로 확정된 정책 위치 기록 (64번째 이후 정책은 기록하지 않음)
+     */
+    public void markNullPolicy(int policyIndex) {
+        if (policyIndex < Long.SIZE) {
+            nullPolicies |= 1L << policyIndex;
+        }
+    }
+
+    /**
+     * @return 결정한 정책 위치, 기본 거부면 -1
+     */
+    public int decidingPolicy() {
+        return decidingPolicy;
+    }
+
+    /**
+     * @return i번째 비트가 i번째 정책의 NULL 여부인 비트마스크
+     */
+    public long nullPolicies() {
+        return nullPolicies;
+    }
+
+    /**
+     * 결정 기록(결정 정책, NULL 정책)만 초기화
+     * 같은 프레임으로 여러 권한을 차례로 결정할 때 권한마다 결정 기록을 따로 남기기 위해 사용
+     */
+    public EvaluationFrame clearDecision() {
+        decidingPolicy = -1;
+        nullPolicies = 0;
+        return this;
+    }
+
+    /**
+     * 재사용을 위해 모든 테이블을 미로드 상태로 되돌림 (이전 값 참조, 메모, 평가 횟수, 결정 기록도 초기화)
+     */
+    public EvaluationFrame reset() {
+        loadedTables = 0;
+        Arrays.fill(values, null);
+        Arrays.fill(ids, 0);
+        Arrays.fill(memo, null);
+        leafEvaluations = 0;
+        savedLeafEvaluations = 0;
+        savedSubexpressionEvaluations = 0;
+        decidingPolicy = -1;
+        nullPolicies = 0;
+        return this;
+    }
+
+    /**
+     * 테이블 데이터 맵의 내용을 프레임에 기록 (스키마에 없는 테이블/컬럼은 무시)
+     * Map 기반 DataLoader 구현과의 호환용
+     */
+    public EvaluationFrame putAll(Map<String, Map<String, Object>> data) {
+        for (Map.Entry<String, Map<String, Object>> entry : data.entrySet()) {
+            int table = tableIndex(entry.getKey());
+            if (table < 0) {
+                continue;
+            }
+            markLoaded(table);
+            Map<String, Object> row = entry.getValue();
+            if (row == null) {
+                continue;
+            }
+            String[] columns = COLUMNS[table];
+            for (int i = 0; i < columns.length; i++) {
+                values[TABLE_OFFSETS[table] + i] = row.get(columns[i]);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 테이블 데이터 맵으로 새 프레임 생성
+     */
+    public static EvaluationFrame of(Map<String, Map<String, Object>> data) {
+        return new EvaluationFrame().putAll(data);
+    }
+
+    /**
+     * 로드된 테이블을 테이블 데이터 맵으로 변환 (디버깅 및 인터프리터 평가용)
+     */
+    public Map<String, Map<String, Object>> toMap() {
+        Map<String, Map<String, Object>> data = new HashMap<>();
+        for (int table = 0; table < TABLES.length; table++) {
+            if (!isLoaded(table)) {
+                continue;
+            }
+            Map<String, Object> row = new HashMap<>();
+            String[] columns = COLUMNS[table];
+            for (int i = 0; i < columns.length; i++) {
+                row.put(columns[i], values[TABLE_OFFSETS[table] + i]);
+            }
+            data.put(TABLES[table], row);
+        }
+        return data;
+    }
+}
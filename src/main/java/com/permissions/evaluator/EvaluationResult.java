@@ -10,5 +10,15 @@ package com.permissions.evaluator;
 public enum EvaluationResult {
     TRUE,
     FALSE,
-    NULL
+    NULL;
+
+    /**
+     * 상수 표현식 값 → 평가 결과 (null이면 NULL)
+     */
+    public static EvaluationResult of(Boolean value) {
+        if (value == null) {
+            return NULL;
+        }
+        return value ? TRUE : FALSE;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,479 @@
+package com.permissions.evaluator;
+
+import com.permissions.dsl.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expression DSL 컴파일러
+ * ExpressionDef 트리를 정책 등록 시점에 한 번만 분석하여 CompiledExpression 트리로 변환
+ *
+ * - "table.column" 필드 경로는 컴파일 시점에 EvaluationFrame 슬롯 번호로 변환
+ * - 상수 비교값은 타입을 미리 확정하여 EQUALS/NOT_EQUALS 비교를 단순화
+ * - 노드 타입별 전용 클래스로 구성하여 평가 시 패턴 매칭 분기가 없음
+ *
+ * 평가 의미(3-value 논리, 단락 평가, null/타입 불일치 처리)는 ExpressionEvaluator와 동일
+ * 단, 프레임 스키마에 없는 테이블의 필드는 항상 로드되지 않은 것(NULL)으로 평가됨
+ *
+ * compileAll로 여러 표현식을 함께 컴파일하면 두 번 이상 나오는 하위 표현식은 노드 하나를 공유하고,
+ * 그 결과를 EvaluationFrame의 메모 영역에 기억하여 확인 한 번에 한 번만 평가
+ * 비교식은 먼저 표준형으로 바꿔(intern) 표기만 다른 같은 비교도 하나로 공유
+ * - 필드끼리 비교는 필드명 순서로 좌우를 정렬 (user.id == projectMembership.userId ⇔ projectMembership.userId == user.id)
+ * - NOT_EQUALS, GREATER_EQUAL, LESS_EQUAL은 EQUALS, LESS_THAN, GREATER_THAN의 부정으로 표현
+ *   (3-value 논리에서도 NULL의 부정은 NULL이므로 결과가 같음)
+ *
+ * 필드 간 동등 비교(조인)는 프레임에 양쪽 값의 정수 ID가 기록되어 있으면 정수로 비교하고, 없으면 값으로 비교
+ */
+public class ExpressionCompiler {
+
+    /**
+     * 테이블이 로드되지 않았음을 나타내는 내부 표식
+     */
+    private static final Object MISSING = new Object();
+
+    /**
+     * 표현식을 컴파일
+     *
+     * @param expression 컴파일할 표현식
+     * @return 반복 평가 가능한 컴파일된 표현식
+     */
+    public CompiledExpression compile(ExpressionDef expression) {
+        return compile(expression, null);
+    }
+
+    /**
+     * 여러 표현식을 함께 컴파일하며 공통 하위 표현식을 공유
+     * 같은 프레임으로 평가하는 표현식(예: 한 정책 세대의 모든 정책 조건)은 한 번에 컴파일해야 메모 번호가 겹치지 않음
+     *
+     * @param expressions 컴파일할 표현식들
+     * @return 같은 순서의 컴파일된 표현식들
+     */
+    public List<CompiledExpression> compileAll(List<ExpressionDef> expressions) {
+        List<ExpressionDef> interned = expressions.stream().map(ExpressionCompiler::intern).toList();
+        Map<ExpressionDef, Integer> occurrences = new HashMap<>();
+        interned.forEach(expression -> countOccurrences(expression, occurrences));
+
+        SharedNodes shared = new SharedNodes(occurrences, new HashMap<>());
+        List<CompiledExpression> compiled = new ArrayList<>(interned.size());
+        for (ExpressionDef expression : interned) {
+            compiled.add(compile(expression, shared));
+        }
+        return compiled;
+    }
+
+    /**
+     * 비교식을 표준형으로 변환
+     */
+    static ExpressionDef intern(ExpressionDef expression) {
+        return switch (expression) {
+            case BinaryExpressionDef binary -> internBinary(binary);
+            case AndExpressionDef and -> new AndExpressionDef(and.expressions().stream().map(ExpressionCompiler::intern).toList());
+            case OrExpressionDef or -> new OrExpressionDef(or.expressions().stream().map(ExpressionCompiler::intern).toList());
+            case NotExpressionDef not -> intern(not.expression()) instanceof NotExpressionDef inner
+                ? inner.expression() : new NotExpressionDef(intern(not.expression()));
+            case ConstantExpressionDef constant -> constant;
+        };
+    }
+
+    private static ExpressionDef internBinary(BinaryExpressionDef binary) {
+        String field = binary.fieldName();
+        OperatorType operator = binary.operator();
+        Object value = binary.value();
+
+        // 필드끼리 비교는 필드명 순서로 정렬 (a < b ⇔ b > a)
+        if (value instanceof FieldReference reference && field.compareTo(reference.fieldName()) > 0) {
+            value = new FieldReference(field);
+            field = reference.fieldName();
+            operator = switch (operator) {
+                case EQUALS, NOT_EQUALS -> operator;
+                case GREATER_THAN -> OperatorType.LESS_THAN;
+                case LESS_THAN -> OperatorType.GREATER_THAN;
+                case GREATER_EQUAL -> OperatorType.LESS_EQUAL;
+                case LESS_EQUAL -> OperatorType.GREATER_EQUAL;
+            };
+        }
+
+        return switch (operator) {
+            case EQUALS, GREATER_THAN, LESS_THAN -> new BinaryExpressionDef(field, operator, value);
+            case NOT_EQUALS -> new NotExpressionDef(new BinaryExpressionDef(field, OperatorType.EQUALS, value));
+            case GREATER_EQUAL -> new NotExpressionDef(new BinaryExpressionDef(field, OperatorType.LESS_THAN, value));
+            case LESS_EQUAL -> new NotExpressionDef(new BinaryExpressionDef(field, OperatorType.GREATER_THAN, value));
+        };
+    }
+
+    private static void countOccurrences(ExpressionDef expression, Map<ExpressionDef, Integer> occurrences) {
+        occurrences.merge(expression, 1, Integer::sum);
+        switch (expression) {
+            case AndExpressionDef and -> and.expressions().forEach(child -> countOccurrences(child, occurrences));
+            case OrExpressionDef or -> or.expressions().forEach(child -> countOccurrences(child, occurrences));
+            case NotExpressionDef not -> countOccurrences(not.expression(), occurrences);
+            case BinaryExpressionDef binary -> {}
+            case ConstantExpressionDef constant -> {}
+        }
+    }
+
+    /**
+     * @param shared 공유 노드 정보 (compileAll이 아니면 null)
+     */
+    private CompiledExpression compile(ExpressionDef expression, SharedNodes shared) {
+        if (shared == null || expression instanceof ConstantExpressionDef
+                || shared.occurrences().getOrDefault(expression, 0) < 2) {
+            return compileNode(expression, shared);
+        }
+        CompiledExpression node = shared.nodes().get(expression);
+        if (node == null) {
+            // 하위의 공유 노드가 먼저 번호를 받은 뒤에 번호를 정해야 메모 칸이 겹치지 않음
+            CompiledExpression delegate = compileNode(expression, shared);
+            node = new MemoNode(shared.nodes().size(), delegate, expression instanceof BinaryExpressionDef);
+            shared.nodes().put(expression, node);
+        }
+        return node;
+    }
+
+    private CompiledExpression compileNode(ExpressionDef expression, SharedNodes shared) {
+        return switch (expression) {
+            case BinaryExpressionDef binary -> compileBinary(binary);
+            case AndExpressionDef and -> compileAnd(and, shared);
+            case OrExpressionDef or -> compileOr(or, shared);
+            case NotExpressionDef not -> new NotNode(compile(not.expression(), shared));
+            case ConstantExpressionDef constant -> new ConstantNode(EvaluationResult.of(constant.value()));
+        };
+    }
+
+    /**
+     * 이진 표현식 컴파일
+     * 비교값이 FieldReference인지 상수인지에 따라 전용 노드를 선택
+     */
+    private CompiledExpression compileBinary(BinaryExpressionDef binary) {
+        FieldPath field = FieldPath.parse(binary.fieldName());
+        OperatorType operator = binary.operator();
+
+        if (binary.value() instanceof FieldReference fieldRef) {
+            FieldPath other = FieldPath.parse(fieldRef.fieldName());
+            return switch (operator) {
+                case EQUALS -> new FieldEqualsField(field, other, false);
+                case NOT_EQUALS -> new FieldEqualsField(field, other, true);
+                default -> new FieldComparesField(field, operator, other);
+            };
+        }
+
+        Object constant = binary.value();
+        return switch (operator) {
+            case EQUALS -> new FieldEqualsConstant(field, constant, false);
+            case NOT_EQUALS -> new FieldEqualsConstant(field, constant, true);
+            default -> new FieldComparesConstant(field, operator, constant);
+        };
+    }
+
+    /**
+     * AND 표현식 컴파일 (하위 표현식이 하나면 그대로 사용)
+     */
+    private CompiledExpression compileAnd(AndExpressionDef and, SharedNodes shared) {
+        CompiledExpression[] children = compileChildren(and.expressions(), shared);
+        return children.length == 1 ? children[0] : new AndNode(children);
+    }
+
+    /**
+     * OR 표현식 컴파일 (하위 표현식이 하나면 그대로 사용)
+     */
+    private CompiledExpression compileOr(OrExpressionDef or, SharedNodes shared) {
+        CompiledExpression[] children = compileChildren(or.expressions(), shared);
+        return children.length == 1 ? children[0] : new OrNode(children);
+    }
+
+    private CompiledExpression[] compileChildren(List<ExpressionDef> expressions, SharedNodes shared) {
+        CompiledExpression[] compiled = new CompiledExpression[expressions.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = compile(expressions.get(i), shared);
+        }
+        return compiled;
+    }
+
+    /**
+     * compileAll 중 공유 노드 정보
+     *
+     * @param occurrences 하위 표현식별 등장 횟수
+     * @param nodes 이미 만든 공유 노드 (등장 순서대로 메모 번호 부여)
+     */
+    private record SharedNodes(Map<ExpressionDef, Integer> occurrences, Map<ExpressionDef, CompiledExpression> nodes) {}
+
+    private static EvaluationResult of(boolean value) {
+        return value ? EvaluationResult.TRUE : EvaluationResult.FALSE;
+    }
+
+    /**
+     * 같은 클래스의 값만 동등하다고 보는 비교 (ExpressionEvaluator의 타입 불일치 규칙과 동일)
+     */
+    private static boolean sameValue(Object left, Object right) {
+        if (left == right) {
+            return true; // 로더가 대표 인스턴스로 저장한 ID 문자열은 대부분 여기서 끝남
+        }
+        if (left == null || right == null) {
+            return left == right;
+        }
+        return left.getClass() == right.getClass() && left.equals(right);
+    }
+
+    /**
+     * 컴파일 시점에 슬롯 번호로 변환된 "table.column" 필드 경로
+     *
+     * @param table 테이블 번호 (스키마에 없으면 -1)
+     * @param slot 슬롯 번호 (스키마에 없는 컬럼이면 -1)
+     */
+    record FieldPath(int table, int slot) {
+
+        static FieldPath parse(String fieldName) {
+            int dotIndex = fieldName.indexOf('.');
+            String table = dotIndex > 0 ? fieldName.substring(0, dotIndex) : fieldName;
+            String column = dotIndex > 0 ? fieldName.substring(dotIndex + 1) : fieldName;
+            return new FieldPath(EvaluationFrame.tableIndex(table), EvaluationFrame.slot(table, column));
+        }
+
+        /**
+         * 필드값 조회. 테이블이 로드되지 않았으면 MISSING 반환
+         */
+        Object read(EvaluationFrame frame) {
+            if (table < 0 || !frame.isLoaded(table)) {
+                return MISSING;
+            }
+            return slot < 0 ? null : frame.get(slot);
+        }
+
+        /**
+         * 필드값의 정수 ID (read가 MISSING이 아닐 때만 사용). 없으면 0
+         */
+        int id(EvaluationFrame frame) {
+            return slot < 0 ? 0 : frame.id(slot);
+        }
+    }
+
+    /**
+     * field == constant / field != constant
+     */
+    private static final class FieldEqualsConstant implements CompiledExpression {
+        private final FieldPath field;
+        private final Object constant;
+        private final boolean negated;
+
+        FieldEqualsConstant(FieldPath field, Object constant, boolean negated) {
+            this.field = field;
+            this.constant = constant;
+            this.negated = negated;
+        }
+
+        @Override
+        public EvaluationResult evaluate(EvaluationFrame frame) {
+            frame.countLeafEvaluation();
+            Object value = field.read(frame);
+            if (value == MISSING) {
+                return EvaluationResult.NULL;
+            }
+            return of(sameValue(value, constant) != negated);
+        }
+    }
+
+    /**
+     * field (>, <, >=, <=) constant
+     */
+    private static final class FieldComparesConstant implements CompiledExpression {
+        private final FieldPath field;
+        private final OperatorType operator;
+        private final Object constant;
+
+        FieldComparesConstant(FieldPath field, OperatorType operator, Object constant) {
+            this.field = field;
+            this.operator = operator;
+            this.constant = constant;
+        }
+
+        @Override
+        public EvaluationResult evaluate(EvaluationFrame frame) {
+            frame.countLeafEvaluation();
+            Object value = field.read(frame);
+            if (value == MISSING) {
+                return EvaluationResult.NULL;
+            }
+            return ValueComparator.compare(value, operator, constant);
+        }
+    }
+
+    /**
+     * field == other.field / field != other.field
+     */
+    private static final class FieldEqualsField implements CompiledExpression {
+        private final FieldPath left;
+        private final FieldPath right;
+        private final boolean negated;
+
+        FieldEqualsField(FieldPath left, FieldPath right, boolean negated) {
+            this.left = left;
+            this.right = right;
+            this.negated = negated;
+        }
+
+        @Override
+        public EvaluationResult evaluate(EvaluationFrame frame) {
+            frame.countLeafEvaluation();
+            Object leftValue = left.read(frame);
+            if (leftValue == MISSING) {
+                return EvaluationResult.NULL;
+            }
+            Object rightValue = right.read(frame);
+            if (rightValue == MISSING) {
+                return EvaluationResult.NULL;
+            }
+            int leftId = left.id(frame);
+            int rightId = right.id(frame);
+            if (leftId != 0 && rightId != 0) {
+                return of((leftId == rightId) != negated); // 같은 사전의 ID이므로 값 비교와 결과가 같음
+            }
+            return of(sameValue(leftValue, rightValue) != negated);
+        }
+    }
+
+    /**
+     * field (>, <, >=, <=) other.field
+     */
+    private static final class FieldComparesField implements CompiledExpression {
+        private final FieldPath left;
+        private final OperatorType operator;
+        private final FieldPath right;
+
+        FieldComparesField(FieldPath left, OperatorType operator, FieldPath right) {
+            this.left = left;
+            this.operator = operator;
+            this.right = right;
+        }
+
+        @Override
+        public EvaluationResult evaluate(EvaluationFrame frame) {
+            frame.countLeafEvaluation();
+            Object leftValue = left.read(frame);
+            if (leftValue == MISSING) {
+                return EvaluationResult.NULL;
+            }
+            Object rightValue = right.read(frame);
+            if (rightValue == MISSING) {
+                return EvaluationResult.NULL;
+            }
+            return ValueComparator.compare(leftValue, operator, rightValue);
+        }
+    }
+
+    /**
+     * AND (단락 평가)
+     */
+    private static final class AndNode implements CompiledExpression {
+        private final CompiledExpression[] children;
+
+        AndNode(CompiledExpression[] children) {
+            this.children = children;
+        }
+
+        @Override
+        public EvaluationResult evaluate(EvaluationFrame frame) {
+            boolean hasNull = false;
+            for (CompiledExpression child : children) {
+                EvaluationResult result = child.evaluate(frame);
+                if (result == EvaluationResult.FALSE) {
+                    return EvaluationResult.FALSE;
+                }
+                if (result == EvaluationResult.NULL) {
+                    hasNull = true;
+                }
+            }
+            return hasNull ? EvaluationResult.NULL : EvaluationResult.TRUE;
+        }
+    }
+
+    /**
+     * OR (단락 평가)
+     */
+    private static final class OrNode implements CompiledExpression {
+        private final CompiledExpression[] children;
+
+        OrNode(CompiledExpression[] children) {
+            this.children = children;
+        }
+
+        @Override
+        public EvaluationResult evaluate(EvaluationFrame frame) {
+            boolean hasNull = false;
+            for (CompiledExpression child : children) {
+                EvaluationResult result = child.evaluate(frame);
+                if (result == EvaluationResult.TRUE) {
+                    return EvaluationResult.TRUE;
+                }
+                if (result == EvaluationResult.NULL) {
+                    hasNull = true;
+                }
+            }
+            return hasNull ? EvaluationResult.NULL : EvaluationResult.FALSE;
+        }
+    }
+
+    /**
+     * 여러 곳에서 공유하는 하위 표현식 (확인 한 번 동안 결과를 프레임에 기억)
+     */
+    private static final class MemoNode implements CompiledExpression {
+        private final int index;
+        private final CompiledExpression delegate;
+        private final boolean leaf;
+
+        MemoNode(int index, CompiledExpression delegate, boolean leaf) {
+            this.index = index;
+            this.delegate = delegate;
+            this.leaf = leaf;
+        }
+
+        @Override
+        public EvaluationResult evaluate(EvaluationFrame frame) {
+            EvaluationResult result = frame.memoized(index);
+            if (result == null) {
+                result = delegate.evaluate(frame);
+                frame.memoize(index, result);
+            } else {
+                frame.countMemoHit(leaf);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 부분 평가로 확정된 상수
+     */
+    private static final class ConstantNode implements CompiledExpression {
+        private final EvaluationResult result;
+
+        ConstantNode(EvaluationResult result) {
+            this.result = result;
+        }
+
+        @Override
+        public EvaluationResult evaluate(EvaluationFrame frame) {
+            return result;
+        }
+    }
+
+    /**
+     * NOT (NULL의 부정도 NULL)
+     */
+    private static final class NotNode implements CompiledExpression {
+        private final CompiledExpression child;
+
+        NotNode(CompiledExpression child) {
+            this.child = child;
+        }
+
+        @Override
+        public EvaluationResult evaluate(EvaluationFrame frame) {
+            return switch (child.evaluate(frame)) {
+                case TRUE -> EvaluationResult.FALSE;
+                case FALSE -> EvaluationResult.TRUE;
+                case NULL -> EvaluationResult.NULL;
+            };
+        }
+    }
+}
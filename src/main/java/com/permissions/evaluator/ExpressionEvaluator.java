@@ -2,7 +2,6 @@ package com.permissions.evaluator;
 
 import com.permissions.dsl.*;
 import java.util.Map;
-import java.util.Objects;
 
 /**
  * Expression DSL 평가 엔진
@@ -24,6 +23,7 @@ public class ExpressionEvaluator {
             case AndExpressionDef and -> evaluateAnd(and, data);
             case OrExpressionDef or -> evaluateOr(or, data);
             case NotExpressionDef not -> evaluateNot(not, data);
+            case ConstantExpressionDef constant -> EvaluationResult.of(constant.value());
         };
     }
 
@@ -142,43 +142,6 @@ public class ExpressionEvaluator {
      * 연산자에 따른 값 비교
      */
     private EvaluationResult compareValues(Object left, OperatorType operator, Object right) {
-        // null 처리
-        if (left == null || right == null) {
-            return switch (operator) {
-                case EQUALS -> Objects.equals(left, right) ? EvaluationResult.TRUE : EvaluationResult.FALSE;
-                case NOT_EQUALS -> !Objects.equals(left, right) ? EvaluationResult.TRUE : EvaluationResult.FALSE;
-                default -> EvaluationResult.NULL; // null과 다른 비교연산은 불가
-            };
-        }
-
-        // 타입이 다르면 비교 불가
-        if (!left.getClass().equals(right.getClass())) {
-            return switch (operator) {
-                case EQUALS -> EvaluationResult.FALSE;
-                case NOT_EQUALS -> EvaluationResult.TRUE;
-                default -> EvaluationResult.NULL;
-            };
-        }
-
-        return switch (operator) {
-            case EQUALS -> Objects.equals(left, right) ? EvaluationResult.TRUE : EvaluationResult.FALSE;
-            case NOT_EQUALS -> !Objects.equals(left, right) ? EvaluationResult.TRUE : EvaluationResult.FALSE;
-            case GREATER_THAN -> compareComparable(left, right) > 0 ? EvaluationResult.TRUE : EvaluationResult.FALSE;
-            case LESS_THAN -> compareComparable(left, right) < 0 ? EvaluationResult.TRUE : EvaluationResult.FALSE;
-            case GREATER_EQUAL -> compareComparable(left, right) >= 0 ? EvaluationResult.TRUE : EvaluationResult.FALSE;
-            case LESS_EQUAL -> compareComparable(left, right) <= 0 ? EvaluationResult.TRUE : EvaluationResult.FALSE;
-        };
-    }
-
-    /**
-     * Comparable 객체 비교
-     */
-    @SuppressWarnings("unchecked")
-    private int compareComparable(Object left, Object right) {
-        if (!(left instanceof Comparable leftComp) || !(right instanceof Comparable rightComp)) {
-            throw new IllegalArgumentException("Cannot compare non-Comparable objects: " + 
-                left.getClass() + " and " + right.getClass());
-        }
-        return leftComp.compareTo(rightComp);
+        return ValueComparator.compare(left, operator, right);
     }
 }
\ No newline at end of file
@@ -0,0 +1,194 @@
+package com.permissions.evaluator;
+
+import com.permissions.dsl.*;
+
+import java.util.*;
+
+/**
+ * 정책 등록 시점의 표현식 최적화기
+ * 평가 결과를 바꾸지 않고 단락 평가가 빨리 끝나도록 ExpressionDef 트리를 재구성
+ *
+ * - 평탄화: AND 안의 AND, OR 안의 OR를 한 단계로 합침
+ * - 상수 접기: AND의 FALSE, OR의 TRUE는 전체를 확정하고 결과에 영향 없는 상수는 제거, NOT은 상수를 부정하고 NOT(NOT x)는 x
+ * - 중복 제거: 같은 하위 조건이 여러 번 나오면 하나만 남김 (3-value 논리에서도 x AND x = x)
+ * - 재배치: 하위 조건을 (평가 비용 / 결과를 확정할 확률)이 작은 순으로 정렬
+ *   AND는 FALSE, OR는 TRUE가 될 확률을 사용하며, 멤버십 테이블처럼 행이 없을 때가 많은 테이블의 비교는 NULL이 되기 쉬워 뒤로 감
+ *
+ * AND/OR의 결과는 하위 조건 순서와 무관하므로(단락 평가는 결과가 확정된 뒤에만 일어남) 최적화 전후의 결과는 같음
+ */
+public class ExpressionOptimizer {
+
+    /**
+     * 테이블별 행이 있을 확률 추정치 (목록에 없는 테이블은 1)
+     * 멤버십은 사용자가 리소스의 프로젝트/팀 멤버일 때만 행이 있음
+     */
+    private static final Map<String, Double> PRESENCE = Map.of("teamMembership", 0.25, "projectMembership", 0.25);
+
+    /**
+     * 행이 있을 때 비교식이 TRUE일 확률 추정치
+     */
+    private static final double EQUALS_TRUE = 0.3;
+    private static final double ORDERING_TRUE = 0.5;
+
+    /**
+     * 표현식 최적화
+     *
+     * @param expression 원래 표현식
+     * @return 결과가 같은 최적화된 표현식
+     */
+    public ExpressionDef optimize(ExpressionDef expression) {
+        return switch (expression) {
+            case BinaryExpressionDef binary -> binary;
+            case ConstantExpressionDef constant -> constant;
+            case NotExpressionDef not -> optimizeNot(optimize(not.expression()));
+            case AndExpressionDef and -> optimizeJunction(and.expressions(), true);
+            case OrExpressionDef or -> optimizeJunction(or.expressions(), false);
+        };
+    }
+
+    private static ExpressionDef optimizeNot(ExpressionDef child) {
+        if (child instanceof NotExpressionDef not) {
+            return not.expression();
+        }
+        if (child instanceof ConstantExpressionDef constant) {
+            if (constant.value() == null) {
+                return constant;
+            }
+            return constant.value() ? ConstantExpressionDef.FALSE : ConstantExpressionDef.TRUE;
+        }
+        return new NotExpressionDef(child);
+    }
+
+    /**
+     * AND/OR 최적화 (평탄화, 상수 접기, 중복 제거, 재배치)
+     *
+     * @param conjunction true면 AND, false면 OR
+     */
+    private ExpressionDef optimizeJunction(List<ExpressionDef> expressions, boolean conjunction) {
+        Boolean dominant = !conjunction; // AND는 FALSE, OR는 TRUE가 결과를 결정
+        Set<ExpressionDef> children = new LinkedHashSet<>();
+        boolean hasNull = false;
+
+        for (ExpressionDef expression : flatten(expressions, conjunction)) {
+            if (expression instanceof ConstantExpressionDef constant) {
+                if (dominant.equals(constant.value())) {
+                    return constant;
+                }
+                hasNull |= constant.value() == null;
+                continue;
+            }
+            children.add(expression);
+        }
+
+        List<ExpressionDef> ordered = new ArrayList<>(children);
+        ordered.sort(Comparator.comparingDouble(child -> rank(estimate(child), conjunction)));
+        if (hasNull) {
+            ordered.add(ConstantExpressionDef.NULL); // 결과를 확정할 수 없으므로 마지막
+        }
+
+        if (ordered.isEmpty()) {
+            return conjunction ? ConstantExpressionDef.TRUE : ConstantExpressionDef.FALSE;
+        }
+        if (ordered.size() == 1) {
+            return ordered.get(0);
+        }
+        return conjunction ? new AndExpressionDef(List.copyOf(ordered)) : new OrExpressionDef(List.copyOf(ordered));
+    }
+
+    /**
+     * 하위 조건을 최적화하면서 같은 종류의 junction을 펼침
+     */
+    private List<ExpressionDef> flatten(List<ExpressionDef> expressions, boolean conjunction) {
+        List<ExpressionDef> flattened = new ArrayList<>();
+        for (ExpressionDef expression : expressions) {
+            ExpressionDef optimized = optimize(expression);
+            if (conjunction && optimized instanceof AndExpressionDef and) {
+                flattened.addAll(and.expressions());
+            } else if (!conjunction && optimized instanceof OrExpressionDef or) {
+                flattened.addAll(or.expressions());
+            } else {
+                flattened.add(optimized);
+            }
+        }
+        return flattened;
+    }
+
+    /**
+     * 정렬 기준: 결과를 확정할 확률당 비용 (작을수록 먼저 평가)
+     */
+    private static double rank(Estimate estimate, boolean conjunction) {
+        double decisive = conjunction ? estimate.falseProbability() : estimate.trueProbability();
+        return decisive > 0 ? estimate.cost() / decisive : Double.MAX_VALUE;
+    }
+
+    /**
+     * 표현식의 평가 비용과 결과 확률 추정
+     */
+    static Estimate estimate(ExpressionDef expression) {
+        return switch (expression) {
+            case BinaryExpressionDef binary -> estimateBinary(binary);
+            case ConstantExpressionDef constant -> new Estimate(0,
+                Boolean.TRUE.equals(constant.value()) ? 1 : 0, Boolean.FALSE.equals(constant.value()) ? 1 : 0);
+            case NotExpressionDef not -> {
+                Estimate child = estimate(not.expression());
+                yield new Estimate(child.cost(), child.falseProbability(), child.trueProbability());
+            }
+            case AndExpressionDef and -> estimateJunction(and.expressions(), true);
+            case OrExpressionDef or -> estimateJunction(or.expressions(), false);
+        };
+    }
+
+    private static Estimate estimateBinary(BinaryExpressionDef binary) {
+        double presence = presence(binary.fieldName());
+        double cost = 1;
+        if (binary.value() instanceof FieldReference reference) {
+            presence *= presence(reference.fieldName());
+            cost = 2;
+        }
+        double truth = switch (binary.operator()) {
+            case EQUALS -> EQUALS_TRUE;
+            case NOT_EQUALS -> 1 - EQUALS_TRUE;
+            default -> ORDERING_TRUE;
+        };
+        return new Estimate(cost, presence * truth, presence * (1 - truth));
+    }
+
+    /**
+     * 현재 순서로 단락 평가할 때의 기대 비용과 결과 확률 (하위 조건은 독립이라고 가정)
+     */
+    private static Estimate estimateJunction(List<ExpressionDef> expressions, boolean conjunction) {
+        double cost = 0;
+        double undecided = 1; // 앞의 하위 조건들로 결과가 확정되지 않았을 확률
+        double allTrue = 1;
+        double noneTrue = 1;
+        double allFalse = 1;
+        double noneFalse = 1;
+        for (ExpressionDef expression : expressions) {
+            Estimate child = estimate(expression);
+            cost += undecided * child.cost();
+            undecided *= 1 - (conjunction ? child.falseProbability() : child.trueProbability());
+            allTrue *= child.trueProbability();
+            noneTrue *= 1 - child.trueProbability();
+            allFalse *= child.falseProbability();
+            noneFalse *= 1 - child.falseProbability();
+        }
+        return conjunction
+            ? new Estimate(cost, allTrue, 1 - noneFalse)
+            : new Estimate(cost, 1 - noneTrue, allFalse);
+    }
+
+    private static double presence(String fieldName) {
+        int dotIndex = fieldName.indexOf('.');
+        String table = dotIndex > 0 ? fieldName.substring(0, dotIndex) : fieldName;
+        return PRESENCE.getOrDefault(table, 1.0);
+    }
+
+    /**
+     * 평가 비용과 결과 확률 추정치
+     *
+     * @param cost 단락 평가를 고려한 기대 비교 횟수
+     * @param trueProbability TRUE일 확률
+     * @param falseProbability FALSE일 확률 (나머지는 NULL)
+     */
+    record Estimate(double cost, double trueProbability, double falseProbability) {}
+}
@@ -0,0 +1,211 @@
+package com.permissions.evaluator;
+
+import com.permissions.dsl.*;
+
+import java.util.*;
+
+/**
+ * Expression DSL 부분 평가기
+ * 일부 테이블의 데이터만 확정된 상태에서 표현식을 평가하여,
+ * 확정된 부분은 상수로 접고 나머지 테이블에만 의존하는 잔여(residual) 표현식을 만듦
+ *
+ * - 확정 테이블만 참조하는 비교식은 ExpressionEvaluator와 같은 규칙으로 TRUE/FALSE/NULL 상수가 됨
+ * - 확정 테이블과 미확정 테이블을 함께 참조하는 비교식은 확정 쪽 필드를 값으로 바꿔 "미확정 필드 연산자 값" 형태로 변환
+ * - AND/OR/NOT은 3-value 논리로 상수를 접고 결과가 정해진 분기를 제거
+ *
+ * 잔여 표현식을 미확정 테이블 데이터와 함께 평가한 결과는 원래 표현식을 전체 데이터로 평가한 결과와 같음
+ */
+public class PartialEvaluator {
+
+    /**
+     * 잔여 표현식 계산
+     *
+     * @param expression 원래 표현식
+     * @param knownTables 데이터가 확정된 테이블 (data에 없으면 로드되지 않는 것으로 확정)
+     * @param data 확정된 테이블의 데이터 ("user" -> {"id": "u1", ...})
+     * @return 미확정 테이블만 참조하는 잔여 표현식 (완전히 확정되면 ConstantExpressionDef)
+     */
+    public ExpressionDef residual(ExpressionDef expression, Set<String> knownTables,
+            Map<String, Map<String, Object>> data) {
+        return switch (expression) {
+            case BinaryExpressionDef binary -> residualBinary(binary, knownTables, data);
+            case AndExpressionDef and -> residualJunction(and.expressions(), true, knownTables, data);
+            case OrExpressionDef or -> residualJunction(or.expressions(), false, knownTables, data);
+            case NotExpressionDef not -> residualNot(residual(not.expression(), knownTables, data));
+            case ConstantExpressionDef constant -> constant;
+        };
+    }
+
+    /**
+     * 표현식이 어떤 데이터에서든 TRUE가 될 수 있는지 (보수적 판단)
+     * 예: NULL 상수를 포함한 AND는 FALSE 또는 NULL만 가능
+     */
+    public static boolean canBeTrue(ExpressionDef expression) {
+        return switch (expression) {
+            case BinaryExpressionDef binary -> true;
+            case AndExpressionDef and -> and.expressions().stream().allMatch(PartialEvaluator::canBeTrue);
+            case OrExpressionDef or -> or.expressions().stream().anyMatch(PartialEvaluator::canBeTrue);
+            case NotExpressionDef not -> canBeFalse(not.expression());
+            case ConstantExpressionDef constant -> Boolean.TRUE.equals(constant.value());
+        };
+    }
+
+    /**
+     * 표현식이 어떤 데이터에서든 FALSE가 될 수 있는지 (보수적 판단)
+     */
+    public static boolean canBeFalse(ExpressionDef expression) {
+        return switch (expression) {
+            case BinaryExpressionDef binary -> true;
+            case AndExpressionDef and -> and.expressions().stream().anyMatch(PartialEvaluator::canBeFalse);
+            case OrExpressionDef or -> or.expressions().stream().allMatch(PartialEvaluator::canBeFalse);
+            case NotExpressionDef not -> canBeTrue(not.expression());
+            case ConstantExpressionDef constant -> Boolean.FALSE.equals(constant.value());
+        };
+    }
+
+    /**
+     * 표현식이 참조하는 테이블 수집
+     */
+    public static Set<String> referencedTables(ExpressionDef expression) {
+        Set<String> tables = new HashSet<>();
+        collectTables(expression, tables);
+        return tables;
+    }
+
+    private static void collectTables(ExpressionDef expression, Set<String> tables) {
+        switch (expression) {
+            case BinaryExpressionDef binary -> {
+                tables.add(tableName(binary.fieldName()));
+                if (binary.value() instanceof FieldReference reference) {
+                    tables.add(tableName(reference.fieldName()));
+                }
+            }
+            case AndExpressionDef and -> and.expressions().forEach(child -> collectTables(child, tables));
+            case OrExpressionDef or -> or.expressions().forEach(child -> collectTables(child, tables));
+            case NotExpressionDef not -> collectTables(not.expression(), tables);
+            case ConstantExpressionDef constant -> {}
+        }
+    }
+
+    /**
+     * 비교식 부분 평가
+     * 참조 테이블 중 하나라도 로드되지 않는 것으로 확정되면 NULL
+     */
+    private ExpressionDef residualBinary(BinaryExpressionDef binary, Set<String> knownTables,
+            Map<String, Map<String, Object>> data) {
+        String leftTable = tableName(binary.fieldName());
+        boolean leftKnown = knownTables.contains(leftTable);
+        if (leftKnown && !data.containsKey(leftTable)) {
+            return ConstantExpressionDef.NULL;
+        }
+
+        if (!(binary.value() instanceof FieldReference reference)) {
+            return leftKnown
+                ? constant(ValueComparator.compare(fieldValue(binary.fieldName(), data), binary.operator(), binary.value()))
+                : binary;
+        }
+
+        String rightTable = tableName(reference.fieldName());
+        boolean rightKnown = knownTables.contains(rightTable);
+        if (rightKnown && !data.containsKey(rightTable)) {
+            return ConstantExpressionDef.NULL;
+        }
+
+        if (leftKnown && rightKnown) {
+            return constant(ValueComparator.compare(fieldValue(binary.fieldName(), data), binary.operator(),
+                fieldValue(reference.fieldName(), data)));
+        }
+        if (leftKnown) {
+            // 확정된 왼쪽을 값으로 바꾸고 좌우를 뒤집음 (a < b ⇔ b > a)
+            return new BinaryExpressionDef(reference.fieldName(), flip(binary.operator()),
+                fieldValue(binary.fieldName(), data));
+        }
+        if (rightKnown) {
+            return new BinaryExpressionDef(binary.fieldName(), binary.operator(), fieldValue(reference.fieldName(), data));
+        }
+        return binary;
+    }
+
+    /**
+     * AND/OR 부분 평가
+     * AND는 FALSE, OR는 TRUE인 하위 조건이 있으면 그 값으로 확정하고,
+     * 결과에 영향이 없는 상수(AND의 TRUE, OR의 FALSE)는 제거, NULL 상수는 하나만 남김
+     *
+     * @param conjunction true면 AND, false면 OR
+     */
+    private ExpressionDef residualJunction(List<ExpressionDef> expressions, boolean conjunction,
+            Set<String> knownTables, Map<String, Map<String, Object>> data) {
+        Boolean dominant = !conjunction; // AND는 FALSE, OR는 TRUE가 결과를 결정
+        List<ExpressionDef> remaining = new ArrayList<>();
+        boolean hasNull = false;
+
+        for (ExpressionDef expression : expressions) {
+            ExpressionDef child = residual(expression, knownTables, data);
+            if (child instanceof ConstantExpressionDef constant) {
+                if (dominant.equals(constant.value())) {
+                    return constant;
+                }
+                hasNull |= constant.value() == null;
+                continue;
+            }
+            remaining.add(child);
+        }
+
+        if (hasNull) {
+            remaining.add(ConstantExpressionDef.NULL);
+        }
+        if (remaining.isEmpty()) {
+            return conjunction ? ConstantExpressionDef.TRUE : ConstantExpressionDef.FALSE;
+        }
+        if (remaining.size() == 1) {
+            return remaining.get(0);
+        }
+        return conjunction ? new AndExpressionDef(List.copyOf(remaining)) : new OrExpressionDef(List.copyOf(remaining));
+    }
+
+    /**
+     * NOT 부분 평가 (상수는 부정하고 NULL은 그대로)
+     */
+    private static ExpressionDef residualNot(ExpressionDef child) {
+        if (child instanceof ConstantExpressionDef constant) {
+            if (constant.value() == null) {
+                return constant;
+            }
+            return constant.value() ? ConstantExpressionDef.FALSE : ConstantExpressionDef.TRUE;
+        }
+        return new NotExpressionDef(child);
+    }
+
+    private static ConstantExpressionDef constant(EvaluationResult result) {
+        return switch (result) {
+            case TRUE -> ConstantExpressionDef.TRUE;
+            case FALSE -> ConstantExpressionDef.FALSE;
+            case NULL -> ConstantExpressionDef.NULL;
+        };
+    }
+
+    /**
+     * 좌우를 바꿨을 때 같은 의미가 되는 연산자
+     */
+    private static OperatorType flip(OperatorType operator) {
+        return switch (operator) {
+            case EQUALS, NOT_EQUALS -> operator;
+            case GREATER_THAN -> OperatorType.LESS_THAN;
+            case LESS_THAN -> OperatorType.GREATER_THAN;
+            case GREATER_EQUAL -> OperatorType.LESS_EQUAL;
+            case LESS_EQUAL -> OperatorType.GREATER_EQUAL;
+        };
+    }
+
+    private static String tableName(String fieldName) {
+        int dotIndex = fieldName.indexOf('.');
+        return dotIndex > 0 ? fieldName.substring(0, dotIndex) : fieldName;
+    }
+
+    private static Object fieldValue(String fieldName, Map<String, Map<String, Object>> data) {
+        int dotIndex = fieldName.indexOf('.');
+        String columnName = dotIndex > 0 ? fieldName.substring(dotIndex + 1) : fieldName;
+        Map<String, Object> row = data.get(tableName(fieldName));
+        return row != null ? row.get(columnName) : null;
+    }
+}
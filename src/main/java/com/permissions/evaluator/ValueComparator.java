@@ -0,0 +1,62 @@
+package com.permissions.evaluator;
+
+import com.permissions.dsl.OperatorType;
+import java.util.Objects;
+
+/**
+ * 값 비교 규칙
+ * 인터프리터(ExpressionEvaluator)와 컴파일된 표현식이 동일한 비교 의미를 공유하도록 분리
+ */
+final class ValueComparator {
+
+    private ValueComparator() {}
+
+    /**
+     * 연산자에 따른 값 비교
+     */
+    static EvaluationResult compare(Object left, OperatorType operator, Object right) {
+        // 같은 인스턴스 (로더가 대표 인스턴스로 저장한 ID 문자열끼리의 조인 등)는 타입 확인 없이 동등
+        if (left == right && left != null && (operator == OperatorType.EQUALS || operator == OperatorType.NOT_EQUALS)) {
+            return operator == OperatorType.EQUALS ? EvaluationResult.TRUE : EvaluationResult.FALSE;
+        }
+
+        // null 처리
+        if (left == null || right == null) {
+            return switch (operator) {
+                case EQUALS -> Objects.equals(left, right) ? EvaluationResult.TRUE : EvaluationResult.FALSE;
+                case NOT_EQUALS -> !Objects.equals(left, right) ? EvaluationResult.TRUE : EvaluationResult.FALSE;
+                default -> EvaluationResult.NULL; // null과 다른 비교연산은 불가
+            };
+        }
+
+        // 타입이 다르면 비교 불가
+        if (!left.getClass().equals(right.getClass())) {
+            return switch (operator) {
+                case EQUALS -> EvaluationResult.FALSE;
+                case NOT_EQUALS -> EvaluationResult.TRUE;
+                default -> EvaluationResult.NULL;
+            };
+        }
+
+        return switch (operator) {
+            case EQUALS -> Objects.equals(left, right) ? EvaluationResult.TRUE : EvaluationResult.FALSE;
+            case NOT_EQUALS -> !Objects.equals(left, right) ? EvaluationResult.TRUE : EvaluationResult.FALSE;
+            case GREATER_THAN -> compareComparable(left, right) > 0 ? EvaluationResult.TRUE : EvaluationResult.FALSE;
+            case LESS_THAN -> compareComparable(left, right) < 0 ? EvaluationResult.TRUE : EvaluationResult.FALSE;
+            case GREATER_EQUAL -> compareComparable(left, right) >= 0 ? EvaluationResult.TRUE : EvaluationResult.FALSE;
+            case LESS_EQUAL -> compareComparable(left, right) <= 0 ? EvaluationResult.TRUE : EvaluationResult.FALSE;
+        };
+    }
+
+    /**
+     * Comparable 객체 비교
+     */
+    @SuppressWarnings("unchecked")
+    private static int compareComparable(Object left, Object right) {
+        if (!(left instanceof Comparable leftComp) || !(right instanceof Comparable rightComp)) {
+            throw new IllegalArgumentException("Cannot compare non-Comparable objects: " +
+                left.getClass() + " and " + right.getClass());
+        }
+        return leftComp.compareTo(rightComp);
+    }
+}
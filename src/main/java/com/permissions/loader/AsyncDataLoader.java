@@ -0,0 +1,90 @@
+package com.permissions.loader;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * 비동기 데이터 로딩 인터페이스
+ * 테이블마다 독립적으로 조회하여 서로 기다리지 않고 동시에 로드
+ * (프로젝트/팀/멤버십도 리소스와 사용자로 바로 조회하므로 문서 → 프로젝트 → 팀 순서를 기다리지 않음)
+ *
+ * 동기 DataLoader는 of/onVirtualThreads로 감싸 테이블 조회마다 실행기의 스레드에서 loadData를 호출
+ * 가상 스레드 실행기를 쓰면 조회 중 블로킹되어도 OS 스레드를 점유하지 않으므로
+ * 동시에 진행 중인 확인이 수천 개여도 스레드 풀 크기에 묶이지 않음
+ */
+public interface AsyncDataLoader {
+
+    /**
+     * 테이블 하나를 비동기로 로드
+     *
+     * @param resource 대상 리소스 (예: Document)
+     * @param user 사용자 (예: User)
+     * @param table 테이블명 (예: "project")
+     * @return 행 데이터, 엔티티가 없으면 null로 완료 (테이블은 로드되지 않은 것으로 평가됨)
+     */
+    CompletableFuture<Map<String, Object>> loadTableAsync(Object resource, Object user, String table);
+
+    /**
+     * 필요한 테이블을 동시에 로드하고 모두 완료되면 loadData와 같은 형태로 합침
+     *
+     * @param resource 대상 리소스 (예: Document)
+     * @param user 사용자 (예: User)
+     * @param requiredTables 필요한 테이블 목록
+     * @return 테이블명을 키로 하는 엔티티 데이터 맵 (없는 엔티티의 테이블은 포함하지 않음)
+     */
+    default CompletableFuture<Map<String, Map<String, Object>>> loadDataAsync(Object resource, Object user,
+            Set<String> requiredTables) {
+        return loadDataAsync(resource, user, requiredTables, null);
+    }
+
+    /**
+     * loadDataAsync와 같고, 테이블마다 요청부터 완료까지 걸린 시간을 알림 (계측 중인 엔진이 사용)
+     *
+     * @param listener 테이블별 조회 시간을 받을 콜백 (null이면 알리지 않음)
+     */
+    default CompletableFuture<Map<String, Map<String, Object>>> loadDataAsync(Object resource, Object user,
+            Set<String> requiredTables, TableLoadListener listener) {
+        Map<String, CompletableFuture<Map<String, Object>>> pending = new HashMap<>();
+        for (String table : requiredTables) {
+            long start = listener != null ? System.nanoTime() : 0;
+            CompletableFuture<Map<String, Object>> row = loadTableAsync(resource, user, table);
+            if (listener != null) {
+                row = row.whenComplete((value, failure) -> listener.tableLoaded(table, System.nanoTime() - start));
+            }
+            pending.put(table, row);
+        }
+        return CompletableFuture.allOf(pending.values().toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            Map<String, Map<String, Object>> data = new HashMap<>();
+            pending.forEach((table, row) -> {
+                Map<String, Object> value = row.join();
+                if (value != null) {
+                    data.put(table, value);
+                }
+            });
+            return data;
+        });
+    }
+
+    /**
+     * 동기 DataLoader를 주어진 실행기에서 테이블별로 호출하는 비동기 로더
+     *
+     * @param dataLoader 동기 데이터 로더
+     * @param executor 조회를 실행할 실행기
+     */
+    static AsyncDataLoader of(DataLoader dataLoader, Executor executor) {
+        return (resource, user, table) -> CompletableFuture.supplyAsync(
+            () -> dataLoader.loadData(resource, user, Set.of(table)).get(table), executor);
+    }
+
+    /**
+     * 동기 DataLoader를 조회마다 새 가상 스레드에서 호출하는 비동기 로더
+     *
+     * @param dataLoader 동기 데이터 로더
+     */
+    static AsyncDataLoader onVirtualThreads(DataLoader dataLoader) {
+        return of(dataLoader, task -> Thread.ofVirtual().name("async-data-loader").start(task));
+    }
+}
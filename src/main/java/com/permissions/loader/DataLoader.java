@@ -1,5 +1,9 @@
 package com.permissions.loader;
 
+import com.permissions.evaluator.EvaluationFrame;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -19,4 +23,64 @@ public interface DataLoader {
      *         예: {"user" -> {"id": "u1", "name": "User1"}, "document" -> {"id": "d1", "title": "Doc1"}}
      */
     Map<String, Map<String, Object>> loadData(Object resource, Object user, Set<String> requiredTables);
+    
+    /**
+     * 여러 요청의 데이터를 한 번에 로드
+     * 기본 구현은 요청마다 loadData를 호출하며, 구현체는 요청 간 공유되는 행을 한 번만 로드하도록 재정의 가능
+     * 재정의한 구현체는 같은 행 Map을 여러 결과에 넣을 수 있으므로 행은 읽기 전용으로 다뤄야 함
+     * 
+     * @param requests 로드 요청 목록
+     * @return 요청 순서와 같은 순서의 로드 결과 목록
+     */
+    default List<Map<String, Map<String, Object>>> loadDataBatch(List<LoadRequest> requests) {
+        List<Map<String, Map<String, Object>>> results = new ArrayList<>(requests.size());
+        for (LoadRequest request : requests) {
+            results.add(loadData(request.resource(), request.user(), request.requiredTables()));
+        }
+        return results;
+    }
+    
+    /**
+     * 정책 평가에 필요한 데이터를 평가 프레임에 기록
+     * 이미 로드된 다른 테이블은 그대로 두므로 단계적 로딩에서 테이블을 하나씩 추가할 수 있음
+     * 기본 구현은 loadData 결과 맵을 프레임으로 옮기며, 구현체는 Map 생성 없이 슬롯에 직접 기록하도록 재정의 가능
+     * 
+     * @param resource 대상 리소스 (예: Document)
+     * @param user 사용자 (예: User)
+     * @param requiredTables 필요한 테이블 목록
+     * @param frame 데이터를 기록할 프레임
+     */
+    default void loadFrame(Object resource, Object user, Set<String> requiredTables, EvaluationFrame frame) {
+        frame.putAll(loadData(resource, user, requiredTables));
+    }
+    
+    /**
+     * 데이터를 평가 프레임에 기록하면서 테이블별 조회 시간을 알림 (계측 중인 엔진이 사용)
+     * 기본 구현은 loadFrame 한 번으로 모든 테이블을 로드하며 테이블별로 나눌 수 없으므로 알리지 않음
+     * 테이블을 하나씩 조회하는 구현체는 조회마다 시간을 재어 알리도록 재정의
+     * 
+     * @param resource 대상 리소스 (예: Document)
+     * @param user 사용자 (예: User)
+     * @param requiredTables 필요한 테이블 목록
+     * @param frame 데이터를 기록할 프레임
+     * @param listener 테이블별 조회 시간을 받을 콜백
+     */
+    default void loadFrame(Object resource, Object user, Set<String> requiredTables, EvaluationFrame frame,
+            TableLoadListener listener) {
+        loadFrame(resource, user, requiredTables, frame);
+    }
+    
+    /**
+     * 여러 요청의 데이터를 한 번에 평가 프레임에 기록
+     * 기본 구현은 loadDataBatch 결과를 프레임으로 옮김
+     * 
+     * @param requests 로드 요청 목록
+     * @param frames 요청 순서와 같은 순서의 프레임 목록
+     */
+    default void loadFrames(List<LoadRequest> requests, List<EvaluationFrame> frames) {
+        List<Map<String, Map<String, Object>>> results = loadDataBatch(requests);
+        for (int i = 0; i < results.size(); i++) {
+            frames.get(i).putAll(results.get(i));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.permissions.loader;
+
+import com.permissions.evaluator.EvaluationFrame;
+import com.permissions.model.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * 모델 엔티티 → 테이블 행 변환
+ * 엔티티를 찾는 방법만 다른 데이터 로더들(InMemoryDataLoader, MappedSnapshotDataLoader)이 같은 컬럼과 값 표현을 쓰도록 공유
+ */
+final class EntityRows {
+
+    private EntityRows() {}
+
+    /**
+     * 엔티티를 loadData 결과의 행 Map으로 변환
+     */
+    static Map<String, Object> toMap(Object entity) {
+        Map<String, Object> map = new HashMap<>();
+        
+        switch (entity) {
+            case User user -> {
+                map.put("id", user.id());
+                map.put("email", user.email());
+                map.put("name", user.name());
+            }
+            case Team team -> {
+                map.put("id", team.id());
+                map.put("name", team.name());
+                map.put("plan", team.plan().toString());
+            }
+            case Project project -> {
+                map.put("id", project.id());
+                map.put("name", project.name());
+                map.put("teamId", project.teamId());
+                map.put("visibility", project.visibility().toString());
+            }
+            case Document document -> {
+                map.put("id", document.id());
+                map.put("title", document.title());
+                map.put("projectId", document.projectId());
+                map.put("creatorId", document.creatorId());
+                map.put("deletedAt", document.deletedAt());
+                map.put("publicLinkEnabled", document.publicLinkEnabled());
+            }
+            case TeamMembership teamMembership -> {
+                map.put("userId", teamMembership.userId());
+                map.put("teamId", teamMembership.teamId());
+                map.put("role", teamMembership.role().toString());
+            }
+            case ProjectMembership projectMembership -> {
+                map.put("userId", projectMembership.userId());
+                map.put("projectId", projectMembership.projectId());
+                map.put("role", projectMembership.role().toString());
+            }
+            default -> throw new IllegalArgumentException("Unknown entity type: " + entity.getClass());
+        }
+        
+        return map;
+    }
+    
+    /**
+     * 엔티티 필드를 평가 프레임 슬롯에 기록 (toMap과 같은 컬럼, 같은 값 표현)
+     */
+    static void write(Object entity, EvaluationFrame frame) {
+        write(entity, frame, null);
+    }
+    
+    /**
+     * 엔티티 필드를 평가 프레임 슬롯에 기록하고 ID 컬럼에는 로더 사전의 정수 ID도 함께 기록
+     *
+     * @param ids ID 문자열 → 정수 ID (사전에 없으면 0을 반환, null이면 정수 ID 없이 기록)
+     */
+    static void write(Object entity, EvaluationFrame frame, ToIntFunction<String> ids) {
+        switch (entity) {
+            case User user -> frame.markLoaded(EvaluationFrame.USER)
+                .set(EvaluationFrame.USER_ID, user.id(), id(ids, user.id()))
+                .set(EvaluationFrame.USER_EMAIL, user.email())
+                .set(EvaluationFrame.USER_NAME, user.name());
+            case Team team -> frame.markLoaded(EvaluationFrame.TEAM)
+                .set(EvaluationFrame.TEAM_ID, team.id(), id(ids, team.id()))
+                .set(EvaluationFrame.TEAM_NAME, team.name())
+                .set(EvaluationFrame.TEAM_PLAN, team.plan().name());
+            case Project project -> frame.markLoaded(EvaluationFrame.PROJECT)
+                .set(EvaluationFrame.PROJECT_ID, project.id(), id(ids, project.id()))
+                .set(EvaluationFrame.PROJECT_NAME, project.name())
+                .set(EvaluationFrame.PROJECT_TEAM_ID, project.teamId(), id(ids, project.teamId()))
+                .set(EvaluationFrame.PROJECT_VISIBILITY, project.visibility().name());
+            case Document document -> frame.markLoaded(EvaluationFrame.DOCUMENT)
+                .set(EvaluationFrame.DOCUMENT_ID, document.id(), id(ids, document.id()))
+                .set(EvaluationFrame.DOCUMENT_TITLE, document.title())
+                .set(EvaluationFrame.DOCUMENT_PROJECT_ID, document.projectId(), id(ids, document.projectId()))
+                .set(EvaluationFrame.DOCUMENT_CREATOR_ID, document.creatorId(), id(ids, document.creatorId()))
+                .set(EvaluationFrame.DOCUMENT_DELETED_AT, document.deletedAt())
+                .set(EvaluationFrame.DOCUMENT_PUBLIC_LINK_ENABLED, document.publicLinkEnabled());
+            case TeamMembership teamMembership -> frame.markLoaded(EvaluationFrame.TEAM_MEMBERSHIP)
+                .set(EvaluationFrame.TEAM_MEMBERSHIP_USER_ID, teamMembership.userId(), id(ids, teamMembership.userId()))
+                .set(EvaluationFrame.TEAM_MEMBERSHIP_TEAM_ID, teamMembership.teamId(), id(ids, teamMembership.teamId()))
+                .set(EvaluationFrame.TEAM_MEMBERSHIP_ROLE, teamMembership.role().name());
+            case ProjectMembership projectMembership -> frame.markLoaded(EvaluationFrame.PROJECT_MEMBERSHIP)
+                .set(EvaluationFrame.PROJECT_MEMBERSHIP_USER_ID, projectMembership.userId(),
+                    id(ids, projectMembership.userId()))
+                .set(EvaluationFrame.PROJECT_MEMBERSHIP_PROJECT_ID, projectMembership.projectId(),
+                    id(ids, projectMembership.projectId()))
+                .set(EvaluationFrame.PROJECT_MEMBERSHIP_ROLE, projectMembership.role().name());
+            default -> throw new IllegalArgumentException("Unknown entity type: " + entity.getClass());
+        }
+    }
+    
+    private static int id(ToIntFunction<String> ids, String value) {
+        return ids == null ? IdDictionary.NONE : ids.applyAsInt(value);
+    }
+}
@@ -0,0 +1,23 @@
+package com.permissions.loader;
+
+import com.permissions.model.*;
+
+/**
+ * 엔티티를 받아 저장하는 대상
+ * SyntheticDataGenerator 등 데이터 생성기가 저장소 구현과 무관하게 엔티티를 흘려보낼 때 사용
+ * (예: InMemoryDataLoader, DB 적재기, 파일 기록기)
+ */
+public interface EntitySink {
+
+    EntitySink addUser(User user);
+
+    EntitySink addTeam(Team team);
+
+    EntitySink addProject(Project project);
+
+    EntitySink addDocument(Document document);
+
+    EntitySink addTeamMembership(TeamMembership teamMembership);
+
+    EntitySink addProjectMembership(ProjectMembership projectMembership);
+}
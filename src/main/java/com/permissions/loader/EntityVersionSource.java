@@ -0,0 +1,19 @@
+package com.permissions.loader;
+
+/**
+ * 엔티티 변경 버전을 제공하는 인터페이스
+ * 권한 결정 캐시가 캐시된 결정의 유효성을 확인할 때 사용
+ */
+public interface EntityVersionSource {
+    
+    /**
+     * (리소스, 사용자) 권한 결정에 영향을 주는 엔티티들의 현재 버전
+     * 사용자, 문서, 프로젝트, 팀, (사용자, 팀) 멤버십, (사용자, 프로젝트) 멤버십 중
+     * 하나라도 추가/변경/삭제되면 이전보다 큰 값을 반환
+     * 
+     * @param resource 대상 리소스 (예: Document)
+     * @param user 사용자 (예: User)
+     * @return 단조 증가하는 버전 값
+     */
+    long currentVersion(Object resource, Object user);
+}
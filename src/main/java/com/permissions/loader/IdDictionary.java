@@ -0,0 +1,88 @@
+package com.permissions.loader;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 외부 문자열 ID ↔ 조밀한 정수 ID 사전
+ * 데이터 로더가 엔티티를 받을 때(intern) ID 문자열마다 1부터 차례로 정수 ID를 부여하고 대표 문자열 인스턴스를 보관
+ *
+ * - 같은 ID는 저장된 모든 레코드에서 같은 String 인스턴스를 공유하므로 ID 문자열이 중복 저장되지 않음
+ * - 평가 프레임에는 문자열과 함께 정수 ID를 기록하여 컴파일된 조인 비교(user.id == document.creatorId 등)가 정수 비교로 끝남
+ * - 테이블 구분 없이 하나의 사전을 쓰므로 문자열이 같으면 정수 ID도 같음 (문자열 비교와 결과가 동일)
+ *
+ * 부여한 ID는 하나씩 해제하지 않음 (InMemoryDataLoader는 clear 시 사전을 새로 만들어 한꺼번에 회수)
+ * 조회(find)는 사전을 늘리지 않으므로 확인 요청과 삭제 경로에서는 find를 사용
+ * 여러 스레드가 동시에 사용할 수 있음
+ */
+public final class IdDictionary {
+
+    /**
+     * 사전에 없는 ID (또는 null)
+     */
+    public static final int NONE = 0;
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    // names[id - 1] = 대표 문자열 (새 배열은 원소를 채운 뒤 게시)
+    private volatile String[] names = new String[64];
+    private int size;
+
+    /**
+     * 문자열 ID의 정수 ID 조회, 없으면 새로 부여 (엔티티 저장 시 사용)
+     *
+     * @return 정수 ID, value가 null이면 NONE
+     */
+    public int intern(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer id = ids.get(value);
+        return id != null ? id : ids.computeIfAbsent(value, this::append);
+    }
+
+    /**
+     * 대표 문자열 인스턴스 (없으면 새로 부여)
+     */
+    public String canonical(String value) {
+        return value == null ? null : name(intern(value));
+    }
+
+    /**
+     * 이미 부여된 정수 ID 조회 (확인 요청 처리 중 사용, 사전이 늘어나지 않음)
+     *
+     * @return 정수 ID, 사전에 없거나 null이면 NONE
+     */
+    public int find(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer id = ids.get(value);
+        return id != null ? id : NONE;
+    }
+
+    /**
+     * 정수 ID → 문자열 ID
+     */
+    public String name(int id) {
+        return names[id - 1];
+    }
+
+    /**
+     * 부여된 ID 수
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private synchronized Integer append(String value) {
+        String[] current = names;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+            current[size] = value;
+            names = current;
+        } else {
+            current[size] = value;
+        }
+        return ++size;
+    }
+}
@@ -0,0 +1,115 @@
+package com.permissions.loader;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * ID 사전(IdDictionary)의 정수 ID → 값 테이블
+ * 정수 ID는 1부터 조밀하게 부여되므로 해시 없이 배열 위치로 바로 조회
+ *
+ * - 읽기는 잠금 없이 수행 (원소는 AtomicReferenceArray로 게시하고, 배열을 늘릴 때는 새 배열을 채운 뒤 게시)
+ * - 쓰기는 테이블 단위로 직렬화 (배열을 늘리는 동안 다른 쓰기가 이전 배열에 기록되어 유실되지 않도록)
+ * - NONE(0) 이하 ID로 쓰면 IllegalArgumentException, 읽으면 null
+ */
+final class IdTable<V> {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private volatile AtomicReferenceArray<V> slots = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+
+    /**
+     * @return ID의 값, 없으면 null
+     */
+    V get(int id) {
+        AtomicReferenceArray<V> current = slots;
+        return id > 0 && id < current.length() ? current.get(id) : null;
+    }
+
+    /**
+     * @return 이전 값, 없었으면 null
+     */
+    synchronized V put(int id, V value) {
+        V previous = get(id);
+        set(id, value);
+        return previous;
+    }
+
+    /**
+     * @return 제거된 값, 없었으면 null
+     */
+    synchronized V remove(int id) {
+        V previous = get(id);
+        if (previous != null) {
+            set(id, null);
+        }
+        return previous;
+    }
+
+    /**
+     * 현재 값(없으면 null)으로 새 값을 계산하여 기록 (null이면 제거)
+     *
+     * @return 새 값
+     */
+    synchronized V compute(int id, UnaryOperator<V> remapping) {
+        V next = remapping.apply(get(id));
+        set(id, next);
+        return next;
+    }
+
+    /**
+     * @return 기존 값, 없으면 새로 만들어 기록한 값
+     */
+    V computeIfAbsent(int id, Supplier<V> factory) {
+        V value = get(id);
+        if (value != null) {
+            return value;
+        }
+        synchronized (this) {
+            value = get(id);
+            if (value == null) {
+                value = factory.get();
+                set(id, value);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * 값이 있는 모든 ID의 값을 ID 순서로 전달 (순회 중 변경은 반영될 수도 있고 아닐 수도 있음)
+     */
+    void forEach(Consumer<? super V> action) {
+        AtomicReferenceArray<V> current = slots;
+        for (int i = 1; i < current.length(); i++) {
+            V value = current.get(i);
+            if (value != null) {
+                action.accept(value);
+            }
+        }
+    }
+
+    synchronized void clear() {
+        slots = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+    }
+
+    /**
+     * 값 기록 (this 잠금 보유, 필요하면 배열을 두 배씩 늘림)
+     */
+    private void set(int id, V value) {
+        if (id <= IdDictionary.NONE) {
+            throw new IllegalArgumentException("Invalid id: " + id);
+        }
+        AtomicReferenceArray<V> current = slots;
+        if (id < current.length()) {
+            current.set(id, value);
+        } else if (value != null) {
+            AtomicReferenceArray<V> grown = new AtomicReferenceArray<>(Math.max(id + 1, current.length() * 2));
+            for (int i = 1; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            grown.set(id, value);
+            slots = grown;
+        }
+    }
+}
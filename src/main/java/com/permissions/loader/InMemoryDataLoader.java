@@ -1,97 +1,437 @@
 package com.permissions.loader;
 
+import com.permissions.evaluator.EvaluationFrame;
 import com.permissions.model.*;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
 
 /**
  * 메모리 기반 데이터 로더 구현체
  * 테스트 및 개발 목적으로 사용되는 DataLoader
+ * 
+ * 여러 읽기 스레드(loadData)와 쓰기 스레드(add*, remove*)가 동시에 사용할 수 있음
+ * - 저장소와 인덱스는 ID 사전의 정수 ID를 배열 위치로 쓰는 IdTable이므로 읽기는 잠금 없이 수행되고 쓰기에 의해 막히지 않음
+ *   (인덱스 버킷 안은 멤버 수만큼만 차지하도록 대표 문자열을 키로 하는 작은 ConcurrentHashMap)
+ * - 인덱스 버킷 생성/정리는 IdTable.compute로 원자적으로 처리
+ * - 같은 프로젝트/문서를 교체하는 쓰기끼리는 ID 기준 스트라이프 잠금으로 직렬화 (이전 버킷 정리와 새 버킷 등록이 섞이지 않도록)
+ * - 멤버십은 사용자 기준/프로젝트·팀 기준 양방향 인덱스를 같은 스트라이프 잠금 안에서 함께 갱신
+ * - 엔티티 버전은 데이터를 반영한 뒤에 갱신하므로, 캐시가 이전 데이터를 새 버전으로 저장하지 않음
+ *
+ * 엔티티를 저장할 때 ID 필드를 ID 사전(IdDictionary)의 대표 문자열로 바꿔 저장하므로 같은 ID 문자열은 한 벌만 보관되고,
+ * 저장소/인덱스 조회의 키 비교는 대부분 같은 인스턴스 비교로 끝남
+ * loadFrame은 ID 컬럼에 사전의 정수 ID를 함께 기록하여 컴파일된 조인 비교가 정수 비교로 수행됨
+ *
+ * 멤버십은 팀/프로젝트별 역할 비트맵(RoleMatrix)에도 반영하며, 사용자 서수는 ID 사전의 정수 ID를 사용
+ *
+ * ID 사전은 엔티티를 저장할 때만 늘어나고(조회와 제거는 늘리지 않음) clear()에서 새 사전으로 바꾸어 모든 ID를 회수
+ * 따라서 사전 크기는 마지막 clear() 이후 저장된 고유 ID 수를 넘지 않음
+ * (clear()와 동시에 진행 중인 확인은 초기화 전후 데이터가 섞여 보일 수 있음)
  */
-public class InMemoryDataLoader implements DataLoader {
+public class InMemoryDataLoader implements DataLoader, MembershipLookup, EntityVersionSource, EntitySink, ResourceIndex,
+        RoleIndex {
     
-    // 엔티티별 데이터 저장소
-    private final Map<String, User> users = new HashMap<>();
-    private final Map<String, Team> teams = new HashMap<>();
-    private final Map<String, Project> projects = new HashMap<>();
-    private final Map<String, Document> documents = new HashMap<>();
-    private final List<TeamMembership> teamMemberships = new ArrayList<>();
-    private final List<ProjectMembership> projectMemberships = new ArrayList<>();
+    private static final int WRITE_LOCK_STRIPES = 64;
+    
+    // 외부 문자열 ID ↔ 정수 ID 사전 (clear 시 새 사전으로 교체)
+    private volatile IdDictionary ids = new IdDictionary();
+    // 평가 프레임에 기록할 정수 ID (사전에 없으면 0, 사전이 늘어나지 않음)
+    private final ToIntFunction<String> frameIds = value -> ids.find(value);
+    
+    // 엔티티별 데이터 저장소 (정수 ID -> 엔티티)
+    private final IdTable<User> users = new IdTable<>();
+    private final IdTable<Team> teams = new IdTable<>();
+    private final IdTable<Project> projects = new IdTable<>();
+    private final IdTable<Document> documents = new IdTable<>();
+    
+    // 보조 인덱스 (add* 메서드에서 점진적으로 유지, 바깥 키는 정수 ID)
+    // userId -> (teamId -> 팀 멤버십), userId -> (projectId -> 프로젝트 멤버십)
+    private final IdTable<Map<String, TeamMembership>> teamMembershipsByUser = new IdTable<>();
+    private final IdTable<Map<String, ProjectMembership>> projectMembershipsByUser = new IdTable<>();
+    // teamId -> (userId -> 팀 멤버십), projectId -> (userId -> 프로젝트 멤버십)
+    private final IdTable<Map<String, TeamMembership>> teamMembershipsByTeam = new IdTable<>();
+    private final IdTable<Map<String, ProjectMembership>> projectMembershipsByProject = new IdTable<>();
+    // teamId -> (projectId -> 프로젝트), projectId -> (documentId -> 문서)
+    private final IdTable<Map<String, Project>> projectsByTeam = new IdTable<>();
+    private final IdTable<Map<String, Document>> documentsByProject = new IdTable<>();
+    // creatorId -> (documentId -> 문서), 공개 링크가 활성화된 문서 ID
+    private final IdTable<Map<String, Document>> documentsByCreator = new IdTable<>();
+    private final Set<String> publicLinkDocumentIds = ConcurrentHashMap.newKeySet();
+    
+    // teamId/projectId -> 역할별 멤버 비트맵 (멤버십 인덱스와 같은 스트라이프 잠금 안에서 갱신)
+    private final RoleMatrix teamRoles = new RoleMatrix();
+    private final RoleMatrix projectRoles = new RoleMatrix();
+    
+    // 엔티티 종류 (버전 테이블의 종류 번호, 멤버십은 사용자 단위로 묶어 관리)
+    private static final int USER_VERSION = 0;
+    private static final int TEAM_VERSION = 1;
+    private static final int PROJECT_VERSION = 2;
+    private static final int DOCUMENT_VERSION = 3;
+    private static final int TEAM_MEMBERSHIPS_VERSION = 4;
+    private static final int PROJECT_MEMBERSHIPS_VERSION = 5;
+    
+    // (종류, 정수 ID)별 마지막 변경 버전 (전역 카운터 값), clear() 이후에는 baseVersion 이하 버전은 무효
+    private final VersionTable versions = new VersionTable(6);
+    private final AtomicLong versionCounter = new AtomicLong();
+    private volatile long baseVersion;
+    
+    // 프로젝트/문서 교체, 멤버십 양방향 인덱스 갱신용 스트라이프 잠금 (읽기에는 사용하지 않음)
+    private final Object[] writeLocks = new Object[WRITE_LOCK_STRIPES];
+    
+    public InMemoryDataLoader() {
+        for (int i = 0; i < writeLocks.length; i++) {
+            writeLocks[i] = new Object();
+        }
+    }
     
     /**
      * 사용자 추가
      */
+    @Override
     public InMemoryDataLoader addUser(User user) {
-        users.put(user.id(), user);
+        user = canonical(user);
+        users.put(ids.intern(user.id()), user);
+        touch(USER_VERSION, user.id());
         return this;
     }
     
     /**
      * 팀 추가
      */
+    @Override
     public InMemoryDataLoader addTeam(Team team) {
-        teams.put(team.id(), team);
+        team = canonical(team);
+        teams.put(ids.intern(team.id()), team);
+        touch(TEAM_VERSION, team.id());
         return this;
     }
     
     /**
      * 프로젝트 추가
      */
+    @Override
     public InMemoryDataLoader addProject(Project project) {
-        projects.put(project.id(), project);
+        project = canonical(project);
+        synchronized (writeLock(project.id())) {
+            Project previous = projects.put(ids.intern(project.id()), project);
+            if (previous != null) {
+                removeFromIndex(projectsByTeam, previous.teamId(), previous.id());
+            }
+            addToIndex(projectsByTeam, project.teamId(), project.id(), project);
+        }
+        touch(PROJECT_VERSION, project.id());
         return this;
     }
     
     /**
      * 문서 추가
      */
+    @Override
     public InMemoryDataLoader addDocument(Document document) {
-        documents.put(document.id(), document);
+        document = canonical(document);
+        synchronized (writeLock(document.id())) {
+            Document previous = documents.put(ids.intern(document.id()), document);
+            if (previous != null) {
+                removeFromIndex(documentsByProject, previous.projectId(), previous.id());
+                if (previous.creatorId() != null) {
+                    removeFromIndex(documentsByCreator, previous.creatorId(), previous.id());
+                }
+            }
+            addToIndex(documentsByProject, document.projectId(), document.id(), document);
+            if (document.creatorId() != null) {
+                addToIndex(documentsByCreator, document.creatorId(), document.id(), document);
+            }
+            if (document.publicLinkEnabled()) {
+                publicLinkDocumentIds.add(document.id());
+            } else {
+                publicLinkDocumentIds.remove(document.id());
+            }
+        }
+        touch(DOCUMENT_VERSION, document.id());
         return this;
     }
     
     /**
      * 팀 멤버십 추가
+     * 같은 (userId, teamId) 멤버십이 이미 있으면 교체
      */
+    @Override
     public InMemoryDataLoader addTeamMembership(TeamMembership teamMembership) {
-        teamMemberships.add(teamMembership);
+        teamMembership = canonical(teamMembership);
+        synchronized (writeLock(teamMembership.userId() + "/" + teamMembership.teamId())) {
+            addToIndex(teamMembershipsByUser, teamMembership.userId(), teamMembership.teamId(), teamMembership);
+            addToIndex(teamMembershipsByTeam, teamMembership.teamId(), teamMembership.userId(), teamMembership);
+            teamRoles.grant(ids.intern(teamMembership.teamId()), ids.intern(teamMembership.userId()), teamMembership.role());
+        }
+        touch(TEAM_MEMBERSHIPS_VERSION, teamMembership.userId());
         return this;
     }
     
+    /**
+     * 팀 멤버십 제거
+     * 
+     * @return 제거된 멤버십이 있으면 true
+     */
+    public boolean removeTeamMembership(String userId, String teamId) {
+        synchronized (writeLock(userId + "/" + teamId)) {
+            if (!removeFromIndex(teamMembershipsByUser, userId, teamId)) {
+                return false;
+            }
+            removeFromIndex(teamMembershipsByTeam, teamId, userId);
+            teamRoles.revoke(ids.find(teamId), ids.find(userId));
+        }
+        touch(TEAM_MEMBERSHIPS_VERSION, userId);
+        return true;
+    }
+    
     /**
      * 프로젝트 멤버십 추가
+     * 같은 (userId, projectId) 멤버십이 이미 있으면 교체
      */
+    @Override
     public InMemoryDataLoader addProjectMembership(ProjectMembership projectMembership) {
-        projectMemberships.add(projectMembership);
+        projectMembership = canonical(projectMembership);
+        synchronized (writeLock(projectMembership.userId() + "/" + projectMembership.projectId())) {
+            addToIndex(projectMembershipsByUser, projectMembership.userId(), projectMembership.projectId(), projectMembership);
+            addToIndex(projectMembershipsByProject, projectMembership.projectId(), projectMembership.userId(), projectMembership);
+            projectRoles.grant(ids.intern(projectMembership.projectId()), ids.intern(projectMembership.userId()),
+                projectMembership.role());
+        }
+        touch(PROJECT_MEMBERSHIPS_VERSION, projectMembership.userId());
         return this;
     }
     
     /**
-     * 모든 데이터 초기화
+     * 프로젝트 멤버십 제거
+     * 
+     * @return 제거된 멤버십이 있으면 true
+     */
+    public boolean removeProjectMembership(String userId, String projectId) {
+        synchronized (writeLock(userId + "/" + projectId)) {
+            if (!removeFromIndex(projectMembershipsByUser, userId, projectId)) {
+                return false;
+            }
+            removeFromIndex(projectMembershipsByProject, projectId, userId);
+            projectRoles.revoke(ids.find(projectId), ids.find(userId));
+        }
+        touch(PROJECT_MEMBERSHIPS_VERSION, userId);
+        return true;
+    }
+    
+    /**
+     * 인덱스에 항목 추가 (버킷 생성과 등록을 원자적으로 수행, 팀이 없는 프로젝트처럼 버킷 키가 null이면 색인하지 않음)
+     */
+    private <V> void addToIndex(IdTable<Map<String, V>> index, String bucketKey, String entryKey, V value) {
+        if (bucketKey == null) {
+            return;
+        }
+        index.compute(ids.intern(bucketKey), bucket -> {
+            Map<String, V> target = bucket != null ? bucket : new ConcurrentHashMap<>();
+            target.put(entryKey, value);
+            return target;
+        });
+    }
+    
+    /**
+     * 인덱스에서 항목 제거 (비어 있는 버킷은 정리, 사전에 없는 키면 사전을 늘리지 않고 바로 반환)
+     * 
+     * @return 제거된 항목이 있으면 true
+     */
+    private <V> boolean removeFromIndex(IdTable<Map<String, V>> index, String bucketKey, String entryKey) {
+        int key = ids.find(bucketKey);
+        if (key == IdDictionary.NONE) {
+            return false;
+        }
+        boolean[] removed = new boolean[1];
+        index.compute(key, bucket -> {
+            if (bucket == null) {
+                return null;
+            }
+            removed[0] = bucket.remove(entryKey) != null;
+            return bucket.isEmpty() ? null : bucket;
+        });
+        return removed[0];
+    }
+    
+    /**
+     * 문자열 ID로 저장소/인덱스 조회 (사전에 없는 ID나 null이면 null)
+     */
+    private <V> V lookup(IdTable<V> table, String id) {
+        return table.get(ids.find(id));
+    }
+    
+    /**
+     * 인덱스 버킷 조회 (없으면 빈 Map)
+     */
+    private <V> Map<String, V> bucket(IdTable<Map<String, V>> index, String key) {
+        Map<String, V> bucket = lookup(index, key);
+        return bucket != null ? bucket : Map.of();
+    }
+    
+    private static <V> List<V> values(IdTable<V> table) {
+        List<V> values = new ArrayList<>();
+        table.forEach(values::add);
+        return values;
+    }
+    
+    // ========== ID 대표 문자열로 교체 (이미 대표 문자열이면 같은 객체 반환) ==========
+    
+    private User canonical(User user) {
+        String id = ids.canonical(user.id());
+        return id == user.id() ? user : new User(id, user.email(), user.name());
+    }
+    
+    private Team canonical(Team team) {
+        String id = ids.canonical(team.id());
+        return id == team.id() ? team : new Team(id, team.name(), team.plan());
+    }
+    
+    private Project canonical(Project project) {
+        String id = ids.canonical(project.id());
+        String teamId = ids.canonical(project.teamId());
+        return id == project.id() && teamId == project.teamId()
+            ? project : new Project(id, project.name(), teamId, project.visibility());
+    }
+    
+    private Document canonical(Document document) {
+        String id = ids.canonical(document.id());
+        String projectId = ids.canonical(document.projectId());
+        String creatorId = ids.canonical(document.creatorId());
+        return id == document.id() && projectId == document.projectId() && creatorId == document.creatorId()
+            ? document
+            : new Document(id, document.title(), projectId, creatorId, document.deletedAt(), document.publicLinkEnabled());
+    }
+    
+    private TeamMembership canonical(TeamMembership membership) {
+        String userId = ids.canonical(membership.userId());
+        String teamId = ids.canonical(membership.teamId());
+        return userId == membership.userId() && teamId == membership.teamId()
+            ? membership : new TeamMembership(userId, teamId, membership.role());
+    }
+    
+    private ProjectMembership canonical(ProjectMembership membership) {
+        String userId = ids.canonical(membership.userId());
+        String projectId = ids.canonical(membership.projectId());
+        return userId == membership.userId() && projectId == membership.projectId()
+            ? membership : new ProjectMembership(userId, projectId, membership.role());
+    }
+    
+    /**
+     * 현재 ID 사전 (테스트용)
+     */
+    IdDictionary idDictionary() {
+        return ids;
+    }
+    
+    private Object writeLock(String id) {
+        return writeLocks[(id.hashCode() & 0x7fffffff) % writeLocks.length];
+    }
+    
+    /**
+     * 저장된 모든 엔티티를 다른 저장소로 복사 (예: SnapshotWriter로 스냅샷 파일 작성)
+     * 팀과 프로젝트를 문서와 멤버십보다 먼저 보냄
+     */
+    public void copyTo(EntitySink sink) {
+        users.forEach(sink::addUser);
+        teams.forEach(sink::addTeam);
+        projects.forEach(sink::addProject);
+        documents.forEach(sink::addDocument);
+        teamMembershipsByUser.forEach(memberships -> memberships.values().forEach(sink::addTeamMembership));
+        projectMembershipsByUser.forEach(memberships -> memberships.values().forEach(sink::addProjectMembership));
+    }
+    
+    /**
+     * 모든 데이터 초기화 (ID 사전도 새로 만들어 부여했던 ID를 모두 회수)
+     * 다른 쓰기와 동시에 호출하면 원자적으로 초기화되지 않음
      */
     public InMemoryDataLoader clear() {
         users.clear();
         teams.clear();
         projects.clear();
         documents.clear();
-        teamMemberships.clear();
-        projectMemberships.clear();
+        teamMembershipsByUser.clear();
+        projectMembershipsByUser.clear();
+        teamMembershipsByTeam.clear();
+        projectMembershipsByProject.clear();
+        projectsByTeam.clear();
+        documentsByProject.clear();
+        documentsByCreator.clear();
+        publicLinkDocumentIds.clear();
+        teamRoles.clear();
+        projectRoles.clear();
+        versions.clear();
+        ids = new IdDictionary();
+        baseVersion = versionCounter.incrementAndGet();
         return this;
     }
+    
+    /**
+     * 엔티티 변경 기록 (엔티티를 저장/제거한 뒤 호출하므로 ID는 이미 사전에 있음)
+     * 멤버십은 (사용자, 팀/프로젝트) 대신 사용자 단위로 기록하여, 사용자의 멤버십이 하나라도 바뀌면
+     * 그 사용자의 결정이 모두 무효화됨 (리소스로 팀을 알 수 없을 때 사용자의 팀 멤버십으로 팀을 찾는 경우도 포함)
+     */
+    private void touch(int kind, String id) {
+        versions.touch(kind, ids.find(id), versionCounter.incrementAndGet());
+    }
+    
+    private long versionOf(int kind, int id) {
+        return Math.max(baseVersion, versions.get(kind, id));
+    }
+    
+    /**
+     * 관련 엔티티의 현재 버전 (캐시 적중마다 호출되므로 사전 조회와 배열 조회만 하고 할당하지 않음)
+     * 팀은 findTeam이 실제로 사용하는 팀 (경로에 팀이 없으면 사용자의 팀 멤버십으로 찾은 팀)
+     */
+    @Override
+    public long currentVersion(Object resource, Object user) {
+        IdDictionary dictionary = ids;
+        int userId = dictionary.find(resolveUserId(user));
+        Document document = resolveDocument(resource);
+        
+        long version = Math.max(versionOf(USER_VERSION, userId), versionOf(TEAM_MEMBERSHIPS_VERSION, userId));
+        version = Math.max(version, versionOf(PROJECT_MEMBERSHIPS_VERSION, userId));
+        version = Math.max(version, versionOf(DOCUMENT_VERSION, dictionary.find(document != null ? document.id() : null)));
+        version = Math.max(version, versionOf(PROJECT_VERSION, dictionary.find(resolveProjectId(resource))));
+        version = Math.max(version, versionOf(TEAM_VERSION, dictionary.find(resolveTeamId(resource, user))));
+        return version;
+    }
 
     @Override
     public Map<String, Map<String, Object>> loadData(Object resource, Object user, Set<String> requiredTables) {
+        return load(resource, user, requiredTables, null);
+    }
+    
+    /**
+     * 여러 요청의 데이터를 한 번에 로드
+     * 배치 안에서 같은 엔티티(같은 사용자, 프로젝트, 팀, 멤버십 등)는 한 번만 Map으로 변환하여 공유
+     * 공유되는 행은 읽기 전용 (한 결과의 행을 변경해 다른 결과가 바뀌는 일이 없도록)
+     */
+    @Override
+    public List<Map<String, Map<String, Object>>> loadDataBatch(List<LoadRequest> requests) {
+        Map<Object, Map<String, Object>> rowCache = new IdentityHashMap<>();
+        List<Map<String, Map<String, Object>>> results = new ArrayList<>(requests.size());
+        
+        for (LoadRequest request : requests) {
+            results.add(load(request.resource(), request.user(), request.requiredTables(), rowCache));
+        }
+        
+        return results;
+    }
+    
+    /**
+     * 필요한 테이블 데이터 로드
+     * 
+     * @param rowCache 배치 로딩 시 엔티티 → Map 변환 결과 공유용 캐시 (단건 로딩이면 null)
+     */
+    private Map<String, Map<String, Object>> load(Object resource, Object user, Set<String> requiredTables,
+            Map<Object, Map<String, Object>> rowCache) {
         Map<String, Map<String, Object>> result = new HashMap<>();
         
         for (String tableName : requiredTables) {
-            switch (tableName) {
-                case "user" -> loadUserData(user, result);
-                case "team" -> loadTeamData(resource, user, result);
-                case "project" -> loadProjectData(resource, result);
-                case "document" -> loadDocumentData(resource, result);
-                case "teamMembership" -> loadTeamMembershipData(user, result);
-                case "projectMembership" -> loadProjectMembershipData(user, result);
-                default -> throw new IllegalArgumentException("Unknown table: " + tableName);
+            Object entity = find(tableName, resource, user);
+            if (entity != null) {
+                result.put(tableName, toRow(entity, rowCache));
             }
         }
         
@@ -99,182 +439,234 @@ public class InMemoryDataLoader implements DataLoader {
     }
     
     /**
-     * 사용자 데이터 로드
+     * 필요한 테이블 데이터를 평가 프레임 슬롯에 직접 기록 (Map 생성 없음)
+     * 행이 없는 테이블은 로드되지 않은 상태로 남아 NULL로 평가됨
+     * ID 컬럼에는 사전의 정수 ID도 기록 (요청으로 받은 엔티티의 ID가 사전에 없으면 0)
      */
-    private void loadUserData(Object user, Map<String, Map<String, Object>> result) {
-        if (user instanceof User userEntity) {
-            result.put("user", entityToMap(userEntity));
-        } else if (user instanceof String userId) {
-            User foundUser = users.get(userId);
-            if (foundUser != null) {
-                result.put("user", entityToMap(foundUser));
+    @Override
+    public void loadFrame(Object resource, Object user, Set<String> requiredTables, EvaluationFrame frame) {
+        for (String tableName : requiredTables) {
+            Object entity = find(tableName, resource, user);
+            if (entity != null) {
+                EntityRows.write(entity, frame, frameIds);
             }
         }
     }
     
     /**
-     * 팀 데이터 로드 (문서 → 프로젝트 → 팀 경로)
+     * loadFrame과 같고, 테이블마다 조회와 기록에 걸린 시간을 알림
      */
-    private void loadTeamData(Object resource, Object user, Map<String, Map<String, Object>> result) {
-        String teamId = null;
-        
-        if (resource instanceof Document document) {
-            Project project = projects.get(document.projectId());
-            if (project != null) {
-                teamId = project.teamId();
-            }
-        } else if (resource instanceof Project project) {
-            teamId = project.teamId();
-        } else if (resource instanceof Team team) {
-            teamId = team.id();
-        }
-        
-        // 사용자의 팀 멤버십을 통해서도 팀 찾기
-        if (teamId == null && user instanceof User userEntity) {
-            teamId = teamMemberships.stream()
-                .filter(tm -> tm.userId().equals(userEntity.id()))
-                .findFirst()
-                .map(TeamMembership::teamId)
-                .orElse(null);
-        }
-        
-        if (teamId != null) {
-            Team team = teams.get(teamId);
-            if (team != null) {
-                result.put("team", entityToMap(team));
+    @Override
+    public void loadFrame(Object resource, Object user, Set<String> requiredTables, EvaluationFrame frame,
+            TableLoadListener listener) {
+        for (String tableName : requiredTables) {
+            long start = System.nanoTime();
+            Object entity = find(tableName, resource, user);
+            if (entity != null) {
+                EntityRows.write(entity, frame, frameIds);
             }
+            listener.tableLoaded(tableName, System.nanoTime() - start);
         }
     }
     
     /**
-     * 프로젝트 데이터 로드
+     * 여러 요청의 데이터를 각 프레임에 기록
+     * 배치 안에서 같은 사용자와 같은 리소스의 경로(문서 → 프로젝트 → 팀)는 한 번만 조회하여 여러 프레임에 재사용
+     * (예: 한 사용자가 같은 프로젝트의 문서 여러 개를 확인하면 사용자, 프로젝트, 팀 조회는 한 번씩)
      */
-    private void loadProjectData(Object resource, Map<String, Map<String, Object>> result) {
-        String projectId = null;
-        
-        if (resource instanceof Document document) {
-            projectId = document.projectId();
-        } else if (resource instanceof Project project) {
-            projectId = project.id();
-        }
+    @Override
+    public void loadFrames(List<LoadRequest> requests, List<EvaluationFrame> frames) {
+        Map<Object, Optional<User>> usersInBatch = new HashMap<>();
+        Map<Object, ResourcePath> pathsInBatch = new HashMap<>();
         
-        if (projectId != null) {
-            Project project = projects.get(projectId);
-            if (project != null) {
-                result.put("project", entityToMap(project));
+        for (int i = 0; i < requests.size(); i++) {
+            LoadRequest request = requests.get(i);
+            Object user = request.user();
+            User userEntity = user == null ? null
+                : usersInBatch.computeIfAbsent(user, key -> Optional.ofNullable(findUser(key))).orElse(null);
+            ResourcePath path = request.resource() == null ? ResourcePath.NONE
+                : pathsInBatch.computeIfAbsent(request.resource(), this::resolvePath);
+            
+            for (String tableName : request.requiredTables()) {
+                Object entity = switch (tableName) {
+                    case "user" -> userEntity;
+                    case "team" -> path.teamId() != null ? path.team() : findTeam(null, user); // 팀을 모르면 사용자의 팀 멤버십으로
+                    case "project" -> path.project();
+                    case "document" -> path.document();
+                    case "teamMembership" -> findMembership(teamMembershipsByUser, resolveUserId(user), path.teamId());
+                    case "projectMembership" -> findMembership(projectMembershipsByUser, resolveUserId(user), path.projectId());
+                    default -> throw new IllegalArgumentException("Unknown table: " + tableName);
+                };
+                if (entity != null) {
+                    EntityRows.write(entity, frames.get(i), frameIds);
+                }
             }
         }
     }
     
     /**
-     * 문서 데이터 로드
+     * 리소스가 속한 문서/프로젝트/팀을 한 번에 조회 (배치 로딩에서 요청 간 공유)
      */
-    private void loadDocumentData(Object resource, Map<String, Map<String, Object>> result) {
-        if (resource instanceof Document document) {
-            result.put("document", entityToMap(document));
-        } else if (resource instanceof String documentId) {
-            Document document = documents.get(documentId);
-            if (document != null) {
-                result.put("document", entityToMap(document));
-            }
-        }
+    private ResourcePath resolvePath(Object resource) {
+        String projectId = resolveProjectId(resource);
+        String teamId = resolveTeamId(resource);
+        return new ResourcePath(resolveDocument(resource), projectId,
+            lookup(projects, projectId), teamId, lookup(teams, teamId));
     }
     
     /**
-     * 팀 멤버십 데이터 로드
+     * 테이블별 엔티티 조회
+     * 
+     * @return 해당 테이블의 행이 될 엔티티, 없으면 null
      */
-    private void loadTeamMembershipData(Object user, Map<String, Map<String, Object>> result) {
-        String userId = null;
-        
+    private Object find(String tableName, Object resource, Object user) {
+        return switch (tableName) {
+            case "user" -> findUser(user);
+            case "team" -> findTeam(resource, user);
+            case "project" -> findProject(resource);
+            case "document" -> resolveDocument(resource);
+            case "teamMembership" -> findTeamMembership(resource, user);
+            case "projectMembership" -> findProjectMembership(resource, user);
+            default -> throw new IllegalArgumentException("Unknown table: " + tableName);
+        };
+    }
+    
+    /**
+     * 사용자 조회
+     */
+    private User findUser(Object user) {
         if (user instanceof User userEntity) {
-            userId = userEntity.id();
-        } else if (user instanceof String userIdStr) {
-            userId = userIdStr;
+            return userEntity;
+        } else if (user instanceof String userId) {
+            return lookup(users, userId);
         }
+        return null;
+    }
+    
+    /**
+     * 팀 조회 (문서 → 프로젝트 → 팀 경로)
+     * 경로에 팀이 없으면 사용자의 팀 멤버십 중 팀 ID가 가장 작은 팀 (MappedSnapshotDataLoader와 같은 규칙)
+     */
+    private Team findTeam(Object resource, Object user) {
+        return lookup(teams, resolveTeamId(resource, user));
+    }
+    
+    /**
+     * findTeam이 사용하는 팀 ID (리소스 경로의 팀, 없으면 사용자의 팀 멤버십 중 팀 ID가 가장 작은 팀)
+     */
+    private String resolveTeamId(Object resource, Object user) {
+        String teamId = resolveTeamId(resource);
         
+        // 사용자의 팀 멤버십을 통해서도 팀 찾기 (사용자 객체와 사용자 ID 모두)
+        String userId = teamId == null ? resolveUserId(user) : null;
         if (userId != null) {
-            String finalUserId = userId;
-            TeamMembership membership = teamMemberships.stream()
-                .filter(tm -> tm.userId().equals(finalUserId))
-                .findFirst()
-                .orElse(null);
-                
-            if (membership != null) {
-                result.put("teamMembership", entityToMap(membership));
+            for (String memberTeamId : bucket(teamMembershipsByUser, userId).keySet()) {
+                if (teamId == null || memberTeamId.compareTo(teamId) < 0) {
+                    teamId = memberTeamId;
+                }
             }
         }
+        return teamId;
     }
     
     /**
-     * 프로젝트 멤버십 데이터 로드
+     * 프로젝트 조회
      */
-    private void loadProjectMembershipData(Object user, Map<String, Map<String, Object>> result) {
-        String userId = null;
-        
+    private Project findProject(Object resource) {
+        String projectId = resolveProjectId(resource);
+        return lookup(projects, projectId);
+    }
+    
+    /**
+     * 팀 멤버십 조회
+     * 리소스가 속한 팀(문서 → 프로젝트 → 팀)에 대한 사용자의 멤버십만 조회
+     */
+    private TeamMembership findTeamMembership(Object resource, Object user) {
+        return findMembership(teamMembershipsByUser, resolveUserId(user), resolveTeamId(resource));
+    }
+    
+    /**
+     * 프로젝트 멤버십 조회
+     * 리소스가 속한 프로젝트에 대한 사용자의 멤버십만 조회
+     */
+    private ProjectMembership findProjectMembership(Object resource, Object user) {
+        return findMembership(projectMembershipsByUser, resolveUserId(user), resolveProjectId(resource));
+    }
+    
+    /**
+     * 사용자 기준 멤버십 인덱스에서 (userId, 팀/프로젝트 ID) 멤버십 조회
+     */
+    private <M> M findMembership(IdTable<Map<String, M>> membershipsByUser, String userId, String groupId) {
+        return userId != null && groupId != null ? bucket(membershipsByUser, userId).get(groupId) : null;
+    }
+    
+    /**
+     * 사용자 객체 또는 사용자 ID에서 사용자 ID 추출
+     */
+    private String resolveUserId(Object user) {
         if (user instanceof User userEntity) {
-            userId = userEntity.id();
-        } else if (user instanceof String userIdStr) {
-            userId = userIdStr;
+            return userEntity.id();
+        } else if (user instanceof String userId) {
+            return userId;
         }
-        
-        if (userId != null) {
-            String finalUserId = userId;
-            ProjectMembership membership = projectMemberships.stream()
-                .filter(pm -> pm.userId().equals(finalUserId))
-                .findFirst()
-                .orElse(null);
-                
-            if (membership != null) {
-                result.put("projectMembership", entityToMap(membership));
-            }
+        return null;
+    }
+    
+    /**
+     * 문서 객체 또는 문서 ID에서 문서 조회
+     */
+    private Document resolveDocument(Object resource) {
+        if (resource instanceof Document document) {
+            return document;
+        } else if (resource instanceof String documentId) {
+            return lookup(documents, documentId);
         }
+        return null;
     }
     
     /**
-     * 엔티티를 Map으로 변환하는 헬퍼 메서드
+     * 리소스가 속한 프로젝트 ID 추출 (문서 → 프로젝트)
      */
-    private Map<String, Object> entityToMap(Object entity) {
-        Map<String, Object> map = new HashMap<>();
-        
-        switch (entity) {
-            case User user -> {
-                map.put("id", user.id());
-                map.put("email", user.email());
-                map.put("name", user.name());
-            }
-            case Team team -> {
-                map.put("id", team.id());
-                map.put("name", team.name());
-                map.put("plan", team.plan().toString());
-            }
-            case Project project -> {
-                map.put("id", project.id());
-                map.put("name", project.name());
-                map.put("teamId", project.teamId());
-                map.put("visibility", project.visibility().toString());
-            }
-            case Document document -> {
-                map.put("id", document.id());
-                map.put("title", document.title());
-                map.put("projectId", document.projectId());
-                map.put("creatorId", document.creatorId());
-                map.put("deletedAt", document.deletedAt());
-                map.put("publicLinkEnabled", document.publicLinkEnabled());
-            }
-            case TeamMembership teamMembership -> {
-                map.put("userId", teamMembership.userId());
-                map.put("teamId", teamMembership.teamId());
-                map.put("role", teamMembership.role().toString());
-            }
-            case ProjectMembership projectMembership -> {
-                map.put("userId", projectMembership.userId());
-                map.put("projectId", projectMembership.projectId());
-                map.put("role", projectMembership.role().toString());
+    private String resolveProjectId(Object resource) {
+        if (resource instanceof Project project) {
+            return project.id();
+        }
+        Document document = resolveDocument(resource);
+        return document != null ? document.projectId() : null;
+    }
+    
+    /**
+     * 리소스가 속한 팀 ID 추출 (문서 → 프로젝트 → 팀)
+     */
+    private String resolveTeamId(Object resource) {
+        if (resource instanceof Team team) {
+            return team.id();
+        } else if (resource instanceof Project project) {
+            return project.teamId();
+        }
+        String projectId = resolveProjectId(resource);
+        if (projectId != null) {
+            Project project = lookup(projects, projectId);
+            if (project != null) {
+                return project.teamId();
             }
-            default -> throw new IllegalArgumentException("Unknown entity type: " + entity.getClass());
         }
-        
-        return map;
+        return null;
+    }
+    
+    /**
+     * 엔티티를 Map으로 변환 (배치 캐시가 있으면 같은 엔티티는 한 번만 변환하여 읽기 전용으로 공유)
+     */
+    private Map<String, Object> toRow(Object entity, Map<Object, Map<String, Object>> rowCache) {
+        return rowCache == null ? EntityRows.toMap(entity)
+            : rowCache.computeIfAbsent(entity, key -> Collections.unmodifiableMap(EntityRows.toMap(key)));
+    }
+    
+    /**
+     * 리소스가 속한 문서/프로젝트/팀 (없는 단계는 null)
+     */
+    private record ResourcePath(Document document, String projectId, Project project, String teamId, Team team) {
+        static final ResourcePath NONE = new ResourcePath(null, null, null, null, null);
     }
     
     /**
@@ -282,47 +674,149 @@ public class InMemoryDataLoader implements DataLoader {
      */
     public void printStoredData() {
         System.out.println("=== Stored Data ===");
-        System.out.println("Users: " + users.values());
-        System.out.println("Teams: " + teams.values());
-        System.out.println("Projects: " + projects.values());
-        System.out.println("Documents: " + documents.values());
-        System.out.println("TeamMemberships: " + teamMemberships);
-        System.out.println("ProjectMemberships: " + projectMemberships);
+        System.out.println("Users: " + values(users));
+        System.out.println("Teams: " + values(teams));
+        System.out.println("Projects: " + values(projects));
+        System.out.println("Documents: " + values(documents));
+        System.out.println("TeamMemberships: " + values(teamMembershipsByUser).stream()
+            .flatMap(memberships -> memberships.values().stream()).toList());
+        System.out.println("ProjectMemberships: " + values(projectMembershipsByUser).stream()
+            .flatMap(memberships -> memberships.values().stream()).toList());
     }
     
     /**
      * 특정 사용자의 모든 멤버십 조회
      */
     public List<TeamMembership> getTeamMembershipsForUser(String userId) {
-        return teamMemberships.stream()
-            .filter(tm -> tm.userId().equals(userId))
-            .collect(Collectors.toList());
+        return List.copyOf(bucket(teamMembershipsByUser, userId).values());
     }
     
     /**
      * 특정 사용자의 모든 프로젝트 멤버십 조회
      */
     public List<ProjectMembership> getProjectMembershipsForUser(String userId) {
-        return projectMemberships.stream()
-            .filter(pm -> pm.userId().equals(userId))
-            .collect(Collectors.toList());
+        return List.copyOf(bucket(projectMembershipsByUser, userId).values());
+    }
+    
+    @Override
+    public Optional<TeamMembership> getTeamMembership(String userId, String teamId) {
+        return Optional.ofNullable(bucket(teamMembershipsByUser, userId).get(teamId));
+    }
+    
+    @Override
+    public Optional<ProjectMembership> getProjectMembership(String userId, String projectId) {
+        return Optional.ofNullable(bucket(projectMembershipsByUser, userId).get(projectId));
     }
     
     /**
      * 특정 팀의 모든 프로젝트 조회
      */
     public List<Project> getProjectsForTeam(String teamId) {
-        return projects.values().stream()
-            .filter(p -> p.teamId().equals(teamId))
-            .collect(Collectors.toList());
+        return List.copyOf(bucket(projectsByTeam, teamId).values());
     }
     
     /**
      * 특정 프로젝트의 모든 문서 조회
      */
     public List<Document> getDocumentsForProject(String projectId) {
-        return documents.values().stream()
-            .filter(d -> d.projectId().equals(projectId))
-            .collect(Collectors.toList());
+        return List.copyOf(bucket(documentsByProject, projectId).values());
+    }
+    
+    // ResourceIndex 구현 (인덱스 키 목록의 복사본 반환)
+    
+    @Override
+    public Collection<String> getDocumentIdsCreatedBy(String userId) {
+        return List.copyOf(bucket(documentsByCreator, userId).keySet());
+    }
+    
+    @Override
+    public Collection<String> getPublicLinkDocumentIds() {
+        return List.copyOf(publicLinkDocumentIds);
+    }
+    
+    @Override
+    public Collection<String> getDocumentIdsForProject(String projectId) {
+        return List.copyOf(bucket(documentsByProject, projectId).keySet());
+    }
+    
+    @Override
+    public Collection<String> getProjectIdsForTeam(String teamId) {
+        return List.copyOf(bucket(projectsByTeam, teamId).keySet());
+    }
+    
+    @Override
+    public Collection<String> getProjectIdsForMember(String userId) {
+        return List.copyOf(bucket(projectMembershipsByUser, userId).keySet());
+    }
+    
+    @Override
+    public Collection<String> getTeamIdsForMember(String userId) {
+        return List.copyOf(bucket(teamMembershipsByUser, userId).keySet());
+    }
+    
+    @Override
+    public Collection<String> getAllDocumentIds() {
+        return values(documents).stream().map(Document::id).toList();
+    }
+    
+    @Override
+    public Collection<String> getMemberIdsForProject(String projectId) {
+        return List.copyOf(bucket(projectMembershipsByProject, projectId).keySet());
+    }
+    
+    @Override
+    public Collection<String> getMemberIdsForTeam(String teamId) {
+        return List.copyOf(bucket(teamMembershipsByTeam, teamId).keySet());
+    }
+    
+    @Override
+    public Collection<String> getAllUserIds() {
+        return values(users).stream().map(User::id).toList();
+    }
+    
+    @Override
+    public Optional<User> getUser(String userId) {
+        return Optional.ofNullable(lookup(users, userId));
+    }
+    
+    @Override
+    public Optional<Project> getProject(String projectId) {
+        return Optional.ofNullable(lookup(projects, projectId));
+    }
+    
+    @Override
+    public Optional<Document> getDocument(String documentId) {
+        return Optional.ofNullable(lookup(documents, documentId));
+    }
+    
+    // RoleIndex 구현 (사용자 서수는 ID 사전의 정수 ID)
+    
+    @Override
+    public boolean hasTeamRole(String userId, String teamId, RoleType minimumRole) {
+        int user = ids.find(userId);
+        return user != IdDictionary.NONE && teamRoles.has(ids.find(teamId), user, minimumRole);
+    }
+    
+    @Override
+    public boolean hasProjectRole(String userId, String projectId, RoleType minimumRole) {
+        int user = ids.find(userId);
+        return user != IdDictionary.NONE && projectRoles.has(ids.find(projectId), user, minimumRole);
+    }
+    
+    @Override
+    public RoleBitmap teamMembers(String teamId, RoleType minimumRole) {
+        return teamRoles.members(ids.find(teamId), minimumRole);
+    }
+    
+    @Override
+    public RoleBitmap projectMembers(String projectId, RoleType minimumRole) {
+        return projectRoles.members(ids.find(projectId), minimumRole);
+    }
+    
+    @Override
+    public Collection<String> userIds(RoleBitmap members) {
+        List<String> userIds = new ArrayList<>(members.cardinality());
+        members.forEach(user -> userIds.add(ids.name(user)));
+        return userIds;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,12 @@
+package com.permissions.loader;
+
+import java.util.Set;
+
+/**
+ * 배치 데이터 로딩의 개별 요청
+ * 
+ * @param resource 대상 리소스 (예: Document)
+ * @param user 사용자 (예: User)
+ * @param requiredTables 필요한 테이블 목록
+ */
+public record LoadRequest(Object resource, Object user, Set<String> requiredTables) {}
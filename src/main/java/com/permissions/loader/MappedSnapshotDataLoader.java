@@ -0,0 +1,591 @@
+package com.permissions.loader;
+
+import com.permissions.evaluator.EvaluationFrame;
+import com.permissions.model.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+import static com.permissions.loader.SnapshotFormat.*;
+
+/**
+ * 메모리 매핑한 스냅샷 파일(SnapshotWriter로 작성)을 읽는 읽기 전용 데이터 로더
+ * 여는 비용은 파일 매핑뿐이고 힙에는 엔티티를 올리지 않으므로, 테넌트 크기와 무관하게 빠르게 시작하고 힙 사용량이 일정함
+ *
+ * - ID 조회는 정렬된 문자열 사전과 정렬된 테이블의 이진 탐색 (문자열 비교는 매핑된 문자를 직접 비교하여 할당 없음)
+ * - 문서 → 프로젝트 → 팀 경로는 작성 시 미리 계산한 행 번호(문서의 프로젝트/팀 행, 프로젝트의 팀 행)를 따라감
+ * - 요청마다 필요한 행만 읽어 InMemoryDataLoader와 같은 컬럼, 같은 값 표현으로 기록 (프레임에는 엔티티 복원 없이 행에서 바로)
+ * - 프레임의 ID 컬럼에는 행에 저장된 문자열 사전 번호 + 1을 정수 ID로 함께 기록하여 컴파일된 조인 비교가 정수 비교로 수행됨
+ * - 파일은 구간별로 나누어 매핑하고 long 위치로 읽으므로 2GB를 넘는 스냅샷도 열 수 있음
+ *
+ * 리소스/사용자 해석 규칙과 결과는 같은 데이터를 가진 InMemoryDataLoader와 동일
+ * (리소스 경로에 팀이 없어 팀 멤버십으로 팀을 찾을 때는 두 로더 모두 팀 ID가 가장 작은 팀을 사용)
+ * 매핑은 읽기 전용이고 절대 위치로만 읽으므로 여러 스레드가 잠금 없이 사용할 수 있음
+ */
+public class MappedSnapshotDataLoader implements DataLoader, MembershipLookup {
+
+    private final SegmentedMapping buffer;
+    private final int stringCount;
+    private final int[] rowCounts = new int[6];
+    private final long[] sections = new long[SECTION_COUNT];
+    private final ToIntFunction<String> frameIds = value -> frameId(codeOf(value));
+
+    private MappedSnapshotDataLoader(SegmentedMapping buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.size() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a permission snapshot");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported snapshot version: " + buffer.getInt(4));
+        }
+        this.stringCount = buffer.getInt(STRING_COUNT);
+        for (int i = 0; i < rowCounts.length; i++) {
+            rowCounts[i] = buffer.getInt(ROW_COUNTS + 4 * i);
+        }
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            long position = buffer.getLong(SECTION_POSITIONS + 8 * i);
+            if (position < HEADER_SIZE || position > buffer.size()) {
+                throw new IOException("Corrupted snapshot section " + i + ": " + position);
+            }
+            sections[i] = position;
+        }
+    }
+
+    /**
+     * 스냅샷 파일을 읽기 전용으로 매핑하여 로더 생성
+     * 파일 채널은 매핑 후 바로 닫히며, 매핑은 로더가 GC될 때 해제됨
+     *
+     * @throws IOException 스냅샷 파일이 아니거나 버전이 다른 경우
+     */
+    public static MappedSnapshotDataLoader open(Path file) throws IOException {
+        return open(file, SegmentedMapping.DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param segmentSize 매핑 구간 크기 (테스트에서 구간 경계를 확인하기 위해 작게 지정)
+     */
+    static MappedSnapshotDataLoader open(Path file, int segmentSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Not a permission snapshot");
+            }
+            return new MappedSnapshotDataLoader(
+                SegmentedMapping.map(channel, FileChannel.MapMode.READ_ONLY, size, segmentSize));
+        }
+    }
+
+    /**
+     * 테이블별 행 수 (user, team, project, document, teamMembership, projectMembership 순)
+     */
+    public int[] rowCounts() {
+        return rowCounts.clone();
+    }
+
+    @Override
+    public Map<String, Map<String, Object>> loadData(Object resource, Object user, Set<String> requiredTables) {
+        Map<String, Map<String, Object>> result = new HashMap<>();
+        for (String tableName : requiredTables) {
+            Object entity = find(tableName, resource, user);
+            if (entity != null) {
+                result.put(tableName, EntityRows.toMap(entity));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 필요한 테이블 데이터를 평가 프레임 슬롯에 직접 기록 (Map 생성 없음)
+     */
+    @Override
+    public void loadFrame(Object resource, Object user, Set<String> requiredTables, EvaluationFrame frame) {
+        for (String tableName : requiredTables) {
+            write(tableName, resource, user, frame);
+        }
+    }
+
+    @Override
+    public void loadFrame(Object resource, Object user, Set<String> requiredTables, EvaluationFrame frame,
+            TableLoadListener listener) {
+        for (String tableName : requiredTables) {
+            long start = System.nanoTime();
+            write(tableName, resource, user, frame);
+            listener.tableLoaded(tableName, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Optional<TeamMembership> getTeamMembership(String userId, String teamId) {
+        int row = findMembership(TEAM_MEMBERSHIPS, codeOf(userId), codeOf(teamId));
+        return row >= 0 ? Optional.of(teamMembership(row)) : Optional.empty();
+    }
+
+    @Override
+    public Optional<ProjectMembership> getProjectMembership(String userId, String projectId) {
+        int row = findMembership(PROJECT_MEMBERSHIPS, codeOf(userId), codeOf(projectId));
+        return row >= 0 ? Optional.of(projectMembership(row)) : Optional.empty();
+    }
+
+    /**
+     * 테이블별 엔티티 조회
+     *
+     * @return 해당 테이블의 행이 될 엔티티, 없으면 null
+     */
+    private Object find(String tableName, Object resource, Object user) {
+        return switch (tableName) {
+            case "user" -> findUser(user);
+            case "team" -> findTeam(resource, user);
+            case "project" -> {
+                int row = projectRow(resource);
+                yield row >= 0 ? project(row) : null;
+            }
+            case "document" -> resolveDocument(resource);
+            case "teamMembership" -> {
+                int row = findMembership(TEAM_MEMBERSHIPS, userCode(user), teamCode(resource));
+                yield row >= 0 ? teamMembership(row) : null;
+            }
+            case "projectMembership" -> {
+                int row = findMembership(PROJECT_MEMBERSHIPS, userCode(user), projectCode(resource));
+                yield row >= 0 ? projectMembership(row) : null;
+            }
+            default -> throw new IllegalArgumentException("Unknown table: " + tableName);
+        };
+    }
+
+    /**
+     * 테이블 행을 프레임에 기록 (find와 같은 행)
+     * 스냅샷 행은 엔티티로 복원하지 않고 저장된 사전 번호로 문자열과 정수 ID를 바로 기록하며,
+     * 호출자가 넘긴 엔티티(User, Document)만 EntityRows로 기록
+     */
+    private void write(String tableName, Object resource, Object user, EvaluationFrame frame) {
+        switch (tableName) {
+            case "user" -> {
+                if (user instanceof User userEntity) {
+                    EntityRows.write(userEntity, frame, frameIds);
+                } else if (user instanceof String userId) {
+                    int row = findRow(USERS, USER_ROW, codeOf(userId));
+                    if (row >= 0) {
+                        writeUser(row, frame);
+                    }
+                }
+            }
+            case "team" -> {
+                int row = findTeamRow(resource, user);
+                if (row >= 0) {
+                    writeTeam(row, frame);
+                }
+            }
+            case "project" -> {
+                int row = projectRow(resource);
+                if (row >= 0) {
+                    writeProject(row, frame);
+                }
+            }
+            case "document" -> {
+                if (resource instanceof Document document) {
+                    EntityRows.write(document, frame, frameIds);
+                } else if (resource instanceof String documentId) {
+                    int row = findRow(DOCUMENTS, DOCUMENT_ROW, codeOf(documentId));
+                    if (row >= 0) {
+                        writeDocument(row, frame);
+                    }
+                }
+            }
+            case "teamMembership" -> {
+                int row = findMembership(TEAM_MEMBERSHIPS, userCode(user), teamCode(resource));
+                if (row >= 0) {
+                    writeTeamMembership(row, frame);
+                }
+            }
+            case "projectMembership" -> {
+                int row = findMembership(PROJECT_MEMBERSHIPS, userCode(user), projectCode(resource));
+                if (row >= 0) {
+                    writeProjectMembership(row, frame);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown table: " + tableName);
+        }
+    }
+
+    private User findUser(Object user) {
+        if (user instanceof User userEntity) {
+            return userEntity;
+        } else if (user instanceof String userId) {
+            int row = findRow(USERS, USER_ROW, codeOf(userId));
+            return row >= 0 ? user(row) : null;
+        }
+        return null;
+    }
+
+    /**
+     * 팀 조회 (문서 → 프로젝트 → 팀 경로, 경로에 팀이 없으면 사용자의 팀 멤버십 중 팀 ID가 가장 작은 팀)
+     */
+    private Team findTeam(Object resource, Object user) {
+        int row = findTeamRow(resource, user);
+        return row >= 0 ? team(row) : null;
+    }
+
+    /**
+     * findTeam이 사용하는 팀 행 번호 (없으면 음수)
+     */
+    private int findTeamRow(Object resource, Object user) {
+        int row = teamRow(resource);
+        if (row == NONE) {
+            int userCode = userCode(user);
+            // 멤버십은 (userId, teamId) 순이므로 사용자의 첫 행이 팀 ID가 가장 작은 멤버십
+            int membershipRow = userCode >= 0 ? lowerBound(TEAM_MEMBERSHIPS, userCode, Integer.MIN_VALUE) : -1;
+            if (membershipRow >= 0 && membershipRow < rowCounts[TEAM_MEMBERSHIPS - USERS]
+                    && membershipInt(TEAM_MEMBERSHIPS, membershipRow, 0) == userCode) {
+                row = findRow(TEAMS, TEAM_ROW, membershipInt(TEAM_MEMBERSHIPS, membershipRow, 4));
+            }
+        }
+        return row;
+    }
+
+    // ========== 리소스 해석 (사전 번호 기준) ==========
+
+    // ID가 null이면 NONE, 사전에 없는 ID면 UNKNOWN (어떤 행과도 일치하지 않음)
+    private static final int NONE = -1;
+    private static final int UNKNOWN = -2;
+
+    private Document resolveDocument(Object resource) {
+        if (resource instanceof Document document) {
+            return document;
+        } else if (resource instanceof String documentId) {
+            int row = findRow(DOCUMENTS, DOCUMENT_ROW, codeOf(documentId));
+            return row >= 0 ? document(row) : null;
+        }
+        return null;
+    }
+
+    private int userCode(Object user) {
+        if (user instanceof User userEntity) {
+            return codeOf(userEntity.id());
+        } else if (user instanceof String userId) {
+            return codeOf(userId);
+        }
+        return NONE;
+    }
+
+    /**
+     * 리소스가 속한 프로젝트 ID의 사전 번호 (문서 → 프로젝트)
+     */
+    private int projectCode(Object resource) {
+        if (resource instanceof Project project) {
+            return codeOf(project.id());
+        } else if (resource instanceof Document document) {
+            return codeOf(document.projectId());
+        } else if (resource instanceof String documentId) {
+            int row = findRow(DOCUMENTS, DOCUMENT_ROW, codeOf(documentId));
+            return row >= 0 ? documentInt(row, DOCUMENT_PROJECT_ID) : NONE;
+        }
+        return NONE;
+    }
+
+    /**
+     * 리소스가 속한 프로젝트 행 번호 (문서 ID면 미리 계산한 행 번호 사용)
+     */
+    private int projectRow(Object resource) {
+        if (resource instanceof String documentId) {
+            int row = findRow(DOCUMENTS, DOCUMENT_ROW, codeOf(documentId));
+            return row >= 0 ? documentInt(row, DOCUMENT_PROJECT_ROW) : -1;
+        }
+        return findRow(PROJECTS, PROJECT_ROW, projectCode(resource));
+    }
+
+    /**
+     * 리소스가 속한 팀 ID의 사전 번호 (문서 → 프로젝트 → 팀, 프로젝트 행이 없으면 NONE)
+     */
+    private int teamCode(Object resource) {
+        if (resource instanceof Team team) {
+            return codeOf(team.id());
+        } else if (resource instanceof Project project) {
+            return codeOf(project.teamId());
+        }
+        int projectRow = projectRow(resource);
+        return projectRow >= 0 ? projectInt(projectRow, PROJECT_TEAM_ID) : NONE;
+    }
+
+    /**
+     * 리소스가 속한 팀 행 번호 (문서는 작성 시 미리 계산한 문서/프로젝트의 팀 행 번호 사용)
+     *
+     * @return 팀 행 번호, 경로에 팀 ID가 없으면 NONE, 팀 ID는 있지만 팀 행이 없으면 UNKNOWN
+     */
+    private int teamRow(Object resource) {
+        int row;
+        if (resource instanceof Team || resource instanceof Project) {
+            int teamCode = teamCode(resource);
+            if (teamCode == NONE) {
+                return NONE;
+            }
+            row = findRow(TEAMS, TEAM_ROW, teamCode);
+        } else if (resource instanceof String documentId) {
+            int documentRow = findRow(DOCUMENTS, DOCUMENT_ROW, codeOf(documentId));
+            int projectRow = documentRow >= 0 ? documentInt(documentRow, DOCUMENT_PROJECT_ROW) : -1;
+            if (projectRow < 0 || projectInt(projectRow, PROJECT_TEAM_ID) == NONE) {
+                return NONE;
+            }
+            row = documentInt(documentRow, DOCUMENT_TEAM_ROW);
+        } else {
+            int projectRow = projectRow(resource);
+            if (projectRow < 0 || projectInt(projectRow, PROJECT_TEAM_ID) == NONE) {
+                return NONE;
+            }
+            row = projectInt(projectRow, PROJECT_TEAM_ROW);
+        }
+        return row >= 0 ? row : UNKNOWN;
+    }
+
+    // ========== 행 탐색 ==========
+
+    /**
+     * id 컬럼(첫 컬럼)이 사전 번호 code인 행 번호, 없으면 -1
+     */
+    private int findRow(int section, int rowSize, int code) {
+        if (code < 0) {
+            return -1;
+        }
+        int low = 0;
+        int high = rowCounts[section - USERS] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = rowInt(section, rowSize, mid, 0);
+            if (value < code) {
+                low = mid + 1;
+            } else if (value > code) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * (userId, 대상 ID)가 일치하는 멤버십 행 번호, 없으면 -1
+     */
+    private int findMembership(int section, int userCode, int targetCode) {
+        if (userCode < 0 || targetCode < 0) {
+            return -1;
+        }
+        int row = lowerBound(section, userCode, targetCode);
+        if (row < rowCounts[section - USERS] && membershipInt(section, row, 0) == userCode
+                && membershipInt(section, row, 4) == targetCode) {
+            return row;
+        }
+        return -1;
+    }
+
+    /**
+     * (userId, 대상 ID) 이상인 첫 멤버십 행 번호
+     */
+    private int lowerBound(int section, int userCode, int targetCode) {
+        int low = 0;
+        int high = rowCounts[section - USERS];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int user = membershipInt(section, mid, 0);
+            if (user < userCode || (user == userCode && membershipInt(section, mid, 4) < targetCode)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int rowInt(int section, int rowSize, int row, int column) {
+        return buffer.getInt(sections[section] + (long) row * rowSize + column);
+    }
+
+    private int projectInt(int row, int column) {
+        return rowInt(PROJECTS, PROJECT_ROW, row, column);
+    }
+
+    private int documentInt(int row, int column) {
+        return rowInt(DOCUMENTS, DOCUMENT_ROW, row, column);
+    }
+
+    private int membershipInt(int section, int row, int column) {
+        return rowInt(section, MEMBERSHIP_ROW, row, column);
+    }
+
+    // ========== 엔티티 복원 ==========
+
+    private User user(int row) {
+        return new User(string(rowInt(USERS, USER_ROW, row, 0)), string(rowInt(USERS, USER_ROW, row, 4)),
+            string(rowInt(USERS, USER_ROW, row, 8)));
+    }
+
+    private Team team(int row) {
+        return new Team(string(rowInt(TEAMS, TEAM_ROW, row, 0)), string(rowInt(TEAMS, TEAM_ROW, row, 4)),
+            PlanType.valueOf(string(rowInt(TEAMS, TEAM_ROW, row, 8))));
+    }
+
+    private Project project(int row) {
+        return new Project(string(projectInt(row, 0)), string(projectInt(row, 4)),
+            string(projectInt(row, PROJECT_TEAM_ID)),
+            VisibilityType.valueOf(string(projectInt(row, PROJECT_VISIBILITY))));
+    }
+
+    private Document document(int row) {
+        return new Document(string(documentInt(row, 0)), string(documentInt(row, DOCUMENT_TITLE)),
+            string(documentInt(row, DOCUMENT_PROJECT_ID)), string(documentInt(row, DOCUMENT_CREATOR_ID)),
+            deletedAt(row), (documentInt(row, DOCUMENT_FLAGS) & PUBLIC_LINK) != 0);
+    }
+
+    private Instant deletedAt(int documentRow) {
+        return (documentInt(documentRow, DOCUMENT_FLAGS) & DELETED) != 0
+            ? Instant.ofEpochSecond(
+                buffer.getLong(sections[DOCUMENTS] + (long) documentRow * DOCUMENT_ROW + DOCUMENT_DELETED_SECONDS),
+                documentInt(documentRow, DOCUMENT_DELETED_NANOS))
+            : null;
+    }
+
+    private TeamMembership teamMembership(int row) {
+        return new TeamMembership(string(membershipInt(TEAM_MEMBERSHIPS, row, 0)),
+            string(membershipInt(TEAM_MEMBERSHIPS, row, 4)),
+            RoleType.valueOf(string(membershipInt(TEAM_MEMBERSHIPS, row, 8))));
+    }
+
+    private ProjectMembership projectMembership(int row) {
+        return new ProjectMembership(string(membershipInt(PROJECT_MEMBERSHIPS, row, 0)),
+            string(membershipInt(PROJECT_MEMBERSHIPS, row, 4)),
+            RoleType.valueOf(string(membershipInt(PROJECT_MEMBERSHIPS, row, 8))));
+    }
+
+    // ========== 프레임 기록 (EntityRows.write와 같은 컬럼, 같은 값 표현) ==========
+
+    private void writeUser(int row, EvaluationFrame frame) {
+        int id = rowInt(USERS, USER_ROW, row, 0);
+        frame.markLoaded(EvaluationFrame.USER)
+            .set(EvaluationFrame.USER_ID, string(id), frameId(id))
+            .set(EvaluationFrame.USER_EMAIL, string(rowInt(USERS, USER_ROW, row, 4)))
+            .set(EvaluationFrame.USER_NAME, string(rowInt(USERS, USER_ROW, row, 8)));
+    }
+
+    private void writeTeam(int row, EvaluationFrame frame) {
+        int id = rowInt(TEAMS, TEAM_ROW, row, 0);
+        frame.markLoaded(EvaluationFrame.TEAM)
+            .set(EvaluationFrame.TEAM_ID, string(id), frameId(id))
+            .set(EvaluationFrame.TEAM_NAME, string(rowInt(TEAMS, TEAM_ROW, row, 4)))
+            .set(EvaluationFrame.TEAM_PLAN, string(rowInt(TEAMS, TEAM_ROW, row, 8)));
+    }
+
+    private void writeProject(int row, EvaluationFrame frame) {
+        int id = projectInt(row, 0);
+        int teamId = projectInt(row, PROJECT_TEAM_ID);
+        frame.markLoaded(EvaluationFrame.PROJECT)
+            .set(EvaluationFrame.PROJECT_ID, string(id), frameId(id))
+            .set(EvaluationFrame.PROJECT_NAME, string(projectInt(row, 4)))
+            .set(EvaluationFrame.PROJECT_TEAM_ID, string(teamId), frameId(teamId))
+            .set(EvaluationFrame.PROJECT_VISIBILITY, string(projectInt(row, PROJECT_VISIBILITY)));
+    }
+
+    private void writeDocument(int row, EvaluationFrame frame) {
+        int id = documentInt(row, 0);
+        int projectId = documentInt(row, DOCUMENT_PROJECT_ID);
+        int creatorId = documentInt(row, DOCUMENT_CREATOR_ID);
+        frame.markLoaded(EvaluationFrame.DOCUMENT)
+            .set(EvaluationFrame.DOCUMENT_ID, string(id), frameId(id))
+            .set(EvaluationFrame.DOCUMENT_TITLE, string(documentInt(row, DOCUMENT_TITLE)))
+            .set(EvaluationFrame.DOCUMENT_PROJECT_ID, string(projectId), frameId(projectId))
+            .set(EvaluationFrame.DOCUMENT_CREATOR_ID, string(creatorId), frameId(creatorId))
+            .set(EvaluationFrame.DOCUMENT_DELETED_AT, deletedAt(row))
+            .set(EvaluationFrame.DOCUMENT_PUBLIC_LINK_ENABLED, (documentInt(row, DOCUMENT_FLAGS) & PUBLIC_LINK) != 0);
+    }
+
+    private void writeTeamMembership(int row, EvaluationFrame frame) {
+        int userId = membershipInt(TEAM_MEMBERSHIPS, row, 0);
+        int teamId = membershipInt(TEAM_MEMBERSHIPS, row, 4);
+        frame.markLoaded(EvaluationFrame.TEAM_MEMBERSHIP)
+            .set(EvaluationFrame.TEAM_MEMBERSHIP_USER_ID, string(userId), frameId(userId))
+            .set(EvaluationFrame.TEAM_MEMBERSHIP_TEAM_ID, string(teamId), frameId(teamId))
+            .set(EvaluationFrame.TEAM_MEMBERSHIP_ROLE, string(membershipInt(TEAM_MEMBERSHIPS, row, 8)));
+    }
+
+    private void writeProjectMembership(int row, EvaluationFrame frame) {
+        int userId = membershipInt(PROJECT_MEMBERSHIPS, row, 0);
+        int projectId = membershipInt(PROJECT_MEMBERSHIPS, row, 4);
+        frame.markLoaded(EvaluationFrame.PROJECT_MEMBERSHIP)
+            .set(EvaluationFrame.PROJECT_MEMBERSHIP_USER_ID, string(userId), frameId(userId))
+            .set(EvaluationFrame.PROJECT_MEMBERSHIP_PROJECT_ID, string(projectId), frameId(projectId))
+            .set(EvaluationFrame.PROJECT_MEMBERSHIP_ROLE, string(membershipInt(PROJECT_MEMBERSHIPS, row, 8)));
+    }
+
+    // ========== 문자열 사전 ==========
+
+    /**
+     * 사전 번호의 문자열 (-1이면 null)
+     */
+    private String string(int code) {
+        if (code < 0) {
+            return null;
+        }
+        long start = charOffset(code);
+        char[] chars = new char[(int) (charOffset(code + 1) - start)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = charAt(start + i);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 문자열의 사전 번호 (null이면 NONE, 사전에 없으면 UNKNOWN)
+     */
+    private int codeOf(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        int low = 0;
+        int high = stringCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = compare(mid, value);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * 프레임에 기록할 정수 ID (사전 번호 + 1, 사전에 없거나 null이면 0)
+     */
+    private static int frameId(int code) {
+        return code >= 0 ? code + 1 : IdDictionary.NONE;
+    }
+
+    /**
+     * 사전의 code번째 문자열과 value 비교 (String.compareTo와 같은 순서)
+     */
+    private int compare(int code, String value) {
+        long start = charOffset(code);
+        int length = (int) (charOffset(code + 1) - start);
+        int common = Math.min(length, value.length());
+        for (int i = 0; i < common; i++) {
+            char c = charAt(start + i);
+            if (c != value.charAt(i)) {
+                return c - value.charAt(i);
+            }
+        }
+        return length - value.length();
+    }
+
+    private long charOffset(int code) {
+        return buffer.getLong(sections[STRING_OFFSETS] + 8L * code);
+    }
+
+    private char charAt(long index) {
+        return buffer.getChar(sections[STRING_CHARS] + 2 * index);
+    }
+}
@@ -0,0 +1,32 @@
+package com.permissions.loader;
+
+import com.permissions.model.ProjectMembership;
+import com.permissions.model.TeamMembership;
+
+import java.util.Optional;
+
+/**
+ * (사용자, 팀/프로젝트) 키 기반 멤버십 조회
+ * loadData는 리소스가 속한 프로젝트/팀(문서 → 프로젝트 → 팀)의 멤버십만 로드하므로,
+ * 그 밖의 멤버십이 필요할 때 사용 (DataLoader와 별개인 선택적 기능)
+ */
+public interface MembershipLookup {
+
+    /**
+     * 특정 사용자의 특정 팀 멤버십 조회
+     *
+     * @param userId 사용자 ID
+     * @param teamId 팀 ID
+     * @return (userId, teamId) 멤버십, 없으면 빈 Optional
+     */
+    Optional<TeamMembership> getTeamMembership(String userId, String teamId);
+
+    /**
+     * 특정 사용자의 특정 프로젝트 멤버십 조회
+     *
+     * @param userId 사용자 ID
+     * @param projectId 프로젝트 ID
+     * @return (userId, projectId) 멤버십, 없으면 빈 Optional
+     */
+    Optional<ProjectMembership> getProjectMembership(String userId, String projectId);
+}
@@ -0,0 +1,71 @@
+package com.permissions.loader;
+
+import com.permissions.model.Document;
+import com.permissions.model.Project;
+import com.permissions.model.User;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * 역방향 조회(사용자 → 접근 가능한 문서, 문서 → 권한을 가진 사용자)를 위한 인덱스
+ * 정책 구조에서 찾은 기준(생성자, 프로젝트/팀 멤버십, 공개 링크)으로 후보를 좁힐 때 사용
+ */
+public interface ResourceIndex {
+
+    /**
+     * 사용자가 생성한 문서 ID 목록
+     */
+    Collection<String> getDocumentIdsCreatedBy(String userId);
+
+    /**
+     * 공개 링크가 활성화된 문서 ID 목록
+     */
+    Collection<String> getPublicLinkDocumentIds();
+
+    /**
+     * 프로젝트에 속한 문서 ID 목록
+     */
+    Collection<String> getDocumentIdsForProject(String projectId);
+
+    /**
+     * 팀에 속한 프로젝트 ID 목록
+     */
+    Collection<String> getProjectIdsForTeam(String teamId);
+
+    /**
+     * 사용자가 프로젝트 멤버십을 가진 프로젝트 ID 목록
+     */
+    Collection<String> getProjectIdsForMember(String userId);
+
+    /**
+     * 사용자가 팀 멤버십을 가진 팀 ID 목록
+     */
+    Collection<String> getTeamIdsForMember(String userId);
+
+    /**
+     * 모든 문서 ID 목록 (정책 구조로 후보를 좁힐 수 없을 때 사용)
+     */
+    Collection<String> getAllDocumentIds();
+
+    /**
+     * 프로젝트 멤버십을 가진 사용자 ID 목록
+     */
+    Collection<String> getMemberIdsForProject(String projectId);
+
+    /**
+     * 팀 멤버십을 가진 사용자 ID 목록
+     */
+    Collection<String> getMemberIdsForTeam(String teamId);
+
+    /**
+     * 모든 사용자 ID 목록 (정책 구조로 후보를 좁힐 수 없을 때 사용)
+     */
+    Collection<String> getAllUserIds();
+
+    Optional<User> getUser(String userId);
+
+    Optional<Project> getProject(String projectId);
+
+    Optional<Document> getDocument(String documentId);
+}
@@ -0,0 +1,41 @@
+package com.permissions.loader;
+
+import com.permissions.model.RoleType;
+
+import java.util.Collection;
+
+/**
+ * 팀/프로젝트별 역할 행렬 조회
+ * "사용자 U가 팀 T / 프로젝트 P에서 역할 R 이상인가"를 멤버십 행을 만들지 않고 비트 확인으로 답하고,
+ * "프로젝트 P의 모든 편집자"처럼 여러 사용자를 찾는 조회는 사용자 서수 비트맵(RoleBitmap)으로 반환
+ *
+ * 역할은 VIEWER < EDITOR < ADMIN 계층이며 minimumRole 이상의 역할을 가진 멤버가 해당됨
+ * 사용자 서수는 구현체 안에서만 의미가 있으므로 userIds로 사용자 ID로 바꿔 사용
+ */
+public interface RoleIndex {
+
+    /**
+     * 사용자가 팀에서 minimumRole 이상의 역할을 가졌는지 확인
+     */
+    boolean hasTeamRole(String userId, String teamId, RoleType minimumRole);
+
+    /**
+     * 사용자가 프로젝트에서 minimumRole 이상의 역할을 가졌는지 확인
+     */
+    boolean hasProjectRole(String userId, String projectId, RoleType minimumRole);
+
+    /**
+     * 팀에서 minimumRole 이상의 역할을 가진 멤버의 사용자 서수 (호출자가 변경해도 되는 복사본)
+     */
+    RoleBitmap teamMembers(String teamId, RoleType minimumRole);
+
+    /**
+     * 프로젝트에서 minimumRole 이상의 역할을 가진 멤버의 사용자 서수 (호출자가 변경해도 되는 복사본)
+     */
+    RoleBitmap projectMembers(String projectId, RoleType minimumRole);
+
+    /**
+     * 사용자 서수 → 사용자 ID
+     */
+    Collection<String> userIds(RoleBitmap members);
+}
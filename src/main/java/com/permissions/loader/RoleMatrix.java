@@ -0,0 +1,91 @@
+package com.permissions.loader;
+
+import com.permissions.model.RoleType;
+
+/**
+ * 팀 또는 프로젝트의 정수 ID(IdDictionary) → 역할별 멤버 비트맵
+ * 역할 계층에 맞춰 누적해서 저장하므로 (ADMIN 멤버는 VIEWER, EDITOR, ADMIN 비트맵에 모두 포함)
+ * "역할 R 이상" 확인은 비트맵 하나의 비트 확인이고 "역할 R 이상인 모든 멤버"는 비트맵 하나의 복사
+ *
+ * 멤버십 추가/교체/제거 시 점진적으로 갱신하며, 팀/프로젝트의 비트맵 묶음(RoleSets)은 불변 스냅숏으로 게시
+ * - 쓰기는 바뀌는 비트맵만 복사해 새 스냅숏을 만든 뒤 IdTable.compute로 교체 (행렬 단위로 직렬화)
+ * - 읽기는 게시된 스냅숏을 잠금 없이 읽음 (게시 후에는 수정하지 않으므로 동시 읽기에 안전)
+ * (같은 (사용자, 팀/프로젝트) 멤버십의 쓰기 순서는 호출자인 InMemoryDataLoader의 스트라이프 잠금이 보장)
+ */
+final class RoleMatrix {
+
+    private static final RoleType[] ROLES = RoleType.values();
+
+    private final IdTable<RoleSets> entries = new IdTable<>();
+
+    /**
+     * 멤버의 역할 기록 (이전 역할이 있으면 교체)
+     */
+    void grant(int key, int user, RoleType role) {
+        entries.compute(key, sets -> RoleSets.with(sets, user, role.ordinal()));
+    }
+
+    /**
+     * 멤버 제거 (멤버가 남지 않으면 항목도 제거)
+     */
+    void revoke(int key, int user) {
+        if (entries.get(key) != null) {
+            entries.compute(key, sets -> sets == null ? null : RoleSets.with(sets, user, -1));
+        }
+    }
+
+    boolean has(int key, int user, RoleType minimumRole) {
+        RoleSets sets = entries.get(key);
+        return sets != null && sets.atLeast[minimumRole.ordinal()].contains(user);
+    }
+
+    /**
+     * minimumRole 이상 멤버 비트맵의 복사본 (호출자가 수정할 수 있도록 스냅숏은 공유하지 않음)
+     */
+    RoleBitmap members(int key, RoleType minimumRole) {
+        RoleSets sets = entries.get(key);
+        return sets == null ? new RoleBitmap() : sets.atLeast[minimumRole.ordinal()].copy();
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    /**
+     * 한 팀/프로젝트의 역할별 누적 비트맵 스냅숏 (atLeast[r] = 역할 r 이상인 멤버, 게시 후 불변)
+     */
+    private static final class RoleSets {
+        private static final RoleBitmap EMPTY = new RoleBitmap();
+
+        private final RoleBitmap[] atLeast;
+
+        private RoleSets(RoleBitmap[] atLeast) {
+            this.atLeast = atLeast;
+        }
+
+        /**
+         * 사용자의 역할을 바꾼 새 스냅숏 (바뀌지 않는 비트맵은 공유)
+         *
+         * @param current 현재 스냅숏 (없으면 null)
+         * @param roleOrdinal 새 역할의 서수 (제거면 -1)
+         * @return 새 스냅숏, 멤버가 남지 않으면 null
+         */
+        static RoleSets with(RoleSets current, int user, int roleOrdinal) {
+            RoleBitmap[] next = new RoleBitmap[ROLES.length];
+            for (int i = 0; i < next.length; i++) {
+                RoleBitmap bitmap = current != null ? current.atLeast[i] : EMPTY;
+                boolean member = i <= roleOrdinal;
+                if (bitmap.contains(user) != member) {
+                    bitmap = bitmap.copy();
+                    if (member) {
+                        bitmap.add(user);
+                    } else {
+                        bitmap.remove(user);
+                    }
+                }
+                next[i] = bitmap;
+            }
+            return next[0].isEmpty() ? null : new RoleSets(next);
+        }
+    }
+}
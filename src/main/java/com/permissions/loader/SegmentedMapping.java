@@ -0,0 +1,99 @@
+package com.permissions.loader;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 파일을 여러 매핑 구간으로 나누어 long 위치로 읽고 쓰는 메모리 매핑 (리틀 엔디언)
+ * ByteBuffer 하나는 int 위치라 2GB까지만 매핑할 수 있으므로 구간 크기(2의 거듭제곱) 단위로 나누어 매핑
+ *
+ * 각 구간은 다음 구간과 8바이트 겹치게 매핑하므로 8바이트 이하 값은 항상 시작 위치가 속한 구간 하나에서 읽고 씀
+ * (겹친 부분은 같은 파일 페이지를 공유하므로 어느 구간으로 쓰든 같은 내용이 보임)
+ * 절대 위치로만 접근하므로 읽기 전용 매핑은 여러 스레드가 잠금 없이 사용할 수 있음
+ */
+final class SegmentedMapping {
+
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+    private static final int OVERLAP = Long.BYTES;
+
+    private final MappedByteBuffer[] segments;
+    private final int shift;
+    private final long mask;
+    private final long size;
+
+    private SegmentedMapping(MappedByteBuffer[] segments, int segmentSize, long size) {
+        this.segments = segments;
+        this.shift = Integer.numberOfTrailingZeros(segmentSize);
+        this.mask = segmentSize - 1;
+        this.size = size;
+    }
+
+    /**
+     * 채널의 [0, size) 구간을 매핑 (쓰기 모드에서 파일이 짧으면 size까지 늘어남)
+     * 매핑은 채널을 닫은 뒤에도 유지되며 GC될 때 해제됨
+     *
+     * @param segmentSize 구간 크기 (2의 거듭제곱, 1GB 이하)
+     */
+    static SegmentedMapping map(FileChannel channel, FileChannel.MapMode mode, long size, int segmentSize)
+            throws IOException {
+        if (Integer.bitCount(segmentSize) != 1 || segmentSize < OVERLAP || segmentSize > DEFAULT_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("segmentSize must be a power of two up to 1GB: " + segmentSize);
+        }
+        int count = (int) ((size + segmentSize - 1) / segmentSize);
+        MappedByteBuffer[] segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i * segmentSize;
+            long length = Math.min(segmentSize + OVERLAP, size - start);
+            segments[i] = channel.map(mode, start, length);
+            segments[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new SegmentedMapping(segments, segmentSize, size);
+    }
+
+    long size() {
+        return size;
+    }
+
+    int getInt(long position) {
+        return segment(position).getInt(offset(position));
+    }
+
+    long getLong(long position) {
+        return segment(position).getLong(offset(position));
+    }
+
+    char getChar(long position) {
+        return segment(position).getChar(offset(position));
+    }
+
+    void putInt(long position, int value) {
+        segment(position).putInt(offset(position), value);
+    }
+
+    void putLong(long position, long value) {
+        segment(position).putLong(offset(position), value);
+    }
+
+    void putChar(long position, char value) {
+        segment(position).putChar(offset(position), value);
+    }
+
+    /**
+     * 쓰기 내용을 디스크에 반영
+     */
+    void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    private MappedByteBuffer segment(long position) {
+        return segments[(int) (position >>> shift)];
+    }
+
+    private int offset(long position) {
+        return (int) (position & mask);
+    }
+}
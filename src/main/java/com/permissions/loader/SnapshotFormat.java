@@ -0,0 +1,77 @@
+package com.permissions.loader;
+
+/**
+ * 권한 데이터 스냅샷 파일 형식 (리틀 엔디언)
+ *
+ * <pre>
+ * 헤더 (128바이트)
+ *   0  int   매직 "PSNP"
+ *   4  int   버전
+ *   8  int   문자열 수, 12~32 테이블별 행 수 (user, team, project, document, teamMembership, projectMembership)
+ *  40  long  섹션 시작 위치 (문자열 오프셋, 문자열 문자, 테이블 6개 순서)
+ * 문자열 사전
+ *   long[문자열 수 + 1] 문자 오프셋 (i번째 문자열 = 문자[offset[i], offset[i+1]))
+ *   char[]              UTF-16 문자 (문자열은 String.compareTo 순서로 정렬되어 이진 탐색 가능)
+ * 테이블 (고정 폭 행, 문자열 값은 사전 번호이며 null은 -1)
+ *   user               id, email, name                                         (id 순)
+ *   team               id, name, plan                                          (id 순)
+ *   project            id, name, teamId, visibility, 팀 행 번호                 (id 순)
+ *   document           id, title, projectId, creatorId, 프로젝트 행 번호, 팀 행 번호,
+ *                      플래그, deletedAt 나노초, deletedAt 초(long)              (id 순)
+ *   teamMembership     userId, teamId, role                                    ((userId, teamId) 순)
+ *   projectMembership  userId, projectId, role                                 ((userId, projectId) 순)
+ * </pre>
+ * 사전이 정렬되어 있으므로 사전 번호 순서와 문자열 순서가 같아 테이블은 사전 번호로 이진 탐색
+ * 행 번호 컬럼은 미리 계산한 조인(문서 → 프로젝트 → 팀)이며 대상이 없으면 -1
+ * 모든 위치는 long이므로 파일 크기는 2GB로 제한되지 않음 (읽기/쓰기는 SegmentedMapping으로 나누어 매핑)
+ */
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x50534E50; // "PSNP"
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 128;
+
+    // 헤더 위치
+    static final int STRING_COUNT = 8;
+    static final int ROW_COUNTS = 12;
+    static final int SECTION_POSITIONS = 40;
+
+    // 섹션 번호 (SECTION_POSITIONS + 8 * 번호)
+    static final int STRING_OFFSETS = 0;
+    static final int STRING_CHARS = 1;
+    static final int USERS = 2;
+    static final int TEAMS = 3;
+    static final int PROJECTS = 4;
+    static final int DOCUMENTS = 5;
+    static final int TEAM_MEMBERSHIPS = 6;
+    static final int PROJECT_MEMBERSHIPS = 7;
+    static final int SECTION_COUNT = 8;
+
+    // 테이블별 행 크기 (바이트)
+    static final int USER_ROW = 12;
+    static final int TEAM_ROW = 12;
+    static final int PROJECT_ROW = 20;
+    static final int DOCUMENT_ROW = 40;
+    static final int MEMBERSHIP_ROW = 12;
+
+    // 프로젝트 행 컬럼 위치
+    static final int PROJECT_TEAM_ID = 8;
+    static final int PROJECT_VISIBILITY = 12;
+    static final int PROJECT_TEAM_ROW = 16;
+
+    // 문서 행 컬럼 위치
+    static final int DOCUMENT_TITLE = 4;
+    static final int DOCUMENT_PROJECT_ID = 8;
+    static final int DOCUMENT_CREATOR_ID = 12;
+    static final int DOCUMENT_PROJECT_ROW = 16;
+    static final int DOCUMENT_TEAM_ROW = 20;
+    static final int DOCUMENT_FLAGS = 24;
+    static final int DOCUMENT_DELETED_NANOS = 28;
+    static final int DOCUMENT_DELETED_SECONDS = 32;
+
+    // 문서 플래그
+    static final int DELETED = 1;
+    static final int PUBLIC_LINK = 2;
+
+    private SnapshotFormat() {}
+}
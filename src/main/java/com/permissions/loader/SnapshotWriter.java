@@ -0,0 +1,234 @@
+package com.permissions.loader;
+
+import com.permissions.model.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+import static com.permissions.loader.SnapshotFormat.*;
+
+/**
+ * 권한 데이터 스냅샷 파일 작성기 (형식은 SnapshotFormat 참고)
+ * 엔티티를 받아 모아 두었다가 write에서 사전 인코딩, 정렬, 조인 계산을 한 번에 수행
+ * 예: inMemoryDataLoader.copyTo(writer); writer.write(path);
+ *
+ * 같은 ID의 엔티티를 다시 받으면 나중 것으로 교체 (InMemoryDataLoader.add*와 동일)
+ */
+public class SnapshotWriter implements EntitySink {
+
+    private final Map<String, User> users = new HashMap<>();
+    private final Map<String, Team> teams = new HashMap<>();
+    private final Map<String, Project> projects = new HashMap<>();
+    private final Map<String, Document> documents = new HashMap<>();
+    private final Map<List<String>, TeamMembership> teamMemberships = new HashMap<>();
+    private final Map<List<String>, ProjectMembership> projectMemberships = new HashMap<>();
+
+    @Override
+    public SnapshotWriter addUser(User user) {
+        users.put(user.id(), user);
+        return this;
+    }
+
+    @Override
+    public SnapshotWriter addTeam(Team team) {
+        teams.put(team.id(), team);
+        return this;
+    }
+
+    @Override
+    public SnapshotWriter addProject(Project project) {
+        projects.put(project.id(), project);
+        return this;
+    }
+
+    @Override
+    public SnapshotWriter addDocument(Document document) {
+        documents.put(document.id(), document);
+        return this;
+    }
+
+    @Override
+    public SnapshotWriter addTeamMembership(TeamMembership teamMembership) {
+        teamMemberships.put(List.of(teamMembership.userId(), teamMembership.teamId()), teamMembership);
+        return this;
+    }
+
+    @Override
+    public SnapshotWriter addProjectMembership(ProjectMembership projectMembership) {
+        projectMemberships.put(List.of(projectMembership.userId(), projectMembership.projectId()), projectMembership);
+        return this;
+    }
+
+    /**
+     * 스냅샷 파일 작성 (기존 파일은 덮어씀)
+     */
+    public void write(Path file) throws IOException {
+        write(file, SegmentedMapping.DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param segmentSize 매핑 구간 크기 (테스트에서 구간 경계를 확인하기 위해 작게 지정)
+     */
+    void write(Path file, int segmentSize) throws IOException {
+        // 1. 문자열 사전 (정렬된 고유 문자열)
+        TreeSet<String> strings = new TreeSet<>();
+        users.values().forEach(u -> addAll(strings, u.id(), u.email(), u.name()));
+        teams.values().forEach(t -> addAll(strings, t.id(), t.name(), t.plan().name()));
+        projects.values().forEach(p -> addAll(strings, p.id(), p.name(), p.teamId(), p.visibility().name()));
+        documents.values().forEach(d -> addAll(strings, d.id(), d.title(), d.projectId(), d.creatorId()));
+        teamMemberships.values().forEach(m -> addAll(strings, m.userId(), m.teamId(), m.role().name()));
+        projectMemberships.values().forEach(m -> addAll(strings, m.userId(), m.projectId(), m.role().name()));
+
+        Map<String, Integer> dictionary = new HashMap<>();
+        long charCount = 0;
+        for (String value : strings) {
+            dictionary.put(value, dictionary.size());
+            charCount += value.length();
+        }
+        ToIntFunction<String> code = value -> value == null ? -1 : dictionary.get(value);
+
+        // 2. 테이블 행 정렬 (사전 번호 순 = 문자열 순)
+        List<User> userRows = sorted(users.values(), Comparator.comparing(User::id));
+        List<Team> teamRows = sorted(teams.values(), Comparator.comparing(Team::id));
+        List<Project> projectRows = sorted(projects.values(), Comparator.comparing(Project::id));
+        List<Document> documentRows = sorted(documents.values(), Comparator.comparing(Document::id));
+        List<TeamMembership> teamMembershipRows = sorted(teamMemberships.values(),
+            Comparator.comparing(TeamMembership::userId).thenComparing(TeamMembership::teamId));
+        List<ProjectMembership> projectMembershipRows = sorted(projectMemberships.values(),
+            Comparator.comparing(ProjectMembership::userId).thenComparing(ProjectMembership::projectId));
+
+        Map<String, Integer> teamRowById = rowNumbers(teamRows.stream().map(Team::id).toList());
+        Map<String, Integer> projectRowById = rowNumbers(projectRows.stream().map(Project::id).toList());
+
+        // 3. 섹션 위치 계산
+        long[] positions = new long[SECTION_COUNT];
+        long[] sizes = {
+            8L * (strings.size() + 1), 2L * charCount,
+            (long) USER_ROW * userRows.size(), (long) TEAM_ROW * teamRows.size(),
+            (long) PROJECT_ROW * projectRows.size(), (long) DOCUMENT_ROW * documentRows.size(),
+            (long) MEMBERSHIP_ROW * teamMembershipRows.size(), (long) MEMBERSHIP_ROW * projectMembershipRows.size()
+        };
+        long position = HEADER_SIZE;
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            position = (position + 7) & ~7L; // 8바이트 정렬
+            positions[i] = position;
+            position += sizes[i];
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            SegmentedMapping buffer = SegmentedMapping.map(channel, FileChannel.MapMode.READ_WRITE, position,
+                segmentSize);
+
+            // 헤더
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(STRING_COUNT, strings.size());
+            int[] rowCounts = {userRows.size(), teamRows.size(), projectRows.size(), documentRows.size(),
+                teamMembershipRows.size(), projectMembershipRows.size()};
+            for (int i = 0; i < rowCounts.length; i++) {
+                buffer.putInt(ROW_COUNTS + 4 * i, rowCounts[i]);
+            }
+            for (int i = 0; i < SECTION_COUNT; i++) {
+                buffer.putLong(SECTION_POSITIONS + 8 * i, positions[i]);
+            }
+
+            // 문자열 사전
+            long offsetPosition = positions[STRING_OFFSETS];
+            long charPosition = positions[STRING_CHARS];
+            long charOffset = 0;
+            for (String value : strings) {
+                buffer.putLong(offsetPosition, charOffset);
+                offsetPosition += 8;
+                for (int i = 0; i < value.length(); i++) {
+                    buffer.putChar(charPosition + 2 * (charOffset + i), value.charAt(i));
+                }
+                charOffset += value.length();
+            }
+            buffer.putLong(offsetPosition, charOffset);
+
+            // 테이블
+            long at = positions[USERS];
+            for (User user : userRows) {
+                at = putInts(buffer, at, code.applyAsInt(user.id()), code.applyAsInt(user.email()),
+                    code.applyAsInt(user.name()));
+            }
+            at = positions[TEAMS];
+            for (Team team : teamRows) {
+                at = putInts(buffer, at, code.applyAsInt(team.id()), code.applyAsInt(team.name()),
+                    code.applyAsInt(team.plan().name()));
+            }
+            at = positions[PROJECTS];
+            for (Project project : projectRows) {
+                at = putInts(buffer, at, code.applyAsInt(project.id()), code.applyAsInt(project.name()),
+                    code.applyAsInt(project.teamId()), code.applyAsInt(project.visibility().name()),
+                    rowOf(teamRowById, project.teamId()));
+            }
+            at = positions[DOCUMENTS];
+            for (Document document : documentRows) {
+                int projectRow = rowOf(projectRowById, document.projectId());
+                int teamRow = projectRow >= 0 ? rowOf(teamRowById, projectRows.get(projectRow).teamId()) : -1;
+                int flags = (document.deletedAt() != null ? DELETED : 0)
+                    | (document.publicLinkEnabled() ? PUBLIC_LINK : 0);
+                putInts(buffer, at, code.applyAsInt(document.id()), code.applyAsInt(document.title()),
+                    code.applyAsInt(document.projectId()), code.applyAsInt(document.creatorId()),
+                    projectRow, teamRow, flags,
+                    document.deletedAt() != null ? document.deletedAt().getNano() : 0);
+                buffer.putLong(at + DOCUMENT_DELETED_SECONDS,
+                    document.deletedAt() != null ? document.deletedAt().getEpochSecond() : 0);
+                at += DOCUMENT_ROW;
+            }
+            at = positions[TEAM_MEMBERSHIPS];
+            for (TeamMembership membership : teamMembershipRows) {
+                at = putInts(buffer, at, code.applyAsInt(membership.userId()), code.applyAsInt(membership.teamId()),
+                    code.applyAsInt(membership.role().name()));
+            }
+            at = positions[PROJECT_MEMBERSHIPS];
+            for (ProjectMembership membership : projectMembershipRows) {
+                at = putInts(buffer, at, code.applyAsInt(membership.userId()),
+                    code.applyAsInt(membership.projectId()), code.applyAsInt(membership.role().name()));
+            }
+
+            buffer.force();
+        }
+    }
+
+    private static void addAll(Set<String> strings, String... values) {
+        for (String value : values) {
+            if (value != null) {
+                strings.add(value);
+            }
+        }
+    }
+
+    private static <T> List<T> sorted(Collection<T> values, Comparator<T> comparator) {
+        List<T> list = new ArrayList<>(values);
+        list.sort(comparator);
+        return list;
+    }
+
+    private static Map<String, Integer> rowNumbers(List<String> ids) {
+        Map<String, Integer> rows = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rows.put(ids.get(i), i);
+        }
+        return rows;
+    }
+
+    private static int rowOf(Map<String, Integer> rows, String id) {
+        Integer row = id != null ? rows.get(id) : null;
+        return row != null ? row : -1;
+    }
+
+    private static long putInts(SegmentedMapping buffer, long position, int... values) {
+        for (int value : values) {
+            buffer.putInt(position, value);
+            position += 4;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,86 @@
+package com.permissions.loader;
+
+/**
+ * 대규모 테넌트 합성 데이터 생성 설정
+ *
+ * @param seed 난수 시드 (같은 설정이면 항상 같은 데이터 생성)
+ * @param users 사용자 수
+ * @param teams 팀 수
+ * @param projects 프로젝트 수
+ * @param documents 문서 수
+ * @param teamSizeSkew 팀 크기 Zipf 지수 (0이면 균등, 클수록 소수의 큰 팀에 사용자와 프로젝트가 몰림)
+ * @param documentSkew 프로젝트별 문서 수 Zipf 지수
+ * @param extraTeamRatio 주 팀 외에 팀 하나에 더 속하는 사용자 비율
+ * @param membersPerProject 프로젝트당 평균 프로젝트 멤버 수 (팀 멤버 중에서 선택)
+ * @param privateProjectRatio PRIVATE 프로젝트 비율
+ * @param freePlanRatio FREE 플랜 팀 비율
+ * @param enterprisePlanRatio ENTERPRISE 플랜 팀 비율 (나머지는 PRO)
+ * @param adminRoleRatio ADMIN 역할 비율
+ * @param editorRoleRatio EDITOR 역할 비율 (나머지는 VIEWER)
+ * @param deletedDocumentRatio 삭제된 문서 비율
+ * @param publicLinkRatio 공개 링크가 활성화된 문서 비율
+ */
+public record SyntheticDataConfig(
+    long seed,
+    int users,
+    int teams,
+    int projects,
+    long documents,
+    double teamSizeSkew,
+    double documentSkew,
+    double extraTeamRatio,
+    int membersPerProject,
+    double privateProjectRatio,
+    double freePlanRatio,
+    double enterprisePlanRatio,
+    double adminRoleRatio,
+    double editorRoleRatio,
+    double deletedDocumentRatio,
+    double publicLinkRatio
+) {
+
+    public SyntheticDataConfig {
+        if (users <= 0 || teams <= 0 || projects <= 0 || documents < 0 || membersPerProject <= 0) {
+            throw new IllegalArgumentException("Entity counts must be positive: users=" + users
+                + ", teams=" + teams + ", projects=" + projects + ", documents=" + documents
+                + ", membersPerProject=" + membersPerProject);
+        }
+        if (teamSizeSkew < 0 || documentSkew < 0) {
+            throw new IllegalArgumentException("Zipf exponents must not be negative");
+        }
+        requireRatio("extraTeamRatio", extraTeamRatio);
+        requireRatio("privateProjectRatio", privateProjectRatio);
+        requireRatio("freePlanRatio + enterprisePlanRatio", freePlanRatio + enterprisePlanRatio);
+        requireRatio("adminRoleRatio + editorRoleRatio", adminRoleRatio + editorRoleRatio);
+        requireRatio("deletedDocumentRatio", deletedDocumentRatio);
+        requireRatio("publicLinkRatio", publicLinkRatio);
+    }
+
+    /**
+     * 운영 환경 규모 (사용자 5만, 팀 5천, 프로젝트 10만, 문서 1천만)
+     */
+    public static SyntheticDataConfig productionShape(long seed) {
+        return new SyntheticDataConfig(seed, 50_000, 5_000, 100_000, 10_000_000L,
+            1.1, 1.0, 0.2, 5, 0.6, 0.5, 0.1, 0.05, 0.3, 0.02, 0.05);
+    }
+
+    /**
+     * 운영 환경 분포를 유지한 채 엔티티 수만 비율로 축소/확대 (각 엔티티 최소 1개)
+     */
+    public SyntheticDataConfig scaled(double factor) {
+        return new SyntheticDataConfig(seed,
+            Math.max(1, (int) (users * factor)),
+            Math.max(1, (int) (teams * factor)),
+            Math.max(1, (int) (projects * factor)),
+            Math.max(1L, (long) (documents * factor)),
+            teamSizeSkew, documentSkew, extraTeamRatio, membersPerProject, privateProjectRatio,
+            freePlanRatio, enterprisePlanRatio, adminRoleRatio, editorRoleRatio,
+            deletedDocumentRatio, publicLinkRatio);
+    }
+
+    private static void requireRatio(String name, double ratio) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException(name + " must be within [0, 1]: " + ratio);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.permissions.loader;
+
+import com.permissions.model.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 대규모 테넌트 합성 데이터 생성기
+ * 운영 환경과 비슷한 규모와 분포(Zipf 팀 크기, 공개/비공개 비율, 플랜 구성, 삭제 비율)의 데이터를
+ * 시드 기반으로 결정적으로 생성하여 EntitySink로 흘려보냄
+ *
+ * - 같은 설정(시드 포함)이면 항상 같은 엔티티를 같은 순서로 생성
+ * - 팀 → 사용자/팀 멤버십 → 프로젝트 → 프로젝트 멤버십 → 문서 순으로 생성하므로 참조 대상이 항상 먼저 추가됨
+ * - 문서는 생성 즉시 전달하고 보관하지 않으므로 문서 수가 많아도 생성기 자체의 메모리는 사용자/프로젝트 수에 비례
+ */
+public class SyntheticDataGenerator {
+
+    // 삭제 시각 기준점 (Instant.now()를 쓰지 않아 실행마다 같은 데이터 생성)
+    private static final Instant DELETED_AT_BASE = Instant.parse("2024-01-01T00:00:00Z");
+    private static final long DELETED_AT_RANGE_SECONDS = Duration.ofDays(365).toSeconds();
+
+    private final SyntheticDataConfig config;
+
+    public SyntheticDataGenerator(SyntheticDataConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * 설정에 따라 엔티티를 생성하여 sink에 추가
+     *
+     * @param sink 엔티티를 받을 대상 (예: InMemoryDataLoader)
+     * @return 생성된 엔티티 수
+     */
+    public Summary generate(EntitySink sink) {
+        SplittableRandom random = new SplittableRandom(config.seed());
+        double[] teamCdf = zipfCdf(config.teams(), config.teamSizeSkew());
+
+        // 1. 팀
+        for (int t = 0; t < config.teams(); t++) {
+            sink.addTeam(new Team(teamId(t), "Team " + t, plan(random.nextDouble())));
+        }
+
+        // 2. 사용자와 팀 멤버십 (주 팀은 Zipf 분포, 일부 사용자는 팀 하나에 더 소속)
+        int[] primaryTeam = new int[config.users()];
+        int[] extraTeam = new int[config.users()];
+        int[] teamSizes = new int[config.teams()];
+        long teamMemberships = 0;
+
+        for (int u = 0; u < config.users(); u++) {
+            sink.addUser(new User(userId(u), "user" + u + "@example.com", "User " + u));
+
+            primaryTeam[u] = sample(teamCdf, random.nextDouble());
+            extraTeam[u] = -1;
+            if (config.teams() > 1 && random.nextDouble() < config.extraTeamRatio()) {
+                int team = sample(teamCdf, random.nextDouble());
+                extraTeam[u] = team != primaryTeam[u] ? team : (team + 1) % config.teams();
+            }
+
+            sink.addTeamMembership(new TeamMembership(userId(u), teamId(primaryTeam[u]), role(random.nextDouble())));
+            teamSizes[primaryTeam[u]]++;
+            teamMemberships++;
+            if (extraTeam[u] >= 0) {
+                sink.addTeamMembership(new TeamMembership(userId(u), teamId(extraTeam[u]), role(random.nextDouble())));
+                teamSizes[extraTeam[u]]++;
+                teamMemberships++;
+            }
+        }
+        int[][] teamMembers = teamMembers(primaryTeam, extraTeam, teamSizes);
+
+        // 3. 프로젝트 (큰 팀일수록 프로젝트도 많음)
+        int[] projectTeam = new int[config.projects()];
+        for (int p = 0; p < config.projects(); p++) {
+            projectTeam[p] = sample(teamCdf, random.nextDouble());
+            VisibilityType visibility = random.nextDouble() < config.privateProjectRatio()
+                ? VisibilityType.PRIVATE : VisibilityType.PUBLIC;
+            sink.addProject(new Project(projectId(p), "Project " + p, teamId(projectTeam[p]), visibility));
+        }
+
+        // 4. 프로젝트 멤버십 (프로젝트가 속한 팀의 멤버 중에서 평균 membersPerProject명)
+        long projectMemberships = 0;
+        int[] chosen = new int[config.membersPerProject() * 2];
+        for (int p = 0; p < config.projects(); p++) {
+            int[] members = teamMembers[projectTeam[p]];
+            int count = Math.min(members.length, 1 + random.nextInt(config.membersPerProject() * 2 - 1));
+            int picked = 0;
+            while (picked < count) {
+                int member = members.length == count ? members[picked] : members[random.nextInt(members.length)];
+                if (!contains(chosen, picked, member)) {
+                    chosen[picked++] = member;
+                    sink.addProjectMembership(new ProjectMembership(userId(member), projectId(p), role(random.nextDouble())));
+                }
+            }
+            projectMemberships += count;
+        }
+
+        // 5. 문서 (프로젝트별 문서 수는 Zipf 분포, 생성자는 프로젝트 팀의 멤버)
+        double[] projectCdf = zipfCdf(config.projects(), config.documentSkew());
+        for (long d = 0; d < config.documents(); d++) {
+            int project = sample(projectCdf, random.nextDouble());
+            int[] members = teamMembers[projectTeam[project]];
+            int creator = members.length > 0 ? members[random.nextInt(members.length)] : random.nextInt(config.users());
+            Instant deletedAt = random.nextDouble() < config.deletedDocumentRatio()
+                ? DELETED_AT_BASE.plusSeconds(random.nextLong(DELETED_AT_RANGE_SECONDS)) : null;
+            boolean publicLinkEnabled = random.nextDouble() < config.publicLinkRatio();
+            sink.addDocument(new Document("d" + d, "Document " + d, projectId(project), userId(creator),
+                deletedAt, publicLinkEnabled));
+        }
+
+        return new Summary(config.users(), config.teams(), config.projects(), config.documents(),
+            teamMemberships, projectMemberships);
+    }
+
+    public static String userId(int index) {
+        return "u" + index;
+    }
+
+    public static String teamId(int index) {
+        return "t" + index;
+    }
+
+    public static String projectId(int index) {
+        return "p" + index;
+    }
+
+    private PlanType plan(double value) {
+        if (value < config.freePlanRatio()) {
+            return PlanType.FREE;
+        }
+        return value < config.freePlanRatio() + config.enterprisePlanRatio() ? PlanType.ENTERPRISE : PlanType.PRO;
+    }
+
+    private RoleType role(double value) {
+        if (value < config.adminRoleRatio()) {
+            return RoleType.ADMIN;
+        }
+        return value < config.adminRoleRatio() + config.editorRoleRatio() ? RoleType.EDITOR : RoleType.VIEWER;
+    }
+
+    /**
+     * 팀별 멤버 사용자 번호 목록
+     */
+    private static int[][] teamMembers(int[] primaryTeam, int[] extraTeam, int[] teamSizes) {
+        int[][] members = new int[teamSizes.length][];
+        for (int t = 0; t < teamSizes.length; t++) {
+            members[t] = new int[teamSizes[t]];
+        }
+        int[] filled = new int[teamSizes.length];
+        for (int u = 0; u < primaryTeam.length; u++) {
+            members[primaryTeam[u]][filled[primaryTeam[u]]++] = u;
+            if (extraTeam[u] >= 0) {
+                members[extraTeam[u]][filled[extraTeam[u]]++] = u;
+            }
+        }
+        return members;
+    }
+
+    /**
+     * 순위 r(0부터)의 가중치가 1 / (r + 1)^exponent인 Zipf 분포의 누적 분포
+     */
+    static double[] zipfCdf(int size, double exponent) {
+        double[] cdf = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cdf[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cdf[rank] /= sum;
+        }
+        cdf[size - 1] = 1.0;
+        return cdf;
+    }
+
+    /**
+     * 누적 분포에서 [0, 1) 균등 난수에 해당하는 순위 선택
+     */
+    static int sample(double[] cdf, double uniform) {
+        int index = Arrays.binarySearch(cdf, uniform);
+        return index >= 0 ? Math.min(index + 1, cdf.length - 1) : -index - 1;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 생성된 엔티티 수
+     */
+    public record Summary(
+        int users,
+        int teams,
+        int projects,
+        long documents,
+        long teamMemberships,
+        long projectMemberships
+    ) {}
+}
@@ -0,0 +1,17 @@
+package com.permissions.loader;
+
+/**
+ * 테이블별 조회 시간을 받는 콜백 (계측용)
+ * 여러 테이블을 한 번에 로드해도 테이블마다 걸린 시간을 따로 알 수 있도록 데이터 로더가 조회할 때마다 호출
+ */
+@FunctionalInterface
+public interface TableLoadListener {
+
+    /**
+     * 테이블 하나의 조회 완료
+     *
+     * @param table 테이블명 (예: "project")
+     * @param nanos 조회에 걸린 시간 (행이 없어도 기록)
+     */
+    void tableLoaded(String table, long nanos);
+}
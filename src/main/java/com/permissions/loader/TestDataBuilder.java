@@ -222,6 +222,15 @@ public class TestDataBuilder {
         return this;
     }
     
+    /**
+     * 대규모 테넌트 합성 데이터 설정
+     * 
+     * @param config 규모와 분포 설정 (예: SyntheticDataConfig.productionShape(42).scaled(0.01))
+     */
+    public SyntheticDataGenerator.Summary setupSyntheticTenant(SyntheticDataConfig config) {
+        return new SyntheticDataGenerator(config).generate(dataLoader);
+    }
+    
     /**
      * 현재 설정된 데이터를 콘솔에 출력
      */
@@ -0,0 +1,61 @@
+package com.permissions.loader;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * (엔티티 종류, ID 사전의 정수 ID) → 마지막 변경 버전
+ * 종류별로 정수 ID 하나에 슬롯 하나를 두는 평탄한 long 배열이므로 조회에 할당과 해시가 없고,
+ * 크기는 ID 사전 크기 × 종류 수를 넘지 않음 (사전과 함께 clear 시 비움)
+ *
+ * - 읽기는 잠금 없이 수행 (원소는 AtomicLongArray로 게시하고, 배열을 늘릴 때는 새 배열을 채운 뒤 게시)
+ * - 쓰기는 테이블 단위로 직렬화하며 동시 변경 시에도 버전이 감소하지 않도록 최댓값 유지
+ */
+final class VersionTable {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final int kinds;
+    private volatile AtomicLongArray slots = new AtomicLongArray(INITIAL_CAPACITY);
+
+    /**
+     * @param kinds 엔티티 종류 수 (종류 번호는 0부터 kinds - 1)
+     */
+    VersionTable(int kinds) {
+        this.kinds = kinds;
+    }
+
+    /**
+     * @return 기록된 버전, 없거나 ID가 NONE이면 0
+     */
+    long get(int kind, int id) {
+        AtomicLongArray current = slots;
+        long slot = (long) id * kinds + kind;
+        return id > IdDictionary.NONE && slot < current.length() ? current.get((int) slot) : 0;
+    }
+
+    /**
+     * 버전 기록 (기존 버전보다 클 때만, ID가 NONE이면 무시)
+     */
+    synchronized void touch(int kind, int id, long version) {
+        if (id <= IdDictionary.NONE) {
+            return;
+        }
+        int slot = Math.toIntExact((long) id * kinds + kind);
+        AtomicLongArray current = slots;
+        if (slot >= current.length()) {
+            AtomicLongArray grown = new AtomicLongArray(Math.max(slot + 1, current.length() * 2));
+            for (int i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            current = grown;
+            slots = grown;
+        }
+        if (version > current.get(slot)) {
+            current.set(slot, version);
+        }
+    }
+
+    synchronized void clear() {
+        slots = new AtomicLongArray(INITIAL_CAPACITY);
+    }
+}
@@ -0,0 +1,64 @@
+package com.permissions.metrics;
+
+import com.permissions.evaluator.EvaluationResult;
+import com.permissions.model.PermissionType;
+
+import java.util.Set;
+
+/**
+ * PolicyEngine 계측 SPI
+ * 권한 확인마다 호출되므로 구현체는 잠금 없이(LongAdder, 원자 배열 등) 기록해야 하며 여러 스레드에서 동시에 호출됨
+ *
+ * 기본값 NOOP은 모든 메서드가 비어 있고, 엔진은 NOOP일 때 시간 측정(System.nanoTime)도 하지 않음
+ * (NOOP 호출은 단일 구현 호출이라 JIT가 인라인 후 제거)
+ */
+public interface PolicyMetrics {
+
+    /**
+     * 아무것도 기록하지 않는 기본 구현
+     */
+    PolicyMetrics NOOP = new PolicyMetrics() {};
+
+    /**
+     * 권한 확인 한 번 (데이터 로드와 평가 포함)
+     *
+     * @param permission 확인한 권한
+     * @param allowed 허용 여부
+     * @param nanos 걸린 시간
+     */
+    default void recordCheck(PermissionType permission, boolean allowed, long nanos) {}
+
+    /**
+     * 데이터 로드 한 번
+     *
+     * @param tables 함께 로드한 테이블 (단계적 로딩과 비동기 로딩에서는 보통 한 테이블)
+     * @param nanos 걸린 시간
+     */
+    default void recordLoad(Set<String> tables, long nanos) {}
+
+    /**
+     * 데이터 로드 중 테이블 하나의 조회 (함께 로드한 테이블도 테이블마다 따로 기록)
+     * 데이터 로더가 테이블별 시간을 알려 줄 때만 호출됨 (InMemoryDataLoader, MappedSnapshotDataLoader, 비동기 로딩)
+     *
+     * @param table 테이블명
+     * @param nanos 걸린 시간
+     */
+    default void recordTableLoad(String table, long nanos) {}
+
+    /**
+     * 정책 조건 평가 한 번
+     *
+     * @param policyName 정책 이름
+     * @param result 평가 결과 (NULL은 데이터 부족)
+     * @param nanos 걸린 시간
+     */
+    default void recordPolicy(String policyName, EvaluationResult result, long nanos) {}
+
+    /**
+     * 확인 결과를 결정한 정책
+     *
+     * @param permission 확인한 권한
+     * @param policyName TRUE가 된 DENY/ALLOW 정책 이름, 어떤 정책도 TRUE가 아니어서 기본 거부면 null
+     */
+    default void recordDecision(PermissionType permission, String policyName) {}
+}
@@ -0,0 +1,170 @@
+package com.permissions.metrics;
+
+import com.permissions.evaluator.EvaluationResult;
+import com.permissions.model.PermissionType;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 메모리에 누적하는 PolicyMetrics 구현
+ *
+ * - 권한별: 확인 지연 히스토그램, 허용/거부 수, 결정한 정책별 횟수
+ * - 정책별: 평가 지연 히스토그램, TRUE/FALSE/NULL 결과 수
+ * - 로드한 테이블 조합별: 로드 호출 지연 히스토그램
+ * - 테이블별: 조회 지연 히스토그램 (한 번에 여러 테이블을 로드해도 테이블마다 기록)
+ *
+ * 권한별 통계는 생성 시 미리 만들어 두고, 정책/테이블별 통계는 처음 기록될 때 만든 뒤 재사용
+ */
+public class RecordingPolicyMetrics implements PolicyMetrics {
+
+    /**
+     * 어떤 정책도 TRUE가 아니어서 기본 거부된 경우의 결정 정책 이름
+     */
+    public static final String DEFAULT_DENY = "<default deny>";
+
+    private final Map<PermissionType, PermissionStats> permissions = new EnumMap<>(PermissionType.class);
+    private final ConcurrentHashMap<String, PolicyStats> policies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Set<String>, LatencyHistogram> loads = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LatencyHistogram> tableLoads = new ConcurrentHashMap<>();
+
+    public RecordingPolicyMetrics() {
+        for (PermissionType permission : PermissionType.values()) {
+            permissions.put(permission, new PermissionStats());
+        }
+    }
+
+    @Override
+    public void recordCheck(PermissionType permission, boolean allowed, long nanos) {
+        PermissionStats stats = permissions.get(permission);
+        stats.latency.record(nanos);
+        (allowed ? stats.allowed : stats.denied).increment();
+    }
+
+    @Override
+    public void recordLoad(Set<String> tables, long nanos) {
+        LatencyHistogram histogram = loads.get(tables);
+        if (histogram == null) {
+            histogram = loads.computeIfAbsent(Set.copyOf(tables), key -> new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    @Override
+    public void recordTableLoad(String table, long nanos) {
+        LatencyHistogram histogram = tableLoads.get(table);
+        if (histogram == null) {
+            histogram = tableLoads.computeIfAbsent(table, key -> new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    @Override
+    public void recordPolicy(String policyName, EvaluationResult result, long nanos) {
+        PolicyStats stats = policyStats(policyName);
+        stats.latency.record(nanos);
+        stats.results[result.ordinal()].increment();
+    }
+
+    @Override
+    public void recordDecision(PermissionType permission, String policyName) {
+        permissions.get(permission).decisions
+            .computeIfAbsent(policyName != null ? policyName : DEFAULT_DENY, key -> new LongAdder())
+            .increment();
+    }
+
+    /**
+     * 권한별 확인 지연
+     */
+    public LatencyHistogram checkLatency(PermissionType permission) {
+        return permissions.get(permission).latency;
+    }
+
+    public long allowedCount(PermissionType permission) {
+        return permissions.get(permission).allowed.sum();
+    }
+
+    public long deniedCount(PermissionType permission) {
+        return permissions.get(permission).denied.sum();
+    }
+
+    /**
+     * 권한 확인 결과를 결정한 정책별 횟수 (기본 거부는 DEFAULT_DENY)
+     */
+    public Map<String, Long> decisions(PermissionType permission) {
+        Map<String, Long> decisions = new HashMap<>();
+        permissions.get(permission).decisions.forEach((name, counter) -> decisions.put(name, counter.sum()));
+        return decisions;
+    }
+
+    /**
+     * 정책별 평가 지연 (기록이 없으면 빈 히스토그램)
+     */
+    public LatencyHistogram policyLatency(String policyName) {
+        PolicyStats stats = policies.get(policyName);
+        return stats != null ? stats.latency : new LatencyHistogram();
+    }
+
+    /**
+     * 정책별 평가 결과 수
+     */
+    public long policyResults(String policyName, EvaluationResult result) {
+        PolicyStats stats = policies.get(policyName);
+        return stats != null ? stats.results[result.ordinal()].sum() : 0;
+    }
+
+    /**
+     * 모든 정책의 NULL(데이터 부족) 결과 수 합계
+     */
+    public long nullResults() {
+        long sum = 0;
+        for (PolicyStats stats : policies.values()) {
+            sum += stats.results[EvaluationResult.NULL.ordinal()].sum();
+        }
+        return sum;
+    }
+
+    /**
+     * 함께 로드한 테이블 조합별 로드 지연 (기록이 없으면 빈 히스토그램)
+     */
+    public LatencyHistogram loadLatency(Set<String> tables) {
+        LatencyHistogram histogram = loads.get(tables);
+        return histogram != null ? histogram : new LatencyHistogram();
+    }
+
+    /**
+     * 테이블별 조회 지연 (기록이 없으면 빈 히스토그램)
+     */
+    public LatencyHistogram tableLoadLatency(String table) {
+        LatencyHistogram histogram = tableLoads.get(table);
+        return histogram != null ? histogram : new LatencyHistogram();
+    }
+
+    /**
+     * 기록된 정책 이름 목록
+     */
+    public Set<String> policyNames() {
+        return Set.copyOf(policies.keySet());
+    }
+
+    private PolicyStats policyStats(String policyName) {
+        PolicyStats stats = policies.get(policyName);
+        return stats != null ? stats : policies.computeIfAbsent(policyName, key -> new PolicyStats());
+    }
+
+    private static final class PermissionStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder denied = new LongAdder();
+        private final ConcurrentHashMap<String, LongAdder> decisions = new ConcurrentHashMap<>();
+    }
+
+    private static final class PolicyStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder[] results = {new LongAdder(), new LongAdder(), new LongAdder()};
+    }
+}
@@ -0,0 +1,206 @@
+package com.permissions.sql;
+
+import com.permissions.dsl.*;
+import com.permissions.model.PermissionType;
+import com.permissions.policy.EffectType;
+import com.permissions.policy.Policy;
+
+import java.util.*;
+
+/**
+ * 정책 조건을 SQL WHERE 절로 변환하는 컴파일러
+ * 목록 조회 시 권한 필터링을 데이터베이스에서 수행하기 위해 사용
+ *
+ * 평가 의미는 PolicyEngine과 동일
+ * - 비교식이 참조하는 테이블이 조인되지 않았으면(행 없음) NULL
+ * - null 비교: EQUALS/NOT_EQUALS는 IS [NOT] DISTINCT FROM으로 null끼리 같다고 보고, 크기 비교는 NULL
+ * - 컬럼과 상수의 Java 타입이 다르면 EQUALS는 FALSE, NOT_EQUALS는 TRUE, 크기 비교는 NULL (컴파일 시점에 결정)
+ * - AND/OR/NOT은 SQL의 3-value 논리와 같음
+ * - 최종 판단: 모든 DENY 정책이 TRUE가 아니고(IS NOT TRUE) ALLOW 정책 중 하나가 TRUE(IS TRUE)
+ *
+ * 문자열 크기 비교는 데이터베이스 정렬 규칙(collation)을 따르므로 Java String.compareTo와 다를 수 있음
+ */
+public class SqlPolicyCompiler {
+
+    /**
+     * 사용자가 권한을 가진 문서 ID를 조회하는 쿼리
+     *
+     * @param policies 정책 목록 (permission에 해당하는 정책만 사용)
+     * @param permission 확인할 권한
+     * @param userId 사용자 ID
+     * @return SELECT d.id ... WHERE (권한 판단) 쿼리
+     */
+    public SqlQuery accessibleDocumentsQuery(Collection<Policy> policies, PermissionType permission, String userId) {
+        List<Object> parameters = new ArrayList<>(Collections.nCopies(SqlSchema.FROM_CLAUSE_USER_PARAMETERS, userId));
+        String decision = compileDecision(policies, permission, parameters);
+        return new SqlQuery("SELECT d.id\n" + SqlSchema.FROM_CLAUSE + "WHERE " + decision, parameters);
+    }
+
+    /**
+     * 문서 하나에 대한 권한 확인 쿼리 (허용이면 행 하나, 거부면 행 없음)
+     */
+    public SqlQuery permissionCheckQuery(Collection<Policy> policies, PermissionType permission,
+            String documentId, String userId) {
+        List<Object> parameters = new ArrayList<>(Collections.nCopies(SqlSchema.FROM_CLAUSE_USER_PARAMETERS, userId));
+        parameters.add(documentId);
+        String decision = compileDecision(policies, permission, parameters);
+        return new SqlQuery("SELECT d.id\n" + SqlSchema.FROM_CLAUSE + "WHERE d.id = ? AND " + decision, parameters);
+    }
+
+    /**
+     * 권한 판단식 생성 (DENY 우선, ALLOW 후순, 기본 거부)
+     *
+     * @param parameters 바인딩 값을 순서대로 추가할 목록
+     */
+    public String compileDecision(Collection<Policy> policies, PermissionType permission, List<Object> parameters) {
+        List<Policy> applicable = policies.stream()
+            .filter(policy -> policy.permissions().contains(permission))
+            .toList();
+        if (applicable.stream().noneMatch(policy -> policy.effect() == EffectType.ALLOW)) {
+            return "FALSE"; // 허용 정책이 없으면 기본 거부 (DENY 조건의 바인딩 값도 추가하지 않음)
+        }
+
+        // SQL 문자열에 나타나는 순서(DENY 먼저)대로 컴파일해야 바인딩 값 순서가 맞음
+        List<String> terms = new ArrayList<>();
+        for (Policy policy : applicable) {
+            if (policy.effect() == EffectType.DENY) {
+                terms.add("(" + compile(policy.applyFilter(), parameters) + ") IS NOT TRUE");
+            }
+        }
+        List<String> allows = new ArrayList<>();
+        for (Policy policy : applicable) {
+            if (policy.effect() == EffectType.ALLOW) {
+                allows.add("(" + compile(policy.applyFilter(), parameters) + ") IS TRUE");
+            }
+        }
+
+        terms.add("(" + String.join(" OR ", allows) + ")");
+        return String.join(" AND ", terms);
+    }
+
+    /**
+     * 표현식을 SQL 불리언 식으로 변환
+     *
+     * @param parameters 바인딩 값을 순서대로 추가할 목록
+     */
+    public String compile(ExpressionDef expression, List<Object> parameters) {
+        return switch (expression) {
+            case BinaryExpressionDef binary -> compileBinary(binary, parameters);
+            case AndExpressionDef and -> compileAll(and.expressions(), " AND ", "TRUE", parameters);
+            case OrExpressionDef or -> compileAll(or.expressions(), " OR ", "FALSE", parameters);
+            case NotExpressionDef not -> "NOT (" + compile(not.expression(), parameters) + ")";
+            case ConstantExpressionDef constant -> constant.value() == null ? "CAST(NULL AS BOOLEAN)"
+                : constant.value() ? "TRUE" : "FALSE";
+        };
+    }
+
+    private String compileAll(List<ExpressionDef> expressions, String separator, String empty,
+            List<Object> parameters) {
+        if (expressions.isEmpty()) {
+            return empty;
+        }
+        StringJoiner joiner = new StringJoiner(separator);
+        for (ExpressionDef expression : expressions) {
+            joiner.add("(" + compile(expression, parameters) + ")");
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * 비교식 변환
+     * 참조 테이블 중 하나라도 조인되지 않았으면 NULL, 아니면 비교 결과
+     */
+    private String compileBinary(BinaryExpressionDef binary, List<Object> parameters) {
+        Column left = Column.parse(binary.fieldName());
+        OperatorType operator = binary.operator();
+
+        String comparison;
+        String missing;
+        if (binary.value() instanceof FieldReference reference) {
+            Column right = Column.parse(reference.fieldName());
+            missing = left.missing() + (left.table().equals(right.table()) ? "" : " OR " + right.missing());
+            if (left.type() == right.type()) {
+                comparison = comparison(left.expression(), operator, right.expression());
+            } else {
+                // 타입이 달라도 둘 다 null이면 같은 값으로 봄
+                String bothNull = left.expression() + " IS NULL AND " + right.expression() + " IS NULL";
+                comparison = switch (operator) {
+                    case EQUALS -> bothNull;
+                    case NOT_EQUALS -> "NOT (" + bothNull + ")";
+                    default -> "CAST(NULL AS BOOLEAN)";
+                };
+            }
+        } else {
+            Object constant = binary.value();
+            missing = left.missing();
+            if (constant == null) {
+                comparison = switch (operator) {
+                    case EQUALS -> left.expression() + " IS NULL";
+                    case NOT_EQUALS -> left.expression() + " IS NOT NULL";
+                    default -> "CAST(NULL AS BOOLEAN)";
+                };
+            } else if (constant.getClass() != left.type()) {
+                comparison = mismatch(operator);
+            } else {
+                parameters.add(constant);
+                comparison = comparison(left.expression(), operator, "?");
+            }
+        }
+
+        return "CASE WHEN " + missing + " THEN CAST(NULL AS BOOLEAN) ELSE (" + comparison + ") END";
+    }
+
+    /**
+     * 같은 타입 값의 비교 (null-safe 동등 비교, 크기 비교는 null이면 NULL)
+     */
+    private static String comparison(String left, OperatorType operator, String right) {
+        return switch (operator) {
+            case EQUALS -> left + " IS NOT DISTINCT FROM " + right;
+            case NOT_EQUALS -> left + " IS DISTINCT FROM " + right;
+            case GREATER_THAN -> left + " > " + right;
+            case LESS_THAN -> left + " < " + right;
+            case GREATER_EQUAL -> left + " >= " + right;
+            case LESS_EQUAL -> left + " <= " + right;
+        };
+    }
+
+    /**
+     * 타입이 다른 값의 비교 결과 (PolicyEngine의 타입 불일치 규칙과 동일)
+     */
+    private static String mismatch(OperatorType operator) {
+        return switch (operator) {
+            case EQUALS -> "FALSE";
+            case NOT_EQUALS -> "TRUE";
+            default -> "CAST(NULL AS BOOLEAN)";
+        };
+    }
+
+    /**
+     * "table.column" 필드의 SQL 대응
+     */
+    private record Column(String table, String alias, String column, String presenceColumn, Class<?> type) {
+
+        static Column parse(String fieldName) {
+            int dotIndex = fieldName.indexOf('.');
+            if (dotIndex <= 0) {
+                throw new IllegalArgumentException("Field must be qualified as table.column: " + fieldName);
+            }
+            String tableName = fieldName.substring(0, dotIndex);
+            String columnName = fieldName.substring(dotIndex + 1);
+            SqlSchema.Table table = SqlSchema.TABLES.get(tableName);
+            if (table == null || !table.columns().containsKey(columnName)) {
+                throw new IllegalArgumentException("Unknown field for SQL compilation: " + fieldName);
+            }
+            return new Column(tableName, table.alias(), table.columns().get(columnName),
+                table.presenceColumn(), table.types().get(columnName));
+        }
+
+        String expression() {
+            return alias + "." + column;
+        }
+
+        String missing() {
+            return alias + "." + presenceColumn + " IS NULL";
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.permissions.sql;
+
+import java.util.List;
+
+/**
+ * 파라미터 바인딩 방식의 SQL 쿼리
+ *
+ * @param sql '?' 플레이스홀더를 포함한 SQL
+ * @param parameters 플레이스홀더 순서대로 바인딩할 값
+ */
+public record SqlQuery(String sql, List<Object> parameters) {}
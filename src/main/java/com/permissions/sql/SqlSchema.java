@@ -0,0 +1,90 @@
+package com.permissions.sql;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 정책 평가용 관계형 스키마
+ * DSL의 테이블/컬럼("project.teamId")과 SQL 테이블/컬럼(projects.team_id), 쿼리 내 별칭의 대응을 정의
+ *
+ * 쿼리는 문서를 기준으로 나머지 테이블을 LEFT JOIN하며, 조인 조건은 InMemoryDataLoader의 로딩 경로와 같음
+ * - user: 요청 사용자 ID
+ * - project: document.projectId
+ * - team: project.teamId, 없으면 (프로젝트가 없거나 팀이 없으면) 요청 사용자의 팀 멤버십 중 팀 ID가 가장 작은 팀
+ * - teamMembership: (요청 사용자, project.teamId), projectMembership: (요청 사용자, document.projectId)
+ * 조인된 행이 없으면 해당 테이블은 로드되지 않은 것으로 보고 비교 결과를 NULL로 평가
+ */
+public final class SqlSchema {
+
+    /**
+     * DSL 테이블의 SQL 대응
+     *
+     * @param name SQL 테이블명
+     * @param alias 쿼리 내 별칭
+     * @param presenceColumn 조인된 행 존재 여부를 판단할 NOT NULL 컬럼
+     * @param columns DSL 컬럼명 → SQL 컬럼명
+     * @param types DSL 컬럼명 → 값의 Java 타입 (로더가 만드는 값과 같은 타입)
+     */
+    public record Table(String name, String alias, String presenceColumn,
+            Map<String, String> columns, Map<String, Class<?>> types) {}
+
+    public static final Map<String, Table> TABLES = Map.of(
+        "user", new Table("users", "u", "id",
+            Map.of("id", "id", "email", "email", "name", "name"),
+            Map.of("id", String.class, "email", String.class, "name", String.class)),
+        "team", new Table("teams", "t", "id",
+            Map.of("id", "id", "name", "name", "plan", "plan"),
+            Map.of("id", String.class, "name", String.class, "plan", String.class)),
+        "project", new Table("projects", "p", "id",
+            Map.of("id", "id", "name", "name", "teamId", "team_id", "visibility", "visibility"),
+            Map.of("id", String.class, "name", String.class, "teamId", String.class, "visibility", String.class)),
+        "document", new Table("documents", "d", "id",
+            Map.of("id", "id", "title", "title", "projectId", "project_id", "creatorId", "creator_id",
+                "deletedAt", "deleted_at", "publicLinkEnabled", "public_link_enabled"),
+            Map.of("id", String.class, "title", String.class, "projectId", String.class, "creatorId", String.class,
+                "deletedAt", Instant.class, "publicLinkEnabled", Boolean.class)),
+        "teamMembership", new Table("team_memberships", "tm", "user_id",
+            Map.of("userId", "user_id", "teamId", "team_id", "role", "role"),
+            Map.of("userId", String.class, "teamId", String.class, "role", String.class)),
+        "projectMembership", new Table("project_memberships", "pm", "user_id",
+            Map.of("userId", "user_id", "projectId", "project_id", "role", "role"),
+            Map.of("userId", String.class, "projectId", String.class, "role", String.class))
+    );
+
+    /**
+     * 스키마 생성 DDL (열거형은 로더와 같이 이름 문자열로 저장)
+     */
+    public static final List<String> DDL = List.of(
+        "CREATE TABLE users (id VARCHAR(64) PRIMARY KEY, email VARCHAR(255), name VARCHAR(255))",
+        "CREATE TABLE teams (id VARCHAR(64) PRIMARY KEY, name VARCHAR(255), plan VARCHAR(16))",
+        "CREATE TABLE projects (id VARCHAR(64) PRIMARY KEY, name VARCHAR(255), team_id VARCHAR(64),"
+            + " visibility VARCHAR(16))",
+        "CREATE TABLE documents (id VARCHAR(64) PRIMARY KEY, title VARCHAR(255), project_id VARCHAR(64),"
+            + " creator_id VARCHAR(64), deleted_at TIMESTAMP WITH TIME ZONE, public_link_enabled BOOLEAN NOT NULL)",
+        "CREATE TABLE team_memberships (user_id VARCHAR(64) NOT NULL, team_id VARCHAR(64) NOT NULL,"
+            + " role VARCHAR(16), PRIMARY KEY (user_id, team_id))",
+        "CREATE TABLE project_memberships (user_id VARCHAR(64) NOT NULL, project_id VARCHAR(64) NOT NULL,"
+            + " role VARCHAR(16), PRIMARY KEY (user_id, project_id))",
+        "CREATE INDEX documents_project ON documents (project_id)",
+        "CREATE INDEX projects_team ON projects (team_id)"
+    );
+
+    /**
+     * 문서 기준 FROM 절 (플레이스홀더 4개 모두 요청 사용자 ID)
+     * 대체 팀의 MIN(team_id)는 로더의 String.compareTo와 같은 순서가 되도록 ID를 이진 정렬 순서로 비교하는 DB를 가정
+     */
+    static final String FROM_CLAUSE = """
+        FROM documents d
+        LEFT JOIN users u ON u.id = ?
+        LEFT JOIN projects p ON p.id = d.project_id
+        LEFT JOIN teams t ON t.id = COALESCE(p.team_id,
+            (SELECT MIN(ft.team_id) FROM team_memberships ft WHERE ft.user_id = ?))
+        LEFT JOIN team_memberships tm ON tm.user_id = ? AND tm.team_id = p.team_id
+        LEFT JOIN project_memberships pm ON pm.user_id = ? AND pm.project_id = d.project_id
+        """;
+
+    static final int FROM_CLAUSE_USER_PARAMETERS = 4;
+
+    private SqlSchema() {}
+}
@@ -0,0 +1,284 @@
+package com.permissions.audit;
+
+import com.permissions.engine.CheckRequest;
+import com.permissions.engine.PolicyEngine;
+import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.loader.TestDataBuilder;
+import com.permissions.model.PermissionType;
+import com.permissions.policy.StandardPolicies;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.permissions.model.PermissionType.*;
+
+/**
+ * 감사 로그가 권한 결정을 세그먼트 파일에 기록하고 리더로 복원되는지 검증
+ */
+class AuditLogTest {
+
+    private static final List<String> DOCUMENTS = List.of("d1", "d2", "d3", "d4");
+    private static final List<String> USERS = List.of("u1", "u2", "u3", "u4");
+
+    @Test
+    void testRecordsEngineDecisions(@TempDir Path directory) throws Exception {
+        // Given - 기본 시나리오, 세그먼트당 10개 레코드인 감사 로그
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+        AuditLog auditLog = AuditLog.open(directory, 64, 1, 10);
+        policyEngine.setAuditLog(auditLog);
+
+        // When - 모든 문서/사용자/권한 확인
+        List<Boolean> expected = new ArrayList<>();
+        for (String documentId : DOCUMENTS) {
+            for (String userId : USERS) {
+                for (PermissionType permission : PermissionType.values()) {
+                    expected.add(policyEngine.hasPermission(documentId, userId, permission));
+                }
+            }
+        }
+        auditLog.close();
+
+        // Then - 확인 순서대로 모두 기록되고 여러 세그먼트로 나뉨
+        List<AuditRecord> records = AuditLogReader.readAll(directory);
+        assertEquals(expected.size(), records.size());
+        assertEquals(0, auditLog.dropped());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals((expected.size() + 9) / 10, files.filter(path -> path.toString().endsWith(".seg")).count());
+        }
+
+        int i = 0;
+        for (String documentId : DOCUMENTS) {
+            for (String userId : USERS) {
+                for (PermissionType permission : PermissionType.values()) {
+                    AuditRecord record = records.get(i);
+                    assertEquals(i, record.sequence());
+                    assertEquals(documentId, record.resourceId());
+                    assertEquals(userId, record.userId());
+                    assertEquals(permission, record.permission());
+                    assertEquals(expected.get(i), record.allowed(), AuditLogReader.format(record));
+                    assertEquals(policyEngine.getPolicyGeneration(), record.generation());
+                    i++;
+                }
+            }
+        }
+
+        // Then - 삭제 문서(d3)는 deleted_document_deny가 결정, 허용은 항상 ALLOW 정책이 결정
+        Set<String> deciders = new HashSet<>();
+        for (AuditRecord record : records) {
+            if (record.resourceId().equals("d3") && record.permission() == CAN_EDIT) {
+                assertEquals("deleted_document_deny", record.decidingPolicyName());
+            }
+            if (record.allowed()) {
+                assertTrue(record.decidingPolicy() >= 0, AuditLogReader.format(record));
+            }
+            deciders.add(String.valueOf(record.decidingPolicyName()));
+        }
+        assertTrue(deciders.size() > 2, deciders.toString());
+        // Then - 멤버가 아닌 사용자의 멤버십 조건은 NULL로 기록됨
+        assertTrue(records.stream().anyMatch(record -> record.nullPolicies() != 0));
+    }
+
+    @Test
+    void testConcurrentProducersNeverBlock(@TempDir Path directory) throws Exception {
+        // Given - 작은 링 버퍼
+        AuditLog auditLog = AuditLog.open(directory, 256, 1, 4096);
+        List<Thread> threads = new ArrayList<>();
+
+        // When - 8개 스레드가 동시에 5000개씩 기록 (가득 차면 버려짐)
+        for (int t = 0; t < 8; t++) {
+            String userId = "user-" + t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    auditLog.record(1, CAN_VIEW, "doc-" + i, userId, i % 2 == 0, -1, 0);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        auditLog.close();
+
+        // Then - 기록 + 버림 = 전체, 기록된 레코드는 모두 완전한 형태로 복원
+        List<AuditRecord> records = AuditLogReader.readAll(directory);
+        assertEquals(40_000, records.size() + auditLog.dropped());
+        assertEquals(auditLog.written(), records.size());
+        for (int i = 0; i < records.size(); i++) {
+            AuditRecord record = records.get(i);
+            assertEquals(i, record.sequence());
+            assertTrue(record.userId().startsWith("user-"), record.toString());
+            int documentNumber = Integer.parseInt(record.resourceId().substring("doc-".length()));
+            assertEquals(documentNumber % 2 == 0, record.allowed(), record.toString());
+        }
+    }
+
+    @Test
+    void testTruncatesLongIds(@TempDir Path directory) throws Exception {
+        // Given
+        AuditLog auditLog = AuditLog.open(directory, 16, 1, 16);
+
+        // When - 32바이트를 넘는 ID와 ASCII가 아닌 문자 (한글은 3바이트, 이모지는 4바이트)
+        auditLog.record(3, CAN_SHARE, "d".repeat(40), "사용자", true, 2, 5);
+        auditLog.record(3, CAN_VIEW, "문서".repeat(6), "사용자1", false, -1, 0);
+        auditLog.record(3, CAN_VIEW, "a\uD83D\uDE00b", "bad\uD800", false, -1, 0);
+        auditLog.flush();
+
+        // Then - UTF-8로 복원되고, 문자 중간에서 자르지 않으며, 다른 ID는 다르게 기록됨
+        List<AuditRecord> records = AuditLogReader.readAll(directory);
+        auditLog.close();
+        AuditRecord record = records.get(0);
+        assertEquals("d".repeat(32), record.resourceId());
+        assertEquals("사용자", record.userId());
+        assertTrue(record.truncated());
+        assertFalse(record.lossy());
+        assertEquals("문서".repeat(5), records.get(1).resourceId()); // 30바이트, 한 글자 더는 33바이트
+        assertEquals("사용자1", records.get(1).userId());
+        assertTrue(records.get(1).truncated());
+        assertEquals("a\uD83D\uDE00b", records.get(2).resourceId());
+        assertEquals("bad?", records.get(2).userId());
+        assertFalse(records.get(2).truncated());
+        assertTrue(records.get(2).lossy());
+        assertEquals(2, record.decidingPolicy());
+        assertNull(record.decidingPolicyName()); // 세대 3의 정책 목록 없음
+        assertEquals(5, record.nullPolicies());
+    }
+
+    @Test
+    void testDrainerSkipsStalledProducer(@TempDir Path directory) throws Exception {
+        // Given - 슬롯을 예약하고 게시하지 않는 생산자
+        AuditLog auditLog = AuditLog.open(directory, 4, 1, 16, 50_000_000);
+        long stalled = auditLog.claim();
+        assertTrue(auditLog.acquire(stalled));
+
+        // When - 뒤이은 생산자들이 기록
+        for (int i = 1; i <= 3; i++) {
+            auditLog.record(1, CAN_VIEW, "doc-" + i, "u1", true, -1, 0);
+        }
+        awaitTrue(() -> auditLog.skipped() == 1);
+        auditLog.flush();
+
+        // Then - 멈춘 순번만 건너뛰고 나머지는 옮겨지며, 늦은 게시는 실패하고 슬롯은 다시 쓰임
+        assertEquals(3, auditLog.written());
+        assertFalse(auditLog.publish(stalled));
+        for (int i = 4; i <= 7; i++) {
+            auditLog.record(1, CAN_VIEW, "doc-" + i, "u1", true, -1, 0);
+        }
+        auditLog.close();
+        List<AuditRecord> records = AuditLogReader.readAll(directory);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), records.stream().map(AuditRecord::sequence).toList());
+        assertEquals("doc-7", records.get(6).resourceId());
+        assertEquals(1, auditLog.skipped());
+        assertEquals(0, auditLog.dropped());
+    }
+
+    @Test
+    void testRecordsBatchAndEffectiveDecisions(@TempDir Path directory) throws Exception {
+        // Given
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+        AuditLog auditLog = AuditLog.open(directory, 64, 1, 64);
+        policyEngine.setAuditLog(auditLog);
+
+        // When - 같은 (문서, 사용자) 조합의 배치 확인과 유효 권한 조회
+        List<CheckRequest> requests = List.of(
+            new CheckRequest("d1", "u1", CAN_VIEW),
+            new CheckRequest("d1", "u1", CAN_DELETE),
+            new CheckRequest("d3", "u2", CAN_EDIT));
+        BitSet allowed = policyEngine.hasPermissions(requests);
+        EnumSet<PermissionType> effective = policyEngine.effectivePermissions("d1", "u2");
+        auditLog.close();
+
+        // Then - 요청마다, 권한마다 레코드가 하나씩 남고 결정 정책은 각자의 것
+        List<AuditRecord> records = AuditLogReader.readAll(directory);
+        assertEquals(requests.size() + PermissionType.values().length, records.size());
+        for (int i = 0; i < requests.size(); i++) {
+            AuditRecord record = records.get(i);
+            assertEquals(requests.get(i).permission(), record.permission());
+            assertEquals(allowed.get(i), record.allowed(), AuditLogReader.format(record));
+        }
+        assertEquals("deleted_document_deny", records.get(2).decidingPolicyName());
+        for (int i = 0; i < PermissionType.values().length; i++) {
+            AuditRecord record = records.get(requests.size() + i);
+            assertEquals(PermissionType.values()[i], record.permission());
+            assertEquals(effective.contains(record.permission()), record.allowed(), AuditLogReader.format(record));
+            if (!record.allowed()) {
+                assertFalse(record.decidingPolicyName() != null && record.decidingPolicyName().endsWith("_allow"),
+                    AuditLogReader.format(record));
+            }
+        }
+    }
+
+    @Test
+    void testDrainerSurvivesSegmentFailure(@TempDir Path directory) throws Exception {
+        // Given - 첫 세그먼트 파일 이름을 디렉터리가 차지
+        Files.createDirectory(directory.resolve("audit-000001.seg"));
+        AuditLog auditLog = AuditLog.open(directory, 16, 1, 16);
+
+        // When
+        auditLog.record(1, CAN_VIEW, "d1", "u1", true, 0, 0);
+        awaitTrue(() -> auditLog.written() == 1);
+        auditLog.record(1, CAN_EDIT, "d1", "u1", false, -1, 0);
+        awaitTrue(() -> auditLog.written() == 2);
+        auditLog.close();
+
+        // Then - 실패가 집계되고 다음 번호의 세그먼트로 계속 기록
+        assertTrue(auditLog.failures() >= 1);
+        assertTrue(auditLog.isHealthy());
+        List<AuditRecord> records = AuditLogReader.readAll(directory);
+        assertEquals(List.of(CAN_VIEW, CAN_EDIT), records.stream().map(AuditRecord::permission).toList());
+        assertTrue(Files.isRegularFile(directory.resolve("audit-000002.seg")));
+    }
+
+    @Test
+    void testPolicyUpdateSurvivesGenerationFailure(@TempDir Path directory) throws Exception {
+        // Given - 다음 세대의 정책 이름 파일 이름을 디렉터리가 차지
+        var dataLoader = new InMemoryDataLoader();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        AuditLog auditLog = AuditLog.open(directory, 16, 1, 16);
+        policyEngine.setAuditLog(auditLog);
+        long next = policyEngine.getPolicyGeneration() + 1;
+        Path names = directory.resolve("generation-" + next + ".policies");
+        Files.createDirectory(names);
+
+        // When
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+
+        // Then - 정책은 게시되고 감사 로그는 비정상 상태
+        assertEquals(next, policyEngine.getPolicyGeneration());
+        assertTrue(auditLog.failures() >= 1);
+        assertFalse(auditLog.isHealthy());
+        assertTrue(auditLog.lastFailure().isPresent());
+
+        // When - 원인 제거
+        Files.delete(names);
+
+        // Then - 백그라운드 스레드가 이름 목록을 다시 기록하고 정상 상태로 돌아옴
+        awaitTrue(auditLog::isHealthy);
+        auditLog.close();
+        assertEquals(StandardPolicies.getAllStandardPolicies().size(), Files.readAllLines(names).size());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.permissions.engine;
+
+import com.permissions.dsl.BinaryExpressionDef;
+import com.permissions.dsl.OperatorType;
+import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.loader.SyntheticDataConfig;
+import com.permissions.loader.SyntheticDataGenerator;
+import com.permissions.loader.TestDataBuilder;
+import com.permissions.model.PermissionType;
+import com.permissions.policy.EffectType;
+import com.permissions.policy.Policy;
+import com.permissions.policy.StandardPolicies;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.permissions.model.PermissionType.*;
+
+/**
+ * 역방향 조회(accessibleResources)가 문서별 hasPermission 전수 확인과 같은 결과를 내는지 검증
+ */
+class AccessibleResourcesTest {
+
+    @Test
+    void testMatchesBruteForceOnSyntheticTenant() {
+        // Given - 합성 테넌트와 표준 정책
+        var dataLoader = new InMemoryDataLoader();
+        var summary = new TestDataBuilder(dataLoader)
+            .setupSyntheticTenant(SyntheticDataConfig.productionShape(3).scaled(0.002));
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+
+        // Then - 표준 정책의 ALLOW 조건은 모두 기준으로 좁혀짐
+        for (PermissionType permission : PermissionType.values()) {
+            for (CompiledPolicy policy : policyEngine.getPlan(permission).allowPolicies()) {
+                assertFalse(policy.anchors().contains(ResourceAnchor.ANY), policy.policy().name());
+            }
+        }
+
+        // When & Then - 모든 사용자, 모든 권한에 대해 전수 확인과 비교
+        for (int u = 0; u < summary.users(); u++) {
+            String userId = SyntheticDataGenerator.userId(u);
+            for (PermissionType permission : PermissionType.values()) {
+                assertEquals(bruteForce(policyEngine, dataLoader, userId, permission),
+                    policyEngine.accessibleResources(userId, permission), userId + " / " + permission);
+            }
+        }
+    }
+
+    @Test
+    void testFallsBackToFullScanForUnanchoredPolicy() {
+        // Given - 후보를 좁힐 수 없는 ALLOW 정책 (PUBLIC 프로젝트 문서는 누구나 열람)
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+        policyEngine.addPolicy(new Policy("public_project_allow", "PUBLIC 프로젝트 열람", EffectType.ALLOW,
+            Set.of(CAN_VIEW), new BinaryExpressionDef("project.visibility", OperatorType.EQUALS, "PUBLIC"),
+            Set.of("project")));
+
+        // When & Then
+        for (String userId : List.of("u1", "u2", "u3", "u4", "unknown")) {
+            for (PermissionType permission : PermissionType.values()) {
+                assertEquals(bruteForce(policyEngine, dataLoader, userId, permission),
+                    policyEngine.accessibleResources(userId, permission), userId + " / " + permission);
+            }
+        }
+        assertEquals(Set.of("d2", "d3"), policyEngine.accessibleResources("u3", CAN_VIEW));
+    }
+
+    private static Set<String> bruteForce(PolicyEngine policyEngine, InMemoryDataLoader dataLoader,
+            String userId, PermissionType permission) {
+        Set<String> expected = new HashSet<>();
+        for (String documentId : dataLoader.getAllDocumentIds()) {
+            if (policyEngine.hasPermission(documentId, userId, permission)) {
+                expected.add(documentId);
+            }
+        }
+        return expected;
+    }
+}
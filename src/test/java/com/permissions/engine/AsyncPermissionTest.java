@@ -0,0 +1,139 @@
+package com.permissions.engine;
+
+import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.loader.AsyncDataLoader;
+import com.permissions.loader.DataLoader;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.loader.TestDataBuilder;
+import com.permissions.model.PermissionType;
+import com.permissions.policy.StandardPolicies;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.permissions.model.PermissionType.*;
+
+/**
+ * 비동기 권한 확인이 hasPermission과 같은 결과를 내고, 테이블을 동시에 로드하는지 검증
+ */
+class AsyncPermissionTest {
+
+    private static final List<String> DOCUMENTS = List.of("d1", "d2", "d3", "d4", "missing");
+    private static final List<String> USERS = List.of("u1", "u2", "u3", "u4", "unknown");
+
+    @Test
+    void testAsyncMatchesSyncChecks() {
+        // Given - 기본 시나리오 데이터와 지연이 있는 로더
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var latencyLoader = new LatencyDataLoader(dataLoader, 1);
+        var policyEngine = new PolicyEngine(latencyLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+
+        // When & Then - 가상 스레드(기본)와 스레드 풀 실행기 모두 동기 확인과 동일
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            for (AsyncDataLoader asyncLoader : List.of(AsyncDataLoader.onVirtualThreads(latencyLoader),
+                    AsyncDataLoader.of(latencyLoader, pool))) {
+                policyEngine.setAsyncDataLoader(asyncLoader);
+                for (String documentId : DOCUMENTS) {
+                    for (String userId : USERS) {
+                        for (PermissionType permission : PermissionType.values()) {
+                            assertEquals(policyEngine.hasPermission(documentId, userId, permission),
+                                policyEngine.hasPermissionAsync(documentId, userId, permission).join(),
+                                documentId + " / " + userId + " / " + permission);
+                        }
+                    }
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFetchesTablesConcurrently() {
+        // Given - 테이블 조회마다 50ms 지연
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var latencyLoader = new LatencyDataLoader(dataLoader, 50);
+        var policyEngine = new PolicyEngine(latencyLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+        int tables = policyEngine.getPlan(CAN_EDIT).requiredTables().size();
+
+        // When
+        boolean allowed = policyEngine.hasPermissionAsync("d1", "u1", CAN_EDIT).join();
+
+        // Then - 필요한 테이블을 한 번씩 조회하고, 조회가 겹쳐서 진행됨
+        assertTrue(allowed);
+        assertEquals(tables, latencyLoader.calls.get());
+        assertTrue(latencyLoader.peakInFlight.get() > 1, "peak=" + latencyLoader.peakInFlight.get());
+    }
+
+    @Test
+    void testManyInFlightChecksOnVirtualThreads() {
+        // Given - 조회마다 20ms 지연, 동시 확인 2000개 (순차로는 수 분이 걸리는 양)
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var latencyLoader = new LatencyDataLoader(dataLoader, 20);
+        var policyEngine = new PolicyEngine(latencyLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+
+        // When
+        List<CompletableFuture<Boolean>> checks = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            checks.add(policyEngine.hasPermissionAsync(DOCUMENTS.get(i % 4), USERS.get(i % 5), CAN_VIEW));
+        }
+        CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new)).orTimeout(30, TimeUnit.SECONDS).join();
+
+        // Then - 모든 확인이 완료되고, 수백 개 이상의 조회가 동시에 진행됨
+        assertEquals(2000, policyEngine.getEvaluationStatistics().evaluations());
+        assertTrue(latencyLoader.peakInFlight.get() > 100, "peak=" + latencyLoader.peakInFlight.get());
+        var referenceEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        referenceEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+        for (int i = 0; i < checks.size(); i++) {
+            assertEquals(referenceEngine.hasPermission(DOCUMENTS.get(i % 4), USERS.get(i % 5), CAN_VIEW),
+                checks.get(i).join());
+        }
+    }
+
+    /**
+     * 조회마다 지연을 두고 동시에 진행 중인 조회 수를 기록하는 로더 (원격 데이터베이스 흉내)
+     */
+    private static final class LatencyDataLoader implements DataLoader {
+        private final DataLoader delegate;
+        private final long latencyMillis;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peakInFlight = new AtomicInteger();
+
+        LatencyDataLoader(DataLoader delegate, long latencyMillis) {
+            this.delegate = delegate;
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public Map<String, Map<String, Object>> loadData(Object resource, Object user, Set<String> requiredTables) {
+            calls.incrementAndGet();
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(latencyMillis);
+                return delegate.loadData(resource, user, requiredTables);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.permissions.engine;
+
+import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.loader.SyntheticDataConfig;
+import com.permissions.loader.TestDataBuilder;
+import com.permissions.model.PermissionType;
+import com.permissions.policy.StandardPolicies;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.permissions.model.PermissionType.*;
+import static com.permissions.model.RoleType.ADMIN;
+
+/**
+ * 역방향 조회(authorizedSubjects)가 사용자별 hasPermission 전수 확인과 같은 결과를 내는지 검증
+ */
+class AuthorizedSubjectsTest {
+
+    @Test
+    void testMatchesBruteForceOnSyntheticTenant() {
+        // Given - 합성 테넌트와 표준 정책
+        var dataLoader = new InMemoryDataLoader();
+        var summary = new TestDataBuilder(dataLoader)
+            .setupSyntheticTenant(SyntheticDataConfig.productionShape(5).scaled(0.002));
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+
+        // When & Then - 문서 표본, 모든 권한에 대해 전수 확인과 비교
+        for (long d = 0; d < summary.documents(); d += 37) {
+            String documentId = "d" + d;
+            for (PermissionType permission : PermissionType.values()) {
+                assertEquals(bruteForce(policyEngine, dataLoader, documentId, permission),
+                    policyEngine.authorizedSubjects(documentId, permission), documentId + " / " + permission);
+            }
+        }
+    }
+
+    @Test
+    void testBasicScenario() {
+        // Given
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+
+        // Then - d1: 생성자이자 팀 admin인 u1만 편집 가능, d3(삭제됨)은 아무도 편집 불가, d2(공개 링크)는 모두 열람
+        assertEquals(Set.of("u1"), policyEngine.authorizedSubjects("d1", CAN_EDIT));
+        assertEquals(Set.of(), policyEngine.authorizedSubjects("d3", CAN_EDIT));
+        assertEquals(Set.of("u1", "u2", "u3", "u4"), policyEngine.authorizedSubjects("d2", CAN_VIEW));
+        assertEquals(Set.of(), policyEngine.authorizedSubjects("missing", CAN_VIEW));
+    }
+
+    @Test
+    void testRoleIndexNarrowsMemberCandidatesToRequiredRole() {
+        // Given - 합성 테넌트 (팀 멤버 중 admin은 일부)
+        var dataLoader = new InMemoryDataLoader();
+        var summary = new TestDataBuilder(dataLoader)
+            .setupSyntheticTenant(SyntheticDataConfig.productionShape(9).scaled(0.002));
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+
+        // When & Then - CAN_SHARE는 생성자와 팀 admin만 허용될 수 있으므로 그 외 팀 멤버는 평가하지 않음
+        for (long d = 0; d < summary.documents(); d += 101) {
+            var document = dataLoader.getDocument("d" + d).orElseThrow();
+            String teamId = dataLoader.getProject(document.projectId()).orElseThrow().teamId();
+            Set<String> expectedCandidates = new HashSet<>(dataLoader.userIds(dataLoader.teamMembers(teamId, ADMIN)));
+            expectedCandidates.add(document.creatorId());
+
+            long before = policyEngine.getEvaluationStatistics().evaluations();
+            Set<String> subjects = policyEngine.authorizedSubjects(document.id(), CAN_SHARE);
+            long evaluated = policyEngine.getEvaluationStatistics().evaluations() - before;
+
+            assertEquals(bruteForce(policyEngine, dataLoader, document.id(), CAN_SHARE), subjects, document.id());
+            assertEquals(expectedCandidates.size(), evaluated, document.id());
+            assertTrue(evaluated <= dataLoader.getMemberIdsForTeam(teamId).size() + 1, document.id());
+        }
+    }
+
+    private static Set<String> bruteForce(PolicyEngine policyEngine, InMemoryDataLoader dataLoader,
+            String documentId, PermissionType permission) {
+        Set<String> expected = new HashSet<>();
+        for (String userId : dataLoader.getAllUserIds()) {
+            if (policyEngine.hasPermission(documentId, userId, permission)) {
+                expected.add(userId);
+            }
+        }
+        return expected;
+    }
+}
@@ -0,0 +1,95 @@
+package com.permissions.engine;
+
+import com.permissions.model.*;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.loader.LoadRequest;
+import com.permissions.loader.TestDataBuilder;
+import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.policy.StandardPolicies;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 배치 권한 확인 결과가 단건 hasPermission과 동일한지 검증
+ */
+class BatchPermissionTest {
+
+    @Test
+    void testBatchMatchesSingleChecks() {
+        // Given - 기본 시나리오 데이터
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+
+        List<CheckRequest> requests = new ArrayList<>();
+        for (String documentId : List.of("d1", "d2", "d3", "d4")) {
+            for (String userId : List.of("u1", "u2", "u3", "u4")) {
+                for (PermissionType permission : PermissionType.values()) {
+                    requests.add(new CheckRequest(documentId, userId, permission));
+                }
+            }
+        }
+
+        // When
+        BitSet allowed = policyEngine.hasPermissions(requests);
+
+        // Then
+        for (int i = 0; i < requests.size(); i++) {
+            CheckRequest request = requests.get(i);
+            assertEquals(policyEngine.hasPermission(request.resource(), request.user(), request.permission()),
+                allowed.get(i), request.toString());
+        }
+        assertTrue(allowed.cardinality() > 0);
+        assertTrue(policyEngine.hasPermissions(List.of()).isEmpty());
+    }
+
+    @Test
+    void testBatchHonorsStagedLoading() {
+        // Given - 단계적 로딩으로 설정한 엔진
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+        policyEngine.setLoadingMode(LoadingMode.STAGED);
+
+        List<CheckRequest> requests = new ArrayList<>();
+        for (String userId : List.of("u1", "u2", "u3", "u4")) {
+            requests.add(new CheckRequest("d1", userId, PermissionType.CAN_VIEW));
+        }
+
+        // When
+        BitSet allowed = policyEngine.hasPermissions(requests);
+
+        // Then - 요청마다 단계적으로 로드하며 결과는 단건 확인과 동일
+        assertEquals(requests.size(), policyEngine.getLoadingStatistics().checks());
+        for (int i = 0; i < requests.size(); i++) {
+            CheckRequest request = requests.get(i);
+            assertEquals(policyEngine.hasPermission(request.resource(), request.user(), request.permission()),
+                allowed.get(i), request.toString());
+        }
+    }
+
+    @Test
+    void testBatchLoadedRowsAreReadOnly() {
+        // Given - 같은 사용자의 행을 공유하는 두 요청
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var requests = List.of(new LoadRequest("d1", "u1", Set.of("user", "project")),
+            new LoadRequest("d2", "u1", Set.of("user", "project")));
+
+        // When
+        var results = dataLoader.loadDataBatch(requests);
+
+        // Then - 공유된 행은 변경할 수 없음
+        assertEquals(results.get(0).get("user"), results.get(1).get("user"));
+        assertThrows(UnsupportedOperationException.class, () -> results.get(0).get("user").put("name", "changed"));
+        assertEquals("Alice", results.get(1).get("user").get("name"));
+    }
+}
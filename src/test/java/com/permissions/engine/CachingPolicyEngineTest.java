@@ -0,0 +1,180 @@
+package com.permissions.engine;
+
+import com.permissions.model.*;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.loader.TestDataBuilder;
+import com.permissions.dsl.BinaryExpressionDef;
+import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.policy.EffectType;
+import com.permissions.policy.Policy;
+import com.permissions.policy.StandardPolicies;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.permissions.dsl.OperatorType.EQUALS;
+import static com.permissions.model.PermissionType.*;
+
+/**
+ * 권한 결정 캐시의 적중/무효화/제거 동작 검증
+ */
+class CachingPolicyEngineTest {
+
+    @Test
+    void testCacheInvalidatedByRelatedEntityChanges() {
+        // Given - 팀 admin 시나리오 (projectMember1은 project1 editor)
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupTeamAdminScenario();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+        var cache = new CachingPolicyEngine(policyEngine, dataLoader, 100);
+
+        // When - 같은 결정 반복
+        assertTrue(cache.hasPermission("doc1", "teamAdmin1", CAN_EDIT));
+        assertTrue(cache.hasPermission("doc1", "teamAdmin1", CAN_EDIT));
+
+        // Then
+        assertEquals(1, cache.getStatistics().hits());
+        assertEquals(1, cache.getStatistics().misses());
+
+        // 관련 없는 엔티티 변경은 캐시를 유지
+        dataLoader.addUser(new User("someoneElse", "else@example.com", "Else"))
+            .addProjectMembership(new ProjectMembership("outsider1", "project1", RoleType.EDITOR));
+        assertTrue(cache.hasPermission("doc1", "teamAdmin1", CAN_EDIT));
+        assertEquals(2, cache.getStatistics().hits());
+
+        // 해당 사용자의 팀 멤버십 역할 변경 시 무효화
+        dataLoader.addTeamMembership(new TeamMembership("teamAdmin1", "team1", RoleType.VIEWER));
+        assertFalse(cache.hasPermission("doc1", "teamAdmin1", CAN_EDIT));
+        assertEquals(1, cache.getStatistics().invalidations());
+
+        // 프로젝트 멤버십 제거 시 무효화
+        assertTrue(cache.hasPermission("doc1", "outsider1", CAN_VIEW));
+        assertTrue(dataLoader.removeProjectMembership("outsider1", "project1"));
+        assertFalse(cache.hasPermission("doc1", "outsider1", CAN_VIEW));
+        assertEquals(2, cache.getStatistics().invalidations());
+
+        // 정책 변경 시 무효화
+        assertFalse(cache.hasPermission("doc1", "outsider1", CAN_VIEW));
+        policyEngine.removePolicy("private_project_deny");
+        assertFalse(cache.hasPermission("doc1", "outsider1", CAN_VIEW));
+        assertEquals(3, cache.getStatistics().invalidations());
+    }
+
+    @Test
+    void testCacheEvictsLeastRecentlyUsed() {
+        // Given
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+        var cache = new CachingPolicyEngine(policyEngine, dataLoader, 2);
+
+        // When
+        cache.hasPermission("d1", "u1", CAN_VIEW);
+        cache.hasPermission("d2", "u1", CAN_VIEW);
+        cache.hasPermission("d1", "u1", CAN_VIEW); // d1 최근 사용
+        cache.hasPermission("d3", "u1", CAN_VIEW); // d2 제거
+        cache.hasPermission("d1", "u1", CAN_VIEW);
+
+        // Then
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.hits());
+        assertEquals(3, statistics.misses());
+        assertEquals(1, statistics.evictions());
+        assertEquals(2, statistics.size());
+        assertEquals(0.4, statistics.hitRate(), 1e-9);
+    }
+
+    @Test
+    void testConcurrentChecksShareCache() throws Exception {
+        // Given
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+        var cache = new CachingPolicyEngine(policyEngine, dataLoader, 8);
+        List<String> documents = List.of("d1", "d2", "d3", "d4");
+        List<String> users = List.of("u1", "u2", "u3", "u4");
+        int threads = 8;
+        int iterations = 2_000;
+
+        // When - 여러 스레드가 같은 결정을 반복 확인 (항목 수 16 > 최대 크기 8이므로 제거도 함께 발생)
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < iterations; i++) {
+                    String document = documents.get((seed + i) % documents.size());
+                    String user = users.get((seed * 3 + i / 4) % users.size());
+                    assertEquals(policyEngine.hasPermission(document, user, CAN_VIEW),
+                        cache.hasPermission(document, user, CAN_VIEW));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then - 모든 조회가 적중 또는 미스로 집계되고 크기 제한을 지킴
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals((long) threads * iterations, statistics.hits() + statistics.misses());
+        assertTrue(statistics.hits() > 0);
+        assertTrue(statistics.size() <= 8);
+    }
+
+    @Test
+    void testCacheInvalidatedByFallbackTeamChange() {
+        // Given - 프로젝트가 없는 문서는 사용자의 팀 중 ID가 가장 작은 팀으로 평가
+        var dataLoader = new InMemoryDataLoader();
+        var user = new User("orphanUser", "orphan@example.com", "Orphan");
+        var document = new Document("orphanDoc", "Orphan", "missingProject", "someoneElse", null, false);
+        dataLoader.addUser(user)
+            .addTeam(new Team("teamA", "A", PlanType.ENTERPRISE))
+            .addTeam(new Team("teamB", "B", PlanType.ENTERPRISE))
+            .addTeamMembership(new TeamMembership("orphanUser", "teamB", RoleType.VIEWER))
+            .addTeamMembership(new TeamMembership("orphanUser", "teamA", RoleType.VIEWER));
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicy(new Policy("enterprise_team_view", "enterprise 팀은 조회 가능", EffectType.ALLOW,
+            Set.of(CAN_VIEW), new BinaryExpressionDef("team.plan", EQUALS, "ENTERPRISE"), Set.of("team")));
+        var cache = new CachingPolicyEngine(policyEngine, dataLoader, 100);
+        assertTrue(cache.hasPermission(document, user, CAN_VIEW));
+
+        // When - 대체 팀(teamA)의 플랜 변경
+        dataLoader.addTeam(new Team("teamA", "A", PlanType.FREE));
+
+        // Then - 대체 팀의 버전도 결정 버전에 포함되어 무효화
+        assertFalse(cache.hasPermission(document, user, CAN_VIEW));
+        assertEquals(1, cache.getStatistics().invalidations());
+        assertEquals(policyEngine.hasPermission(document, user, CAN_VIEW), cache.hasPermission(document, user, CAN_VIEW));
+    }
+
+    @Test
+    void testClockQueueStaysBoundedUnderInvalidation() {
+        // Given
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+        var cache = new CachingPolicyEngine(policyEngine, dataLoader, 4);
+
+        // When - 같은 결정을 계속 무효화하여 항목 수는 그대로인 채 교체만 반복
+        for (int i = 0; i < 1_000; i++) {
+            cache.hasPermission("d1", "u1", CAN_VIEW);
+            dataLoader.addUser(new User("u1", "user" + i + "@example.com", "User 1"));
+        }
+
+        // Then - 교체된 항목의 큐 노드도 정리되어 큐가 최대 크기의 두 배 안팎으로 유지
+        assertTrue(cache.queuedNodes() <= 2 * 4 + 1);
+        assertTrue(cache.getStatistics().size() <= 4);
+    }
+}
@@ -0,0 +1,77 @@
+package com.permissions.engine;
+
+import com.permissions.model.*;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.loader.TestDataBuilder;
+import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.policy.EffectType;
+import com.permissions.policy.Policy;
+import com.permissions.policy.StandardPolicies;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.permissions.model.PermissionType.*;
+
+/**
+ * 권한 확인 중 정책 세대를 교체해도 읽기 스레드가 일관된 스냅샷만 보는지 검증
+ */
+class ConcurrentPolicyReloadTest {
+
+    @Test
+    void testReadersSeeWholeGenerations() throws Exception {
+        // Given - 공개 링크 정책 포함/제외 두 세대
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+
+        List<Policy> withPublicLink = StandardPolicies.getAllStandardPolicies();
+        List<Policy> withoutPublicLink = withPublicLink.stream()
+            .filter(policy -> !policy.name().equals("public_link_allow"))
+            .toList();
+        policyEngine.replacePolicies(withPublicLink);
+
+        int readers = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(readers + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When - 읽기 스레드는 계속 권한 확인, 쓰기 스레드는 세대 교체
+        for (int i = 0; i < readers; i++) {
+            futures.add(executor.submit(() -> {
+                while (running.get()) {
+                    PolicySnapshot snapshot = policyEngine.getSnapshot();
+                    long expectedAllows = snapshot.policies().stream()
+                        .filter(p -> p.policy().effect() == EffectType.ALLOW)
+                        .filter(p -> p.policy().permissions().contains(CAN_VIEW))
+                        .count();
+                    assertEquals(expectedAllows, snapshot.plan(CAN_VIEW).allowPolicies().size());
+                    policyEngine.hasPermission("d2", "u3", CAN_VIEW);
+                    policyEngine.effectivePermissions("d1", "u1");
+                }
+                return null;
+            }));
+        }
+        futures.add(executor.submit(() -> {
+            for (int i = 0; i < 2_000; i++) {
+                policyEngine.replacePolicies(i % 2 == 0 ? withoutPublicLink : withPublicLink);
+            }
+            running.set(false);
+            return null;
+        }));
+
+        // Then - 예외 없이 종료되고 마지막 세대가 반영됨
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(2_001, policyEngine.getPolicyGeneration());
+        assertTrue(policyEngine.hasPermission("d2", "u3", CAN_VIEW));
+        assertEquals(withPublicLink.size(), policyEngine.getPolicies().size());
+    }
+}
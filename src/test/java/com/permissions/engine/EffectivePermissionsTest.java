@@ -0,0 +1,73 @@
+package com.permissions.engine;
+
+import com.permissions.model.*;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.loader.TestDataBuilder;
+import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.policy.StandardPolicies;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.permissions.model.PermissionType.*;
+
+/**
+ * 모든 권한을 한 번에 계산한 결과가 권한별 hasPermission과 동일한지 검증
+ */
+class EffectivePermissionsTest {
+
+    @Test
+    void testEffectivePermissionsMatchSingleChecks() {
+        // Given - 기본 시나리오 데이터
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+
+        // 정책이 없으면 빈 집합
+        assertTrue(policyEngine.effectivePermissions("d1", "u1").isEmpty());
+
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+
+        // When & Then
+        for (String documentId : List.of("d1", "d2", "d3", "d4")) {
+            for (String userId : List.of("u1", "u2", "u3", "u4")) {
+                EnumSet<PermissionType> expected = EnumSet.noneOf(PermissionType.class);
+                for (PermissionType permission : PermissionType.values()) {
+                    if (policyEngine.hasPermission(documentId, userId, permission)) {
+                        expected.add(permission);
+                    }
+                }
+                assertEquals(expected, policyEngine.effectivePermissions(documentId, userId),
+                    documentId + " / " + userId);
+            }
+        }
+
+        // d1 생성자이자 팀 admin인 u1은 모든 권한 보유, 삭제된 d3는 보기만 가능
+        assertEquals(EnumSet.allOf(PermissionType.class), policyEngine.effectivePermissions("d1", "u1"));
+        assertEquals(EnumSet.of(CAN_VIEW), policyEngine.effectivePermissions("d3", "u1"));
+    }
+
+    @Test
+    void testEvaluationStatisticsCountSavedLeafEvaluations() {
+        // Given - 여러 정책이 같은 비교식(사용자-멤버십 연결 등)을 공유하는 표준 정책
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+
+        // When
+        for (String documentId : List.of("d1", "d2", "d3", "d4")) {
+            for (String userId : List.of("u1", "u2", "u3", "u4")) {
+                policyEngine.effectivePermissions(documentId, userId);
+            }
+        }
+
+        // Then - 확인마다 평가 하나가 기록되고, 공유 비교식은 메모된 결과를 재사용
+        EvaluationStatistics statistics = policyEngine.getEvaluationStatistics();
+        assertEquals(16, statistics.evaluations());
+        assertTrue(statistics.leafEvaluations() > 0);
+        assertTrue(statistics.savedLeafEvaluations() > 0, statistics.toString());
+    }
+}
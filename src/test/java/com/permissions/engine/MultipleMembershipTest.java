@@ -0,0 +1,66 @@
+package com.permissions.engine;
+
+import com.permissions.model.*;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.evaluator.EvaluationResult;
+import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.policy.StandardPolicies;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.permissions.model.PermissionType.*;
+
+/**
+ * 여러 팀/프로젝트에 속한 사용자의 멤버십이 리소스 기준으로 로드되는지 검증
+ */
+class MultipleMembershipTest {
+
+    @Test
+    void testMembershipResolvedByResource() {
+        // Given - u1은 다른 프로젝트/팀 멤버십을 먼저 가지고 있음
+        var user = new User("u1", "user@example.com", "User");
+        var otherProjectDoc = new Document("d0", "Other", "p0", "u9", null, false);
+        var editorDoc = new Document("d1", "Document", "p1", "u9", null, false);
+        var adminTeamDoc = new Document("d2", "Admin Team Document", "p2", "u9", null, false);
+        var strangerDoc = new Document("d3", "Stranger Document", "p3", "u9", null, false);
+
+        var dataLoader = new InMemoryDataLoader()
+            .addUser(user)
+            .addTeam(new Team("t1", "Team", PlanType.PRO))
+            .addTeam(new Team("t2", "Admin Team", PlanType.PRO))
+            .addTeam(new Team("t3", "Stranger Team", PlanType.PRO))
+            .addProject(new Project("p0", "Other", "t1", VisibilityType.PRIVATE))
+            .addProject(new Project("p1", "Project", "t1", VisibilityType.PRIVATE))
+            .addProject(new Project("p2", "Admin Project", "t2", VisibilityType.PRIVATE))
+            .addProject(new Project("p3", "Stranger Project", "t3", VisibilityType.PRIVATE))
+            .addDocument(otherProjectDoc).addDocument(editorDoc).addDocument(adminTeamDoc).addDocument(strangerDoc)
+            .addTeamMembership(new TeamMembership("u1", "t1", RoleType.VIEWER))
+            .addTeamMembership(new TeamMembership("u1", "t2", RoleType.ADMIN))
+            .addProjectMembership(new ProjectMembership("u1", "p0", RoleType.VIEWER))
+            .addProjectMembership(new ProjectMembership("u1", "p1", RoleType.EDITOR));
+
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+
+        // When & Then - 첫 번째 멤버십이 아니라 문서의 프로젝트 멤버십으로 평가
+        assertTrue(policyEngine.hasPermission(editorDoc, user, CAN_VIEW), "p1 editor는 볼 수 있음");
+        assertTrue(policyEngine.hasPermission(editorDoc, user, CAN_EDIT), "p1 editor는 편집 가능");
+        var details = policyEngine.evaluateWithDetails(otherProjectDoc, user, CAN_VIEW);
+        assertEquals("private_project_deny", details.policyResults().get(0).policyName());
+        assertEquals(EvaluationResult.FALSE, details.policyResults().get(0).result(), "p0 멤버이므로 private 거부 대상 아님");
+        assertFalse(policyEngine.hasPermission(otherProjectDoc, user, CAN_EDIT), "p0 viewer는 편집 불가");
+
+        // 두 번째 팀 멤버십(t2 admin)으로 팀 admin 권한 적용
+        assertTrue(policyEngine.hasPermission(adminTeamDoc, user, CAN_VIEW), "t2 admin은 볼 수 있음");
+        assertTrue(policyEngine.hasPermission(adminTeamDoc, user, CAN_SHARE), "t2 admin은 공유 가능");
+        assertFalse(policyEngine.hasPermission(adminTeamDoc, user, CAN_DELETE), "생성자가 아님");
+
+        // 관련 멤버십이 없는 private 프로젝트는 접근 불가
+        assertFalse(policyEngine.hasPermission(strangerDoc, user, CAN_VIEW), "p3 멤버 아님");
+        assertFalse(policyEngine.hasPermission(strangerDoc, user, CAN_EDIT), "p3 멤버 아님");
+
+        // 키 기반 멤버십 조회
+        assertEquals(RoleType.EDITOR, dataLoader.getProjectMembership("u1", "p1").orElseThrow().role());
+        assertTrue(dataLoader.getTeamMembership("u1", "t3").isEmpty());
+    }
+}
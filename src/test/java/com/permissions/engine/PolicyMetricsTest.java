@@ -0,0 +1,119 @@
+package com.permissions.engine;
+
+import com.permissions.evaluator.EvaluationResult;
+import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.loader.TestDataBuilder;
+import com.permissions.metrics.RecordingPolicyMetrics;
+import com.permissions.model.PermissionType;
+import com.permissions.policy.StandardPolicies;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.permissions.model.PermissionType.*;
+
+/**
+ * PolicyEngine 계측이 권한별 결과, 결정 정책, 정책별 결과, 로드 지연을 기록하는지 검증
+ */
+class PolicyMetricsTest {
+
+    private static final List<String> DOCUMENTS = List.of("d1", "d2", "d3", "d4");
+    private static final List<String> USERS = List.of("u1", "u2", "u3", "u4");
+
+    @Test
+    void testRecordsChecksAndDecisions() {
+        // Given - 기본 시나리오와 계측이 있는 엔진
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var metrics = new RecordingPolicyMetrics();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator(), metrics);
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+
+        // When
+        int allowed = 0;
+        for (String documentId : DOCUMENTS) {
+            for (String userId : USERS) {
+                if (policyEngine.hasPermission(documentId, userId, CAN_EDIT)) {
+                    allowed++;
+                }
+            }
+        }
+
+        // Then - 확인 수와 허용/거부 수
+        assertEquals(16, metrics.checkLatency(CAN_EDIT).count());
+        assertEquals(allowed, metrics.allowedCount(CAN_EDIT));
+        assertEquals(16 - allowed, metrics.deniedCount(CAN_EDIT));
+        assertEquals(0, metrics.checkLatency(CAN_VIEW).count());
+
+        // Then - 결정 정책 합계는 확인 수와 같고, 삭제 문서(d3)는 deleted_document_deny가 결정
+        Map<String, Long> decisions = metrics.decisions(CAN_EDIT);
+        assertEquals(16, decisions.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(4, decisions.get("deleted_document_deny"));
+        assertTrue(decisions.containsKey(RecordingPolicyMetrics.DEFAULT_DENY), decisions.toString());
+
+        // Then - 멤버가 아닌 사용자의 멤버십 조건은 NULL, 로드는 계획의 테이블 조합으로 기록
+        assertTrue(metrics.nullResults() > 0);
+        assertTrue(metrics.policyResults("deleted_document_deny", EvaluationResult.FALSE) > 0);
+        assertEquals(16, metrics.loadLatency(policyEngine.getPlan(CAN_EDIT).requiredTables()).count());
+
+        // Then - 한 번에 로드해도 계획의 테이블마다 조회 지연이 따로 기록됨
+        for (String table : policyEngine.getPlan(CAN_EDIT).requiredTables()) {
+            assertEquals(16, metrics.tableLoadLatency(table).count(), table);
+        }
+        assertEquals(0, metrics.tableLoadLatency("unknown").count());
+    }
+
+    @Test
+    void testStagedLoadsRecordedPerTable() {
+        // Given
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var metrics = new RecordingPolicyMetrics();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator(), metrics);
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+        policyEngine.setLoadingMode(LoadingMode.STAGED);
+
+        // When
+        for (String documentId : DOCUMENTS) {
+            for (String userId : USERS) {
+                for (PermissionType permission : PermissionType.values()) {
+                    policyEngine.hasPermission(documentId, userId, permission);
+                }
+            }
+        }
+
+        // Then - 테이블마다 따로 기록되고 합계는 단계적 로딩 통계와 같음
+        long loads = 0;
+        for (String table : List.of("user", "team", "project", "document", "teamMembership", "projectMembership")) {
+            loads += metrics.loadLatency(Set.of(table)).count();
+        }
+        assertEquals(policyEngine.getLoadingStatistics().tablesFetched(), loads);
+        assertEquals(metrics.loadLatency(Set.of("document")).count(), metrics.tableLoadLatency("document").count());
+        assertEquals(16, metrics.checkLatency(CAN_VIEW).count());
+        assertEquals(16, metrics.decisions(CAN_VIEW).values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void testAsyncLoadsRecordedPerTable() {
+        // Given
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var metrics = new RecordingPolicyMetrics();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator(), metrics);
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+
+        // When
+        for (String documentId : DOCUMENTS) {
+            policyEngine.hasPermissionAsync(documentId, "u1", CAN_VIEW).join();
+        }
+
+        // Then - 동시에 로드한 테이블마다 요청부터 완료까지의 지연이 기록됨
+        for (String table : policyEngine.getPlan(CAN_VIEW).requiredTables()) {
+            assertEquals(4, metrics.tableLoadLatency(table).count(), table);
+        }
+    }
+}
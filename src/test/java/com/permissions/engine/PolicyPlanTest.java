@@ -0,0 +1,70 @@
+package com.permissions.engine;
+
+import com.permissions.model.*;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.policy.StandardPolicies;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.permissions.model.PermissionType.*;
+
+/**
+ * 권한별 평가 계획이 정책 추가/제거에 맞춰 다시 만들어지는지 검증
+ */
+class PolicyPlanTest {
+
+    @Test
+    void testPlansFollowPolicyChanges() {
+        // Given
+        var user = new User("u1", "user@example.com", "User");
+        var document = new Document("d1", "Document", "p1", "u2", null, true);
+        var dataLoader = new InMemoryDataLoader()
+            .addUser(user)
+            .addTeam(new Team("t1", "Team", PlanType.PRO))
+            .addProject(new Project("p1", "Project", "t1", VisibilityType.PUBLIC))
+            .addDocument(document);
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+
+        // 정책이 없으면 모든 계획이 비어 있음
+        for (PermissionType permission : PermissionType.values()) {
+            assertTrue(policyEngine.getPlan(permission).isEmpty());
+        }
+
+        // When - 표준 정책 등록
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+
+        // Then - DENY/ALLOW 분류와 필요한 테이블이 미리 계산됨
+        PolicyPlan viewPlan = policyEngine.getPlan(CAN_VIEW);
+        assertEquals(1, viewPlan.denyPolicies().size());
+        assertEquals(4, viewPlan.allowPolicies().size());
+        assertEquals(Set.of("user", "document", "project", "teamMembership", "projectMembership"),
+            viewPlan.requiredTables());
+        assertTrue(policyEngine.getPlan(CAN_SHARE).requiredTables().contains("team"));
+        assertTrue(policyEngine.hasPermission(document, user, CAN_VIEW));
+
+        // When - 공개 링크 정책 제거
+        assertTrue(policyEngine.removePolicy("public_link_allow"));
+
+        // Then - 계획이 다시 만들어져 더 이상 허용되지 않음
+        assertEquals(3, policyEngine.getPlan(CAN_VIEW).allowPolicies().size());
+        assertFalse(policyEngine.hasPermission(document, user, CAN_VIEW));
+        assertFalse(policyEngine.removePolicy("public_link_allow"));
+    }
+    
+    @Test
+    void testPublishedPlanCannotBeModified() {
+        // Given
+        var policyEngine = new PolicyEngine(new InMemoryDataLoader(), new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+        PolicyPlan plan = policyEngine.getPlan(CAN_VIEW);
+        
+        // When & Then - 공개된 계획의 정책 목록은 변경할 수 없음
+        assertThrows(UnsupportedOperationException.class, () -> plan.denyPolicies().set(0, null));
+        assertThrows(UnsupportedOperationException.class, () -> plan.allowPolicies().clear());
+        assertEquals(1, policyEngine.getPlan(CAN_VIEW).denyPolicies().size());
+        assertEquals(plan, policyEngine.getSnapshot().plan(CAN_VIEW));
+    }
+}
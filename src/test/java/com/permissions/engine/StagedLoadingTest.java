@@ -0,0 +1,58 @@
+package com.permissions.engine;
+
+import com.permissions.model.*;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.loader.TestDataBuilder;
+import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.policy.StandardPolicies;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.permissions.model.PermissionType.*;
+
+/**
+ * 단계적 로딩 결과가 EAGER 로딩과 동일하고, 불필요한 테이블 로드를 생략하는지 검증
+ */
+class StagedLoadingTest {
+
+    @Test
+    void testStagedMatchesEagerAndSkipsTables() {
+        // Given - 기본 시나리오 데이터
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var eagerEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        eagerEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+        var stagedEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        stagedEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+        stagedEngine.setLoadingMode(LoadingMode.STAGED);
+
+        // When & Then - 모든 조합에서 결과 동일
+        for (String documentId : List.of("d1", "d2", "d3", "d4")) {
+            for (String userId : List.of("u1", "u2", "u3", "u4", "unknown")) {
+                for (PermissionType permission : PermissionType.values()) {
+                    assertEquals(eagerEngine.hasPermission(documentId, userId, permission),
+                        stagedEngine.hasPermission(documentId, userId, permission),
+                        documentId + " / " + userId + " / " + permission);
+                }
+            }
+        }
+
+        // public 프로젝트의 공개 링크 문서는 멤버십 조회 없이 결정
+        StagedCheckResult publicView = stagedEngine.checkStaged("d2", "u3", CAN_VIEW);
+        assertTrue(publicView.allowed());
+        assertEquals(3, publicView.tablesFetched(), "document, user, project만 로드");
+        assertEquals(2, publicView.tablesAvoided(), "멤버십 테이블 두 개 생략");
+
+        // 삭제된 문서의 편집은 document 테이블만으로 거부
+        StagedCheckResult deletedEdit = stagedEngine.checkStaged("d3", "u3", CAN_EDIT);
+        assertFalse(deletedEdit.allowed());
+        assertEquals(1, deletedEdit.tablesFetched());
+
+        LoadingStatistics statistics = stagedEngine.getLoadingStatistics();
+        assertEquals(4 * 5 * 4 + 2, statistics.checks());
+        assertTrue(statistics.tablesAvoided() > 0);
+        assertEquals(0, eagerEngine.getLoadingStatistics().checks());
+    }
+}
@@ -0,0 +1,100 @@
+package com.permissions.engine;
+
+import com.permissions.dsl.BinaryExpressionDef;
+import com.permissions.dsl.OperatorType;
+import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.loader.SyntheticDataConfig;
+import com.permissions.loader.TestDataBuilder;
+import com.permissions.model.PermissionType;
+import com.permissions.policy.EffectType;
+import com.permissions.policy.Policy;
+import com.permissions.policy.StandardPolicies;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.permissions.model.PermissionType.*;
+
+/**
+ * 사용자 세션(부분 평가로 특수화한 정책)이 hasPermission과 같은 결과를 내는지 검증
+ */
+class UserSessionTest {
+
+    @Test
+    void testSessionMatchesEngineOnSyntheticTenant() {
+        // Given - 합성 테넌트와 표준 정책
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupSyntheticTenant(SyntheticDataConfig.productionShape(5).scaled(0.001));
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+
+        List<String> userIds = new ArrayList<>(dataLoader.getAllUserIds());
+        userIds.add("unknown");
+
+        // When & Then - EAGER/STAGED 모두 모든 사용자, 문서, 권한에 대해 동일
+        for (LoadingMode mode : LoadingMode.values()) {
+            policyEngine.setLoadingMode(mode);
+            for (String userId : userIds) {
+                UserSession session = policyEngine.openSession(userId);
+                for (String documentId : dataLoader.getAllDocumentIds()) {
+                    for (PermissionType permission : PermissionType.values()) {
+                        assertEquals(policyEngine.hasPermission(documentId, userId, permission),
+                            session.hasPermission(documentId, permission),
+                            mode + " / " + documentId + " / " + userId + " / " + permission);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testResidualPlanSkipsUserTable() {
+        // Given
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+
+        // When
+        UserSession session = policyEngine.openSession("u1");
+        UserSession unknown = policyEngine.openSession("unknown");
+
+        // Then - user.id 비교가 값 비교로 바뀌어 user 테이블을 로드하지 않음
+        assertTrue(policyEngine.getPlan(CAN_VIEW).requiredTables().contains("user"));
+        assertFalse(session.getPlan(CAN_VIEW).requiredTables().contains("user"));
+        CompiledPolicy creator = session.getPlan(CAN_VIEW).allowPolicies().stream()
+            .filter(policy -> policy.policy().name().equals("document_creator_allow"))
+            .findFirst().orElseThrow();
+        assertEquals(new BinaryExpressionDef("document.creatorId", OperatorType.EQUALS, "u1"), creator.policy().applyFilter());
+
+        // Then - 없는 사용자는 사용자 조건이 NULL이 되어 사용자와 무관한 공개 링크 정책만 남음
+        assertEquals(List.of("public_link_allow"), unknown.getPlan(CAN_VIEW).allowPolicies().stream()
+            .map(policy -> policy.policy().name()).toList());
+        assertTrue(unknown.getPlan(CAN_EDIT).isEmpty());
+        assertEquals(policyEngine.hasPermission("d2", "unknown", CAN_VIEW), unknown.hasPermission("d2", CAN_VIEW));
+    }
+
+    @Test
+    void testRespecializesAfterPolicyChange() {
+        // Given - 세션을 연 뒤 정책 변경
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+        UserSession session = policyEngine.openSession("u1");
+        assertTrue(session.hasPermission("d1", CAN_VIEW));
+
+        // When - u1(Alice)의 모든 문서 열람을 거부하는 정책 추가
+        policyEngine.addPolicy(new Policy("alice_deny", "", EffectType.DENY, Set.of(CAN_VIEW),
+            new BinaryExpressionDef("user.name", OperatorType.EQUALS, "Alice"), Set.of("user")));
+
+        // Then - 다음 확인에서 새 정책 세대로 다시 특수화되고, 데이터 로드 없이 거부
+        assertFalse(session.hasPermission("d1", CAN_VIEW));
+        assertFalse(policyEngine.hasPermission("d1", "u1", CAN_VIEW));
+        assertTrue(session.getPlan(CAN_VIEW).isEmpty());
+    }
+}
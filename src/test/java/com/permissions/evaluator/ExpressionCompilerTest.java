@@ -0,0 +1,194 @@
+package com.permissions.evaluator;
+
+import com.permissions.dsl.BinaryExpressionDef;
+import com.permissions.dsl.ExpressionDef;
+import com.permissions.dsl.FieldReference;
+import com.permissions.dsl.OperatorType;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.loader.TestDataBuilder;
+import com.permissions.policy.StandardPolicies;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 컴파일된 표현식이 인터프리터(ExpressionEvaluator)와 동일한 결과를 내는지 검증
+ */
+class ExpressionCompilerTest {
+
+    private static final List<String> DOCUMENTS = List.of("d1", "d2", "d3", "d4");
+    private static final List<String> USERS = List.of("u1", "u2", "u3", "u4", "unknown");
+    private static final Set<String> ALL_TABLES =
+        Set.of("user", "team", "project", "document", "teamMembership", "projectMembership");
+
+    @Test
+    void testCompiledMatchesInterpreted() {
+        // Given - 기본 시나리오 데이터
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+
+        var evaluator = new ExpressionEvaluator();
+        var compiler = new ExpressionCompiler();
+
+        // When & Then - 모든 테이블 로드 및 테이블 하나씩 누락(NULL 경로)된 경우 모두 비교
+        for (var policy : StandardPolicies.getAllStandardPolicies()) {
+            var compiled = compiler.compile(policy.applyFilter());
+
+            for (String documentId : DOCUMENTS) {
+                for (String userId : USERS) {
+                    for (String missing : List.of("", "user", "document", "project", "teamMembership", "projectMembership")) {
+                        Set<String> tables = new HashSet<>(ALL_TABLES);
+                        tables.remove(missing);
+                        var data = dataLoader.loadData(documentId, userId, tables);
+
+                        assertEquals(evaluator.evaluate(policy.applyFilter(), data), compiled.evaluate(data),
+                            policy.name() + " / " + documentId + " / " + userId + " / missing=" + missing);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLoaderFilledFrameMatchesMapData() {
+        // Given - 기본 시나리오 데이터
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+
+        var evaluator = new ExpressionEvaluator();
+        var compiler = new ExpressionCompiler();
+        var frame = new EvaluationFrame();
+
+        // When & Then - 로더가 슬롯에 직접 기록한 프레임(재사용)으로 평가해도 맵 기반 인터프리터와 동일
+        for (var policy : StandardPolicies.getAllStandardPolicies()) {
+            var compiled = compiler.compile(policy.applyFilter());
+
+            for (String documentId : DOCUMENTS) {
+                for (String userId : USERS) {
+                    for (String missing : List.of("", "user", "document", "team", "teamMembership", "projectMembership")) {
+                        Set<String> tables = new HashSet<>(ALL_TABLES);
+                        tables.remove(missing);
+                        dataLoader.loadFrame(documentId, userId, tables, frame.reset());
+
+                        assertEquals(evaluator.evaluate(policy.applyFilter(), dataLoader.loadData(documentId, userId, tables)),
+                            compiled.evaluate(frame),
+                            policy.name() + " / " + documentId + " / " + userId + " / missing=" + missing);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFrameRoundTripsMapData() {
+        // Given
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var data = dataLoader.loadData("d2", "u2", ALL_TABLES);
+
+        // When
+        var frame = EvaluationFrame.of(data);
+
+        // Then - 로드된 테이블만 표시되고 값은 슬롯을 거쳐도 동일
+        assertEquals(data, frame.toMap());
+        assertEquals("PUBLIC", frame.get(EvaluationFrame.PROJECT_VISIBILITY));
+        assertFalse(EvaluationFrame.of(dataLoader.loadData("d2", "u3", Set.of("projectMembership")))
+            .isLoaded(EvaluationFrame.PROJECT_MEMBERSHIP));
+        assertEquals(-1, EvaluationFrame.slot("document", "unknownColumn"));
+    }
+
+    @Test
+    void testCompileAllSharesSubexpressions() {
+        // Given - 같은 하위 조건이 여러 정책에 나오는 표현식 집합 (단계적 로딩처럼 테이블을 하나씩 추가)
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var compiler = new ExpressionCompiler();
+        List<ExpressionDef> expressions = new ArrayList<>();
+        StandardPolicies.getAllStandardPolicies().forEach(policy -> expressions.add(policy.applyFilter()));
+        expressions.add(StandardPolicies.privateProjectDenyPolicy().applyFilter());
+
+        // When
+        List<CompiledExpression> shared = compiler.compileAll(expressions);
+        var frame = new EvaluationFrame();
+
+        // Then - 공유 노드의 메모는 테이블이 추가될 때마다 비워져 개별 컴파일 결과와 항상 같음
+        for (String documentId : DOCUMENTS) {
+            for (String userId : USERS) {
+                frame.reset();
+                for (String table : List.of("document", "user", "project", "team", "projectMembership", "teamMembership")) {
+                    dataLoader.loadFrame(documentId, userId, Set.of(table), frame);
+                    var data = frame.toMap();
+                    for (int i = 0; i < expressions.size(); i++) {
+                        assertEquals(compiler.compile(expressions.get(i)).evaluate(data), shared.get(i).evaluate(frame),
+                            i + " / " + documentId + " / " + userId + " / +" + table);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testCompileAllInternsEquivalentComparisons() {
+        // Given - 좌우 순서나 연산자 표기만 다른 같은 비교식
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var compiler = new ExpressionCompiler();
+        List<ExpressionDef> expressions = List.of(
+            new BinaryExpressionDef("user.id", OperatorType.EQUALS, new FieldReference("document.creatorId")),
+            new BinaryExpressionDef("document.creatorId", OperatorType.NOT_EQUALS, new FieldReference("user.id")),
+            new BinaryExpressionDef("user.name", OperatorType.GREATER_EQUAL, new FieldReference("document.title")),
+            new BinaryExpressionDef("document.title", OperatorType.GREATER_THAN, new FieldReference("user.name")),
+            new BinaryExpressionDef("document.title", OperatorType.LESS_EQUAL, new FieldReference("user.name"))
+        );
+
+        // When
+        List<CompiledExpression> shared = compiler.compileAll(expressions);
+        var frame = new EvaluationFrame();
+
+        // Then - 결과는 개별 컴파일과 같고, 서로 다른 비교는 두 개뿐이므로 비교식 평가는 확인마다 두 번
+        // (LESS_EQUAL과 반대쪽 GREATER_EQUAL은 같은 NOT 노드를 공유하여 하위 표현식 재사용으로 집계)
+        for (String documentId : DOCUMENTS) {
+            for (String userId : USERS) {
+                frame.reset();
+                dataLoader.loadFrame(documentId, userId, ALL_TABLES, frame);
+                var data = frame.toMap();
+                for (int i = 0; i < expressions.size(); i++) {
+                    assertEquals(compiler.compile(expressions.get(i)).evaluate(data), shared.get(i).evaluate(frame),
+                        i + " / " + documentId + " / " + userId);
+                }
+                assertEquals(2, frame.leafEvaluations(), documentId + " / " + userId);
+                assertEquals(2, frame.savedLeafEvaluations(), documentId + " / " + userId);
+                assertEquals(1, frame.savedSubexpressionEvaluations(), documentId + " / " + userId);
+            }
+        }
+    }
+
+    @Test
+    void testFieldJoinComparesDictionaryIdsWhenBothSidesHaveThem() {
+        // Given - user.id == document.creatorId
+        var compiled = new ExpressionCompiler().compile(
+            new BinaryExpressionDef("user.id", OperatorType.EQUALS, new FieldReference("document.creatorId")));
+        var frame = new EvaluationFrame();
+        frame.markLoaded(EvaluationFrame.USER).markLoaded(EvaluationFrame.DOCUMENT);
+
+        // When & Then - 양쪽 정수 ID가 있으면 정수로 비교
+        frame.set(EvaluationFrame.USER_ID, "u1", 7).set(EvaluationFrame.DOCUMENT_CREATOR_ID, "u1", 7);
+        assertEquals(EvaluationResult.TRUE, compiled.evaluate(frame));
+        frame.set(EvaluationFrame.DOCUMENT_CREATOR_ID, "u2", 8);
+        assertEquals(EvaluationResult.FALSE, compiled.evaluate(frame));
+
+        // When & Then - 한쪽이라도 정수 ID가 없으면 값으로 비교
+        frame.set(EvaluationFrame.DOCUMENT_CREATOR_ID, new String("u1"));
+        assertEquals(0, frame.id(EvaluationFrame.DOCUMENT_CREATOR_ID));
+        assertEquals(EvaluationResult.TRUE, compiled.evaluate(frame));
+
+        // When & Then - 테이블을 다시 로드하면 정수 ID도 지워짐
+        frame.markLoaded(EvaluationFrame.USER);
+        assertEquals(0, frame.id(EvaluationFrame.USER_ID));
+    }
+}
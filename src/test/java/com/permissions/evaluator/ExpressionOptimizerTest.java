@@ -0,0 +1,103 @@
+package com.permissions.evaluator;
+
+import com.permissions.dsl.*;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.loader.TestDataBuilder;
+import com.permissions.policy.StandardPolicies;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 최적화한 표현식이 원래 표현식과 같은 결과를 내고, 평탄화/상수 접기/중복 제거/재배치가 적용되는지 검증
+ */
+class ExpressionOptimizerTest {
+
+    private static final List<String> DOCUMENTS = List.of("d1", "d2", "d3", "d4", "missing");
+    private static final List<String> USERS = List.of("u1", "u2", "u3", "u4", "unknown");
+    private static final Set<String> ALL_TABLES =
+        Set.of("user", "team", "project", "document", "teamMembership", "projectMembership");
+
+    private final ExpressionOptimizer optimizer = new ExpressionOptimizer();
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+
+    private static final BinaryExpressionDef PRIVATE =
+        new BinaryExpressionDef("project.visibility", OperatorType.EQUALS, "PRIVATE");
+    private static final BinaryExpressionDef TEAM_ADMIN =
+        new BinaryExpressionDef("teamMembership.role", OperatorType.EQUALS, "ADMIN");
+    private static final BinaryExpressionDef CREATOR =
+        new BinaryExpressionDef("user.id", OperatorType.EQUALS, new FieldReference("document.creatorId"));
+
+    @Test
+    void testOptimizedMatchesOriginal() {
+        // Given - 기본 시나리오와 표준 정책 및 중첩/상수/중복 조건
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        List<ExpressionDef> expressions = new ArrayList<>();
+        StandardPolicies.getAllStandardPolicies().forEach(policy -> expressions.add(policy.applyFilter()));
+        expressions.add(new OrExpressionDef(List.of(
+            new AndExpressionDef(List.of(TEAM_ADMIN, new AndExpressionDef(List.of(PRIVATE, TEAM_ADMIN)))),
+            new NotExpressionDef(new NotExpressionDef(CREATOR)),
+            ConstantExpressionDef.NULL,
+            new OrExpressionDef(List.of(ConstantExpressionDef.FALSE, PRIVATE))
+        )));
+        expressions.add(new NotExpressionDef(new AndExpressionDef(List.of(
+            ConstantExpressionDef.TRUE, CREATOR, new OrExpressionDef(List.of()), ConstantExpressionDef.NULL))));
+
+        // When & Then - 모든 테이블 로드 및 테이블 하나씩 누락된 경우 모두 같은 결과
+        for (ExpressionDef expression : expressions) {
+            ExpressionDef optimized = optimizer.optimize(expression);
+            for (String documentId : DOCUMENTS) {
+                for (String userId : USERS) {
+                    for (String missing : List.of("", "user", "document", "project", "teamMembership", "projectMembership")) {
+                        Set<String> tables = new HashSet<>(ALL_TABLES);
+                        tables.remove(missing);
+                        var data = dataLoader.loadData(documentId, userId, tables);
+
+                        assertEquals(evaluator.evaluate(expression, data), evaluator.evaluate(optimized, data),
+                            optimized + " / " + documentId + " / " + userId + " / missing=" + missing);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFlattensFoldsAndDedupes() {
+        // Given - 중첩 AND, 중복 조건, 결과에 영향 없는 상수, 이중 부정
+        var expression = new AndExpressionDef(List.of(
+            ConstantExpressionDef.TRUE,
+            new AndExpressionDef(List.of(PRIVATE, new NotExpressionDef(new NotExpressionDef(TEAM_ADMIN)))),
+            PRIVATE
+        ));
+
+        // When
+        ExpressionDef optimized = optimizer.optimize(expression);
+
+        // Then
+        assertEquals(new AndExpressionDef(List.of(PRIVATE, TEAM_ADMIN)), optimized);
+        assertEquals(ConstantExpressionDef.FALSE,
+            optimizer.optimize(new AndExpressionDef(List.of(PRIVATE, new OrExpressionDef(List.of())))));
+        assertEquals(ConstantExpressionDef.NULL, optimizer.optimize(new NotExpressionDef(
+            new OrExpressionDef(List.of(ConstantExpressionDef.FALSE, ConstantExpressionDef.NULL)))));
+    }
+
+    @Test
+    void testReordersCheapDecisiveConditionsFirst() {
+        // When - private_project_deny: 비공개 여부, 프로젝트 조인, 멤버십 부정 순으로 선언됨
+        ExpressionDef optimized = optimizer.optimize(StandardPolicies.privateProjectDenyPolicy().applyFilter());
+
+        // Then - 상수 비교가 먼저, 멤버십 테이블에 의존하는 NOT 조건이 마지막
+        var and = assertInstanceOf(AndExpressionDef.class, optimized);
+        assertEquals(PRIVATE, and.expressions().get(0));
+        assertInstanceOf(NotExpressionDef.class, and.expressions().get(and.expressions().size() - 1));
+
+        // When - 멤버십 조건이 앞에 선언된 AND
+        ExpressionDef reordered = optimizer.optimize(new AndExpressionDef(List.of(TEAM_ADMIN, PRIVATE)));
+
+        // Then - 행이 없을 때가 많은 멤버십 비교는 NULL이 되기 쉬워 뒤로 감
+        assertEquals(new AndExpressionDef(List.of(PRIVATE, TEAM_ADMIN)), reordered);
+    }
+}
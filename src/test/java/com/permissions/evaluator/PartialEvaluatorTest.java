@@ -0,0 +1,103 @@
+package com.permissions.evaluator;
+
+import com.permissions.dsl.*;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.loader.TestDataBuilder;
+import com.permissions.policy.StandardPolicies;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 부분 평가한 잔여 표현식이 원래 표현식과 같은 결과를 내는지 검증
+ */
+class PartialEvaluatorTest {
+
+    private static final List<String> DOCUMENTS = List.of("d1", "d2", "d3", "d4", "missing");
+    private static final List<String> USERS = List.of("u1", "u2", "u3", "u4", "unknown");
+    private static final Set<String> ALL_TABLES =
+        Set.of("user", "team", "project", "document", "teamMembership", "projectMembership");
+
+    private final PartialEvaluator partialEvaluator = new PartialEvaluator();
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+
+    @Test
+    void testResidualMatchesOriginal() {
+        // Given - 기본 시나리오와 표준 정책 및 null/타입 불일치/크기 비교 조건
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        List<ExpressionDef> expressions = new ArrayList<>();
+        StandardPolicies.getAllStandardPolicies().forEach(policy -> expressions.add(policy.applyFilter()));
+        expressions.add(new OrExpressionDef(List.of(
+            new BinaryExpressionDef("user.name", OperatorType.LESS_THAN, new FieldReference("document.title")),
+            new BinaryExpressionDef("document.deletedAt", OperatorType.GREATER_EQUAL, Instant.EPOCH),
+            new NotExpressionDef(new BinaryExpressionDef("user.email", OperatorType.EQUALS, 42))
+        )));
+        expressions.add(new AndExpressionDef(List.of(
+            new BinaryExpressionDef("teamMembership.role", OperatorType.NOT_EQUALS, new FieldReference("user.name")),
+            new BinaryExpressionDef("user.id", OperatorType.GREATER_THAN, new FieldReference("teamMembership.userId"))
+        )));
+
+        // When & Then - 확정 테이블 조합마다 잔여 표현식을 전체 데이터로 평가한 결과가 원래와 같음
+        List<Set<String>> knownTableSets = List.of(Set.of("user"), Set.of("user", "teamMembership", "projectMembership"),
+            Set.of("document", "project"), ALL_TABLES);
+        for (String documentId : DOCUMENTS) {
+            for (String userId : USERS) {
+                var data = dataLoader.loadData(documentId, userId, ALL_TABLES);
+                for (Set<String> knownTables : knownTableSets) {
+                    Map<String, Map<String, Object>> known = new HashMap<>(data);
+                    known.keySet().retainAll(knownTables);
+
+                    for (ExpressionDef expression : expressions) {
+                        ExpressionDef residual = partialEvaluator.residual(expression, knownTables, known);
+                        assertEquals(evaluator.evaluate(expression, data), evaluator.evaluate(residual, data),
+                            expression + " / " + documentId + " / " + userId + " / known=" + knownTables);
+                        assertTrue(Collections.disjoint(PartialEvaluator.referencedTables(residual), knownTables),
+                            residual.toString());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFoldsKnownBranches() {
+        // Given - 사용자 조건과 문서 조건이 섞인 표현식
+        var expression = new OrExpressionDef(List.of(
+            new BinaryExpressionDef("user.id", OperatorType.EQUALS, new FieldReference("document.creatorId")),
+            new AndExpressionDef(List.of(
+                new BinaryExpressionDef("user.name", OperatorType.EQUALS, "Admin"),
+                new BinaryExpressionDef("document.publicLinkEnabled", OperatorType.EQUALS, true)
+            ))
+        ));
+        Map<String, Map<String, Object>> known = Map.of("user", Map.of("id", "u1", "name", "Alice"));
+
+        // When
+        ExpressionDef residual = partialEvaluator.residual(expression, Set.of("user"), known);
+        ExpressionDef missingUser = partialEvaluator.residual(expression, Set.of("user"), Map.of());
+        ExpressionDef missingCreator = partialEvaluator.residual(expression.expressions().get(0), Set.of("user"), Map.of());
+
+        // Then - user.id는 값으로 바뀌고 FALSE가 된 AND 분기는 제거됨
+        assertEquals(new BinaryExpressionDef("document.creatorId", OperatorType.EQUALS, "u1"), residual);
+        // Then - 사용자가 없으면 사용자 조건이 NULL이 되고, NULL을 포함한 AND/OR는 TRUE가 될 수 없음
+        assertEquals(ConstantExpressionDef.NULL, missingCreator);
+        assertFalse(PartialEvaluator.canBeTrue(missingUser));
+        assertFalse(PartialEvaluator.canBeFalse(new NotExpressionDef(missingUser)));
+    }
+
+    @Test
+    void testFlipsOperatorWhenLeftIsKnown() {
+        // Given - 확정된 필드가 왼쪽에 있는 크기 비교
+        var expression = new BinaryExpressionDef("user.name", OperatorType.GREATER_EQUAL, new FieldReference("document.title"));
+
+        // When
+        ExpressionDef residual = partialEvaluator.residual(expression, Set.of("user"),
+            Map.of("user", Map.of("name", "M")));
+
+        // Then
+        assertEquals(new BinaryExpressionDef("document.title", OperatorType.LESS_EQUAL, "M"), residual);
+    }
+}
@@ -0,0 +1,127 @@
+package com.permissions.loader;
+
+import com.permissions.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ID 사전의 정수 ID 부여와 InMemoryDataLoader의 ID 대표 문자열 공유 검증
+ */
+class IdDictionaryTest {
+
+    @Test
+    void testAssignsDenseIdsAndCanonicalInstances() {
+        // Given
+        var ids = new IdDictionary();
+
+        // When
+        int first = ids.intern("u1");
+        int second = ids.intern("p1");
+        String canonical = ids.canonical(new String("u1"));
+
+        // Then - 1부터 차례로 부여되고 같은 문자열은 같은 ID, 같은 인스턴스
+        assertEquals(1, first);
+        assertEquals(2, second);
+        assertEquals(first, ids.intern(new String("u1")));
+        assertSame(ids.name(first), canonical);
+        assertEquals("p1", ids.name(second));
+
+        // Then - find는 사전을 늘리지 않음
+        assertEquals(IdDictionary.NONE, ids.find("missing"));
+        assertEquals(IdDictionary.NONE, ids.intern(null));
+        assertNull(ids.canonical(null));
+        assertEquals(2, ids.size());
+    }
+
+    @Test
+    void testConcurrentInternAssignsOneIdPerString() throws Exception {
+        // Given
+        var ids = new IdDictionary();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        // When - 여러 스레드가 겹치는 문자열을 동시에 등록
+        List<Future<List<Integer>>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            futures.add(pool.submit(() -> IntStream.range(0, 5_000).mapToObj(i -> ids.intern("id" + i)).toList()));
+        }
+        List<List<Integer>> results = new ArrayList<>();
+        for (Future<List<Integer>> future : futures) {
+            results.add(future.get());
+        }
+        pool.shutdown();
+
+        // Then - 모든 스레드가 같은 ID를 받고 ID는 1..5000으로 조밀함
+        for (List<Integer> result : results) {
+            assertEquals(results.get(0), result);
+        }
+        assertEquals(5_000, ids.size());
+        assertEquals(IntStream.rangeClosed(1, 5_000).boxed().collect(Collectors.toSet()), Set.copyOf(results.get(0)));
+        for (int i = 0; i < 5_000; i++) {
+            assertEquals("id" + i, ids.name(ids.find("id" + i)));
+        }
+    }
+
+    @Test
+    void testInMemoryDataLoaderSharesIdInstances() {
+        // Given - 같은 ID를 서로 다른 String 인스턴스로 가진 엔티티
+        var dataLoader = new InMemoryDataLoader();
+        dataLoader
+            .addUser(new User(new String("u1"), "u1@example.com", "User 1"))
+            .addProject(new Project("p1", "Project", new String("t1"), VisibilityType.PUBLIC))
+            .addTeamMembership(new TeamMembership(new String("u1"), new String("t1"), RoleType.ADMIN))
+            .addDocument(new Document("d1", "Doc", new String("p1"), new String("u1"), null, false));
+
+        // When
+        var membership = dataLoader.getTeamMembership("u1", "t1").orElseThrow();
+        var document = dataLoader.getDocumentsForProject("p1").get(0);
+        var project = dataLoader.getProjectsForTeam("t1").get(0);
+
+        // Then - 저장된 레코드는 ID 문자열 인스턴스를 공유
+        assertSame(membership.userId(), document.creatorId());
+        assertSame(membership.teamId(), project.teamId());
+        assertSame(project.id(), document.projectId());
+    }
+
+    @Test
+    void testRemovalsDoNotGrowDictionaryAndClearReclaimsIds() {
+        // Given
+        var dataLoader = new InMemoryDataLoader();
+        dataLoader
+            .addUser(new User("u1", "u1@example.com", "User 1"))
+            .addTeamMembership(new TeamMembership("u1", "t1", RoleType.ADMIN))
+            .addProjectMembership(new ProjectMembership("u1", "p1", RoleType.EDITOR));
+        int size = dataLoader.idDictionary().size();
+
+        // When - 없는 멤버십과 있는 멤버십 제거, 없는 ID 조회
+        for (int i = 0; i < 100; i++) {
+            assertFalse(dataLoader.removeTeamMembership("ghost" + i, "t" + i));
+            assertFalse(dataLoader.removeProjectMembership("u1", "missing" + i));
+            assertTrue(dataLoader.getUser("ghost" + i).isEmpty());
+        }
+        assertTrue(dataLoader.removeTeamMembership("u1", "t1"));
+        assertTrue(dataLoader.removeProjectMembership("u1", "p1"));
+
+        // Then - 사전은 늘어나지 않음
+        assertEquals(size, dataLoader.idDictionary().size());
+
+        // When - 초기화 후 다시 저장
+        dataLoader.clear();
+        assertEquals(0, dataLoader.idDictionary().size());
+        dataLoader.addUser(new User("u2", "u2@example.com", "User 2"));
+
+        // Then - ID는 1부터 다시 부여되고 이전 데이터는 보이지 않음
+        assertEquals(1, dataLoader.idDictionary().find("u2"));
+        assertTrue(dataLoader.getUser("u1").isEmpty());
+        assertEquals("User 2", dataLoader.getUser("u2").orElseThrow().name());
+    }
+}
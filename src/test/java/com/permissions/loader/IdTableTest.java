@@ -0,0 +1,64 @@
+package com.permissions.loader;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 정수 ID 테이블의 기록/제거/확장과 동시 쓰기 검증
+ */
+class IdTableTest {
+
+    @Test
+    void testPutRemoveAndGrow() {
+        // Given
+        var table = new IdTable<String>();
+
+        // When - 초기 용량을 넘는 ID까지 기록하고 일부 제거
+        assertNull(table.put(1, "a"));
+        assertNull(table.put(1_000, "b"));
+        assertEquals("a", table.put(1, "c"));
+        assertEquals("b", table.remove(1_000));
+        table.compute(5, value -> value == null ? "d" : value + "!");
+        table.compute(5, value -> value == null ? "d" : value + "!");
+
+        // Then
+        assertEquals("c", table.get(1));
+        assertNull(table.get(1_000));
+        assertNull(table.get(IdDictionary.NONE));
+        assertNull(table.get(1_000_000));
+        assertEquals("d!", table.get(5));
+        List<String> values = new ArrayList<>();
+        table.forEach(values::add);
+        assertEquals(List.of("c", "d!"), values);
+        assertThrows(IllegalArgumentException.class, () -> table.put(IdDictionary.NONE, "x"));
+    }
+
+    @Test
+    void testConcurrentWritesSurviveGrowth() throws Exception {
+        // Given
+        var table = new IdTable<Integer>();
+        List<Thread> threads = new ArrayList<>();
+
+        // When - 4개 스레드가 서로 다른 ID를 번갈아 기록하며 배열을 계속 늘림
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int id = 1 + offset; id <= 20_000; id += 4) {
+                    table.put(id, id);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then - 확장 중에도 유실된 쓰기가 없음
+        for (int id = 1; id <= 20_000; id++) {
+            assertEquals(id, table.get(id));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.permissions.loader;
+
+import com.permissions.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 쓰기 스레드가 멤버십을 계속 변경하는 동안 여러 읽기 스레드가 안전하게 로드하는지 검증
+ */
+class InMemoryDataLoaderConcurrencyTest {
+
+    private static final Set<String> ALL_TABLES =
+        Set.of("user", "team", "project", "document", "teamMembership", "projectMembership");
+
+    @Test
+    void testReadersDuringMembershipChurn() throws Exception {
+        // Given - 고정 멤버십(u1)과 계속 바뀌는 멤버십(u2)
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        User u1 = new User("u1", "alice@example.com", "Alice");
+        User u2 = new User("u2", "bob@example.com", "Bob");
+
+        int readers = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(readers + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When - 읽기 스레드는 계속 로드, 쓰기 스레드는 멤버십 추가/삭제와 프로젝트 이동 반복
+        for (int i = 0; i < readers; i++) {
+            futures.add(executor.submit(() -> {
+                while (running.get()) {
+                    Map<String, Map<String, Object>> stable = dataLoader.loadData("d1", u1, ALL_TABLES);
+                    assertEquals("ADMIN", stable.get("teamMembership").get("role"));
+                    assertEquals("t1", stable.get("team").get("id"));
+
+                    Map<String, Map<String, Object>> churned = dataLoader.loadData("d2", u2, ALL_TABLES);
+                    assertEquals("p2", churned.get("project").get("id"));
+                    Map<String, Object> membership = churned.get("projectMembership");
+                    assertTrue(membership == null || "u2".equals(membership.get("userId")));
+
+                    dataLoader.getProjectsForTeam("t1");
+                    dataLoader.getTeamMembershipsForUser("u2");
+                }
+                return null;
+            }));
+        }
+        futures.add(executor.submit(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                dataLoader.addProjectMembership(new ProjectMembership("u2", "p2", RoleType.EDITOR));
+                dataLoader.addTeamMembership(new TeamMembership("u2", "t2", RoleType.VIEWER));
+                dataLoader.addProject(new Project("p9", "Scratch", i % 2 == 0 ? "t1" : "t2", VisibilityType.PRIVATE));
+                dataLoader.removeProjectMembership("u2", "p2");
+                dataLoader.removeTeamMembership("u2", "t2");
+            }
+            running.set(false);
+            return null;
+        }));
+
+        // Then - 예외 없이 종료 (처리량 측정은 ConcurrentDataLoaderBenchmark 참고)
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then - 마지막 상태 반영
+        assertTrue(dataLoader.getProjectMembership("u2", "p2").isEmpty());
+        assertTrue(dataLoader.getTeamMembership("u2", "t2").isEmpty());
+        assertEquals(Set.of("p3", "p9"), Set.copyOf(dataLoader.getProjectsForTeam("t2").stream().map(Project::id).toList()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.permissions.loader;
+
+import com.permissions.evaluator.EvaluationFrame;
+import com.permissions.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * InMemoryDataLoader 보조 인덱스 유지 검증
+ */
+class InMemoryDataLoaderTest {
+
+    @Test
+    void testIndexesFollowAddAndReplace() {
+        // Given
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+
+        // Then - 초기 인덱스 조회
+        assertEquals(Set.of("p1", "p2"), dataLoader.getProjectsForTeam("t1").stream().map(Project::id).collect(Collectors.toSet()));
+        assertEquals(Set.of("d1", "d3"), dataLoader.getDocumentsForProject("p1").stream().map(Document::id).collect(Collectors.toSet()));
+        assertEquals(RoleType.ADMIN, dataLoader.getTeamMembership("u1", "t1").orElseThrow().role());
+        assertTrue(dataLoader.getProjectMembership("u1", "p2").isEmpty());
+
+        // When - 프로젝트/문서 이동 및 멤버십 역할 변경
+        dataLoader
+            .addProject(new Project("p2", "Project Y", "t2", VisibilityType.PUBLIC))
+            .addDocument(new Document("d3", "Moved Document", "p2", "u3", null, false))
+            .addProjectMembership(new ProjectMembership("u3", "p1", RoleType.EDITOR))
+            .addProjectMembership(new ProjectMembership("u3", "p2", RoleType.VIEWER));
+
+        // Then - 이전 버킷에서 제거되고 새 버킷에 반영됨
+        assertEquals(Set.of("p1"), dataLoader.getProjectsForTeam("t1").stream().map(Project::id).collect(Collectors.toSet()));
+        assertEquals(Set.of("p3", "p2"), dataLoader.getProjectsForTeam("t2").stream().map(Project::id).collect(Collectors.toSet()));
+        assertEquals(Set.of("d1"), dataLoader.getDocumentsForProject("p1").stream().map(Document::id).collect(Collectors.toSet()));
+        assertEquals(Set.of("d2", "d3"), dataLoader.getDocumentsForProject("p2").stream().map(Document::id).collect(Collectors.toSet()));
+        assertEquals(RoleType.EDITOR, dataLoader.getProjectMembership("u3", "p1").orElseThrow().role());
+        assertEquals(2, dataLoader.getProjectMembershipsForUser("u3").size());
+
+        // When - 초기화
+        dataLoader.clear();
+
+        // Then
+        assertTrue(dataLoader.getProjectsForTeam("t1").isEmpty());
+        assertTrue(dataLoader.getTeamMembershipsForUser("u1").isEmpty());
+    }
+
+    @Test
+    void testLoadFramesMatchesLoadFrame() {
+        // Given - 같은 사용자/프로젝트를 공유하는 요청과 객체 리소스, 없는 ID가 섞인 배치
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        Set<String> allTables = Set.of("user", "team", "project", "document", "teamMembership", "projectMembership");
+        List<Object> resources = List.of("d1", "d3", "d2", "missing",
+            new Project("p1", "Project A", "t1", VisibilityType.PUBLIC), new Team("t2", "Team B", PlanType.FREE));
+        List<Object> users = List.of("u1", "u3", new User("u2", "bob@example.com", "Bob"), "unknown");
+        List<LoadRequest> requests = new ArrayList<>();
+        for (Object resource : resources) {
+            for (Object user : users) {
+                requests.add(new LoadRequest(resource, user, allTables));
+            }
+        }
+        List<EvaluationFrame> frames = new ArrayList<>();
+        requests.forEach(request -> frames.add(new EvaluationFrame()));
+
+        // When
+        dataLoader.loadFrames(requests, frames);
+
+        // Then - 요청별 loadFrame 결과와 동일
+        for (int i = 0; i < requests.size(); i++) {
+            LoadRequest request = requests.get(i);
+            var expected = new EvaluationFrame();
+            dataLoader.loadFrame(request.resource(), request.user(), request.requiredTables(), expected);
+            assertEquals(expected.toMap(), frames.get(i).toMap(), request.toString());
+        }
+    }
+}
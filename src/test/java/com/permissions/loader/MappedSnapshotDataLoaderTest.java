@@ -0,0 +1,198 @@
+package com.permissions.loader;
+
+import com.permissions.engine.PolicyEngine;
+import com.permissions.evaluator.EvaluationFrame;
+import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.model.*;
+import com.permissions.policy.StandardPolicies;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 스냅샷 파일로 연 로더가 원본 InMemoryDataLoader와 같은 데이터를 로드하는지 검증
+ */
+class MappedSnapshotDataLoaderTest {
+
+    private static final Set<String> ALL_TABLES =
+        Set.of("user", "team", "project", "document", "teamMembership", "projectMembership");
+
+    private static final int[] ID_SLOTS = {EvaluationFrame.USER_ID, EvaluationFrame.TEAM_ID,
+        EvaluationFrame.PROJECT_ID, EvaluationFrame.PROJECT_TEAM_ID, EvaluationFrame.DOCUMENT_ID,
+        EvaluationFrame.DOCUMENT_PROJECT_ID, EvaluationFrame.DOCUMENT_CREATOR_ID,
+        EvaluationFrame.TEAM_MEMBERSHIP_USER_ID, EvaluationFrame.TEAM_MEMBERSHIP_TEAM_ID,
+        EvaluationFrame.PROJECT_MEMBERSHIP_USER_ID, EvaluationFrame.PROJECT_MEMBERSHIP_PROJECT_ID};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSnapshotLoadsSameDataAsInMemoryDataLoader() throws IOException {
+        // Given - 기본/삭제 문서 시나리오와 작은 합성 테넌트(일부 ID는 기본 시나리오를 덮어씀)를 스냅샷으로 저장
+        var dataLoader = new InMemoryDataLoader();
+        var builder = new TestDataBuilder(dataLoader).setupBasicScenario().setupDeletedDocumentScenario();
+        builder.setupSyntheticTenant(SyntheticDataConfig.productionShape(3).scaled(0.001));
+        Path file = directory.resolve("tenant.snapshot");
+        var writer = new SnapshotWriter();
+        dataLoader.copyTo(writer);
+        writer.write(file);
+
+        // When
+        var snapshot = MappedSnapshotDataLoader.open(file);
+
+        // Then - 문서 ID, 문서/프로젝트/팀 객체 리소스와 사용자 ID 조합에서 loadData, loadFrame 결과가 동일
+        List<Object> resources = new ArrayList<>(List.of("d1", "d2", "d3", "d4", "deleted1", "active1", "missing",
+            new Project("p1", "Project A", "t1", VisibilityType.PUBLIC), new Team("t2", "Team B", PlanType.FREE),
+            new Document("external", "Outside", "p3", "u1", null, true)));
+        for (int i = 0; i < 50; i++) {
+            resources.add("d" + i * 7);
+        }
+        List<Object> users = new ArrayList<>(List.of("u1", "u2", "u3", "u4", "creator1", "admin1", "unknown",
+            new User("u2", "u2@example.com", "Inline User")));
+        for (int i = 0; i < 10; i++) {
+            users.add(SyntheticDataGenerator.userId(i));
+        }
+        for (Object resource : resources) {
+            for (Object user : users) {
+                String message = resource + " / " + user;
+                assertEquals(dataLoader.loadData(resource, user, ALL_TABLES),
+                    snapshot.loadData(resource, user, ALL_TABLES), message);
+
+                var expected = new EvaluationFrame();
+                var actual = new EvaluationFrame();
+                dataLoader.loadFrame(resource, user, ALL_TABLES, expected);
+                snapshot.loadFrame(resource, user, ALL_TABLES, actual);
+                assertEquals(expected.toMap(), actual.toMap(), message);
+                assertIdsMatchValues(expected, message);
+                assertIdsMatchValues(actual, message);
+            }
+        }
+
+        // Then - 스냅샷 로더도 파일에서 읽은 행의 ID 컬럼에 정수 ID를 기록
+        var frame = new EvaluationFrame();
+        snapshot.loadFrame("d1", "u1", ALL_TABLES, frame);
+        assertNotEquals(0, frame.id(EvaluationFrame.DOCUMENT_ID));
+        assertNotEquals(0, frame.id(EvaluationFrame.USER_ID));
+        // 행의 사전 번호로 기록한 정수 ID와 호출자 엔티티의 ID를 사전에서 찾은 정수 ID가 같음
+        var entityFrame = new EvaluationFrame();
+        snapshot.loadFrame(dataLoader.getDocument("d1").orElseThrow(), dataLoader.getUser("u1").orElseThrow(),
+            ALL_TABLES, entityFrame);
+        assertEquals(frame.id(EvaluationFrame.DOCUMENT_ID), entityFrame.id(EvaluationFrame.DOCUMENT_ID));
+        assertEquals(frame.id(EvaluationFrame.USER_ID), entityFrame.id(EvaluationFrame.USER_ID));
+        assertEquals(frame.id(EvaluationFrame.PROJECT_ID), entityFrame.id(EvaluationFrame.DOCUMENT_PROJECT_ID));
+
+        // Then - 키 기반 멤버십 조회
+        assertEquals(dataLoader.getTeamMembership("u1", "t1"), snapshot.getTeamMembership("u1", "t1"));
+        assertEquals(dataLoader.getProjectMembership("u2", "p2"), snapshot.getProjectMembership("u2", "p2"));
+        assertTrue(snapshot.getTeamMembership("u1", "missing").isEmpty());
+        assertTrue(snapshot.getProjectMembership(null, "p1").isEmpty());
+    }
+
+    @Test
+    void testEngineOnSnapshotMatchesInMemoryEngine() throws IOException {
+        // Given
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        Path file = directory.resolve("basic.snapshot");
+        var writer = new SnapshotWriter();
+        dataLoader.copyTo(writer);
+        writer.write(file);
+
+        var inMemoryEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        var snapshotEngine = new PolicyEngine(MappedSnapshotDataLoader.open(file), new ExpressionEvaluator());
+        inMemoryEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+        snapshotEngine.addPolicies(StandardPolicies.getAllStandardPolicies());
+
+        // When & Then
+        for (String document : List.of("d1", "d2", "d3", "d4", "missing")) {
+            for (String user : List.of("u1", "u2", "u3", "u4", "unknown")) {
+                for (PermissionType permission : PermissionType.values()) {
+                    assertEquals(inMemoryEngine.hasPermission(document, user, permission),
+                        snapshotEngine.hasPermission(document, user, permission),
+                        document + " / " + user + " / " + permission);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTeamFallbackUsesSmallestTeamIdInBothLoaders() throws IOException {
+        // Given - 여러 팀의 멤버인 사용자, 팀 경로가 없는 문서(프로젝트가 저장소에 없음)
+        var dataLoader = new InMemoryDataLoader();
+        for (String teamId : List.of("t9", "t3", "t5", "t7")) {
+            dataLoader.addTeam(new Team(teamId, "Team " + teamId, PlanType.PRO));
+            dataLoader.addTeamMembership(new TeamMembership("multi", teamId, RoleType.VIEWER));
+        }
+        var user = new User("multi", "multi@example.com", "Multi");
+        dataLoader.addUser(user);
+        var orphan = new Document("orphan", "Orphan", "no-such-project", "multi", null, false);
+        Path file = directory.resolve("teams.snapshot");
+        var writer = new SnapshotWriter();
+        dataLoader.copyTo(writer);
+        writer.write(file);
+        var snapshot = MappedSnapshotDataLoader.open(file);
+
+        // When
+        var expected = dataLoader.loadData(orphan, user, Set.of("team"));
+        var actual = snapshot.loadData(orphan, user, Set.of("team"));
+
+        // Then
+        assertEquals("t3", expected.get("team").get("id"));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testReadsValuesAcrossMappingSegments() throws IOException {
+        // Given - 값이 구간 경계에 걸치도록 64바이트 구간으로 나누어 쓰고 읽음
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario().setupDeletedDocumentScenario();
+        Path file = directory.resolve("segmented.snapshot");
+        var writer = new SnapshotWriter();
+        dataLoader.copyTo(writer);
+        writer.write(file, 64);
+
+        // When
+        var segmented = MappedSnapshotDataLoader.open(file, 64);
+        var whole = MappedSnapshotDataLoader.open(file);
+
+        // Then - 구간 크기와 무관하게 원본과 같은 데이터
+        for (String resource : List.of("d1", "d2", "d3", "d4", "deleted1", "active1", "missing")) {
+            for (String user : List.of("u1", "u2", "u3", "u4", "creator1", "unknown")) {
+                var expected = dataLoader.loadData(resource, user, ALL_TABLES);
+                assertEquals(expected, segmented.loadData(resource, user, ALL_TABLES), resource + " / " + user);
+                assertEquals(expected, whole.loadData(resource, user, ALL_TABLES), resource + " / " + user);
+            }
+        }
+    }
+
+    /**
+     * 정수 ID가 기록된 ID 슬롯끼리는 값이 같을 때만 정수 ID가 같아야 함
+     */
+    private static void assertIdsMatchValues(EvaluationFrame frame, String message) {
+        for (int a : ID_SLOTS) {
+            for (int b : ID_SLOTS) {
+                if (frame.id(a) != 0 && frame.id(b) != 0) {
+                    assertEquals(frame.get(a).equals(frame.get(b)), frame.id(a) == frame.id(b), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRejectsFileThatIsNotSnapshot() throws IOException {
+        // Given
+        Path file = directory.resolve("garbage.snapshot");
+        Files.write(file, new byte[256]);
+
+        // When & Then
+        assertThrows(IOException.class, () -> MappedSnapshotDataLoader.open(file));
+    }
+}
@@ -0,0 +1,165 @@
+package com.permissions.loader;
+
+import com.permissions.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 역할 비트맵 집합 연산과 InMemoryDataLoader 역할 행렬 갱신 검증
+ */
+class RoleBitmapTest {
+
+    @Test
+    void testMatchesSortedSetAcrossContainerKinds() {
+        // Given - 배열 컨테이너(희소 청크)와 비트맵 컨테이너(밀집 청크)가 섞이도록 값 생성
+        var random = new Random(11);
+        var left = new RoleBitmap();
+        var right = new RoleBitmap();
+        var leftSet = new TreeSet<Integer>();
+        var rightSet = new TreeSet<Integer>();
+        for (int i = 0; i < 20_000; i++) {
+            int dense = random.nextInt(1 << 16);          // 청크 0: 4096개 초과
+            int sparse = (3 << 16) + random.nextInt(1 << 16); // 청크 3: 희소
+            left.add(dense);
+            leftSet.add(dense);
+            if (i % 10 == 0) {
+                left.add(sparse);
+                leftSet.add(sparse);
+            }
+            int other = random.nextInt(4 << 16);
+            right.add(other);
+            rightSet.add(other);
+        }
+
+        // When - 일부 제거 (비트맵 → 배열 컨테이너 전환 포함)
+        for (int i = 0; i < 15_000; i++) {
+            int value = random.nextInt(1 << 16);
+            assertEquals(leftSet.remove(value), left.remove(value));
+        }
+
+        // Then
+        assertArrayEquals(toArray(leftSet), left.toArray());
+        assertEquals(leftSet.size(), left.cardinality());
+        var and = new TreeSet<>(leftSet);
+        and.retainAll(rightSet);
+        var or = new TreeSet<>(leftSet);
+        or.addAll(rightSet);
+        var andNot = new TreeSet<>(leftSet);
+        andNot.removeAll(rightSet);
+        assertArrayEquals(toArray(and), RoleBitmap.and(left, right).toArray());
+        assertArrayEquals(toArray(or), RoleBitmap.or(left, right).toArray());
+        assertArrayEquals(toArray(andNot), RoleBitmap.andNot(left, right).toArray());
+        for (int i = 0; i < 1_000; i++) {
+            int value = random.nextInt(4 << 16);
+            assertEquals(leftSet.contains(value), left.contains(value));
+        }
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        // Given
+        var bitmap = new RoleBitmap();
+        bitmap.add(1);
+        bitmap.add(70_000);
+
+        // When
+        var copy = bitmap.copy();
+        copy.remove(1);
+
+        // Then
+        assertTrue(bitmap.contains(1));
+        assertFalse(copy.contains(1));
+        assertTrue(copy.contains(70_000));
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+    }
+
+    @Test
+    void testInMemoryDataLoaderMaintainsRoleMatrix() {
+        // Given - 기본 시나리오 (t1: u1 admin, u2 editor, u3 viewer)
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+
+        // Then - 역할 이상 확인과 멤버 조회는 역할 계층을 따름
+        assertTrue(dataLoader.hasTeamRole("u1", "t1", RoleType.ADMIN));
+        assertTrue(dataLoader.hasTeamRole("u1", "t1", RoleType.VIEWER));
+        assertTrue(dataLoader.hasTeamRole("u2", "t1", RoleType.EDITOR));
+        assertFalse(dataLoader.hasTeamRole("u2", "t1", RoleType.ADMIN));
+        assertFalse(dataLoader.hasTeamRole("unknown", "t1", RoleType.VIEWER));
+        assertEquals(Set.of("u1", "u2", "u3"), userIds(dataLoader, dataLoader.teamMembers("t1", RoleType.VIEWER)));
+        assertEquals(Set.of("u1", "u2"), userIds(dataLoader, dataLoader.teamMembers("t1", RoleType.EDITOR)));
+        assertEquals(Set.of("u1"), userIds(dataLoader, dataLoader.teamMembers("t1", RoleType.ADMIN)));
+
+        // When - 역할 교체와 제거
+        dataLoader.addTeamMembership(new TeamMembership("u1", "t1", RoleType.VIEWER));
+        dataLoader.addProjectMembership(new ProjectMembership("u4", "p1", RoleType.EDITOR));
+        dataLoader.removeTeamMembership("u2", "t1");
+
+        // Then - 비트맵도 같이 갱신됨
+        assertFalse(dataLoader.hasTeamRole("u1", "t1", RoleType.EDITOR));
+        assertTrue(dataLoader.hasTeamRole("u1", "t1", RoleType.VIEWER));
+        assertFalse(dataLoader.hasTeamRole("u2", "t1", RoleType.VIEWER));
+        assertTrue(dataLoader.hasProjectRole("u4", "p1", RoleType.EDITOR));
+        assertFalse(dataLoader.hasProjectRole("u4", "p1", RoleType.ADMIN));
+        assertEquals(Set.of("u1", "u4"), userIds(dataLoader, dataLoader.projectMembers("p1", RoleType.EDITOR)));
+
+        // When - 초기화
+        dataLoader.clear();
+
+        // Then
+        assertTrue(dataLoader.teamMembers("t1", RoleType.VIEWER).isEmpty());
+    }
+
+    @Test
+    void testRoleMatrixPublishesImmutableSnapshots() throws Exception {
+        // Given - 사용자 1은 항상 ADMIN, 나머지 사용자는 쓰기 스레드가 역할을 계속 바꿈
+        var matrix = new RoleMatrix();
+        matrix.grant(7, 1, RoleType.ADMIN);
+        RoleBitmap before = matrix.members(7, RoleType.VIEWER);
+        var failures = new AtomicInteger();
+
+        // When - 쓰기와 잠금 없는 읽기를 동시에 수행
+        Thread writer = Thread.ofPlatform().start(() -> {
+            RoleType[] roles = RoleType.values();
+            for (int i = 0; i < 20_000; i++) {
+                int user = 2 + i % 500;
+                if (i % 3 == 0) {
+                    matrix.revoke(7, user);
+                } else {
+                    matrix.grant(7, user, roles[i % roles.length]);
+                }
+            }
+        });
+        Thread reader = Thread.ofPlatform().start(() -> {
+            while (writer.isAlive()) {
+                // 다른 사용자의 역할 변경과 무관하게 사용자 1은 항상 보임
+                RoleBitmap admins = matrix.members(7, RoleType.ADMIN);
+                if (!matrix.has(7, 1, RoleType.ADMIN) || !admins.contains(1)) {
+                    failures.incrementAndGet();
+                }
+            }
+        });
+        writer.join();
+        reader.join();
+        matrix.revoke(7, 1);
+
+        // Then - 읽기는 항상 일관된 스냅숏을 보고, 이전에 받은 복사본은 바뀌지 않음
+        assertEquals(0, failures.get());
+        assertTrue(before.contains(1));
+        assertEquals(1, before.cardinality());
+        assertFalse(matrix.has(7, 1, RoleType.VIEWER));
+    }
+
+    private static Set<String> userIds(InMemoryDataLoader dataLoader, RoleBitmap members) {
+        return Set.copyOf(dataLoader.userIds(members));
+    }
+
+    private static int[] toArray(TreeSet<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
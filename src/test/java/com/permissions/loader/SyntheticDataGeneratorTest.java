@@ -0,0 +1,148 @@
+package com.permissions.loader;
+
+import com.permissions.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 합성 데이터 생성기의 결정성, 분포, 참조 무결성 검증
+ */
+class SyntheticDataGeneratorTest {
+
+    private static final SyntheticDataConfig CONFIG = SyntheticDataConfig.productionShape(7).scaled(0.01);
+
+    @Test
+    void testSameSeedGeneratesSameEntities() {
+        // Given
+        var first = new RecordingSink();
+        var second = new RecordingSink();
+        var otherSeed = new RecordingSink();
+
+        // When
+        new SyntheticDataGenerator(CONFIG).generate(first);
+        new SyntheticDataGenerator(CONFIG).generate(second);
+        new SyntheticDataGenerator(SyntheticDataConfig.productionShape(8).scaled(0.01)).generate(otherSeed);
+
+        // Then
+        assertEquals(first.entities, second.entities);
+        assertNotEquals(first.entities, otherSeed.entities);
+    }
+
+    @Test
+    void testDistributionsFollowConfig() {
+        // Given
+        var sink = new RecordingSink();
+
+        // When
+        var summary = new SyntheticDataGenerator(CONFIG).generate(sink);
+
+        // Then - 엔티티 수
+        assertEquals(500, summary.users());
+        assertEquals(50, summary.teams());
+        assertEquals(1_000, summary.projects());
+        assertEquals(100_000, summary.documents());
+        assertEquals(summary.teamMemberships(), sink.count(TeamMembership.class));
+        assertEquals(summary.projectMemberships(), sink.count(ProjectMembership.class));
+
+        // Then - 비율 (허용 오차 내)
+        List<Document> documents = sink.of(Document.class);
+        double deletedRatio = documents.stream().filter(d -> d.deletedAt() != null).count() / (double) documents.size();
+        double publicLinkRatio = documents.stream().filter(Document::publicLinkEnabled).count() / (double) documents.size();
+        assertEquals(CONFIG.deletedDocumentRatio(), deletedRatio, 0.005);
+        assertEquals(CONFIG.publicLinkRatio(), publicLinkRatio, 0.005);
+
+        List<Project> projects = sink.of(Project.class);
+        double privateRatio = projects.stream().filter(p -> p.visibility() == VisibilityType.PRIVATE).count()
+            / (double) projects.size();
+        assertEquals(CONFIG.privateProjectRatio(), privateRatio, 0.05);
+
+        // Then - Zipf 팀 크기: 가장 큰 팀이 평균 팀보다 훨씬 큼
+        Map<String, Integer> teamSizes = new HashMap<>();
+        sink.of(TeamMembership.class).forEach(m -> teamSizes.merge(m.teamId(), 1, Integer::sum));
+        double averageTeamSize = summary.teamMemberships() / (double) summary.teams();
+        assertTrue(teamSizes.get(SyntheticDataGenerator.teamId(0)) > averageTeamSize * 5);
+    }
+
+    @Test
+    void testStreamsIntoInMemoryDataLoader() {
+        // Given
+        var dataLoader = new InMemoryDataLoader();
+
+        // When
+        var summary = new TestDataBuilder(dataLoader).setupSyntheticTenant(CONFIG.scaled(0.1));
+
+        // Then - 프로젝트 멤버는 프로젝트가 속한 팀의 멤버
+        for (int u = 0; u < summary.users(); u++) {
+            for (ProjectMembership membership : dataLoader.getProjectMembershipsForUser(SyntheticDataGenerator.userId(u))) {
+                String teamId = dataLoader.getTeamMembershipsForUser(membership.userId()).stream()
+                    .map(TeamMembership::teamId)
+                    .filter(team -> dataLoader.getProjectsForTeam(team).stream()
+                        .anyMatch(project -> project.id().equals(membership.projectId())))
+                    .findFirst()
+                    .orElse(null);
+                assertNotNull(teamId, membership.toString());
+            }
+        }
+        long documents = 0;
+        for (int p = 0; p < summary.projects(); p++) {
+            documents += dataLoader.getDocumentsForProject(SyntheticDataGenerator.projectId(p)).size();
+        }
+        assertEquals(summary.documents(), documents);
+    }
+
+    /**
+     * 전달받은 엔티티를 순서대로 기록하는 sink
+     */
+    private static class RecordingSink implements EntitySink {
+        private final List<Object> entities = new ArrayList<>();
+
+        <T> List<T> of(Class<T> type) {
+            return entities.stream().filter(type::isInstance).map(type::cast).toList();
+        }
+
+        long count(Class<?> type) {
+            return entities.stream().filter(type::isInstance).count();
+        }
+
+        private EntitySink add(Object entity) {
+            entities.add(entity);
+            return this;
+        }
+
+        @Override
+        public EntitySink addUser(User user) {
+            return add(user);
+        }
+
+        @Override
+        public EntitySink addTeam(Team team) {
+            return add(team);
+        }
+
+        @Override
+        public EntitySink addProject(Project project) {
+            return add(project);
+        }
+
+        @Override
+        public EntitySink addDocument(Document document) {
+            return add(document);
+        }
+
+        @Override
+        public EntitySink addTeamMembership(TeamMembership teamMembership) {
+            return add(teamMembership);
+        }
+
+        @Override
+        public EntitySink addProjectMembership(ProjectMembership projectMembership) {
+            return add(projectMembership);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.permissions.loader;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 엔티티 버전 테이블의 기록/확장/초기화 검증
+ */
+class VersionTableTest {
+
+    @Test
+    void testTouchKeepsMaximumPerKindAndGrows() {
+        // Given
+        var table = new VersionTable(3);
+
+        // When - 초기 용량을 넘는 ID까지 기록하고, 같은 슬롯에 더 작은 버전을 늦게 기록
+        table.touch(0, 1, 5);
+        table.touch(2, 1, 7);
+        table.touch(1, 10_000, 9);
+        table.touch(0, 1, 3);
+        table.touch(0, IdDictionary.NONE, 11);
+
+        // Then - 종류별로 따로 기록되고 버전은 감소하지 않음
+        assertEquals(5, table.get(0, 1));
+        assertEquals(0, table.get(1, 1));
+        assertEquals(7, table.get(2, 1));
+        assertEquals(9, table.get(1, 10_000));
+        assertEquals(0, table.get(0, IdDictionary.NONE));
+        assertEquals(0, table.get(0, 1_000_000));
+
+        table.clear();
+        assertEquals(0, table.get(0, 1));
+    }
+}
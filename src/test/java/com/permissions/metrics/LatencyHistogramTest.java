@@ -0,0 +1,74 @@
+package com.permissions.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 로그-선형 히스토그램의 버킷 경계, 백분위 정확도, 동시 기록 검증
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketsCoverAllValues() {
+        // Given & When & Then - 모든 값은 자신이 속한 버킷의 최대값 이하이고, 상대 오차는 1/16 이내
+        for (long value : List.of(0L, 1L, 15L, 16L, 17L, 31L, 32L, 33L, 1_000L, 123_456_789L, Long.MAX_VALUE)) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long highest = LatencyHistogram.highestEquivalentValue(index);
+            assertTrue(highest >= value, value + " -> " + highest);
+            assertTrue(highest - value <= value / 16, value + " -> " + highest);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestEquivalentValue(index - 1) < value, String.valueOf(value));
+            }
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestEquivalentValue(LatencyHistogram.bucketIndex(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void testPercentiles() {
+        // Given - 1~10000 균등 분포
+        var histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+
+        // When & Then - 백분위는 상대 오차 1/16 이내
+        assertEquals(10_000, histogram.count());
+        assertEquals(10_000, histogram.max());
+        assertEquals(5_000.5, histogram.mean(), 0.001);
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            long expected = (long) (percentile * 100);
+            long actual = histogram.valueAtPercentile(percentile);
+            assertTrue(actual >= expected && actual <= expected + expected / 16, percentile + " -> " + actual);
+        }
+        assertEquals(10_000, histogram.valueAtPercentile(100));
+        assertEquals(0, new LatencyHistogram().valueAtPercentile(99));
+    }
+
+    @Test
+    void testConcurrentRecording() throws InterruptedException {
+        // Given
+        var histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+
+        // When - 8개 스레드가 동시에 10만 번씩 기록
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.record(i % 1000);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then - 기록 누락 없음
+        assertEquals(800_000, histogram.count());
+        assertEquals(999, histogram.max());
+        assertEquals(8L * 100 * (999 * 1000 / 2), histogram.total());
+    }
+}
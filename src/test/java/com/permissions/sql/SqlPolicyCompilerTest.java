@@ -0,0 +1,314 @@
+package com.permissions.sql;
+
+import com.permissions.dsl.*;
+import com.permissions.engine.PolicyEngine;
+import com.permissions.evaluator.ExpressionEvaluator;
+import com.permissions.loader.EntitySink;
+import com.permissions.loader.InMemoryDataLoader;
+import com.permissions.loader.SyntheticDataConfig;
+import com.permissions.loader.SyntheticDataGenerator;
+import com.permissions.loader.TestDataBuilder;
+import com.permissions.model.*;
+import com.permissions.policy.EffectType;
+import com.permissions.policy.Policy;
+import com.permissions.policy.StandardPolicies;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.*;
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SQL로 변환한 정책 조건이 H2 내장 데이터베이스에서 PolicyEngine.hasPermission과 같은 결과를 내는지 검증
+ */
+class SqlPolicyCompilerTest {
+
+    private final SqlPolicyCompiler compiler = new SqlPolicyCompiler();
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID());
+        try (Statement statement = connection.createStatement()) {
+            for (String ddl : SqlSchema.DDL) {
+                statement.execute(ddl);
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void testAccessibleDocumentsMatchEngine() throws SQLException {
+        // Given - 같은 합성 테넌트를 메모리 로더와 데이터베이스에 적재
+        var dataLoader = new InMemoryDataLoader();
+        var summary = new SyntheticDataGenerator(SyntheticDataConfig.productionShape(11).scaled(0.001))
+            .generate(new TeeSink(dataLoader, new JdbcSink(connection)));
+        List<Policy> policies = StandardPolicies.getAllStandardPolicies();
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(policies);
+
+        // When & Then - 모든 사용자(존재하지 않는 사용자 포함), 모든 권한
+        List<String> userIds = new ArrayList<>(dataLoader.getAllUserIds());
+        userIds.add("unknown");
+        for (String userId : userIds) {
+            for (PermissionType permission : PermissionType.values()) {
+                Set<String> expected = new HashSet<>();
+                for (String documentId : dataLoader.getAllDocumentIds()) {
+                    if (policyEngine.hasPermission(documentId, userId, permission)) {
+                        expected.add(documentId);
+                    }
+                }
+                assertEquals(expected, query(compiler.accessibleDocumentsQuery(policies, permission, userId)),
+                    userId + " / " + permission);
+            }
+        }
+        assertTrue(summary.documents() > 0);
+    }
+
+    @Test
+    void testThreeValuedEdgeCasesMatchEngine() throws SQLException {
+        // Given - 기본 시나리오와 null/타입 불일치/NOT/크기 비교를 포함한 정책
+        var dataLoader = new InMemoryDataLoader();
+        new TestDataBuilder(dataLoader).setupBasicScenario();
+        var jdbcSink = new JdbcSink(connection);
+        for (String documentId : dataLoader.getAllDocumentIds()) {
+            jdbcSink.addDocument(dataLoader.getDocument(documentId).orElseThrow());
+        }
+        for (String userId : dataLoader.getAllUserIds()) {
+            jdbcSink.addUser(dataLoader.getUser(userId).orElseThrow());
+            dataLoader.getTeamMembershipsForUser(userId).forEach(jdbcSink::addTeamMembership);
+            dataLoader.getProjectMembershipsForUser(userId).forEach(jdbcSink::addProjectMembership);
+        }
+        for (String teamId : List.of("t1", "t2", "t3")) {
+            for (String projectId : dataLoader.getProjectIdsForTeam(teamId)) {
+                jdbcSink.addProject(dataLoader.getProject(projectId).orElseThrow());
+            }
+        }
+        jdbcSink.addTeam(new Team("t1", "Team Alpha", PlanType.PRO))
+            .addTeam(new Team("t2", "Team Beta", PlanType.FREE))
+            .addTeam(new Team("t3", "Team Gamma", PlanType.ENTERPRISE));
+
+        List<Policy> policies = new ArrayList<>(StandardPolicies.getAllStandardPolicies());
+        policies.add(new Policy("not_viewer_allow", "", EffectType.ALLOW, Set.of(PermissionType.CAN_SHARE),
+            new NotExpressionDef(new BinaryExpressionDef("projectMembership.role", OperatorType.EQUALS, "VIEWER")),
+            Set.of("projectMembership")));
+        policies.add(new Policy("type_mismatch_allow", "", EffectType.ALLOW, Set.of(PermissionType.CAN_DELETE),
+            new OrExpressionDef(List.of(
+                new BinaryExpressionDef("document.deletedAt", OperatorType.NOT_EQUALS, "never"),
+                new BinaryExpressionDef("document.creatorId", OperatorType.EQUALS, new FieldReference("document.deletedAt"))
+            )),
+            Set.of("document")));
+        policies.add(new Policy("ordering_deny", "", EffectType.DENY, Set.of(PermissionType.CAN_DELETE),
+            new AndExpressionDef(List.of(
+                new BinaryExpressionDef("document.deletedAt", OperatorType.LESS_THAN, Instant.parse("2100-01-01T00:00:00Z")),
+                new BinaryExpressionDef("user.name", OperatorType.GREATER_EQUAL, "C")
+            )),
+            Set.of("user", "document")));
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(policies);
+
+        // When & Then - 문서 하나씩 확인하는 쿼리도 비교
+        for (String userId : List.of("u1", "u2", "u3", "u4", "unknown")) {
+            for (PermissionType permission : PermissionType.values()) {
+                for (String documentId : dataLoader.getAllDocumentIds()) {
+                    boolean expected = policyEngine.hasPermission(documentId, userId, permission);
+                    boolean actual = !query(compiler.permissionCheckQuery(policies, permission, documentId, userId)).isEmpty();
+                    assertEquals(expected, actual, documentId + " / " + userId + " / " + permission);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testOrphanProjectDocumentUsesFallbackTeam() throws SQLException {
+        // Given - 프로젝트가 없는 문서와 팀이 없는 프로젝트의 문서, 팀이 여러 개인 사용자
+        var dataLoader = new InMemoryDataLoader();
+        var sinks = new TeeSink(dataLoader, new JdbcSink(connection));
+        sinks.addUser(new User("multi", "multi@example.com", "Multi"))
+            .addUser(new User("single", "single@example.com", "Single"))
+            .addUser(new User("loner", "loner@example.com", "Loner"))
+            .addTeam(new Team("teamA", "A", PlanType.FREE))
+            .addTeam(new Team("teamB", "B", PlanType.ENTERPRISE))
+            .addTeamMembership(new TeamMembership("multi", "teamB", RoleType.ADMIN))
+            .addTeamMembership(new TeamMembership("multi", "teamA", RoleType.VIEWER))
+            .addTeamMembership(new TeamMembership("single", "teamB", RoleType.EDITOR))
+            .addProject(new Project("teamless", "Teamless", null, VisibilityType.PUBLIC))
+            .addDocument(new Document("orphanDoc", "Orphan", "missingProject", "loner", null, false))
+            .addDocument(new Document("teamlessDoc", "Teamless", "teamless", "loner", null, false));
+
+        List<Policy> policies = new ArrayList<>(StandardPolicies.getAllStandardPolicies());
+        policies.add(new Policy("enterprise_view", "", EffectType.ALLOW, Set.of(PermissionType.CAN_VIEW),
+            new BinaryExpressionDef("team.plan", OperatorType.EQUALS, "ENTERPRISE"), Set.of("team")));
+        policies.add(new Policy("free_team_share_deny", "", EffectType.DENY, Set.of(PermissionType.CAN_SHARE),
+            new BinaryExpressionDef("team.plan", OperatorType.EQUALS, "FREE"), Set.of("team")));
+        policies.add(new Policy("team_share_allow", "", EffectType.ALLOW, Set.of(PermissionType.CAN_SHARE),
+            new BinaryExpressionDef("team.id", OperatorType.NOT_EQUALS, "none"), Set.of("team")));
+        var policyEngine = new PolicyEngine(dataLoader, new ExpressionEvaluator());
+        policyEngine.addPolicies(policies);
+
+        // When & Then - 대체 팀(팀 ID가 가장 작은 팀)으로 평가한 결과가 엔진과 같음
+        for (String userId : List.of("multi", "single", "loner", "unknown")) {
+            for (PermissionType permission : PermissionType.values()) {
+                for (String documentId : List.of("orphanDoc", "teamlessDoc")) {
+                    boolean expected = policyEngine.hasPermission(documentId, userId, permission);
+                    boolean actual = !query(compiler.permissionCheckQuery(policies, permission, documentId, userId)).isEmpty();
+                    assertEquals(expected, actual, documentId + " / " + userId + " / " + permission);
+                }
+            }
+        }
+        assertFalse(policyEngine.hasPermission("orphanDoc", "multi", PermissionType.CAN_VIEW));
+        assertTrue(policyEngine.hasPermission("orphanDoc", "single", PermissionType.CAN_VIEW));
+        assertTrue(policyEngine.hasPermission("teamlessDoc", "single", PermissionType.CAN_SHARE));
+        assertFalse(policyEngine.hasPermission("teamlessDoc", "multi", PermissionType.CAN_SHARE));
+    }
+
+    @Test
+    void testDenyOnlyDecisionHasNoParameters() {
+        // Given - 바인딩 값이 있는 DENY 정책만 존재
+        Policy deny = new Policy("plan_deny", "", EffectType.DENY, Set.of(PermissionType.CAN_VIEW),
+            new BinaryExpressionDef("team.plan", OperatorType.EQUALS, "FREE"), Set.of("team"));
+        List<Object> parameters = new ArrayList<>();
+
+        // When
+        String decision = compiler.compileDecision(List.of(deny), PermissionType.CAN_VIEW, parameters);
+
+        // Then - 기본 거부이며 쿼리에 없는 바인딩 값을 남기지 않음
+        assertEquals("FALSE", decision);
+        assertTrue(parameters.isEmpty());
+    }
+
+    @Test
+    void testRejectsUnknownField() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () ->
+            compiler.compile(new BinaryExpressionDef("document.owner", OperatorType.EQUALS, "u1"), new ArrayList<>()));
+    }
+
+    private Set<String> query(SqlQuery query) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(query.sql())) {
+            for (int i = 0; i < query.parameters().size(); i++) {
+                statement.setObject(i + 1, query.parameters().get(i));
+            }
+            Set<String> ids = new HashSet<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getString(1));
+                }
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * 두 sink에 같은 엔티티를 전달
+     */
+    private record TeeSink(EntitySink first, EntitySink second) implements EntitySink {
+
+        @Override
+        public EntitySink addUser(User user) {
+            first.addUser(user);
+            second.addUser(user);
+            return this;
+        }
+
+        @Override
+        public EntitySink addTeam(Team team) {
+            first.addTeam(team);
+            second.addTeam(team);
+            return this;
+        }
+
+        @Override
+        public EntitySink addProject(Project project) {
+            first.addProject(project);
+            second.addProject(project);
+            return this;
+        }
+
+        @Override
+        public EntitySink addDocument(Document document) {
+            first.addDocument(document);
+            second.addDocument(document);
+            return this;
+        }
+
+        @Override
+        public EntitySink addTeamMembership(TeamMembership teamMembership) {
+            first.addTeamMembership(teamMembership);
+            second.addTeamMembership(teamMembership);
+            return this;
+        }
+
+        @Override
+        public EntitySink addProjectMembership(ProjectMembership projectMembership) {
+            first.addProjectMembership(projectMembership);
+            second.addProjectMembership(projectMembership);
+            return this;
+        }
+    }
+
+    /**
+     * SqlSchema 테이블에 엔티티를 INSERT하는 sink
+     */
+    private record JdbcSink(Connection connection) implements EntitySink {
+
+        private void insert(String sql, Object... values) {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < values.length; i++) {
+                    statement.setObject(i + 1, values[i]);
+                }
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public EntitySink addUser(User user) {
+            insert("INSERT INTO users VALUES (?, ?, ?)", user.id(), user.email(), user.name());
+            return this;
+        }
+
+        @Override
+        public EntitySink addTeam(Team team) {
+            insert("INSERT INTO teams VALUES (?, ?, ?)", team.id(), team.name(), team.plan().name());
+            return this;
+        }
+
+        @Override
+        public EntitySink addProject(Project project) {
+            insert("INSERT INTO projects VALUES (?, ?, ?, ?)",
+                project.id(), project.name(), project.teamId(), project.visibility().name());
+            return this;
+        }
+
+        @Override
+        public EntitySink addDocument(Document document) {
+            insert("INSERT INTO documents VALUES (?, ?, ?, ?, ?, ?)", document.id(), document.title(),
+                document.projectId(), document.creatorId(), document.deletedAt(), document.publicLinkEnabled());
+            return this;
+        }
+
+        @Override
+        public EntitySink addTeamMembership(TeamMembership teamMembership) {
+            insert("INSERT INTO team_memberships VALUES (?, ?, ?)",
+                teamMembership.userId(), teamMembership.teamId(), teamMembership.role().name());
+            return this;
+        }
+
+        @Override
+        public EntitySink addProjectMembership(ProjectMembership projectMembership) {
+            insert("INSERT INTO project_memberships VALUES (?, ?, ?)",
+                projectMembership.userId(), projectMembership.projectId(), projectMembership.role().name());
+            return this;
+        }
+    }
+}